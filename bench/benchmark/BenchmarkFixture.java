@@ -0,0 +1,253 @@
+package benchmark;
+
+import common.DBManager;
+import common.SqlStats;
+import dao.ProductDAO;
+import dao.SaleDAO;
+import dao.SchemaMigrator;
+import dao.StoreDAO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+/**
+ * 벤치마크 데이터 준비
+ *
+ * backend 가 "memory" 면 InMemoryDatabase, "db" 면 DBManager 가 가리키는 MySQL 을 사용한다.
+ * db 모드는 products / sales / sale_items / waiting_orders 를 지우고 다시 채우므로
+ * 반드시 -Ddb.url 로 벤치마크 전용 DB 를 지정해서 실행한다.
+ * 지점(branch)은 memory 면 지점마다 따로 둔 메모리 DB, db 면 같은 DB 의 지점 재고(store_inventory)와 지점 대기 주문을 쓴다.
+ */
+public abstract class BenchmarkFixture {
+  public static final String MEMORY = "memory";
+  public static final String DATABASE = "db";
+
+  public static BenchmarkFixture create(String backend) {
+    if (MEMORY.equals(backend)) {
+      return new MemoryFixture();
+    } else if (DATABASE.equals(backend)) {
+      return new DatabaseFixture();
+    }
+    throw new IllegalArgumentException("알 수 없는 backend: " + backend + " (memory 또는 db)");
+  }
+
+  public abstract ProductDAO getProductDAO();
+
+  public abstract SaleDAO getSaleDAO();
+
+  /**
+   * 모든 테이블을 비우고 size 개 제품 등록 (제품 ID 는 1..size)
+   */
+  public abstract void resetCatalog(int size, int storeQuantity, int warehouseQuantity);
+
+  /**
+   * 모든 제품의 재고 설정
+   */
+  public abstract void resetStock(int storeQuantity, int warehouseQuantity);
+
+  /**
+   * 대기 주문을 지우고 count 건을 새로 채움 (같은 seed 면 같은 주문)
+   */
+  public abstract void fillWaitingOrders(int count, long seed);
+
+  /**
+   * 누적 조회/갱신 횟수 (memory 는 DAO 호출 수, db 는 실행된 JDBC 문장 수)
+   */
+  public abstract long getQueryCount();
+
+  /**
+   * 같은 백엔드의 다른 지점 준비물 (resetCatalog 는 본점 뒤에 호출해 지점 재고만 채운다)
+   */
+  public abstract BenchmarkFixture branch(int storeId);
+
+  /**
+   * 메모리 DB
+   */
+  private static final class MemoryFixture extends BenchmarkFixture {
+    private final InMemoryDatabase database = new InMemoryDatabase();
+
+    @Override
+    public ProductDAO getProductDAO() {
+      return database.getProductDAO();
+    }
+
+    @Override
+    public SaleDAO getSaleDAO() {
+      return database.getSaleDAO();
+    }
+
+    @Override
+    public void resetCatalog(int size, int storeQuantity, int warehouseQuantity) {
+      database.resetCatalog(size, storeQuantity, warehouseQuantity);
+    }
+
+    @Override
+    public void resetStock(int storeQuantity, int warehouseQuantity) {
+      database.resetStock(storeQuantity, warehouseQuantity);
+    }
+
+    @Override
+    public void fillWaitingOrders(int count, long seed) {
+      database.fillWaitingOrders(count, seed);
+    }
+
+    @Override
+    public long getQueryCount() {
+      return database.getDaoCallCount();
+    }
+
+    @Override
+    public BenchmarkFixture branch(int storeId) {
+      // 지점마다 독립된 메모리 DB - 지점끼리 잠금을 나누지 않는다
+      return new MemoryFixture();
+    }
+  }
+
+  /**
+   * 로컬 MySQL
+   */
+  private static final class DatabaseFixture extends BenchmarkFixture {
+    private static final int BATCH_SIZE = 500;
+
+    private final int storeId;
+    private final ProductDAO productDAO;
+    private final SaleDAO saleDAO;
+    private int catalogSize;
+
+    DatabaseFixture() {
+      this(StoreDAO.MAIN_STORE_ID);
+    }
+
+    DatabaseFixture(int storeId) {
+      this.storeId = storeId;
+      this.productDAO = new ProductDAO(storeId);
+      this.saleDAO = new SaleDAO(storeId);
+      if (!SchemaMigrator.migrate()) {
+        throw new IllegalStateException("스키마 마이그레이션 실패 - DB 로그를 확인하세요.");
+      }
+    }
+
+    @Override
+    public ProductDAO getProductDAO() {
+      return productDAO;
+    }
+
+    @Override
+    public SaleDAO getSaleDAO() {
+      return saleDAO;
+    }
+
+    private static Connection connect() {
+      Connection con = DBManager.getConnection();
+      if (con == null) {
+        throw new IllegalStateException("DB 연결 실패 - -Ddb.url 설정과 MySQL 실행 여부를 확인하세요.");
+      }
+      return con;
+    }
+
+    @Override
+    public void resetCatalog(int size, int storeQuantity, int warehouseQuantity) {
+      if (storeId != StoreDAO.MAIN_STORE_ID) {
+        // 제품 목록은 본점이 만들었으므로 지점 재고만 채운다
+        catalogSize = size;
+        StoreDAO storeDAO = new StoreDAO();
+        if (!storeDAO.ensureStores(storeId) || storeDAO.resetStock(storeId, storeQuantity, warehouseQuantity) < 0) {
+          throw new IllegalStateException("지점 " + storeId + " 재고 준비 실패");
+        }
+        resetInventoryHistory();
+        return;
+      }
+      String sql = "INSERT INTO products (product_id, name, manufacturer, price, store_quantity, warehouse_quantity) "
+          + "VALUES (?, ?, ?, ?, ?, ?)";
+      try (Connection con = connect();
+          Statement st = con.createStatement();
+          PreparedStatement insert = con.prepareStatement(sql)) {
+        con.setAutoCommit(false);
+        st.executeUpdate("DELETE FROM sale_items");
+        st.executeUpdate("DELETE FROM sales");
+        st.executeUpdate("DELETE FROM sales_hourly");
+        st.executeUpdate("DELETE FROM sales_daily");
+        st.executeUpdate("DELETE FROM waiting_orders");
+        st.executeUpdate("DELETE FROM store_inventory");
+        st.executeUpdate("DELETE FROM products");
+
+        for (int i = 1; i <= size; i++) {
+          insert.setInt(1, i);
+          insert.setString(2, "Phone-" + i);
+          insert.setString(3, "Maker-" + (i % 10));
+          insert.setInt(4, 500_000 + (i % 50) * 10_000);
+          insert.setInt(5, storeQuantity);
+          insert.setInt(6, warehouseQuantity);
+          insert.addBatch();
+          if (i % BATCH_SIZE == 0) {
+            insert.executeBatch();
+          }
+        }
+        insert.executeBatch();
+        con.commit();
+        catalogSize = size;
+      } catch (SQLException e) {
+        throw new IllegalStateException("제품 목록 준비 실패", e);
+      }
+      resetInventoryHistory();
+    }
+
+    @Override
+    public void resetStock(int storeQuantity, int warehouseQuantity) {
+      if (new StoreDAO().resetStock(storeId, storeQuantity, warehouseQuantity) < 0) {
+        throw new IllegalStateException("재고 설정 실패");
+      }
+      resetInventoryHistory();
+    }
+
+    // 재고를 직접 바꿨으므로 재고 이벤트를 비우고 새 기준 스냅샷을 잡는다
+    private void resetInventoryHistory() {
+      if (!getProductDAO().resetInventoryHistory()) {
+        throw new IllegalStateException("재고 이력 초기화 실패");
+      }
+    }
+
+    @Override
+    public void fillWaitingOrders(int count, long seed) {
+      Random random = new Random(seed);
+      try (Connection con = connect();
+          Statement st = con.createStatement();
+          PreparedStatement insert = con.prepareStatement(
+              "INSERT INTO waiting_orders (store_id, product_id, quantity, status) VALUES (?, ?, ?, 'waiting')")) {
+        con.setAutoCommit(false);
+        st.executeUpdate("DELETE FROM waiting_orders WHERE store_id = " + storeId);
+        for (int i = 1; i <= count; i++) {
+          insert.setInt(1, storeId);
+          insert.setInt(2, random.nextInt(catalogSize) + 1);
+          insert.setInt(3, random.nextInt(3) + 1);
+          insert.addBatch();
+          if (i % BATCH_SIZE == 0) {
+            insert.executeBatch();
+          }
+        }
+        insert.executeBatch();
+        con.commit();
+      } catch (SQLException e) {
+        throw new IllegalStateException("대기 주문 준비 실패", e);
+      }
+    }
+
+    @Override
+    public long getQueryCount() {
+      // SqlStats 는 프로세스 전체 값이라 본점 준비물만 센다 (지점 것까지 더하면 중복)
+      if (storeId != StoreDAO.MAIN_STORE_ID) return 0;
+      long total = 0;
+      for (SqlStats.ShapeStats shape : SqlStats.getInstance().snapshot()) {
+        total += shape.getCalls();
+      }
+      return total;
+    }
+
+    @Override
+    public BenchmarkFixture branch(int storeId) {
+      return new DatabaseFixture(storeId);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package benchmark;
+
+/**
+ * JMH 실행 진입점
+ *
+ * 인자가 없으면 모든 벤치마크를 메모리 DB 로 실행하고 결과를 jmh-result.json 에 저장한다.
+ * 인자는 JMH 명령행 그대로 전달된다 (예: "SalesBenchmark -p backend=db -jvmArgsAppend -Ddb.url=...").
+ */
+public class BenchmarkMain {
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      args = new String[]{"benchmark\\..*", "-rf", "json", "-rff", "jmh-result.json"};
+    }
+    org.openjdk.jmh.Main.main(args);
+  }
+}
@@ -0,0 +1,409 @@
+package benchmark;
+
+import common.DBManager;
+import dao.RollupDAO;
+import dao.SaleDAO;
+import dao.SchemaMigrator;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 대용량 합성 데이터 생성기
+ *
+ * products / sales / sale_items / waiting_orders 를 같은 시드면 같은 내용으로 채운다.
+ * - 제품 인기도는 Zipf 분포 (인기 순위는 제품 ID 와 무관하게 섞음), 제조사는 가중치 분포
+ * - 판매 일시는 최근 months 개월, 영업 시간(9~18시) 안에서 날짜순으로 증가하고 주말은 더 많이 팔린다
+ * - 판매당 1~3개 항목, 대기 주문은 최근 2일치만 'waiting' 이고 나머지는 처리/취소 상태
+ * 배치 INSERT (rewriteBatchedStatements 로 다중 행 문장) + 구간별 커밋 + 외래 키/고유 검사 끄기로 적재한다.
+ *
+ * 인자 (모두 key=value, 생략 가능):
+ * products=10000 sales=1000000 waiting=100000 months=6 zipf=1.1 seed=42 batch=5000 append=false
+ * 적재 후 판매 집계(sales_hourly / sales_daily)를 판매 테이블에서 다시 만든다.
+ * append=false 면 판매/제품/집계 테이블을 모두 비우고 시작하므로 -Ddb.url 로 대상 DB 를 확인하고 실행한다.
+ */
+public class DatasetGenerator {
+  private static final String[] MANUFACTURERS = {"Samsung", "Apple", "LG", "Xiaomi", "Google", "Motorola", "Sony", "Nothing"};
+  private static final double[] MANUFACTURER_WEIGHTS = {0.36, 0.30, 0.08, 0.10, 0.06, 0.04, 0.03, 0.03};
+  private static final String[][] MODEL_LINES = {
+      {"Galaxy S", "Galaxy A", "Galaxy Z Flip", "Galaxy Z Fold", "Galaxy M"},
+      {"iPhone", "iPhone Pro", "iPhone Pro Max", "iPhone Plus", "iPhone SE"},
+      {"Velvet", "Wing", "Q", "K"},
+      {"Redmi Note", "Redmi", "Xiaomi", "Poco X", "Poco F"},
+      {"Pixel", "Pixel Pro", "Pixel a"},
+      {"Moto G", "Moto Edge", "Razr"},
+      {"Xperia 1", "Xperia 5", "Xperia 10"},
+      {"Phone", "Phone Lite"}};
+  private static final int[] STORAGE_GB = {64, 128, 256, 512, 1024};
+
+  private final int productCount;
+  private final long saleCount;
+  private final long waitingCount;
+  private final int months;
+  private final double zipfExponent;
+  private final long seed;
+  private final int batchSize;
+  private final boolean append;
+
+  private int productIdBase;
+  private long saleIdBase;
+  private int[] prices;
+  private double[] popularityCdf;
+  private int[] popularityRank;   // 인기 순위 -> 제품 번호(0부터)
+
+  public DatasetGenerator(int productCount, long saleCount, long waitingCount, int months, double zipfExponent,
+      long seed, int batchSize, boolean append) {
+    this.productCount = productCount;
+    this.saleCount = saleCount;
+    this.waitingCount = waitingCount;
+    this.months = months;
+    this.zipfExponent = zipfExponent;
+    this.seed = seed;
+    this.batchSize = batchSize;
+    this.append = append;
+  }
+
+  public static void main(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (eq <= 0) {
+        System.err.println("❌ 인자는 key=value 형식이어야 합니다: " + arg);
+        System.exit(2);
+      }
+      options.put(arg.substring(0, eq), arg.substring(eq + 1));
+    }
+
+    DatasetGenerator generator = new DatasetGenerator(
+        Integer.parseInt(options.getOrDefault("products", "10000")),
+        Long.parseLong(options.getOrDefault("sales", "1000000")),
+        Long.parseLong(options.getOrDefault("waiting", "100000")),
+        Integer.parseInt(options.getOrDefault("months", "6")),
+        Double.parseDouble(options.getOrDefault("zipf", "1.1")),
+        Long.parseLong(options.getOrDefault("seed", "42")),
+        Integer.parseInt(options.getOrDefault("batch", "5000")),
+        Boolean.parseBoolean(options.getOrDefault("append", "false")));
+
+    try {
+      generator.generate();
+    } catch (SQLException e) {
+      System.err.println("❌ 데이터 생성 실패: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  /**
+   * 전체 생성
+   */
+  public void generate() throws SQLException {
+    if (!SchemaMigrator.migrate()) {
+      throw new SQLException("스키마 마이그레이션 실패");
+    }
+    Connection con = DBManager.getConnection();
+    if (con == null) {
+      throw new SQLException("DB 연결 실패 - -Ddb.url 설정과 MySQL 실행 여부를 확인하세요.");
+    }
+
+    long start = System.nanoTime();
+    try (con; Statement st = con.createStatement()) {
+      con.setAutoCommit(false);
+      st.execute("SET SESSION foreign_key_checks = 0");
+      st.execute("SET SESSION unique_checks = 0");
+
+      if (append) {
+        productIdBase = (int) maxId(st, "SELECT COALESCE(MAX(product_id), 0) FROM products");
+        saleIdBase = maxId(st, "SELECT COALESCE(MAX(sale_id), 0) FROM sales");
+      } else {
+        for (String table : new String[]{"sale_items", "sales", "waiting_orders", "products", "sales_hourly", "sales_daily"}) {
+          st.execute("TRUNCATE TABLE " + table);
+        }
+        productIdBase = 0;
+        saleIdBase = 0;
+      }
+
+      generateProducts(con);
+      buildPopularity();
+      generateSales(con);
+      generateWaitingOrders(con);
+
+      st.execute("SET SESSION unique_checks = 1");
+      st.execute("SET SESSION foreign_key_checks = 1");
+      con.commit();
+    }
+
+    long rollupStart = System.nanoTime();
+    if (new RollupDAO().rebuild()) {
+      System.out.printf("📦 판매 집계 재생성 (%.1f초)%n", (System.nanoTime() - rollupStart) / 1e9);
+    }
+    System.out.printf("✅ 데이터 생성 완료: 제품 %,d / 판매 %,d / 대기 주문 %,d (%.1f초)%n",
+        productCount, saleCount, waitingCount, (System.nanoTime() - start) / 1e9);
+  }
+
+  private static long maxId(Statement st, String sql) throws SQLException {
+    try (ResultSet rs = st.executeQuery(sql)) {
+      return rs.next() ? rs.getLong(1) : 0;
+    }
+  }
+
+  private void generateProducts(Connection con) throws SQLException {
+    Random random = new Random(seed);
+    prices = new int[productCount];
+    String sql = "INSERT INTO products (product_id, name, manufacturer, price, store_quantity, warehouse_quantity) "
+        + "VALUES (?, ?, ?, ?, ?, ?)";
+    Progress progress = new Progress("제품", productCount);
+
+    try (PreparedStatement insert = con.prepareStatement(sql)) {
+      for (int i = 0; i < productCount; i++) {
+        int maker = pickWeighted(random, MANUFACTURER_WEIGHTS);
+        String[] lines = MODEL_LINES[maker];
+        int storage = STORAGE_GB[Math.min(STORAGE_GB.length - 1, (int) Math.abs(random.nextGaussian() * 1.2) + 1)];
+        String name = lines[random.nextInt(lines.length)] + " " + (random.nextInt(20) + 5) + " " + storage + "GB";
+
+        // 로그정규 분포 가격 (약 15만~250만원, 천원 단위)
+        double price = Math.exp(13.5 + random.nextGaussian() * 0.55);
+        prices[i] = (int) Math.max(150_000, Math.min(2_500_000, Math.round(price / 1000) * 1000));
+
+        insert.setInt(1, productIdBase + i + 1);
+        insert.setString(2, name);
+        insert.setString(3, MANUFACTURERS[maker]);
+        insert.setInt(4, prices[i]);
+        insert.setInt(5, random.nextInt(15));
+        insert.setInt(6, random.nextInt(60));
+        insert.addBatch();
+
+        if ((i + 1) % batchSize == 0) {
+          flush(con, insert);
+          progress.update(i + 1);
+        }
+      }
+      flush(con, insert);
+      progress.done();
+    }
+  }
+
+  /**
+   * Zipf 누적 분포 (인기 순위는 제품 번호와 무관하게 섞는다)
+   */
+  private void buildPopularity() {
+    Random random = new Random(seed + 1);
+    popularityCdf = new double[productCount];
+    double sum = 0;
+    for (int rank = 0; rank < productCount; rank++) {
+      sum += 1.0 / Math.pow(rank + 1, zipfExponent);
+      popularityCdf[rank] = sum;
+    }
+    for (int rank = 0; rank < productCount; rank++) {
+      popularityCdf[rank] /= sum;
+    }
+
+    popularityRank = new int[productCount];
+    for (int i = 0; i < productCount; i++) {
+      popularityRank[i] = i;
+    }
+    for (int i = productCount - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = popularityRank[i];
+      popularityRank[i] = popularityRank[j];
+      popularityRank[j] = tmp;
+    }
+  }
+
+  // 인기도에 따라 제품 번호(0부터) 선택
+  private int pickProduct(Random random) {
+    int rank = Arrays.binarySearch(popularityCdf, random.nextDouble());
+    if (rank < 0) rank = -rank - 1;
+    return popularityRank[Math.min(rank, productCount - 1)];
+  }
+
+  private void generateSales(Connection con) throws SQLException {
+    Random random = new Random(seed + 2);
+    LocalDate end = LocalDate.now();
+    LocalDate first = end.minusMonths(months);
+    int days = (int) (end.toEpochDay() - first.toEpochDay());
+    long[] perDay = distributeOverDays(random, first, days, saleCount);
+
+    // 판매 기간 전체의 일별 파티션을 적재 전에 만들어 둔다 (빈 pmax 를 나누는 것이라 즉시 끝남)
+    int partitions = new SaleDAO().ensureSalePartitions(first, end.plusDays(14));
+    if (partitions > 0) {
+      System.out.println("🗂️ 판매 파티션 " + partitions + "개 준비");
+    }
+
+    Progress progress = new Progress("판매", saleCount);
+    long saleId = saleIdBase;
+    long generated = 0;
+
+    try (PreparedStatement saleInsert = con.prepareStatement(
+            "INSERT INTO sales (sale_id, sale_date, total_amount) VALUES (?, ?, ?)");
+        PreparedStatement itemInsert = con.prepareStatement(
+            "INSERT INTO sale_items (sale_id, sale_date, product_id, quantity, unit_price, total_price) "
+                + "VALUES (?, ?, ?, ?, ?, ?)")) {
+
+      for (int d = 0; d < days; d++) {
+        LocalDateTime opening = first.plusDays(d).atTime(9, 0);
+        int[] seconds = sortedSeconds(random, (int) perDay[d], 9 * 3600);
+
+        for (int second : seconds) {
+          saleId++;
+          Timestamp saleDate = Timestamp.valueOf(opening.plusSeconds(second));
+          int items = itemCount(random);
+          int total = 0;
+          for (int k = 0; k < items; k++) {
+            int product = pickProduct(random);
+            int quantity = random.nextInt(100) < 85 ? 1 : 2;
+            int price = prices[product];
+            total += price * quantity;
+
+            itemInsert.setLong(1, saleId);
+            itemInsert.setTimestamp(2, saleDate);
+            itemInsert.setInt(3, productIdBase + product + 1);
+            itemInsert.setInt(4, quantity);
+            itemInsert.setInt(5, price);
+            itemInsert.setInt(6, price * quantity);
+            itemInsert.addBatch();
+          }
+          saleInsert.setLong(1, saleId);
+          saleInsert.setTimestamp(2, saleDate);
+          saleInsert.setInt(3, total);
+          saleInsert.addBatch();
+
+          generated++;
+          if (generated % batchSize == 0) {
+            flush(con, saleInsert, itemInsert);
+            progress.update(generated);
+          }
+        }
+      }
+      flush(con, saleInsert, itemInsert);
+      progress.done();
+    }
+  }
+
+  private void generateWaitingOrders(Connection con) throws SQLException {
+    Random random = new Random(seed + 3);
+    LocalDateTime end = LocalDate.now().atTime(18, 0);
+    long spanSeconds = months * 30L * 24 * 3600;
+    long pendingSeconds = 2L * 24 * 3600;   // 최근 2일치만 미처리
+
+    Progress progress = new Progress("대기 주문", waitingCount);
+    try (PreparedStatement insert = con.prepareStatement(
+        "INSERT INTO waiting_orders (product_id, quantity, request_date, status) VALUES (?, ?, ?, ?)")) {
+      for (long i = 1; i <= waitingCount; i++) {
+        long age = (long) (random.nextDouble() * spanSeconds);
+        String status;
+        if (age < pendingSeconds) {
+          status = "waiting";
+        } else {
+          status = random.nextInt(100) < 95 ? "processed" : "cancelled";
+        }
+
+        insert.setInt(1, productIdBase + pickProduct(random) + 1);
+        insert.setInt(2, random.nextInt(3) + 1);
+        insert.setTimestamp(3, Timestamp.valueOf(end.minusSeconds(age)));
+        insert.setString(4, status);
+        insert.addBatch();
+
+        if (i % batchSize == 0) {
+          flush(con, insert);
+          progress.update(i);
+        }
+      }
+      flush(con, insert);
+      progress.done();
+    }
+  }
+
+  /**
+   * 날짜별 판매 건수 (주말 1.4배, 날마다 ±20% 변동, 합계는 정확히 total)
+   */
+  private static long[] distributeOverDays(Random random, LocalDate first, int days, long total) {
+    double[] weights = new double[days];
+    double sum = 0;
+    for (int d = 0; d < days; d++) {
+      DayOfWeek dow = first.plusDays(d).getDayOfWeek();
+      double weekend = (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) ? 1.4 : 1.0;
+      weights[d] = weekend * (0.8 + random.nextDouble() * 0.4);
+      sum += weights[d];
+    }
+
+    long[] counts = new long[days];
+    long assigned = 0;
+    for (int d = 0; d < days; d++) {
+      counts[d] = (long) (total * weights[d] / sum);
+      assigned += counts[d];
+    }
+    for (long i = assigned; i < total; i++) {
+      counts[(int) ((i - assigned) % days)]++;
+    }
+    return counts;
+  }
+
+  private static int[] sortedSeconds(Random random, int count, int range) {
+    int[] seconds = new int[count];
+    for (int i = 0; i < count; i++) {
+      seconds[i] = random.nextInt(range);
+    }
+    Arrays.sort(seconds);
+    return seconds;
+  }
+
+  private static int itemCount(Random random) {
+    int r = random.nextInt(100);
+    return r < 70 ? 1 : (r < 92 ? 2 : 3);
+  }
+
+  private static int pickWeighted(Random random, double[] weights) {
+    double r = random.nextDouble();
+    for (int i = 0; i < weights.length; i++) {
+      r -= weights[i];
+      if (r < 0) return i;
+    }
+    return weights.length - 1;
+  }
+
+  private static void flush(Connection con, PreparedStatement... statements) throws SQLException {
+    for (PreparedStatement statement : statements) {
+      statement.executeBatch();
+    }
+    con.commit();
+  }
+
+  /**
+   * 진행률 출력 (약 5초마다)
+   */
+  private static final class Progress {
+    private final String label;
+    private final long total;
+    private final long start = System.nanoTime();
+    private long lastPrint = start;
+
+    Progress(String label, long total) {
+      this.label = label;
+      this.total = total;
+    }
+
+    void update(long done) {
+      long now = System.nanoTime();
+      if (now - lastPrint >= 5_000_000_000L) {
+        lastPrint = now;
+        System.out.printf("  %s %,d / %,d (%.0f%%, %,.0f행/초)%n", label, done, total,
+            total == 0 ? 100.0 : done * 100.0 / total, done / ((now - start) / 1e9));
+      }
+    }
+
+    void done() {
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("📦 %s %,d행 적재 (%.1f초, %,.0f행/초)%n", label, total, seconds, total / Math.max(seconds, 1e-9));
+    }
+  }
+}
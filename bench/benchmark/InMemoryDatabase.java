@@ -0,0 +1,358 @@
+package benchmark;
+
+import dao.ProductDAO;
+import dao.SaleDAO;
+import dto.InventoryEvent;
+import dto.Product;
+import dto.SaleItem;
+import dto.WaitingOrder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 벤치마크용 메모리 DB
+ *
+ * ProductDAO / SaleDAO 를 상속한 메모리 구현을 제공해 서비스 코드를 DB 없이 돌린다.
+ * 판매 내역과 재고 이벤트는 반복 측정 중 메모리가 늘지 않도록 건수만 센다 (getSaleItemsBySaleId, 시점 재고 조회는 빈 목록).
+ */
+public class InMemoryDatabase {
+  private final List<Product> products = new ArrayList<>();     // 인덱스 = product_id - 1
+  private final TreeMap<Integer, int[]> waitingOrders = new TreeMap<>();   // order_id -> {product_id, quantity}
+  private final Map<Integer, int[]> processedOrders = new HashMap<>();     // 완료 처리한 주문 (reopenWaitingOrder 용)
+  private int nextOrderId = 1;
+  private int nextSaleId = 1;
+  private long saleItemCount = 0;
+  private long inventoryEventCount = 0;
+  private long daoCalls = 0;   // DB 모드의 JDBC 문장 수에 해당
+
+  private final ProductDAO productDAO = new MemoryProductDAO();
+  private final SaleDAO saleDAO = new MemorySaleDAO();
+
+  public ProductDAO getProductDAO() {
+    return productDAO;
+  }
+
+  public SaleDAO getSaleDAO() {
+    return saleDAO;
+  }
+
+  /**
+   * 제품 목록 재생성 (ID 는 1부터)
+   */
+  public synchronized void resetCatalog(int size, int storeQuantity, int warehouseQuantity) {
+    products.clear();
+    waitingOrders.clear();
+    processedOrders.clear();
+    for (int i = 1; i <= size; i++) {
+      products.add(new Product(i, "Phone-" + i, "Maker-" + (i % 10), 500_000 + (i % 50) * 10_000,
+          storeQuantity, warehouseQuantity));
+    }
+  }
+
+  /**
+   * 모든 제품의 재고 설정
+   */
+  public synchronized void resetStock(int storeQuantity, int warehouseQuantity) {
+    for (Product product : products) {
+      product.setStoreQuantity(storeQuantity);
+      product.setWarehouseQuantity(warehouseQuantity);
+    }
+  }
+
+  /**
+   * 대기 주문을 지우고 count 건을 새로 채움 (수량 1~3)
+   */
+  public synchronized void fillWaitingOrders(int count, long seed) {
+    waitingOrders.clear();
+    processedOrders.clear();
+    Random random = new Random(seed);
+    for (int i = 0; i < count; i++) {
+      waitingOrders.put(nextOrderId++, new int[]{random.nextInt(products.size()) + 1, random.nextInt(3) + 1});
+    }
+  }
+
+  public synchronized int getWaitingOrderCount() {
+    return waitingOrders.size();
+  }
+
+  public synchronized long getSaleItemCount() {
+    return saleItemCount;
+  }
+
+  public synchronized long getInventoryEventCount() {
+    return inventoryEventCount;
+  }
+
+  /**
+   * 지금까지 호출된 DAO 메소드 수
+   */
+  public synchronized long getDaoCallCount() {
+    return daoCalls;
+  }
+
+  private static Product copy(Product p) {
+    return new Product(p.getProductId(), p.getName(), p.getManufacturer(), p.getPrice(),
+        p.getStoreQuantity(), p.getWarehouseQuantity());
+  }
+
+  private Product find(int productId) {
+    return productId >= 1 && productId <= products.size() ? products.get(productId - 1) : null;
+  }
+
+  /**
+   * products / waiting_orders 테이블 대역
+   */
+  private class MemoryProductDAO extends ProductDAO {
+    @Override
+    public List<Product> getAllProducts() {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        List<Product> list = new ArrayList<>(products.size());
+        for (Product product : products) {
+          list.add(copy(product));
+        }
+        return list;
+      }
+    }
+
+    @Override
+    public Product getProductById(int productId) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        Product product = find(productId);
+        return product == null ? null : copy(product);
+      }
+    }
+
+    @Override
+    public boolean moveStock(int productId, InventoryEvent.Type type, int storeDelta, int warehouseDelta,
+        LocalDateTime at) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        Product product = find(productId);
+        if (product == null || product.getStoreQuantity() + storeDelta < 0
+            || product.getWarehouseQuantity() + warehouseDelta < 0) {
+          return false;
+        }
+        product.setStoreQuantity(product.getStoreQuantity() + storeDelta);
+        product.setWarehouseQuantity(product.getWarehouseQuantity() + warehouseDelta);
+        inventoryEventCount++;
+        return true;
+      }
+    }
+
+    @Override
+    public long takeInventorySnapshot(LocalDateTime at) {
+      return 0;
+    }
+
+    @Override
+    public List<Product> getInventoryAsOf(LocalDateTime at, int productId) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<InventoryEvent> getInventoryEvents(int productId, LocalDateTime at, int limit) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public int rebuildInventory() {
+      return 0;
+    }
+
+    @Override
+    public boolean resetInventoryHistory() {
+      synchronized (InMemoryDatabase.this) {
+        inventoryEventCount = 0;
+        return true;
+      }
+    }
+
+    @Override
+    public int createWaitingOrder(int productId, int quantity) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        int orderId = nextOrderId++;
+        waitingOrders.put(orderId, new int[]{productId, quantity});
+        return orderId;
+      }
+    }
+  }
+
+  /**
+   * sales / sale_items / waiting_orders 테이블 대역
+   */
+  private class MemorySaleDAO extends SaleDAO {
+    @Override
+    public void clearWaitingOrders() {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        waitingOrders.clear();
+        processedOrders.clear();
+      }
+    }
+
+    @Override
+    public void clearSaleItems() {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        saleItemCount = 0;
+      }
+    }
+
+    @Override
+    public void clearSales() {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+      }
+    }
+
+    @Override
+    public int createSale(int totalAmount) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        return nextSaleId++;
+      }
+    }
+
+    @Override
+    public boolean addSaleItem(int saleId, int productId, int quantity, int unitPrice, int totalPrice) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        saleItemCount++;
+        return true;
+      }
+    }
+
+    @Override
+    public int recordSale(int productId, int quantity, int unitPrice, LocalDateTime soldAt) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        saleItemCount++;
+        return nextSaleId++;
+      }
+    }
+
+    @Override
+    public boolean hasRollups() {
+      return false;
+    }
+
+    @Override
+    public void clearSaleRollups() {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+      }
+    }
+
+    @Override
+    public int ensureSalePartitions(LocalDate from, LocalDate through) {
+      return 0;
+    }
+
+    @Override
+    public int dropSalePartitionsBefore(LocalDate cutoff) {
+      return 0;
+    }
+
+    @Override
+    public List<SaleItem> getSaleItemsBySaleId(int saleId) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+      }
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<SaleItem> getWaitingOrders() {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        List<SaleItem> list = new ArrayList<>(waitingOrders.size());
+        for (Map.Entry<Integer, int[]> entry : waitingOrders.entrySet()) {
+          SaleItem item = new SaleItem();
+          item.setSaleItemId(entry.getKey());
+          item.setSaleId(-1);
+          item.setProductId(entry.getValue()[0]);
+          item.setQuantity(entry.getValue()[1]);
+          list.add(item);
+        }
+        return list;
+      }
+    }
+
+    @Override
+    public boolean completeWaitingOrder(int orderId) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        int[] order = waitingOrders.remove(orderId);
+        if (order == null) return false;
+        processedOrders.put(orderId, order);
+        return true;
+      }
+    }
+
+    @Override
+    public void reopenWaitingOrder(int orderId) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        int[] order = processedOrders.remove(orderId);
+        if (order != null) {
+          waitingOrders.put(orderId, order);
+        }
+      }
+    }
+
+    @Override
+    public List<WaitingOrder> getOpenWaitingOrders() {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        List<WaitingOrder> list = new ArrayList<>(waitingOrders.size());
+        for (Map.Entry<Integer, int[]> entry : waitingOrders.entrySet()) {
+          list.add(new WaitingOrder(entry.getKey(), entry.getValue()[0], entry.getValue()[1], null, "waiting"));
+        }
+        return list;
+      }
+    }
+
+    @Override
+    public int getLastWaitingOrderId() {
+      synchronized (InMemoryDatabase.this) {
+        return nextOrderId - 1;
+      }
+    }
+
+    @Override
+    public int restoreCheckpoint(List<Product> restored, List<WaitingOrder> orders, int lastOrderId, LocalDateTime at) {
+      synchronized (InMemoryDatabase.this) {
+        daoCalls++;
+        int missing = 0;
+        for (Product source : restored) {
+          Product product = find(source.getProductId());
+          if (product == null) {
+            missing++;
+            continue;
+          }
+          product.setPrice(source.getPrice());
+          product.setStoreQuantity(source.getStoreQuantity());
+          product.setWarehouseQuantity(source.getWarehouseQuantity());
+        }
+        waitingOrders.clear();
+        processedOrders.keySet().removeIf(orderId -> orderId > lastOrderId);
+        for (WaitingOrder order : orders) {
+          processedOrders.remove(order.getOrderId());
+          waitingOrders.put(order.getOrderId(), new int[]{order.getProductId(), order.getQuantity()});
+        }
+        return missing;
+      }
+    }
+
+  }
+}
@@ -0,0 +1,134 @@
+package benchmark;
+
+import common.EventBus;
+import dto.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.InventoryService;
+
+/**
+ * InventoryService 재고 이동 / 재고 변경 알림 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+
+  /**
+   * 매 호출마다 모든 제품이 이동 대상 (매장 2, 창고 50)
+   */
+  @State(Scope.Benchmark)
+  public static class TransferState {
+    @Param({BenchmarkFixture.MEMORY})
+    public String backend;
+
+    @Param({"100", "1000"})
+    public int catalogSize;
+
+    BenchmarkFixture fixture;
+    InventoryService inventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      fixture = BenchmarkFixture.create(backend);
+      fixture.resetCatalog(catalogSize, 2, 50);
+      inventoryService = new InventoryService(fixture.getProductDAO(), fixture.getSaleDAO());
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStock() {
+      fixture.resetStock(2, 50);
+    }
+  }
+
+  /**
+   * 재고 변경 리스너 listeners 개 등록 (각자 제품 목록을 받아 크기만 읽는다)
+   */
+  @State(Scope.Benchmark)
+  public static class NotifyState {
+    @Param({BenchmarkFixture.MEMORY})
+    public String backend;
+
+    @Param({"1", "8"})
+    public int listeners;
+
+    BenchmarkFixture fixture;
+    InventoryService inventoryService;
+    final List<EventBus.Subscription<InventoryService.InventoryChangeListener>> subscriptions = new ArrayList<>();
+    volatile int sink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      fixture = BenchmarkFixture.create(backend);
+      fixture.resetCatalog(100, 10, 10);
+      inventoryService = new InventoryService(fixture.getProductDAO(), fixture.getSaleDAO());
+      for (int i = 0; i < listeners; i++) {
+        subscriptions.add(inventoryService.addInventoryChangeListener(new InventoryService.InventoryChangeListener() {
+          @Override
+          public void onInventoryChanged(List<Product> updatedProducts) {
+            sink = updatedProducts.size();
+          }
+
+          @Override
+          public void onStockTransferCompleted(int productId, int fromWarehouse, int toStore) {
+          }
+
+          @Override
+          public void onLowStockDetected(Product product) {
+          }
+        }));
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      for (EventBus.Subscription<InventoryService.InventoryChangeListener> subscription : subscriptions) {
+        inventoryService.removeInventoryChangeListener(subscription);
+      }
+      subscriptions.clear();
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void transferFromWarehouseToStore(TransferState state) {
+    state.inventoryService.transferFromWarehouseToStore();
+  }
+
+  /**
+   * 게시 비용만 측정 (밀린 이벤트는 COALESCE 로 합쳐진다)
+   */
+  @Benchmark
+  public void notifyInventoryChanged(NotifyState state) {
+    state.inventoryService.fireInventoryChangedEvent();
+  }
+
+  /**
+   * 게시 후 모든 리스너가 제품 목록을 받을 때까지
+   */
+  @Benchmark
+  public boolean notifyInventoryChangedAndDrain(NotifyState state) throws InterruptedException {
+    state.inventoryService.fireInventoryChangedEvent();
+    boolean idle = true;
+    for (EventBus.Subscription<InventoryService.InventoryChangeListener> subscription : state.subscriptions) {
+      idle &= subscription.awaitIdle(1, TimeUnit.SECONDS);
+    }
+    return idle;
+  }
+}
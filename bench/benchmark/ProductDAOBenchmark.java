@@ -0,0 +1,56 @@
+package benchmark;
+
+import dao.ProductDAO;
+import dto.Product;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ProductDAO 조회 벤치마크 (제품 수별)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductDAOBenchmark {
+  @Param({BenchmarkFixture.MEMORY})
+  public String backend;
+
+  @Param({"10", "100", "1000", "10000"})
+  public int catalogSize;
+
+  private ProductDAO productDAO;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    BenchmarkFixture fixture = BenchmarkFixture.create(backend);
+    fixture.resetCatalog(catalogSize, 10, 10);
+    productDAO = fixture.getProductDAO();
+  }
+
+  @Benchmark
+  public List<Product> getAllProducts() {
+    return productDAO.getAllProducts();
+  }
+
+  @Benchmark
+  public Product getProductById() {
+    next = next == catalogSize ? 1 : next + 1;
+    return productDAO.getProductById(next);
+  }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import dto.StockTransfer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.RebalancePlanner;
+import service.StoreRebalancer;
+
+/**
+ * 지점 간 재고 재배치 계획 벤치마크 (지점 수 x 제품 수 재고 행을 읽어 이동 계획까지, DB 없음)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RebalanceBenchmark {
+
+  /**
+   * 지점별 재고를 0~60 사이로 고르게, 대기 주문은 10% 행에만 1~10개 둔다 (시드 고정)
+   */
+  @State(Scope.Benchmark)
+  public static class StockState {
+    @Param({"100", "1000"})
+    public int stores;
+
+    @Param({"100", "1000"})
+    public int products;
+
+    int[] storeQuantity;
+    int[] warehouseQuantity;
+    int[] backorderQuantity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      int rows = stores * products;
+      storeQuantity = new int[rows];
+      warehouseQuantity = new int[rows];
+      backorderQuantity = new int[rows];
+      Random random = new Random(42);
+      for (int i = 0; i < rows; i++) {
+        storeQuantity[i] = random.nextInt(11);
+        warehouseQuantity[i] = random.nextInt(51);
+        backorderQuantity[i] = random.nextInt(10) == 0 ? 1 + random.nextInt(10) : 0;
+      }
+    }
+  }
+
+  /**
+   * 행 추가 (StoreDAO.streamStoreStock 과 같은 지점, 제품 순서) + 제품별 병렬 계획
+   */
+  @Benchmark
+  public List<StockTransfer> plan(StockState state) {
+    RebalancePlanner planner = new RebalancePlanner(StoreRebalancer.DEFAULT_MIN_LEVEL, StoreRebalancer.DEFAULT_MAX_LEVEL);
+    int row = 0;
+    for (int store = 1; store <= state.stores; store++) {
+      for (int product = 1; product <= state.products; product++, row++) {
+        planner.add(store, product, state.storeQuantity[row], state.warehouseQuantity[row], state.backorderQuantity[row]);
+      }
+    }
+    return planner.plan();
+  }
+}
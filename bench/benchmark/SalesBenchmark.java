@@ -0,0 +1,109 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.InventoryService;
+import service.SalesService;
+
+/**
+ * SalesService 판매 / 대기 주문 처리 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalesBenchmark {
+  private static final int SALE_STOCK = 1_000_000;
+
+  private static SalesService createService(BenchmarkFixture fixture) {
+    InventoryService inventoryService = new InventoryService(fixture.getProductDAO(), fixture.getSaleDAO());
+    SalesService salesService = new SalesService(fixture.getSaleDAO(), fixture.getProductDAO(), inventoryService);
+    inventoryService.setSalesService(salesService);
+    return salesService;
+  }
+
+  /**
+   * 매장 재고가 충분한 상태에서 즉시 판매
+   */
+  @State(Scope.Benchmark)
+  public static class SaleState {
+    @Param({BenchmarkFixture.MEMORY})
+    public String backend;
+
+    @Param({"100"})
+    public int catalogSize;
+
+    BenchmarkFixture fixture;
+    SalesService salesService;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      fixture = BenchmarkFixture.create(backend);
+      salesService = createService(fixture);
+      fixture.resetCatalog(catalogSize, SALE_STOCK, 0);
+    }
+
+    @Setup(Level.Iteration)
+    public void refill() {
+      fixture.resetStock(SALE_STOCK, 0);
+    }
+
+    int nextProductId() {
+      next = next == catalogSize ? 1 : next + 1;
+      return next;
+    }
+  }
+
+  /**
+   * 매 호출마다 같은 대기 주문 backlog 건을 새로 채운 상태
+   * (매장 재고 2, 창고 재고 10 이므로 매장 판매 / 창고 사용 / 재고 부족이 섞인다)
+   */
+  @State(Scope.Benchmark)
+  public static class WaitingOrderState {
+    @Param({BenchmarkFixture.MEMORY})
+    public String backend;
+
+    @Param({"10", "1000"})
+    public int backlog;
+
+    BenchmarkFixture fixture;
+    SalesService salesService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      fixture = BenchmarkFixture.create(backend);
+      salesService = createService(fixture);
+      fixture.resetCatalog(100, 2, 10);
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+      fixture.resetStock(2, 10);
+      fixture.fillWaitingOrders(backlog, 42);
+    }
+  }
+
+  @Benchmark
+  public int processSale(SaleState state) {
+    return state.salesService.processSale(state.nextProductId(), 1);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int processWaitingOrders(WaitingOrderState state) {
+    return state.salesService.processWaitingOrders();
+  }
+}
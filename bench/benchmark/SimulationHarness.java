@@ -0,0 +1,353 @@
+package benchmark;
+
+import common.LatencyHistogram;
+import common.SqlStats;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import service.InventoryService;
+import service.SalesService;
+import service.SimulationService;
+import service.TimeService;
+import service.WorkloadReplayer;
+
+/**
+ * 화면 없이 시뮬레이션 전체를 돌리는 종단 간 처리량 측정기
+ *
+ * 고정 시드의 SimulationService 를 만들고 시계를 최대 속도로 돌려 N 일을 시뮬레이션한 뒤
+ * 초당 시뮬레이션 일수, 초당 판매, 판매 지연 백분위, 할당량, GC, 조회 수(DAO 호출 / JDBC 문장)를 JSON 으로 남긴다.
+ * 시뮬레이션 로직은 지점마다 시간 이벤트 디스패치 스레드 하나에서 순서대로 돌기 때문에
+ * 같은 설정이면 판매 건수와 매출이 매번 같고, 시간 관련 값만 달라진다.
+ *
+ * 인자 (모두 key=value, 생략 가능):
+ * days=7 warmupDays=1 catalog=100 arrival=0.1 seed=42 backend=memory stores=1 out=simulation-report.json
+ * stores=N 같은 시계로 지점 N 곳을 병렬 시뮬레이션 (지점 k 의 시드는 seed + k - 1, 판매 지표는 전 지점 합계, 지연은 본점)
+ * record=<파일> 측정 구간의 고객 방문/구매 요청을 기록
+ * replay=<파일> 측정 구간을 시뮬레이션 대신 기록 파일 재생으로 대체 (days 무시)
+ * 예열은 재생 때도 같은 시드로 진행되므로 기록할 때와 catalog/warmupDays/seed 를 맞추면 같은 재고 상태에서 재생이 시작된다.
+ */
+public class SimulationHarness {
+  private static final int MINUTES_PER_DAY = 1440;
+  private static final int SYNC_EVERY_MINUTES = 60;   // 이 간격마다 시간 이벤트 처리 완료를 기다린다
+  private static final int INITIAL_STORE_QUANTITY = 10;
+  private static final int INITIAL_WAREHOUSE_QUANTITY = 20;
+
+  private final String backend;
+  private final int catalogSize;
+  private final double arrivalRate;
+  private final long seed;
+  private final int days;
+  private final int warmupDays;
+  private int stores = 1;
+  private Path recordPath;
+  private Path replayPath;
+
+  private BenchmarkFixture fixture;
+  private TimeService timeService;
+  private SimulationService simulationService;
+  private SalesService salesService;
+  // 본점 포함 지점별 (본점 먼저)
+  private final List<BenchmarkFixture> fixtures = new ArrayList<>();
+  private final List<SimulationService> simulationServices = new ArrayList<>();
+
+  public SimulationHarness(String backend, int catalogSize, double arrivalRate, long seed, int days, int warmupDays) {
+    this.backend = backend;
+    this.catalogSize = catalogSize;
+    this.arrivalRate = arrivalRate;
+    this.seed = seed;
+    this.days = days;
+    this.warmupDays = warmupDays;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (eq <= 0) {
+        System.err.println("❌ 인자는 key=value 형식이어야 합니다: " + arg);
+        System.exit(2);
+      }
+      options.put(arg.substring(0, eq), arg.substring(eq + 1));
+    }
+
+    SimulationHarness harness = new SimulationHarness(
+        options.getOrDefault("backend", BenchmarkFixture.MEMORY),
+        Integer.parseInt(options.getOrDefault("catalog", "100")),
+        Double.parseDouble(options.getOrDefault("arrival", "0.1")),
+        Long.parseLong(options.getOrDefault("seed", "42")),
+        Integer.parseInt(options.getOrDefault("days", "7")),
+        Integer.parseInt(options.getOrDefault("warmupDays", "1")));
+    if (options.containsKey("record")) {
+      harness.recordPath = Paths.get(options.get("record"));
+    }
+    if (options.containsKey("replay")) {
+      harness.replayPath = Paths.get(options.get("replay"));
+    }
+    harness.stores = Math.max(1, Integer.parseInt(options.getOrDefault("stores", "1")));
+    if (harness.stores > 1 && harness.replayPath != null) {
+      System.err.println("❌ replay 는 본점 하나만 재생하므로 stores 와 함께 쓸 수 없습니다.");
+      System.exit(2);
+    }
+
+    String report = harness.run();
+    Path out = Paths.get(options.getOrDefault("out", "simulation-report.json"));
+    Files.write(out, report.getBytes(StandardCharsets.UTF_8));
+    System.out.println(report);
+    System.out.println("📄 보고서 저장: " + out.toAbsolutePath());
+    System.exit(0);
+  }
+
+  /**
+   * 준비 -> 예열 -> 측정 후 JSON 보고서 반환
+   */
+  public String run() throws InterruptedException, IOException {
+    setUp();
+    simulateDays(warmupDays);
+
+    // 예열 이후 값만 측정
+    SqlStats.getInstance().reset();
+    salesService.getSaleLatencyHistogram().reset();
+    long completedBefore = total(SalesService::getCompletedSaleCount);
+    long failedBefore = total(SalesService::getFailedSaleCount);
+    long waitingBefore = total(SalesService::getWaitingOrderRegistrationCount);
+    long fulfilledBefore = total(SalesService::getFulfilledWaitingOrderCount);
+    long revenueBefore = total(SalesService::getRevenue);
+    long allocatedBefore = allocatedBytes();
+    long gcCountBefore = gcCount();
+    long gcTimeBefore = gcTimeMillis();
+    long queriesBefore = totalQueries();
+
+    long start = System.nanoTime();
+    double simulatedDays = days;
+    if (replayPath != null) {
+      WorkloadReplayer.Result replayed = WorkloadReplayer.replay(replayPath, simulationService);
+      simulatedDays = replayed.simulatedMinutes / (double) MINUTES_PER_DAY;
+    } else {
+      if (recordPath != null) {
+        simulationService.startRecording(recordPath);
+      }
+      simulateDays(days);
+      simulationService.stopRecording();
+    }
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    Result result = new Result();
+    result.elapsedSeconds = elapsedSeconds;
+    result.simulatedDays = simulatedDays;
+    result.completedSales = total(SalesService::getCompletedSaleCount) - completedBefore;
+    result.failedSales = total(SalesService::getFailedSaleCount) - failedBefore;
+    result.waitingOrders = total(SalesService::getWaitingOrderRegistrationCount) - waitingBefore;
+    result.fulfilledWaitingOrders = total(SalesService::getFulfilledWaitingOrderCount) - fulfilledBefore;
+    result.revenue = total(SalesService::getRevenue) - revenueBefore;
+    result.allocatedBytes = allocatedBytes() - allocatedBefore;
+    result.gcCount = gcCount() - gcCountBefore;
+    result.gcTimeMillis = gcTimeMillis() - gcTimeBefore;
+    result.queries = totalQueries() - queriesBefore;
+
+    for (SimulationService service : simulationServices) {
+      service.stopSimulation();
+    }
+    return toJson(result);
+  }
+
+  private void setUp() {
+    fixture = BenchmarkFixture.create(backend);
+    timeService = new TimeService();
+    for (int storeId = 1; storeId <= stores; storeId++) {
+      BenchmarkFixture storeFixture = storeId == 1 ? fixture : fixture.branch(storeId);
+      InventoryService inventoryService = new InventoryService(storeFixture.getProductDAO(), storeFixture.getSaleDAO());
+      // 지점은 본점의 분석용 컬럼 저장소에 같이 기록한다 (StoreChain 과 같은 구성)
+      SalesService storeSales = storeId == 1
+          ? new SalesService(storeFixture.getSaleDAO(), storeFixture.getProductDAO(), inventoryService)
+          : new SalesService(storeFixture.getSaleDAO(), storeFixture.getProductDAO(), inventoryService,
+              simulationServices.get(0).getSalesService().getColumnStore());
+      SimulationService service = new SimulationService(timeService, inventoryService, storeSales,
+          new Random(seed + storeId - 1));
+      service.setCustomerArrivalRate(arrivalRate);
+
+      // SalesService 생성 시 판매 테이블이 비워지므로 그 뒤에 제품을 채운다 (지점은 본점 제품 목록 위에 지점 재고만)
+      storeFixture.resetCatalog(catalogSize, INITIAL_STORE_QUANTITY, INITIAL_WAREHOUSE_QUANTITY);
+      fixtures.add(storeFixture);
+      simulationServices.add(service);
+    }
+    simulationService = simulationServices.get(0);
+    salesService = simulationService.getSalesService();
+    for (SimulationService service : simulationServices) {
+      service.startSimulation();
+    }
+  }
+
+  private long total(ToLongFunction<SalesService> counter) {
+    long total = 0;
+    for (SimulationService service : simulationServices) {
+      total += counter.applyAsLong(service.getSalesService());
+    }
+    return total;
+  }
+
+  private long totalQueries() {
+    long total = 0;
+    for (BenchmarkFixture storeFixture : fixtures) {
+      total += storeFixture.getQueryCount();
+    }
+    return total;
+  }
+
+  private void simulateDays(int count) throws InterruptedException {
+    for (int minute = 1; minute <= count * MINUTES_PER_DAY; minute++) {
+      timeService.advanceTime(1);
+      if (minute % SYNC_EVERY_MINUTES == 0) {
+        awaitSimulation();
+      }
+    }
+    awaitSimulation();
+  }
+
+  private void awaitSimulation() throws InterruptedException {
+    for (SimulationService service : simulationServices) {
+      while (!service.awaitTimeEventsProcessed(10, TimeUnit.SECONDS)) {
+        System.err.println("⏳ 시간 이벤트 처리 대기 중...");
+      }
+    }
+  }
+
+  // 살아 있는 모든 스레드의 누적 할당 바이트 (HotSpot 전용)
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+      return 0;
+    }
+    long total = 0;
+    for (long bytes : ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(bean.getAllThreadIds())) {
+      if (bytes > 0) total += bytes;
+    }
+    return total;
+  }
+
+  private static long gcCount() {
+    long total = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(0, gc.getCollectionCount());
+    }
+    return total;
+  }
+
+  private static long gcTimeMillis() {
+    long total = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(0, gc.getCollectionTime());
+    }
+    return total;
+  }
+
+  /**
+   * 측정 구간 값
+   */
+  private static final class Result {
+    double elapsedSeconds;
+    double simulatedDays;
+    long completedSales;
+    long failedSales;
+    long waitingOrders;
+    long fulfilledWaitingOrders;
+    long revenue;
+    long allocatedBytes;
+    long gcCount;
+    long gcTimeMillis;
+    long queries;
+  }
+
+  private String toJson(Result r) {
+    LatencyHistogram latency = salesService.getSaleLatencyHistogram();
+    SqlStats sqlStats = SqlStats.getInstance();
+    List<SqlStats.ShapeStats> shapes = sqlStats.snapshot();
+    long statements = 0;
+    long rows = 0;
+    long errors = 0;
+    for (SqlStats.ShapeStats shape : shapes) {
+      statements += shape.getCalls();
+      rows += shape.getRows();
+      errors += shape.getErrors();
+    }
+    double seconds = Math.max(r.elapsedSeconds, 1e-9);
+
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\n");
+    sb.append("  \"config\": {");
+    sb.append(String.format(Locale.ROOT,
+        "\"backend\": %s, \"catalogSize\": %d, \"arrivalRate\": %s, \"seed\": %d, \"days\": %d, \"warmupDays\": %d, "
+            + "\"stores\": %d, \"record\": %s, \"replay\": %s",
+        quote(backend), catalogSize, arrivalRate, seed, days, warmupDays, stores,
+        recordPath == null ? "null" : quote(recordPath.toString()),
+        replayPath == null ? "null" : quote(replayPath.toString())));
+    sb.append("},\n");
+    sb.append(String.format(Locale.ROOT, "  \"elapsedSeconds\": %.3f,%n", r.elapsedSeconds));
+    sb.append(String.format(Locale.ROOT, "  \"simulatedDays\": %.3f,%n", r.simulatedDays));
+    sb.append(String.format(Locale.ROOT, "  \"simulatedDaysPerSecond\": %.3f,%n", r.simulatedDays / seconds));
+    sb.append(String.format(Locale.ROOT,
+        "  \"sales\": {\"completed\": %d, \"failed\": %d, \"waitingOrders\": %d, \"fulfilledWaitingOrders\": %d, "
+            + "\"revenue\": %d, \"perSecond\": %.1f},%n",
+        r.completedSales, r.failedSales, r.waitingOrders, r.fulfilledWaitingOrders, r.revenue,
+        r.completedSales / seconds));
+    sb.append(String.format(Locale.ROOT,
+        "  \"saleLatencyMicros\": {\"count\": %d, \"mean\": %.1f, \"p50\": %.1f, \"p90\": %.1f, \"p99\": %.1f, "
+            + "\"p999\": %.1f, \"max\": %.1f},%n",
+        latency.getCount(), latency.getMean() / 1e3, latency.percentile(0.50) / 1e3, latency.percentile(0.90) / 1e3,
+        latency.percentile(0.99) / 1e3, latency.percentile(0.999) / 1e3, latency.getMax() / 1e3));
+    sb.append(String.format(Locale.ROOT,
+        "  \"allocation\": {\"bytes\": %d, \"bytesPerSecond\": %.0f, \"bytesPerSale\": %.0f},%n",
+        r.allocatedBytes, r.allocatedBytes / seconds,
+        r.completedSales == 0 ? 0.0 : (double) r.allocatedBytes / r.completedSales));
+    sb.append(String.format(Locale.ROOT, "  \"gc\": {\"count\": %d, \"timeMillis\": %d},%n", r.gcCount, r.gcTimeMillis));
+    sb.append(String.format(Locale.ROOT, "  \"queries\": {\"count\": %d, \"perSale\": %.2f},%n",
+        r.queries, r.completedSales == 0 ? 0.0 : (double) r.queries / r.completedSales));
+    sb.append(String.format(Locale.ROOT,
+        "  \"jdbc\": {\"statements\": %d, \"rows\": %d, \"errors\": %d, \"connections\": %d, \"statementsPerSale\": %.2f, \"shapes\": [",
+        statements, rows, errors, sqlStats.getConnectionAcquireHistogram().getCount(),
+        r.completedSales == 0 ? 0.0 : (double) statements / r.completedSales));
+    for (int i = 0; i < shapes.size(); i++) {
+      SqlStats.ShapeStats shape = shapes.get(i);
+      LatencyHistogram h = shape.getHistogram();
+      sb.append(i == 0 ? "\n" : ",\n");
+      sb.append(String.format(Locale.ROOT,
+          "    {\"sql\": %s, \"calls\": %d, \"rows\": %d, \"totalMillis\": %.1f, \"p50Micros\": %.1f, \"p99Micros\": %.1f}",
+          quote(shape.getShape()), shape.getCalls(), shape.getRows(), h.getTotalNanos() / 1e6,
+          h.percentile(0.50) / 1e3, h.percentile(0.99) / 1e3));
+    }
+    sb.append(shapes.isEmpty() ? "]}\n" : "\n  ]}\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  private static String quote(String value) {
+    StringBuilder sb = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"' -> sb.append("\\\"");
+        case '\\' -> sb.append("\\\\");
+        case '\n' -> sb.append("\\n");
+        case '\t' -> sb.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+        }
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
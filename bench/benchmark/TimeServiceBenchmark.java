@@ -0,0 +1,92 @@
+package benchmark;
+
+import common.EventBus;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.TimeService;
+
+/**
+ * TimeService.advanceTime 벤치마크 (리스너 수별, 모든 리스너 BLOCK 정책)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeServiceBenchmark {
+  @Param({"1", "16", "64"})
+  public int listeners;
+
+  private TimeService timeService;
+  private final List<EventBus.Subscription<TimeService.TimeEventListener>> subscriptions = new ArrayList<>();
+  private volatile long sink;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    timeService = new TimeService();
+    for (int i = 0; i < listeners; i++) {
+      subscriptions.add(timeService.addTimeEventListener(new TimeService.TimeEventListener() {
+        @Override
+        public void onTimeChanged(LocalTime time, LocalDate date) {
+          sink = time.toSecondOfDay();
+        }
+
+        @Override
+        public void onHourChanged(int hour) {
+          sink = hour;
+        }
+
+        @Override
+        public void onDayChanged(LocalDate date) {
+          sink = date.toEpochDay();
+        }
+      }));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    for (EventBus.Subscription<TimeService.TimeEventListener> subscription : subscriptions) {
+      EventBus.getDefault().unsubscribe(subscription);
+    }
+    subscriptions.clear();
+  }
+
+  /**
+   * 게시 비용 (큐가 차면 BLOCK 정책으로 대기하는 시간 포함)
+   */
+  @Benchmark
+  public void advanceTime() {
+    timeService.advanceTime(1);
+  }
+
+  /**
+   * 1분 진행 후 모든 리스너가 처리할 때까지
+   */
+  @Benchmark
+  public boolean advanceTimeAndDrain() throws InterruptedException {
+    timeService.advanceTime(1);
+    boolean idle = true;
+    for (EventBus.Subscription<TimeService.TimeEventListener> subscription : subscriptions) {
+      idle &= subscription.awaitIdle(1, TimeUnit.SECONDS);
+    }
+    return idle;
+  }
+}
@@ -11,31 +11,155 @@ CREATE TABLE products (
                           warehouse_quantity INT DEFAULT 0   -- 창고 재고 수량
 );
 
--- 판매 테이블
-CREATE TABLE sales (
-                       sale_id INT AUTO_INCREMENT PRIMARY KEY,
-                       sale_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,  -- 판매 일시
-                       total_amount INT NOT NULL                       -- 총 금액
+-- 지점 (1 = 본점, 본점 재고는 products 의 재고 컬럼)
+CREATE TABLE stores (
+                        store_id INT PRIMARY KEY,
+                        name VARCHAR(50) NOT NULL
+);
+
+INSERT INTO stores (store_id, name) VALUES (1, '본점');
+
+-- 본점 외 지점의 제품별 재고 (지점마다 행이 나뉘어 지점끼리 잠금을 다투지 않음)
+CREATE TABLE store_inventory (
+                                 store_id INT NOT NULL,
+                                 product_id INT NOT NULL,
+                                 store_quantity INT NOT NULL DEFAULT 0,      -- 매장 재고 수량
+                                 warehouse_quantity INT NOT NULL DEFAULT 0,  -- 창고 재고 수량
+                                 PRIMARY KEY (store_id, product_id)
 );
 
--- 판매 상세 내역 테이블
+-- 판매 테이블 (시뮬레이션 날짜 기준 일 단위 RANGE 파티션)
+-- 파티션 키가 모든 고유 키에 포함되어야 하므로 기본 키는 (sale_id, sale_date) 이고,
+-- 파티션 테이블은 외래 키를 지원하지 않는다. 일별 파티션은 SaleDAO.ensureSalePartitions 가 미리 만든다.
+CREATE TABLE sales (
+                       sale_id INT AUTO_INCREMENT,
+                       store_id INT NOT NULL DEFAULT 1,                        -- 판매 지점
+                       sale_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,  -- 판매 일시 (시뮬레이션 시각)
+                       total_amount INT NOT NULL,                              -- 총 금액
+                       PRIMARY KEY (sale_id, sale_date),
+                       KEY idx_sales_date (sale_date)
+)
+    PARTITION BY RANGE (TO_DAYS(sale_date)) (
+        PARTITION p0 VALUES LESS THAN (TO_DAYS('2020-01-01')),
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
+
+-- 판매 상세 내역 테이블 (sales 와 같은 판매 일시로 파티션)
 CREATE TABLE sale_items (
-                            sale_item_id INT AUTO_INCREMENT PRIMARY KEY,
+                            sale_item_id INT AUTO_INCREMENT,
                             sale_id INT NOT NULL,
+                            sale_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, -- 판매 일시 (sales.sale_date 와 같은 값)
                             product_id INT NOT NULL,
                             quantity INT NOT NULL DEFAULT 1,  -- 수량
                             unit_price INT NOT NULL,          -- 판매 당시 단가
                             total_price INT NOT NULL,         -- 총 가격(단가 * 수량)
-                            FOREIGN KEY (sale_id) REFERENCES sales(sale_id) ON DELETE CASCADE,
-                            FOREIGN KEY (product_id) REFERENCES products(product_id)
-);
+                            PRIMARY KEY (sale_item_id, sale_date),
+                            KEY idx_sale_items_sale (sale_id),
+                            KEY idx_sale_items_product (product_id, sale_date, sale_id)
+)
+    PARTITION BY RANGE (TO_DAYS(sale_date)) (
+        PARTITION p0 VALUES LESS THAN (TO_DAYS('2020-01-01')),
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
 
 -- 대기 주문 테이블
 CREATE TABLE waiting_orders (
                                 order_id INT AUTO_INCREMENT PRIMARY KEY,
+                                store_id INT NOT NULL DEFAULT 1,                 -- 주문 지점
                                 product_id INT NOT NULL,
                                 quantity INT NOT NULL,                           -- 주문 수량
                                 request_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- 요청 일시
                                 status VARCHAR(20) NOT NULL DEFAULT 'waiting',    -- 상태(waiting, processed, cancelled)
+                                KEY idx_waiting_orders_status (status, request_date),
+                                KEY idx_waiting_orders_store (store_id, status, request_date),
+                                KEY idx_waiting_orders_product (product_id),
                                 FOREIGN KEY (product_id) REFERENCES products(product_id)
-);
\ No newline at end of file
+);
+
+-- 제품별 시간 단위 판매 집계 (판매와 같은 트랜잭션에서 누적)
+CREATE TABLE sales_hourly (
+                              bucket_hour DATETIME NOT NULL,     -- 시뮬레이션 시각 기준 정각
+                              store_id INT NOT NULL DEFAULT 1,   -- 판매 지점 (지점끼리 같은 행을 누적하지 않는다)
+                              product_id INT NOT NULL,
+                              units BIGINT NOT NULL DEFAULT 0,   -- 판매 수량
+                              revenue BIGINT NOT NULL DEFAULT 0, -- 매출
+                              sale_count INT NOT NULL DEFAULT 0, -- 판매 건수
+                              PRIMARY KEY (bucket_hour, store_id, product_id),
+                              KEY idx_sales_hourly_product (product_id, bucket_hour)
+);
+
+-- 제품별 일 단위 판매 집계
+CREATE TABLE sales_daily (
+                             bucket_date DATE NOT NULL,
+                             store_id INT NOT NULL DEFAULT 1,
+                             product_id INT NOT NULL,
+                             units BIGINT NOT NULL DEFAULT 0,
+                             revenue BIGINT NOT NULL DEFAULT 0,
+                             sale_count INT NOT NULL DEFAULT 0,
+                             PRIMARY KEY (bucket_date, store_id, product_id),
+                             KEY idx_sales_daily_product (product_id, bucket_date)
+);
+
+
+-- 보관 테이블 (ArchiveService 가 오래된 판매와 처리 끝난 대기 주문을 옮겨 둔다, 압축 행 형식)
+CREATE TABLE sales_archive (
+                               sale_id INT PRIMARY KEY,
+                               store_id INT NOT NULL DEFAULT 1,
+                               sale_date DATETIME NOT NULL,
+                               total_amount INT NOT NULL,
+                               archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                               KEY idx_sales_archive_date (sale_date)
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+CREATE TABLE sale_items_archive (
+                                    sale_item_id INT PRIMARY KEY,
+                                    sale_id INT NOT NULL,
+                                    sale_date DATETIME NOT NULL,
+                                    product_id INT NOT NULL,
+                                    quantity INT NOT NULL,
+                                    unit_price INT NOT NULL,
+                                    total_price INT NOT NULL,
+                                    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                    KEY idx_sale_items_archive_sale (sale_id)
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+CREATE TABLE waiting_orders_archive (
+                                        order_id INT PRIMARY KEY,
+                                        store_id INT NOT NULL DEFAULT 1,
+                                        product_id INT NOT NULL,
+                                        quantity INT NOT NULL,
+                                        request_date TIMESTAMP NULL,
+                                        status VARCHAR(20) NOT NULL,
+                                        archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+-- 재고 이동 이벤트 로그 (판매/이동/배송/대기 주문 처리마다 한 행, 덧붙이기만 함)
+CREATE TABLE inventory_events (
+                                  event_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                  store_id INT NOT NULL DEFAULT 1,   -- 재고가 움직인 지점
+                                  product_id INT NOT NULL,
+                                  event_type TINYINT NOT NULL,       -- 1 판매, 2 이동, 3 배송, 4 대기 주문, 5 조정, 6 지점 간 이동
+                                  store_delta INT NOT NULL,          -- 매장 재고 증감
+                                  warehouse_delta INT NOT NULL,      -- 창고 재고 증감
+                                  event_time DATETIME NOT NULL,      -- 시뮬레이션 시각
+                                  KEY idx_inventory_events_store (store_id, event_id),
+                                  KEY idx_inventory_events_product (store_id, product_id, event_time)
+);
+
+-- 지점별 재고 스냅샷 (그 지점의 last_event_id 까지 반영된 제품별 재고)
+CREATE TABLE inventory_snapshots (
+                                     snapshot_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                     store_id INT NOT NULL DEFAULT 1,
+                                     snapshot_time DATETIME NOT NULL,
+                                     last_event_id BIGINT NOT NULL,
+                                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                     KEY idx_inventory_snapshots_time (store_id, snapshot_time)
+);
+
+CREATE TABLE inventory_snapshot_items (
+                                          snapshot_id BIGINT NOT NULL,
+                                          product_id INT NOT NULL,
+                                          store_quantity INT NOT NULL,
+                                          warehouse_quantity INT NOT NULL,
+                                          PRIMARY KEY (snapshot_id, product_id)
+);
@@ -1,3 +1,6 @@
+import common.SqlStats;
+import common.TickProfiler;
+import java.nio.file.Paths;
 import javax.swing.UIManager;
 import ui.MainFrame;
 
@@ -6,6 +9,30 @@ import ui.MainFrame;
  */
 public class Main {
   public static void main(String[] args) {
+    // -Dprofiler.dump=<파일> 지정 시 종료할 때 틱 지연 분석 보고서 저장
+    String profilerDump = System.getProperty("profiler.dump");
+    if (profilerDump != null) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          TickProfiler.getInstance().dumpTo(Paths.get(profilerDump));
+        } catch (Exception e) {
+          e.printStackTrace();
+        }
+      }));
+    }
+
+    // -Djdbc.stats.dump=<파일> 지정 시 종료할 때 SQL 형태별 통계 저장
+    String jdbcStatsDump = System.getProperty("jdbc.stats.dump");
+    if (jdbcStatsDump != null) {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          SqlStats.getInstance().dumpTo(Paths.get(jdbcStatsDump));
+        } catch (Exception e) {
+          e.printStackTrace();
+        }
+      }));
+    }
+
     try {
       // Look & Feel 설정
       UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -9,9 +9,12 @@ import java.sql.SQLException;
  */
 public class DBManager {
 
-  private static final String url = "jdbc:mysql://localhost:3307/eureka_project_db";
-  private static final String user = "root";
-  private static final String pwd = "1234";
+  // 벤치마크 등에서 별도 DB 를 쓰도록 -Ddb.url / -Ddb.user / -Ddb.password 로 바꿀 수 있다
+  // rewriteBatchedStatements: 배치 INSERT 를 다중 행 문장 하나로 보낸다
+  private static final String url = System.getProperty("db.url",
+      "jdbc:mysql://localhost:3307/eureka_project_db?rewriteBatchedStatements=true");
+  private static final String user = System.getProperty("db.user", "root");
+  private static final String pwd = System.getProperty("db.password", "1234");
 
   static {
     try {
@@ -23,15 +26,16 @@ public class DBManager {
 
   /**
    * 데이터베이스 연결 객체 반환
+   * 연결 획득 시간과 문장 실행 통계는 SqlStats 와 TickProfiler 에 기록된다.
    */
   public static Connection getConnection() {
     Connection con = null;
     try {
-      con = DriverManager.getConnection(url, user, pwd);
+      con = InstrumentedConnection.acquire(() -> DriverManager.getConnection(url, user, pwd));
     } catch (SQLException e) {
       e.printStackTrace();
     }
     return con;
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,374 @@
+package common;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 서비스 리스너 공용 비동기 이벤트 버스
+ *
+ * 구독자마다 제한된 크기의 큐와 전용 디스패치 스레드를 가지므로
+ * 느린 리스너(UI, 로그)가 판매 처리 같은 비즈니스 로직의 지연으로 이어지지 않는다.
+ * 한 구독자에게 전달되는 이벤트의 순서는 게시 순서와 같다.
+ */
+public class EventBus {
+
+  private static final EventBus DEFAULT = new EventBus();
+
+  /** 기본 큐 크기 */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  /**
+   * 큐가 가득 찼을 때의 처리 정책
+   */
+  public enum OverflowPolicy {
+    /** 큐에 자리가 날 때까지 게시 스레드를 대기시킨다 (유실 없음) */
+    BLOCK,
+    /** 가장 오래된 이벤트를 버리고 새 이벤트를 넣는다 */
+    DROP_OLDEST,
+    /** 같은 키의 대기 중인 이벤트를 최신 이벤트로 교체한다. 키가 없거나 교체 대상이 없으면 DROP_OLDEST 로 동작 */
+    COALESCE
+  }
+
+  private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+
+  /**
+   * 애플리케이션 공용 이벤트 버스 반환
+   */
+  public static EventBus getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * 리스너 구독 등록 (전용 디스패치 스레드 시작)
+   * 구독 이름은 "토픽:리스너 클래스" 형태로 지표와 스레드 이름에 사용된다.
+   */
+  public <L> Subscription<L> subscribe(String topic, L listener, OverflowPolicy policy, int capacity) {
+    String name = topic + ":" + describe(listener);
+    Subscription<L> subscription = new Subscription<>(name, listener, policy, capacity);
+    subscriptions.add(subscription);
+    subscription.start();
+    return subscription;
+  }
+
+  /**
+   * 구독 해지 (남은 이벤트는 버린다)
+   */
+  public void unsubscribe(Subscription<?> subscription) {
+    subscriptions.remove(subscription);
+    subscription.close();
+  }
+
+  /**
+   * 등록된 모든 구독 목록 (지표 조회용)
+   */
+  public List<Subscription<?>> getSubscriptions() {
+    return Collections.unmodifiableList(subscriptions);
+  }
+
+  /**
+   * 모든 구독자의 큐가 비고 처리 중인 이벤트가 없을 때까지 대기
+   */
+  public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (Subscription<?> subscription : subscriptions) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0 || !subscription.awaitIdle(remaining, TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 구독자별 지표를 한 줄씩 문자열로 반환
+   */
+  public String formatMetrics() {
+    StringBuilder sb = new StringBuilder();
+    for (Subscription<?> s : subscriptions) {
+      sb.append(String.format("%-28s %-11s queue=%d/%d dispatched=%d dropped=%d coalesced=%d lag(last/max)=%.2f/%.2fms%n",
+          s.getName(), s.getPolicy(), s.getQueueSize(), s.getCapacity(), s.getDispatchedCount(),
+          s.getDroppedCount(), s.getCoalescedCount(),
+          s.getLastLagNanos() / 1_000_000.0, s.getMaxLagNanos() / 1_000_000.0));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 리스너 클래스 이름 (익명 클래스, 람다도 구분 가능하도록 패키지만 제거)
+   */
+  private static String describe(Object listener) {
+    String className = listener.getClass().getName();
+    int slash = className.indexOf('/');
+    if (slash > 0) {
+      className = className.substring(0, slash);  // 람다의 숨은 클래스 접미사 제거
+    }
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /**
+   * 큐에 대기 중인 이벤트
+   */
+  private static final class Envelope<L> {
+    final Object key;
+    Consumer<L> event;
+    long postedAt;
+
+    Envelope(Object key, Consumer<L> event, long postedAt) {
+      this.key = key;
+      this.event = event;
+      this.postedAt = postedAt;
+    }
+  }
+
+  /**
+   * 구독자 한 명의 큐와 디스패치 스레드, 지연 지표
+   */
+  public static final class Subscription<L> {
+    private final String name;
+    private final L listener;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final TickProfiler.Category profileCategory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+    private final ArrayDeque<Envelope<L>> queue;
+    private final Map<Object, Envelope<L>> pendingByKey = new HashMap<>();
+    private boolean dispatching = false;
+    private volatile boolean closed = false;
+    private Thread thread;
+
+    // 지표
+    private volatile long dispatchedCount;
+    private volatile long droppedCount;
+    private volatile long coalescedCount;
+    private volatile long failedCount;
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+    private volatile long totalLagNanos;
+    private volatile long totalDispatchNanos;
+
+    private Subscription(String name, L listener, OverflowPolicy policy, int capacity) {
+      if (capacity <= 0) {
+        throw new IllegalArgumentException("capacity must be positive: " + capacity);
+      }
+      this.name = name;
+      this.listener = listener;
+      this.policy = policy;
+      this.capacity = capacity;
+      // ui 패키지의 리스너 처리 시간은 UI 갱신으로, 나머지는 리스너로 집계
+      this.profileCategory = listener.getClass().getName().startsWith("ui.")
+          ? TickProfiler.Category.UI : TickProfiler.Category.LISTENER;
+      this.queue = new ArrayDeque<>(Math.min(capacity, 256));
+    }
+
+    private void start() {
+      thread = new Thread(this::dispatchLoop, "event-" + name);
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    private void close() {
+      closed = true;
+      lock.lock();
+      try {
+        queue.clear();
+        pendingByKey.clear();
+        notEmpty.signalAll();
+        notFull.signalAll();
+        idle.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * 이벤트 게시 (키 없음)
+     */
+    public void post(Consumer<L> event) {
+      post(null, event);
+    }
+
+    /**
+     * 이벤트 게시. COALESCE 정책에서는 같은 키로 대기 중인 이벤트를 교체한다.
+     */
+    public void post(Object coalesceKey, Consumer<L> event) {
+      if (closed) return;
+      long now = System.nanoTime();
+
+      lock.lock();
+      try {
+        if (policy == OverflowPolicy.COALESCE && coalesceKey != null) {
+          Envelope<L> pending = pendingByKey.get(coalesceKey);
+          if (pending != null) {
+            // 큐 내 위치와 최초 게시 시각은 유지하고 내용만 최신으로 교체
+            pending.event = event;
+            coalescedCount++;
+            return;
+          }
+        }
+
+        while (queue.size() >= capacity && !closed) {
+          if (policy == OverflowPolicy.BLOCK) {
+            notFull.awaitUninterruptibly();
+          } else {
+            Envelope<L> dropped = queue.pollFirst();
+            if (dropped.key != null) {
+              pendingByKey.remove(dropped.key);
+            }
+            droppedCount++;
+          }
+        }
+        if (closed) return;
+
+        Envelope<L> envelope = new Envelope<>(coalesceKey, event, now);
+        queue.addLast(envelope);
+        if (policy == OverflowPolicy.COALESCE && coalesceKey != null) {
+          pendingByKey.put(coalesceKey, envelope);
+        }
+        notEmpty.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * 디스패치 스레드 루프
+     */
+    private void dispatchLoop() {
+      while (!closed) {
+        Envelope<L> envelope;
+        lock.lock();
+        try {
+          while (queue.isEmpty() && !closed) {
+            dispatching = false;
+            idle.signalAll();
+            notEmpty.awaitUninterruptibly();
+          }
+          if (closed) return;
+          envelope = queue.pollFirst();
+          if (envelope.key != null) {
+            pendingByKey.remove(envelope.key);
+          }
+          dispatching = true;
+          notFull.signal();
+        } finally {
+          lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        long lag = start - envelope.postedAt;
+        lastLagNanos = lag;
+        if (lag > maxLagNanos) {
+          maxLagNanos = lag;
+        }
+        totalLagNanos += lag;
+
+        long profileStart = TickProfiler.begin();
+        try {
+          envelope.event.accept(listener);
+        } catch (RuntimeException e) {
+          failedCount++;
+          System.err.println("❌ 이벤트 처리 중 오류 (" + name + "): " + e.getMessage());
+          e.printStackTrace();
+        } finally {
+          TickProfiler.end(profileCategory, profileStart);
+        }
+
+        totalDispatchNanos += System.nanoTime() - start;
+        dispatchedCount++;
+      }
+    }
+
+    /**
+     * 큐가 비고 처리 중인 이벤트가 없을 때까지 대기
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+      long remaining = unit.toNanos(timeout);
+      lock.lock();
+      try {
+        while ((dispatching || !queue.isEmpty()) && !closed) {
+          if (remaining <= 0) return false;
+          remaining = idle.awaitNanos(remaining);
+        }
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public L getListener() {
+      return listener;
+    }
+
+    public OverflowPolicy getPolicy() {
+      return policy;
+    }
+
+    public int getCapacity() {
+      return capacity;
+    }
+
+    public int getQueueSize() {
+      lock.lock();
+      try {
+        return queue.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public long getDispatchedCount() {
+      return dispatchedCount;
+    }
+
+    public long getDroppedCount() {
+      return droppedCount;
+    }
+
+    public long getCoalescedCount() {
+      return coalescedCount;
+    }
+
+    public long getFailedCount() {
+      return failedCount;
+    }
+
+    public long getLastLagNanos() {
+      return lastLagNanos;
+    }
+
+    public long getMaxLagNanos() {
+      return maxLagNanos;
+    }
+
+    /**
+     * 평균 대기 지연 (게시 ~ 처리 시작)
+     */
+    public long getAverageLagNanos() {
+      long count = dispatchedCount;
+      return count == 0 ? 0 : totalLagNanos / count;
+    }
+
+    /**
+     * 리스너 처리에 쓴 누적 시간
+     */
+    public long getTotalDispatchNanos() {
+      return totalDispatchNanos;
+    }
+  }
+}
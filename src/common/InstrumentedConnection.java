@@ -0,0 +1,170 @@
+package common;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import jfr.JdbcEvent;
+
+/**
+ * 측정용 JDBC 연결 래퍼
+ *
+ * 연결에서 만든 문장의 execute 계열 호출마다 SQL 형태별 통계(SqlStats)와
+ * 틱 분석기(TickProfiler)의 JDBC 항목에 시간을 기록한다. 조회 결과는 next() 로 읽은 행 수를 센다.
+ * JFR 기록 중이면 실행마다 JdbcEvent 를 남긴다.
+ */
+public final class InstrumentedConnection {
+
+  private InstrumentedConnection() {
+  }
+
+  /**
+   * 연결 감싸기
+   */
+  public static Connection wrap(Connection con) {
+    SqlStats stats = SqlStats.getInstance();
+    boolean[] closed = {false};
+
+    return (Connection) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(),
+        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+          String name = method.getName();
+          if (name.equals("close")) {
+            synchronized (closed) {
+              if (!closed[0]) {
+                closed[0] = true;
+                stats.recordConnectionClosed();
+              }
+            }
+            return invoke(con, method, args);
+          }
+
+          Object result = invoke(con, method, args);
+          if (result instanceof PreparedStatement && name.startsWith("prepare")) {
+            // 준비된 문장은 SQL 이 생성 시점에 정해진다
+            return wrapStatement((Statement) result, proxyType(result), stats.forSql((String) args[0]));
+          } else if (result instanceof Statement) {
+            return wrapStatement((Statement) result, Statement.class, null);
+          }
+          return result;
+        });
+  }
+
+  private static Class<? extends Statement> proxyType(Object statement) {
+    return statement instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class;
+  }
+
+  private static Statement wrapStatement(Statement statement, Class<? extends Statement> type,
+      SqlStats.ShapeStats preparedShape) {
+    return (Statement) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(),
+        new Class<?>[]{type}, (proxy, method, args) -> {
+          String name = method.getName();
+          if (!name.startsWith("execute")) {
+            return invoke(statement, method, args);
+          }
+
+          // Statement.execute(sql) 계열은 호출 시 SQL 이 주어진다
+          SqlStats.ShapeStats shape = preparedShape;
+          if (args != null && args.length > 0 && args[0] instanceof String) {
+            shape = SqlStats.getInstance().forSql((String) args[0]);
+          }
+
+          JdbcEvent event = new JdbcEvent();
+          event.begin();
+          long profileStart = TickProfiler.begin();
+          long start = System.nanoTime();
+          boolean success = false;
+          try {
+            Object result = invoke(statement, method, args);
+            success = true;
+            event.rows = countRows(result);
+            if (shape != null) {
+              shape.addRows(event.rows);
+              if (result instanceof ResultSet) {
+                return wrapResultSet((ResultSet) result, shape);
+              }
+            }
+            return result;
+          } finally {
+            if (shape != null) {
+              shape.recordExecution(System.nanoTime() - start, success);
+            }
+            TickProfiler.end(TickProfiler.Category.JDBC, profileStart);
+            event.end();
+            if (event.shouldCommit()) {
+              event.sql = shape != null ? shape.getShape() : null;
+              event.success = success;
+              event.commit();
+            }
+          }
+        });
+  }
+
+  // 변경 행 수 (executeUpdate / executeBatch, 음수인 SUCCESS_NO_INFO 는 제외)
+  private static long countRows(Object result) {
+    long rows = 0;
+    if (result instanceof Integer) {
+      rows = Math.max(0, (Integer) result);
+    } else if (result instanceof Long) {
+      rows = Math.max(0, (Long) result);
+    } else if (result instanceof int[]) {
+      for (int count : (int[]) result) {
+        rows += Math.max(0, count);
+      }
+    } else if (result instanceof long[]) {
+      for (long count : (long[]) result) {
+        rows += Math.max(0, count);
+      }
+    }
+    return rows;
+  }
+
+  // 조회 행 수 (next() 가 true 를 반환한 횟수)
+  private static ResultSet wrapResultSet(ResultSet rs, SqlStats.ShapeStats shape) {
+    return (ResultSet) Proxy.newProxyInstance(InstrumentedConnection.class.getClassLoader(),
+        new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+          Object result = invoke(rs, method, args);
+          if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            shape.addRows(1);
+          }
+          return result;
+        });
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * 연결 획득 시간을 기록하며 연결을 얻는 함수형 인터페이스
+   */
+  @FunctionalInterface
+  public interface ConnectionSupplier {
+    Connection get() throws SQLException;
+  }
+
+  /**
+   * 연결 획득 시간 측정 후 감싸서 반환 (실패 시 예외 그대로 전달)
+   */
+  public static Connection acquire(ConnectionSupplier supplier) throws SQLException {
+    long profileStart = TickProfiler.begin();
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      Connection con = supplier.get();
+      success = con != null;
+      return con == null ? null : wrap(con);
+    } finally {
+      SqlStats.getInstance().recordConnectionAcquire(System.nanoTime() - start, success);
+      TickProfiler.end(TickProfiler.Category.JDBC, profileStart);
+    }
+  }
+}
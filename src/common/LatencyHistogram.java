@@ -0,0 +1,112 @@
+package common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 잠금 없는 지연 시간 히스토그램 (나노초)
+ *
+ * 2의 거듭제곱 구간마다 8개의 하위 구간을 두는 로그-선형 버킷을 사용하므로
+ * 백분위 오차는 약 6% 이내이고, 기록은 배열 원소 하나의 증가뿐이다.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 44;   // 약 19시간(2^46ns)까지
+  private static final int BUCKET_COUNT = (MAX_EXPONENT + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * 값 하나 기록
+   */
+  public void record(long nanos) {
+    if (nanos < 0) nanos = 0;
+    buckets.incrementAndGet(bucketIndex(nanos));
+    count.increment();
+    sum.add(nanos);
+
+    long currentMax;
+    while (nanos > (currentMax = max.get())) {
+      if (max.compareAndSet(currentMax, nanos)) break;
+    }
+  }
+
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);        // 최상위 비트 위치
+    int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    int index = (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    return Math.min(index, BUCKET_COUNT - 1);
+  }
+
+  // 버킷이 담는 구간의 중간값
+  private static long bucketMidpoint(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    int sub = index % SUB_BUCKETS;
+    long lower = (1L << exponent) | ((long) sub << (exponent - SUB_BUCKET_BITS));
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return lower + width / 2;
+  }
+
+  /**
+   * 백분위 값 (p 는 0~1)
+   */
+  public long percentile(double p) {
+    long total = 0;
+    long[] snapshot = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = buckets.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) return 0;
+
+    long rank = Math.max(1, (long) Math.ceil(p * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(bucketMidpoint(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotalNanos() {
+    return sum.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public long getMean() {
+    long c = count.sum();
+    return c == 0 ? 0 : sum.sum() / c;
+  }
+
+  /**
+   * 모든 기록 초기화
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.set(0);
+  }
+}
@@ -0,0 +1,230 @@
+package common;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 형태별 실행 통계
+ *
+ * 리터럴을 ? 로 바꾼 SQL 형태마다 호출 수, 처리 행 수, 오류 수, 지연 히스토그램을 모은다.
+ * 연결 획득 시간과 열린 연결 수도 함께 기록한다.
+ */
+public class SqlStats {
+
+  private static final SqlStats INSTANCE = new SqlStats();
+  private static final int MAX_RAW_CACHE = 4096;
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+  private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final ConcurrentHashMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, ShapeStats> rawCache = new ConcurrentHashMap<>();
+
+  private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+  private final LongAdder connectionErrors = new LongAdder();
+  private final AtomicLong openConnections = new AtomicLong();
+  private final AtomicLong peakOpenConnections = new AtomicLong();
+
+  /**
+   * 공용 통계 반환
+   */
+  public static SqlStats getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * SQL 문자열에 해당하는 형태별 통계 (같은 문자열은 정규화를 한 번만 수행)
+   */
+  public ShapeStats forSql(String sql) {
+    ShapeStats stats = rawCache.get(sql);
+    if (stats != null) {
+      return stats;
+    }
+    stats = shapes.computeIfAbsent(normalize(sql), ShapeStats::new);
+    if (rawCache.size() < MAX_RAW_CACHE) {
+      rawCache.put(sql, stats);
+    }
+    return stats;
+  }
+
+  /**
+   * 리터럴과 IN 목록, 공백을 정규화한 SQL 형태
+   */
+  public static String normalize(String sql) {
+    String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+    return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+  }
+
+  /**
+   * 연결 획득 결과 기록
+   */
+  public void recordConnectionAcquire(long nanos, boolean success) {
+    connectionAcquire.record(nanos);
+    if (!success) {
+      connectionErrors.increment();
+      return;
+    }
+    long open = openConnections.incrementAndGet();
+    long peak;
+    while (open > (peak = peakOpenConnections.get())) {
+      if (peakOpenConnections.compareAndSet(peak, open)) break;
+    }
+  }
+
+  /**
+   * 연결 반납 기록
+   */
+  public void recordConnectionClosed() {
+    openConnections.decrementAndGet();
+  }
+
+  public LatencyHistogram getConnectionAcquireHistogram() {
+    return connectionAcquire;
+  }
+
+  public long getConnectionErrors() {
+    return connectionErrors.sum();
+  }
+
+  public long getOpenConnections() {
+    return openConnections.get();
+  }
+
+  public long getPeakOpenConnections() {
+    return peakOpenConnections.get();
+  }
+
+  /**
+   * 누적 실행 시간이 큰 순서의 형태별 통계 목록 (초기화 뒤 실행되지 않은 형태는 뺀다)
+   */
+  public List<ShapeStats> snapshot() {
+    List<ShapeStats> list = new ArrayList<>();
+    for (ShapeStats stats : shapes.values()) {
+      if (stats.getCalls() > 0) {
+        list.add(stats);
+      }
+    }
+    list.sort(Comparator.comparingLong((ShapeStats s) -> s.getHistogram().getTotalNanos()).reversed());
+    return list;
+  }
+
+  /**
+   * 모든 통계 초기화 (열린 연결 수는 유지)
+   * 열려 있는 문장이 형태별 통계를 계속 참조하므로 항목은 남겨 두고 값만 비운다.
+   */
+  public void reset() {
+    for (ShapeStats stats : shapes.values()) {
+      stats.reset();
+    }
+    connectionAcquire.reset();
+    connectionErrors.reset();
+    peakOpenConnections.set(openConnections.get());
+  }
+
+  /**
+   * 텍스트 보고서
+   */
+  public String formatReport() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("# JDBC 문장 통계 (").append(LocalDateTime.now()).append(")\n");
+    sb.append(String.format("연결 획득: %d회, 오류 %d, p50 %.2fms, p99 %.2fms, 최대 %.2fms, 열린 연결 %d (최대 %d)%n",
+        connectionAcquire.getCount(), getConnectionErrors(),
+        connectionAcquire.percentile(0.50) / 1e6, connectionAcquire.percentile(0.99) / 1e6,
+        connectionAcquire.getMax() / 1e6, getOpenConnections(), getPeakOpenConnections()));
+    sb.append(String.format("%10s %10s %6s %10s %9s %9s %9s  %s%n",
+        "호출", "행", "오류", "누적(ms)", "p50(ms)", "p99(ms)", "최대(ms)", "SQL"));
+    for (ShapeStats s : snapshot()) {
+      LatencyHistogram h = s.getHistogram();
+      sb.append(String.format("%10d %10d %6d %10.1f %9.3f %9.3f %9.3f  %s%n",
+          s.getCalls(), s.getRows(), s.getErrors(), h.getTotalNanos() / 1e6,
+          h.percentile(0.50) / 1e6, h.percentile(0.99) / 1e6, h.getMax() / 1e6, s.getShape()));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 텍스트 보고서를 파일로 저장
+   */
+  public void dumpTo(Path path) throws IOException {
+    try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+      out.print(formatReport());
+    }
+  }
+
+  /**
+   * SQL 형태 하나의 통계
+   */
+  public static final class ShapeStats {
+    private final String shape;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    ShapeStats(String shape) {
+      this.shape = shape;
+    }
+
+    /**
+     * 실행 한 번 기록
+     */
+    public void recordExecution(long nanos, boolean success) {
+      calls.increment();
+      histogram.record(nanos);
+      if (!success) {
+        errors.increment();
+      }
+    }
+
+    /**
+     * 처리 행 수 누적 (조회 행 또는 변경 행)
+     */
+    public void addRows(long count) {
+      if (count > 0) {
+        rows.add(count);
+      }
+    }
+
+    void reset() {
+      calls.reset();
+      rows.reset();
+      errors.reset();
+      histogram.reset();
+    }
+
+    public String getShape() {
+      return shape;
+    }
+
+    public long getCalls() {
+      return calls.sum();
+    }
+
+    public long getRows() {
+      return rows.sum();
+    }
+
+    public long getErrors() {
+      return errors.sum();
+    }
+
+    public LatencyHistogram getHistogram() {
+      return histogram;
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package common;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시뮬레이션 틱 단위 지연 시간 분석기
+ *
+ * 각 구간은 begin/end 로 감싸며, 같은 스레드에서 중첩된 구간의 시간은 바깥 구간에서 빼서
+ * 항목별 "자기 시간"만 누적한다 (예: 리스너 안의 JDBC 시간은 JDBC 로만 집계).
+ * 시계 구동기가 틱을 마칠 때마다 그 사이 누적된 시간을 한 표본으로 저장하고, 최근 표본으로 백분위를 계산한다.
+ */
+public class TickProfiler {
+
+  /**
+   * 시간 집계 항목
+   */
+  public enum Category {
+    TICK("틱 전체"),
+    JDBC("JDBC"),
+    LISTENER("리스너"),
+    UI("UI 갱신"),
+    INVENTORY("재고 관리");
+
+    private final String label;
+
+    Category(String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  private static final int WINDOW = 1024;   // 백분위 계산에 쓰는 최근 틱 수
+  private static final int MAX_DEPTH = 32;
+
+  private static final Category[] CATEGORIES = Category.values();
+  private static final TickProfiler INSTANCE = new TickProfiler();
+
+  private final LongAdder[] current = new LongAdder[CATEGORIES.length];
+  private final long[][] samples = new long[CATEGORIES.length][WINDOW];
+  private int sampleIndex = 0;
+  private int sampleCount = 0;
+  private long totalTicks = 0;
+  private volatile boolean enabled = true;
+
+  // 스레드별 중첩 구간의 하위 구간 시간
+  private static final ThreadLocal<long[]> CHILD_NANOS = ThreadLocal.withInitial(() -> new long[MAX_DEPTH + 1]);
+  private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+  private TickProfiler() {
+    for (int i = 0; i < current.length; i++) {
+      current[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * 공용 분석기 반환
+   */
+  public static TickProfiler getInstance() {
+    return INSTANCE;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 구간 시작. 반환값을 end 에 그대로 넘긴다.
+   */
+  public static long begin() {
+    int[] depth = DEPTH.get();
+    if (depth[0] < MAX_DEPTH) {
+      CHILD_NANOS.get()[++depth[0]] = 0;
+    } else {
+      depth[0]++;
+    }
+    return System.nanoTime();
+  }
+
+  /**
+   * 구간 종료 - 하위 구간 시간을 뺀 자기 시간을 항목에 누적
+   */
+  public static void end(Category category, long startNanos) {
+    long elapsed = System.nanoTime() - startNanos;
+    int[] depth = DEPTH.get();
+    long[] child = CHILD_NANOS.get();
+
+    long self = elapsed;
+    if (depth[0] <= MAX_DEPTH) {
+      self -= child[depth[0]];
+    }
+    depth[0]--;
+    if (depth[0] > 0 && depth[0] <= MAX_DEPTH) {
+      child[depth[0]] += elapsed;
+    }
+    INSTANCE.record(category, self);
+  }
+
+  /**
+   * 현재 틱에 시간 누적
+   */
+  public void record(Category category, long nanos) {
+    if (enabled && nanos > 0) {
+      current[category.ordinal()].add(nanos);
+    }
+  }
+
+  /**
+   * 틱 종료 - 누적된 항목별 시간을 표본으로 저장
+   */
+  public synchronized void endTick(long tickNanos) {
+    if (!enabled) return;
+    for (int c = 0; c < CATEGORIES.length; c++) {
+      long value = current[c].sumThenReset();
+      samples[c][sampleIndex] = (CATEGORIES[c] == Category.TICK) ? tickNanos : value;
+    }
+    sampleIndex = (sampleIndex + 1) % WINDOW;
+    sampleCount = Math.min(sampleCount + 1, WINDOW);
+    totalTicks++;
+  }
+
+  /**
+   * 모든 표본 초기화
+   */
+  public synchronized void reset() {
+    for (int c = 0; c < CATEGORIES.length; c++) {
+      current[c].reset();
+      Arrays.fill(samples[c], 0);
+    }
+    sampleIndex = 0;
+    sampleCount = 0;
+    totalTicks = 0;
+  }
+
+  /**
+   * 항목별 최근 틱 백분위 (나노초)
+   */
+  public synchronized Stats stats(Category category) {
+    long[] sorted = Arrays.copyOf(samples[category.ordinal()], sampleCount);
+    Arrays.sort(sorted);
+    long sum = 0;
+    for (long v : sorted) {
+      sum += v;
+    }
+    return new Stats(category, sampleCount,
+        percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+        sorted.length == 0 ? 0 : sorted[sorted.length - 1],
+        sorted.length == 0 ? 0 : sum / sorted.length);
+  }
+
+  private static long percentile(long[] sorted, double p) {
+    if (sorted.length == 0) return 0;
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+
+  public synchronized long getTotalTicks() {
+    return totalTicks;
+  }
+
+  /**
+   * 상태 표시줄용 한 줄 요약
+   */
+  public String formatSummary() {
+    StringBuilder sb = new StringBuilder();
+    for (Category category : CATEGORIES) {
+      Stats s = stats(category);
+      if (sb.length() > 0) sb.append(" | ");
+      sb.append(String.format("%s p50 %.1f / p99 %.1fms", category.getLabel(), s.p50 / 1e6, s.p99 / 1e6));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 텍스트 보고서
+   */
+  public String formatReport() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("# 틱 지연 분석 (").append(LocalDateTime.now()).append(")\n");
+    sb.append(String.format("누적 틱: %d, 표본: 최근 %d틱 (단위 ms, 항목별 자기 시간)%n", getTotalTicks(), WINDOW));
+    sb.append(String.format("%-10s %8s %8s %8s %8s %8s%n", "항목", "평균", "p50", "p95", "p99", "최대"));
+    for (Category category : CATEGORIES) {
+      Stats s = stats(category);
+      sb.append(String.format("%-10s %8.2f %8.2f %8.2f %8.2f %8.2f%n", category.getLabel(),
+          s.mean / 1e6, s.p50 / 1e6, s.p95 / 1e6, s.p99 / 1e6, s.max / 1e6));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 텍스트 보고서를 파일로 저장
+   */
+  public void dumpTo(Path path) throws IOException {
+    try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+      out.print(formatReport());
+      out.println();
+      out.println("# 이벤트 버스 구독자");
+      out.print(EventBus.getDefault().formatMetrics());
+    }
+  }
+
+  /**
+   * 항목별 백분위 결과
+   */
+  public static final class Stats {
+    public final Category category;
+    public final int samples;
+    public final long p50;
+    public final long p95;
+    public final long p99;
+    public final long max;
+    public final long mean;
+
+    Stats(Category category, int samples, long p50, long p95, long p99, long max, long mean) {
+      this.category = category;
+      this.samples = samples;
+      this.p50 = p50;
+      this.p95 = p95;
+      this.p99 = p99;
+      this.max = max;
+      this.mean = mean;
+    }
+  }
+}
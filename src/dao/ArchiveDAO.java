@@ -0,0 +1,141 @@
+package dao;
+
+import common.DBManager;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 보관 테이블(*_archive) 이동 데이터베이스 액세스 객체
+ *
+ * 한 번 호출에 최대 batchSize 건을 보관 테이블로 복사한 뒤 원본에서 삭제하며, 복사와 삭제는 한 트랜잭션이다.
+ * 배치를 작게 유지해 잠금 시간을 짧게 하고, 대상은 오래된 날짜 파티션과 처리 끝난 주문뿐이라 실시간 판매와 겹치지 않는다.
+ */
+public class ArchiveDAO {
+
+  /**
+   * 데이터베이스 연결 가져오기
+   */
+  private Connection getConnection() throws SQLException {
+    return DBManager.getConnection();
+  }
+
+  /**
+   * cutoff 이전 판매(판매 항목 포함) 한 배치 이동
+   *
+   * @return 이동한 판매 건수 (batchSize 보다 작으면 남은 대상이 없다)
+   */
+  public int archiveSalesBefore(LocalDateTime cutoff, int batchSize) {
+    Timestamp before = Timestamp.valueOf(cutoff);
+
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        List<Integer> ids = selectIds(conn,
+            "SELECT sale_id FROM sales WHERE sale_date < ? ORDER BY sale_date, sale_id LIMIT ?", before, batchSize);
+        if (ids.isEmpty()) {
+          conn.commit();
+          return 0;
+        }
+        String in = placeholders(ids.size());
+
+        // sale_date 조건으로 오래된 파티션만 읽고 지운다
+        execute(conn, "INSERT INTO sales_archive (sale_id, store_id, sale_date, total_amount) "
+            + "SELECT sale_id, store_id, sale_date, total_amount FROM sales WHERE sale_date < ? AND sale_id IN " + in, before, ids);
+        execute(conn, "INSERT INTO sale_items_archive "
+            + "(sale_item_id, sale_id, sale_date, product_id, quantity, unit_price, total_price) "
+            + "SELECT sale_item_id, sale_id, sale_date, product_id, quantity, unit_price, total_price "
+            + "FROM sale_items WHERE sale_date < ? AND sale_id IN " + in, before, ids);
+        execute(conn, "DELETE FROM sale_items WHERE sale_date < ? AND sale_id IN " + in, before, ids);
+        execute(conn, "DELETE FROM sales WHERE sale_date < ? AND sale_id IN " + in, before, ids);
+
+        conn.commit();
+        return ids.size();
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return -1;
+  }
+
+  /**
+   * 처리 완료/취소된 대기 주문 한 배치 이동
+   *
+   * @return 이동한 주문 건수
+   */
+  public int archiveClosedWaitingOrders(int batchSize) {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        List<Integer> ids = selectIds(conn,
+            "SELECT order_id FROM waiting_orders WHERE status <> 'waiting' ORDER BY order_id LIMIT ?", null, batchSize);
+        if (ids.isEmpty()) {
+          conn.commit();
+          return 0;
+        }
+        String in = placeholders(ids.size());
+
+        execute(conn, "INSERT INTO waiting_orders_archive (order_id, store_id, product_id, quantity, request_date, status) "
+            + "SELECT order_id, store_id, product_id, quantity, request_date, status FROM waiting_orders "
+            + "WHERE status <> 'waiting' AND order_id IN " + in, null, ids);
+        execute(conn, "DELETE FROM waiting_orders WHERE status <> 'waiting' AND order_id IN " + in, null, ids);
+
+        conn.commit();
+        return ids.size();
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return -1;
+  }
+
+  private static List<Integer> selectIds(Connection conn, String sql, Timestamp before, int limit) throws SQLException {
+    List<Integer> ids = new ArrayList<>(limit);
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      int index = 1;
+      if (before != null) {
+        pstmt.setTimestamp(index++, before);
+      }
+      pstmt.setInt(index, limit);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          ids.add(rs.getInt(1));
+        }
+      }
+    }
+    return ids;
+  }
+
+  private static void execute(Connection conn, String sql, Timestamp before, List<Integer> ids) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      int index = 1;
+      if (before != null) {
+        pstmt.setTimestamp(index++, before);
+      }
+      for (int id : ids) {
+        pstmt.setInt(index++, id);
+      }
+      pstmt.executeUpdate();
+    }
+  }
+
+  private static String placeholders(int count) {
+    StringBuilder sb = new StringBuilder("(");
+    for (int i = 0; i < count; i++) {
+      sb.append(i == 0 ? "?" : ", ?");
+    }
+    return sb.append(')').toString();
+  }
+}
@@ -0,0 +1,347 @@
+package dao;
+
+import dto.InventoryEvent;
+import dto.Product;
+import dto.StockTransfer;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 재고 이벤트 로그(inventory_events)와 스냅샷(inventory_snapshots / inventory_snapshot_items) 쿼리 모음
+ *
+ * 재고 이동은 ProductDAO.moveStock 이 지점 재고 갱신과 같은 트랜잭션에서 이벤트 한 행으로 덧붙인다.
+ * 특정 시각의 재고는 그 시각 이전 마지막 스냅샷 + 그 뒤 이벤트만 더해 계산하므로 전체 이력을 읽지 않는다.
+ * 이벤트와 스냅샷은 지점(store_id)별로 나뉘며, 지점 재고 행은 ProductDAO 의 지점별 SQL 조각으로 읽고 쓴다.
+ * 모든 메소드는 호출자의 연결에서 실행되며 공개 API 는 ProductDAO 에 있다.
+ */
+final class InventoryEventDAO {
+
+  // 기준 스냅샷 시각 (DATETIME 최솟값) - 어느 시각을 물어도 시작점이 있도록 한다
+  static final LocalDateTime BASELINE = LocalDateTime.of(1000, 1, 1, 0, 0);
+  // 모든 이벤트를 포함하는 시각 (DATETIME 최댓값)
+  static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+  private static final String APPEND_SQL = "INSERT INTO inventory_events "
+      + "(store_id, product_id, event_type, store_delta, warehouse_delta, event_time) VALUES (?, ?, ?, ?, ?, ?)";
+
+  private InventoryEventDAO() {
+  }
+
+  /**
+   * 이벤트 한 건 덧붙이기 (호출자의 트랜잭션 안에서 실행)
+   */
+  static void append(Connection conn, int storeId, int productId, InventoryEvent.Type type, int storeDelta,
+      int warehouseDelta, LocalDateTime at) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(APPEND_SQL)) {
+      pstmt.setInt(1, storeId);
+      pstmt.setInt(2, productId);
+      pstmt.setInt(3, type.getCode());
+      pstmt.setInt(4, storeDelta);
+      pstmt.setInt(5, warehouseDelta);
+      pstmt.setTimestamp(6, Timestamp.valueOf(at));
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * 지점 간 이동마다 보내는 지점(창고 -수량)과 받는 지점(창고 +수량) 이벤트를 배치로 덧붙이기 (호출자의 트랜잭션 안에서 실행)
+   */
+  static void appendTransfers(Connection conn, List<StockTransfer> transfers, LocalDateTime at) throws SQLException {
+    Timestamp time = Timestamp.valueOf(at);
+    try (PreparedStatement pstmt = conn.prepareStatement(APPEND_SQL)) {
+      for (StockTransfer transfer : transfers) {
+        addEvent(pstmt, transfer.getFromStoreId(), transfer.getProductId(), -transfer.getQuantity(), time);
+        addEvent(pstmt, transfer.getToStoreId(), transfer.getProductId(), transfer.getQuantity(), time);
+      }
+      pstmt.executeBatch();
+    }
+  }
+
+  private static void addEvent(PreparedStatement pstmt, int storeId, int productId, int warehouseDelta,
+      Timestamp time) throws SQLException {
+    pstmt.setInt(1, storeId);
+    pstmt.setInt(2, productId);
+    pstmt.setInt(3, InventoryEvent.Type.REBALANCE.getCode());
+    pstmt.setInt(4, 0);
+    pstmt.setInt(5, warehouseDelta);
+    pstmt.setTimestamp(6, time);
+    pstmt.addBatch();
+  }
+
+  /**
+   * 수량 조정 이벤트를 배치로 덧붙이기 - adjustments 는 {제품 ID, 매장 증감, 창고 증감} (호출자의 트랜잭션 안에서 실행)
+   */
+  static void appendAdjustments(Connection conn, int storeId, List<int[]> adjustments, LocalDateTime at)
+      throws SQLException {
+    if (adjustments.isEmpty()) return;
+    Timestamp time = Timestamp.valueOf(at);
+    try (PreparedStatement pstmt = conn.prepareStatement(APPEND_SQL)) {
+      for (int[] adjustment : adjustments) {
+        pstmt.setInt(1, storeId);
+        pstmt.setInt(2, adjustment[0]);
+        pstmt.setInt(3, InventoryEvent.Type.ADJUST.getCode());
+        pstmt.setInt(4, adjustment[1]);
+        pstmt.setInt(5, adjustment[2]);
+        pstmt.setTimestamp(6, time);
+        pstmt.addBatch();
+      }
+      pstmt.executeBatch();
+    }
+  }
+
+  /**
+   * 지점의 현재 재고 스냅샷 저장 (자동 커밋 꺼진 연결에서 실행, 커밋은 호출자)
+   *
+   * 지점 재고 행을 공유 잠금으로 읽어 진행 중인 재고 이동이 끝나기를 기다리므로, 스냅샷 재고와 last_event_id 가 항상 맞는다.
+   *
+   * @return 스냅샷 ID
+   */
+  static long snapshot(Connection conn, int storeId, LocalDateTime at) throws SQLException {
+    List<int[]> rows = new ArrayList<>();
+    try (PreparedStatement pstmt = conn.prepareStatement(ProductDAO.stockScanSql(storeId) + " FOR SHARE");
+        ResultSet rs = pstmt.executeQuery()) {
+      while (rs.next()) {
+        rows.add(new int[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)});
+      }
+    }
+
+    long lastEventId;
+    try (PreparedStatement pstmt = conn.prepareStatement(
+        "SELECT COALESCE(MAX(event_id), 0) FROM inventory_events WHERE store_id = ?")) {
+      pstmt.setInt(1, storeId);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        rs.next();
+        lastEventId = rs.getLong(1);
+      }
+    }
+
+    long snapshotId;
+    try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO inventory_snapshots "
+        + "(store_id, snapshot_time, last_event_id) VALUES (?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+      pstmt.setInt(1, storeId);
+      pstmt.setTimestamp(2, Timestamp.valueOf(at));
+      pstmt.setLong(3, lastEventId);
+      pstmt.executeUpdate();
+      try (ResultSet rs = pstmt.getGeneratedKeys()) {
+        if (!rs.next()) {
+          throw new SQLException("스냅샷 ID 를 받지 못했습니다");
+        }
+        snapshotId = rs.getLong(1);
+      }
+    }
+
+    try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO inventory_snapshot_items "
+        + "(snapshot_id, product_id, store_quantity, warehouse_quantity) VALUES (?, ?, ?, ?)")) {
+      int pending = 0;
+      for (int[] row : rows) {
+        pstmt.setLong(1, snapshotId);
+        pstmt.setInt(2, row[0]);
+        pstmt.setInt(3, row[1]);
+        pstmt.setInt(4, row[2]);
+        pstmt.addBatch();
+        if (++pending == 1000) {
+          pstmt.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        pstmt.executeBatch();
+      }
+    }
+    return snapshotId;
+  }
+
+  /**
+   * 지점의 at 시각 재고 (제품 ID 순, productId 가 0 이면 전체)
+   *
+   * at 이전 마지막 스냅샷에 그 뒤(event_id 기준) 이벤트 중 at 까지의 증감만 더한다.
+   */
+  static List<Product> asOf(Connection conn, int storeId, LocalDateTime at, int productId) throws SQLException {
+    long[] snapshot = latestSnapshot(conn, storeId, at);
+    long snapshotId = snapshot[0];
+    long lastEventId = snapshot[1];
+
+    String sql = "SELECT p.product_id, p.name, p.manufacturer, p.price, "
+        + "COALESCE(s.store_quantity, 0) + COALESCE(e.store_delta, 0), "
+        + "COALESCE(s.warehouse_quantity, 0) + COALESCE(e.warehouse_delta, 0) "
+        + "FROM products p "
+        + "LEFT JOIN inventory_snapshot_items s ON s.snapshot_id = ? AND s.product_id = p.product_id "
+        + "LEFT JOIN (SELECT product_id, SUM(store_delta) AS store_delta, SUM(warehouse_delta) AS warehouse_delta "
+        + "FROM inventory_events WHERE store_id = ? AND event_id > ? AND event_time <= ?"
+        + (productId > 0 ? " AND product_id = ?" : "")
+        + " GROUP BY product_id) e ON e.product_id = p.product_id"
+        + (productId > 0 ? " WHERE p.product_id = ?" : "")
+        + " ORDER BY p.product_id";
+
+    List<Product> products = new ArrayList<>();
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setLong(1, snapshotId);
+      pstmt.setInt(2, storeId);
+      pstmt.setLong(3, lastEventId);
+      pstmt.setTimestamp(4, Timestamp.valueOf(at));
+      if (productId > 0) {
+        pstmt.setInt(5, productId);
+        pstmt.setInt(6, productId);
+      }
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          products.add(new Product(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+              rs.getInt(5), rs.getInt(6)));
+        }
+      }
+    }
+    return products;
+  }
+
+  // 지점의 at 이전 마지막 스냅샷 {snapshot_id, last_event_id} (없으면 {0, 0})
+  private static long[] latestSnapshot(Connection conn, int storeId, LocalDateTime at) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement("SELECT snapshot_id, last_event_id FROM inventory_snapshots "
+        + "WHERE store_id = ? AND snapshot_time <= ? ORDER BY snapshot_time DESC, snapshot_id DESC LIMIT 1")) {
+      pstmt.setInt(1, storeId);
+      pstmt.setTimestamp(2, Timestamp.valueOf(at));
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next() ? new long[]{rs.getLong(1), rs.getLong(2)} : new long[]{0, 0};
+      }
+    }
+  }
+
+  /**
+   * 지점 한 제품의 이벤트 중 at 까지의 최근 limit 건 (최신순)
+   */
+  static List<InventoryEvent> events(Connection conn, int storeId, int productId, LocalDateTime at, int limit)
+      throws SQLException {
+    List<InventoryEvent> events = new ArrayList<>();
+    try (PreparedStatement pstmt = conn.prepareStatement("SELECT event_id, product_id, event_type, store_delta, "
+        + "warehouse_delta, event_time FROM inventory_events WHERE store_id = ? AND product_id = ? AND event_time <= ? "
+        + "ORDER BY event_time DESC, event_id DESC LIMIT ?")) {
+      pstmt.setInt(1, storeId);
+      pstmt.setInt(2, productId);
+      pstmt.setTimestamp(3, Timestamp.valueOf(at));
+      pstmt.setInt(4, limit);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          events.add(new InventoryEvent(rs.getLong(1), rs.getInt(2), InventoryEvent.Type.fromCode(rs.getInt(3)),
+              rs.getInt(4), rs.getInt(5), rs.getTimestamp(6).toLocalDateTime()));
+        }
+      }
+    }
+    return events;
+  }
+
+  /**
+   * 지점의 마지막 스냅샷 + 이후 이벤트로 재고를 다시 계산해 현재 재고와 다른 제품만 고친다 (자동 커밋 꺼진 연결, 커밋은 호출자)
+   *
+   * @return 고친 제품 수
+   */
+  static int rebuild(Connection conn, int storeId) throws SQLException {
+    // 계산하는 동안 재고 이동이 끼어들지 않도록 지점 재고 행을 먼저 잠근다
+    try (PreparedStatement pstmt = conn.prepareStatement(ProductDAO.stockScanSql(storeId) + " FOR UPDATE");
+        ResultSet rs = pstmt.executeQuery()) {
+      while (rs.next()) {
+        // 잠금만 건다
+      }
+    }
+
+    // 스냅샷에 없는 제품 (스냅샷 뒤 카탈로그로 추가) 은 기준 수량을 모르므로 건드리지 않는다
+    Set<Integer> known = new HashSet<>();
+    try (PreparedStatement pstmt = conn.prepareStatement(
+        "SELECT product_id FROM inventory_snapshot_items WHERE snapshot_id = ?")) {
+      pstmt.setLong(1, latestSnapshot(conn, storeId, LATEST)[0]);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          known.add(rs.getInt(1));
+        }
+      }
+    }
+    Map<Integer, Product> rebuilt = new HashMap<>();
+    for (Product product : asOf(conn, storeId, LATEST, 0)) {
+      if (known.contains(product.getProductId())) {
+        rebuilt.put(product.getProductId(), product);
+      }
+    }
+
+    int repaired = 0;
+    try (PreparedStatement current = conn.prepareStatement(ProductDAO.stockScanSql(storeId));
+        ResultSet rs = current.executeQuery();
+        PreparedStatement update = conn.prepareStatement(
+            ProductDAO.stockUpdateSql(storeId, "store_quantity = ?, warehouse_quantity = ?"))) {
+      while (rs.next()) {
+        Product product = rebuilt.get(rs.getInt(1));
+        if (product == null
+            || (product.getStoreQuantity() == rs.getInt(2) && product.getWarehouseQuantity() == rs.getInt(3))) {
+          continue;
+        }
+        update.setInt(1, product.getStoreQuantity());
+        update.setInt(2, product.getWarehouseQuantity());
+        update.setInt(3, product.getProductId());
+        update.addBatch();
+        repaired++;
+      }
+      if (repaired > 0) {
+        update.executeBatch();
+      }
+    }
+    return repaired;
+  }
+
+  /**
+   * 지점의 after 이후 이벤트와 스냅샷 삭제 (체크포인트 복원 시 버려진 시간대 정리)
+   *
+   * @return 삭제한 이벤트 수
+   */
+  static int deleteAfter(Connection conn, int storeId, LocalDateTime after) throws SQLException {
+    Timestamp time = Timestamp.valueOf(after);
+    try (PreparedStatement items = conn.prepareStatement("DELETE i FROM inventory_snapshot_items i "
+        + "JOIN inventory_snapshots s ON s.snapshot_id = i.snapshot_id WHERE s.store_id = ? AND s.snapshot_time > ?");
+        PreparedStatement snapshots = conn.prepareStatement(
+            "DELETE FROM inventory_snapshots WHERE store_id = ? AND snapshot_time > ?");
+        PreparedStatement events = conn.prepareStatement(
+            "DELETE FROM inventory_events WHERE store_id = ? AND event_time > ?")) {
+      items.setInt(1, storeId);
+      items.setTimestamp(2, time);
+      items.executeUpdate();
+      snapshots.setInt(1, storeId);
+      snapshots.setTimestamp(2, time);
+      snapshots.executeUpdate();
+      events.setInt(1, storeId);
+      events.setTimestamp(2, time);
+      return events.executeUpdate();
+    }
+  }
+
+  /**
+   * 지점 이력을 모두 지우고 현재 재고를 기준 스냅샷으로 저장 (자동 커밋 꺼진 연결, 커밋은 호출자)
+   */
+  static void reset(Connection conn, int storeId) throws SQLException {
+    try (PreparedStatement items = conn.prepareStatement("DELETE i FROM inventory_snapshot_items i "
+        + "JOIN inventory_snapshots s ON s.snapshot_id = i.snapshot_id WHERE s.store_id = ?");
+        PreparedStatement snapshots = conn.prepareStatement("DELETE FROM inventory_snapshots WHERE store_id = ?");
+        PreparedStatement events = conn.prepareStatement("DELETE FROM inventory_events WHERE store_id = ?")) {
+      for (PreparedStatement pstmt : new PreparedStatement[]{items, snapshots, events}) {
+        pstmt.setInt(1, storeId);
+        pstmt.executeUpdate();
+      }
+    }
+    snapshot(conn, storeId, BASELINE);
+  }
+
+  /**
+   * 지점에 스냅샷이 하나라도 있는지 (스키마 마이그레이션의 기준 스냅샷 판단)
+   */
+  static boolean hasSnapshot(Connection conn, int storeId) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(
+        "SELECT 1 FROM inventory_snapshots WHERE store_id = ? LIMIT 1")) {
+      pstmt.setInt(1, storeId);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next();
+      }
+    }
+  }
+}
@@ -0,0 +1,550 @@
+package dao;
+
+import dto.Product;
+import dto.Sale;
+import dto.SaleItem;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 매핑 파일 기반 판매 원장 (SaleDAO 대체 구현)
+ *
+ * 판매 한 줄을 32바이트 고정 레코드로 세그먼트 파일 끝에 덧붙이기만 하므로 JDBC 왕복 없이 메모리 쓰기 속도로 기록된다.
+ * 세그먼트가 차면 다음 파일로 넘어가고, 판매 ID -> 레코드 번호 색인으로 판매 항목을 바로 찾는다.
+ * 보고서 스트리밍과 판매 내역 조회는 매핑된 버퍼를 직접 읽으며, 판매 일시는 시뮬레이션 시각이라 추가 순서대로 증가한다고 본다.
+ * 대기 주문은 그대로 DB(상위 클래스)를 쓰고, 시간/일 집계 테이블은 갱신하지 않는다 (hasRollups 가 false 라
+ * 일일 보고서 요약은 원장을 읽으며 직접 합산하고, 판매 내역 탭의 집계 합계는 표시하지 않는다).
+ *
+ * 레코드: sale_id(4) product_id(4) sold_at(8, 초) quantity(4) unit_price(4) total_price(4) marker(4)
+ * marker 를 마지막에 써서, 다시 열 때 marker 가 없는 레코드(기록 도중 종료)부터는 버린다.
+ */
+public class LedgerSaleDAO extends SaleDAO implements AutoCloseable {
+
+  public static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;   // 세그먼트당 32MB
+
+  private static final int RECORD_SIZE = 32;
+  private static final int MARKER = 0x5A1E5A1E;
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".ledger";
+
+  private final Path directory;
+  private final int segmentRecords;
+  private final ProductDAO productDAO;
+  private final Map<Integer, Product> productCache = new ConcurrentHashMap<>();
+
+  // 추가/정리는 synchronized, 읽기는 잠금 안에서 복사한 세그먼트 목록과 레코드 수 범위만 읽는다
+  private final List<Segment> segments = new ArrayList<>();
+  private volatile long recordCount;
+  private long[] recordBySale = new long[1024];   // 판매 ID -> 첫 레코드 번호 (-1: 없음)
+  private int nextSaleId = 1;
+
+  public LedgerSaleDAO(Path directory) throws IOException {
+    this(directory, StoreDAO.MAIN_STORE_ID);
+  }
+
+  public LedgerSaleDAO(Path directory, int storeId) throws IOException {
+    this(directory, DEFAULT_SEGMENT_RECORDS, new ProductDAO(storeId));
+  }
+
+  /**
+   * 원장 열기 (지점은 productDAO 의 지점을 따른다)
+   */
+  public LedgerSaleDAO(Path directory, int segmentRecords, ProductDAO productDAO) throws IOException {
+    super(productDAO.getStoreId());
+    this.directory = directory;
+    this.segmentRecords = segmentRecords;
+    this.productDAO = productDAO;
+    Files.createDirectories(directory);
+    Arrays.fill(recordBySale, -1);
+    recover();
+  }
+
+  /**
+   * 기존 세그먼트를 순서대로 매핑하고 레코드 수, 색인, 다음 판매 ID 복구
+   */
+  private void recover() throws IOException {
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      for (Path file : stream) {
+        files.add(file);
+      }
+    }
+    Collections.sort(files);
+
+    long count = 0;
+    for (Path file : files) {
+      Segment segment = map(file, segmentNumber(file));
+      MappedByteBuffer buffer = segment.buffer;
+      int records = 0;
+      while (records < segmentRecords && buffer.getInt(records * RECORD_SIZE + 28) == MARKER) {
+        int offset = records * RECORD_SIZE;
+        long record = segment.number * (long) segmentRecords + records;
+        index(buffer.getInt(offset), record);
+        segment.include(buffer.getLong(offset + 8));
+        records++;
+      }
+      segment.count = records;
+      segments.add(segment);
+      count = segment.number * (long) segmentRecords + records;
+    }
+    recordCount = count;
+
+    if (!files.isEmpty()) {
+      System.out.println("📒 판매 원장 복구: 세그먼트 " + files.size() + "개, 판매 " + (nextSaleId - 1) + "건");
+    }
+  }
+
+  private Segment map(Path file, long number) throws IOException {
+    try (FileChannel channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // 매핑은 채널을 닫아도 유지되며, 파일보다 크게 매핑하면 파일이 그 크기로 늘어난다
+      return new Segment(number, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE));
+    }
+  }
+
+  private static long segmentNumber(Path file) {
+    String name = file.getFileName().toString();
+    return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  private void index(int saleId, long record) {
+    if (saleId >= recordBySale.length) {
+      int length = recordBySale.length;
+      recordBySale = Arrays.copyOf(recordBySale, Math.max(length * 2, saleId + 1));
+      Arrays.fill(recordBySale, length, recordBySale.length, -1);
+    }
+    if (recordBySale[saleId] < 0) {
+      recordBySale[saleId] = record;
+    }
+    nextSaleId = Math.max(nextSaleId, saleId + 1);
+  }
+
+  /**
+   * 레코드 한 개 추가 (세그먼트가 차면 다음 파일로 넘어간다)
+   */
+  private synchronized void append(int saleId, int productId, LocalDateTime soldAt, int quantity, int unitPrice,
+      int totalPrice) throws IOException {
+    long record = recordCount;
+    long number = record / segmentRecords;
+    Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    if (segment == null || segment.number != number) {
+      if (segment != null) {
+        segment.buffer.force();
+      }
+      segment = map(directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX)), number);
+      segments.add(segment);
+    }
+
+    long soldAtSeconds = soldAt.toEpochSecond(ZoneOffset.UTC);
+    int offset = (int) (record % segmentRecords) * RECORD_SIZE;
+    MappedByteBuffer buffer = segment.buffer;
+    buffer.putInt(offset, saleId);
+    buffer.putInt(offset + 4, productId);
+    buffer.putLong(offset + 8, soldAtSeconds);
+    buffer.putInt(offset + 16, quantity);
+    buffer.putInt(offset + 20, unitPrice);
+    buffer.putInt(offset + 24, totalPrice);
+    buffer.putInt(offset + 28, MARKER);
+
+    segment.include(soldAtSeconds);
+    segment.count++;
+    index(saleId, record);
+    recordCount = record + 1;   // volatile 쓰기로 읽기 스레드에 레코드 공개
+  }
+
+  /**
+   * 판매 한 건 기록 (판매와 항목이 레코드 하나)
+   */
+  @Override
+  public synchronized int recordSale(int productId, int quantity, int unitPrice, LocalDateTime soldAt) {
+    int saleId = nextSaleId;
+    try {
+      append(saleId, productId, soldAt, quantity, unitPrice, quantity * unitPrice);
+      return saleId;
+    } catch (IOException e) {
+      e.printStackTrace();
+      return -1;
+    }
+  }
+
+  /**
+   * 판매 ID 만 예약 (항목은 addSaleItem 으로 바로 이어서 추가해야 한 판매로 묶인다)
+   */
+  @Override
+  public synchronized int createSale(int totalAmount) {
+    return nextSaleId++;
+  }
+
+  /**
+   * 판매 항목 추가 - 시각을 받지 않는 이전 경로라 마지막 기록 시각(없으면 현재 시각)으로 기록한다
+   */
+  @Override
+  public synchronized boolean addSaleItem(int saleId, int productId, int quantity, int unitPrice, int totalPrice) {
+    Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    LocalDateTime soldAt = last == null || last.count == 0
+        ? LocalDateTime.now() : LocalDateTime.ofEpochSecond(last.maxTime, 0, ZoneOffset.UTC);
+    try {
+      append(saleId, productId, soldAt, quantity, unitPrice, totalPrice);
+      return true;
+    } catch (IOException e) {
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  @Override
+  public List<SaleItem> getSaleItemsBySaleId(int saleId) {
+    long first;
+    Segment[] view;
+    long count;
+    synchronized (this) {
+      first = saleId > 0 && saleId < recordBySale.length ? recordBySale[saleId] : -1;
+      view = segments.toArray(new Segment[0]);
+      count = recordCount;
+    }
+
+    List<SaleItem> items = new ArrayList<>();
+    for (long record = Math.max(first, 0); first >= 0 && record < count; record++) {
+      Segment segment = find(view, record / segmentRecords);
+      if (segment == null) break;   // 이미 정리된 세그먼트
+      int offset = (int) (record % segmentRecords) * RECORD_SIZE;
+      if (segment.buffer.getInt(offset) != saleId) break;
+
+      SaleItem item = new SaleItem();
+      item.setSaleItemId((int) record + 1);
+      item.setSaleId(saleId);
+      item.setProductId(segment.buffer.getInt(offset + 4));
+      item.setQuantity(segment.buffer.getInt(offset + 16));
+      item.setUnitPrice(segment.buffer.getInt(offset + 20));
+      item.setTotalPrice(segment.buffer.getInt(offset + 24));
+      items.add(item);
+    }
+    return items;
+  }
+
+  // 세그먼트 번호는 목록 안에서 연속이다 (앞쪽만 정리된다)
+  private static Segment find(Segment[] view, long number) {
+    if (view.length == 0) return null;
+    long index = number - view[0].number;
+    return index >= 0 && index < view.length ? view[(int) index] : null;
+  }
+
+  /**
+   * 기간 [from, to) 의 판매 상세를 기록 순서(판매 ID 순)로 스트리밍
+   * 매핑된 세그먼트를 그대로 읽고, 기간과 겹치지 않는 세그먼트는 최소/최대 시각만 보고 건너뛴다.
+   */
+  @Override
+  public long streamSaleLines(LocalDateTime from, LocalDateTime to, SaleLineHandler handler)
+      throws SQLException, IOException {
+    long fromSeconds = from.toEpochSecond(ZoneOffset.UTC);
+    long toSeconds = to.toEpochSecond(ZoneOffset.UTC);
+    Segment[] view;
+    long count;
+    synchronized (this) {
+      view = segments.toArray(new Segment[0]);
+      count = recordCount;
+    }
+
+    long rows = 0;
+    for (Segment segment : view) {
+      if (segment.maxTime < fromSeconds || segment.minTime >= toSeconds) continue;
+
+      MappedByteBuffer buffer = segment.buffer;
+      int records = (int) Math.min(segmentRecords, count - segment.number * (long) segmentRecords);
+      for (int i = 0; i < records; i++) {
+        int offset = i * RECORD_SIZE;
+        long soldAt = buffer.getLong(offset + 8);
+        if (soldAt < fromSeconds || soldAt >= toSeconds) continue;
+
+        int productId = buffer.getInt(offset + 4);
+        Product product = product(productId);
+        handler.onLine(buffer.getInt(offset), Timestamp.valueOf(LocalDateTime.ofEpochSecond(soldAt, 0, ZoneOffset.UTC)),
+            productId, product == null ? "" : product.getName(), product == null ? "" : product.getManufacturer(),
+            buffer.getInt(offset + 16), buffer.getInt(offset + 20), buffer.getInt(offset + 24));
+        rows++;
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * 판매 내역 한 페이지 (최신순) - 끝에서부터 거꾸로 읽고, 키셋 이전/기간 밖 세그먼트는 건너뛴다
+   */
+  @Override
+  public List<Sale> getSalesPage(LocalDateTime from, LocalDateTime to, int productId, Sale after, int limit) {
+    long fromSeconds = from == null ? Long.MIN_VALUE : from.toEpochSecond(ZoneOffset.UTC);
+    long toSeconds = to == null ? Long.MAX_VALUE : to.toEpochSecond(ZoneOffset.UTC);
+    long afterSeconds = after == null ? Long.MAX_VALUE : after.getSaleDate().toEpochSecond(ZoneOffset.UTC);
+    int afterId = after == null ? Integer.MAX_VALUE : after.getSaleId();
+    Segment[] view;
+    long count;
+    synchronized (this) {
+      view = segments.toArray(new Segment[0]);
+      count = recordCount;
+    }
+
+    List<Sale> sales = new ArrayList<>();
+    PageBuilder page = new PageBuilder(productId);
+    for (int s = view.length - 1; s >= 0 && sales.size() < limit; s--) {
+      Segment segment = view[s];
+      if (segment.maxTime < fromSeconds) break;   // 이보다 앞 세그먼트는 모두 더 오래됐다
+      if (segment.minTime >= toSeconds || segment.minTime > afterSeconds) continue;
+
+      MappedByteBuffer buffer = segment.buffer;
+      int records = (int) Math.min(segmentRecords, count - segment.number * (long) segmentRecords);
+      for (int i = records - 1; i >= 0 && sales.size() < limit; i--) {
+        int offset = i * RECORD_SIZE;
+        long soldAt = buffer.getLong(offset + 8);
+        int saleId = buffer.getInt(offset);
+        if (soldAt < fromSeconds || soldAt >= toSeconds) continue;
+        if (soldAt > afterSeconds || (soldAt == afterSeconds && saleId >= afterId)) continue;
+
+        page.add(sales, saleId, soldAt, buffer.getInt(offset + 4), buffer.getInt(offset + 16),
+            buffer.getInt(offset + 24));
+      }
+    }
+    if (sales.size() < limit) {
+      page.finish(sales);
+    }
+    return sales;
+  }
+
+  /**
+   * 거꾸로 읽은 레코드를 판매 단위로 묶는다 (한 판매의 항목은 연속으로 기록된다)
+   */
+  private final class PageBuilder {
+    private final int productId;
+    private Sale current;
+    private boolean matched;
+    private List<String> lines = new ArrayList<>();
+
+    PageBuilder(int productId) {
+      this.productId = productId;
+    }
+
+    void add(List<Sale> sales, int saleId, long soldAt, int itemProductId, int quantity, int totalPrice) {
+      if (current == null || current.getSaleId() != saleId) {
+        finish(sales);
+        current = new Sale(saleId, LocalDateTime.ofEpochSecond(soldAt, 0, ZoneOffset.UTC), 0);
+        matched = productId <= 0;
+        lines = new ArrayList<>();
+      }
+      Product product = product(itemProductId);
+      lines.add(0, (product == null ? "#" + itemProductId : product.getName()) + " x" + quantity);
+      current.setTotalAmount(current.getTotalAmount() + totalPrice);
+      current.setTotalQuantity(current.getTotalQuantity() + quantity);
+      matched |= itemProductId == productId;
+    }
+
+    void finish(List<Sale> sales) {
+      if (current != null && matched) {
+        current.setProductSummary(String.join(", ", lines));
+        sales.add(current);
+      }
+      current = null;
+    }
+  }
+
+  private Product product(int productId) {
+    Product product = productCache.get(productId);
+    if (product == null) {
+      product = productDAO.getProductById(productId);
+      if (product != null) {
+        productCache.put(productId, product);
+      }
+    }
+    return product;
+  }
+
+  /**
+   * 원장 비우기 (세그먼트 파일 삭제)
+   */
+  @Override
+  public synchronized void clearSales() {
+    for (Segment segment : segments) {
+      delete(segment);
+    }
+    segments.clear();
+    recordCount = 0;
+    Arrays.fill(recordBySale, -1);
+    nextSaleId = 1;
+  }
+
+  /**
+   * 체크포인트 복원 트랜잭션의 판매 정리 단계 - 원장은 DB 트랜잭션에 묶이지 않으므로 여기서 바로 잘라낸다
+   * (이 단계가 마지막이라 이후 커밋이 실패하면 재고/대기 주문은 그대로이고 체크포인트 뒤 판매만 사라진다)
+   */
+  @Override
+  protected void deleteSalesAfter(Connection conn, LocalDateTime after) {
+    deleteSalesAfter(after);
+  }
+
+  /**
+   * after 이후(초과) 판매 레코드를 끝에서부터 잘라낸다 (기록 시각이 증가한다는 가정)
+   *
+   * @return 삭제한 판매 건수
+   */
+  synchronized int deleteSalesAfter(LocalDateTime after) {
+    long afterSeconds = after.toEpochSecond(ZoneOffset.UTC);
+    long record = recordCount;
+    int deleted = 0;
+    int lastSaleId = -1;
+
+    while (record > 0 && !segments.isEmpty()) {
+      Segment segment = segments.get(segments.size() - 1);
+      if (segment.count == 0) {
+        delete(segments.remove(segments.size() - 1));
+        continue;
+      }
+      int offset = (segment.count - 1) * RECORD_SIZE;
+      if (segment.buffer.getLong(offset + 8) <= afterSeconds) break;
+
+      int saleId = segment.buffer.getInt(offset);
+      segment.buffer.putInt(offset + 28, 0);   // 다시 열 때도 버려지도록 marker 제거
+      if (saleId < recordBySale.length && recordBySale[saleId] == record - 1) {
+        recordBySale[saleId] = -1;
+      }
+      if (saleId != lastSaleId) {
+        deleted++;
+        lastSaleId = saleId;
+      }
+      segment.count--;
+      record--;
+    }
+
+    // 남은 마지막 레코드로 최대 시각과 다음 판매 ID 를 다시 정한다
+    recordCount = record;
+    nextSaleId = 1;
+    if (!segments.isEmpty()) {
+      Segment last = segments.get(segments.size() - 1);
+      if (last.count > 0) {
+        int offset = (last.count - 1) * RECORD_SIZE;
+        last.maxTime = last.buffer.getLong(offset + 8);
+        nextSaleId = last.buffer.getInt(offset) + 1;
+      } else {
+        delete(segments.remove(segments.size() - 1));
+        for (int i = segments.size() - 1; i >= 0 && nextSaleId == 1; i--) {
+          Segment segment = segments.get(i);
+          if (segment.count > 0) {
+            nextSaleId = segment.buffer.getInt((segment.count - 1) * RECORD_SIZE) + 1;
+          }
+        }
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * 판매 항목은 판매와 같은 레코드에 있으므로 clearSales 가 함께 비운다
+   */
+  @Override
+  public void clearSaleItems() {
+  }
+
+  /**
+   * 원장은 집계 테이블을 갱신하지 않는다
+   */
+  @Override
+  public boolean hasRollups() {
+    return false;
+  }
+
+  /**
+   * 원장은 집계 테이블을 갱신하지 않는다
+   */
+  @Override
+  public void clearSaleRollups() {
+  }
+
+  /**
+   * 세그먼트는 기록하면서 만들어지므로 미리 준비할 것이 없다
+   */
+  @Override
+  public int ensureSalePartitions(LocalDate from, LocalDate through) {
+    return 0;
+  }
+
+  /**
+   * cutoff 이전 판매만 담은 앞쪽 세그먼트 삭제 (기록 중인 마지막 세그먼트는 남긴다)
+   *
+   * @return 삭제한 세그먼트 수
+   */
+  @Override
+  public synchronized int dropSalePartitionsBefore(LocalDate cutoff) {
+    long cutoffSeconds = cutoff.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    int dropped = 0;
+    while (segments.size() > 1 && segments.get(0).maxTime < cutoffSeconds) {
+      delete(segments.remove(0));
+      dropped++;
+    }
+    return dropped;
+  }
+
+  // 매핑은 GC 가 해제하므로 읽는 중인 스레드가 있어도 안전하다 (파일만 지운다)
+  private static void delete(Segment segment) {
+    try {
+      Files.deleteIfExists(segment.path);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  public synchronized int getSegmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * 기록 중인 세그먼트를 디스크에 반영
+   */
+  @Override
+  public synchronized void close() {
+    for (Segment segment : segments) {
+      segment.buffer.force();
+    }
+  }
+
+  /**
+   * 세그먼트 파일 하나 (매핑된 버퍼와 담긴 판매의 최소/최대 시각)
+   */
+  private static final class Segment {
+    final long number;
+    final Path path;
+    final MappedByteBuffer buffer;
+    int count;
+    volatile long minTime = Long.MAX_VALUE;
+    volatile long maxTime = Long.MIN_VALUE;
+
+    Segment(long number, Path path, MappedByteBuffer buffer) {
+      this.number = number;
+      this.path = path;
+      this.buffer = buffer;
+    }
+
+    void include(long soldAt) {
+      if (soldAt < minTime) minTime = soldAt;
+      if (soldAt > maxTime) maxTime = soldAt;
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package dao;
+
+import dto.Product;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 제품 대량 반영용 배치 작성기 (본점 재고)
+ *
+ * 연결 하나를 열어 두고 add* 로 쌓은 행을 flush 때 배치 실행 후 커밋한다 (flush 한 번이 트랜잭션 하나).
+ * 재고 수량이 바뀌는 행은 같은 트랜잭션에서 대상 행을 잠그고 읽은 현재 수량과의 차이를 ADJUST 재고 이벤트로 남기므로
+ * 재고 이력(스냅샷 + 이벤트)이 가져온 수량과 맞는다. 새 제품은 0 에서 늘어난 것으로 기록한다.
+ * 실패하면 해당 구간만 롤백되고 이전에 flush 한 구간은 유지된다.
+ */
+public class ProductBatchWriter implements AutoCloseable {
+
+  private static final String UPSERT_SQL =
+      "INSERT INTO products (product_id, name, manufacturer, price, store_quantity, warehouse_quantity) "
+          + "VALUES (?, ?, ?, ?, ?, ?) "
+          + "ON DUPLICATE KEY UPDATE name = VALUES(name), manufacturer = VALUES(manufacturer), price = VALUES(price), "
+          + "store_quantity = VALUES(store_quantity), warehouse_quantity = VALUES(warehouse_quantity)";
+
+  // 제품 ID 가 없는 행은 항상 새 제품 (생성된 ID 로 재고 이벤트를 남긴다)
+  private static final String INSERT_SQL =
+      "INSERT INTO products (name, manufacturer, price, store_quantity, warehouse_quantity) VALUES (?, ?, ?, ?, ?)";
+
+  // 값이 NULL 인 열은 기존 값 유지
+  private static final String UPDATE_SQL =
+      "UPDATE products SET price = COALESCE(?, price), store_quantity = COALESCE(?, store_quantity), "
+          + "warehouse_quantity = COALESCE(?, warehouse_quantity) WHERE product_id = ?";
+
+  private static final int LOCK_BATCH = 1000;
+
+  private final Connection conn;
+  private PreparedStatement upsert;
+  private PreparedStatement insert;
+  private PreparedStatement update;
+  // ID 가 있고 재고 수량을 바꾸는 행 (배치에 쌓은 순서)
+  private final List<StockRow> stockRows = new ArrayList<>();
+  // ID 없이 추가하는 행의 {매장 수량, 창고 수량} (insert 배치와 같은 순서)
+  private final List<int[]> insertedStock = new ArrayList<>();
+  private int pending = 0;
+
+  ProductBatchWriter(Connection conn) throws SQLException {
+    this.conn = conn;
+    conn.setAutoCommit(false);
+  }
+
+  /**
+   * 제품 추가 또는 갱신 (제품 ID 가 0 이면 새 ID 로 추가)
+   */
+  public void addUpsert(Product product) throws SQLException {
+    if (product.getProductId() <= 0) {
+      if (insert == null) {
+        insert = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+      }
+      insert.setString(1, product.getName());
+      insert.setString(2, product.getManufacturer());
+      insert.setInt(3, product.getPrice());
+      insert.setInt(4, product.getStoreQuantity());
+      insert.setInt(5, product.getWarehouseQuantity());
+      insert.addBatch();
+      insertedStock.add(new int[]{product.getStoreQuantity(), product.getWarehouseQuantity()});
+      pending++;
+      return;
+    }
+
+    if (upsert == null) {
+      upsert = conn.prepareStatement(UPSERT_SQL);
+    }
+    upsert.setInt(1, product.getProductId());
+    upsert.setString(2, product.getName());
+    upsert.setString(3, product.getManufacturer());
+    upsert.setInt(4, product.getPrice());
+    upsert.setInt(5, product.getStoreQuantity());
+    upsert.setInt(6, product.getWarehouseQuantity());
+    upsert.addBatch();
+    stockRows.add(new StockRow(product.getProductId(), product.getStoreQuantity(), product.getWarehouseQuantity(), true));
+    pending++;
+  }
+
+  /**
+   * 기존 제품의 가격/재고만 갱신 (null 은 변경하지 않음)
+   */
+  public void addUpdate(int productId, Integer price, Integer storeQuantity, Integer warehouseQuantity) throws SQLException {
+    if (update == null) {
+      update = conn.prepareStatement(UPDATE_SQL);
+    }
+    setNullableInt(update, 1, price);
+    setNullableInt(update, 2, storeQuantity);
+    setNullableInt(update, 3, warehouseQuantity);
+    update.setInt(4, productId);
+    update.addBatch();
+    if (storeQuantity != null || warehouseQuantity != null) {
+      stockRows.add(new StockRow(productId, storeQuantity, warehouseQuantity, false));
+    }
+    pending++;
+  }
+
+  private static void setNullableInt(PreparedStatement pstmt, int index, Integer value) throws SQLException {
+    if (value == null) {
+      pstmt.setNull(index, Types.INTEGER);
+    } else {
+      pstmt.setInt(index, value);
+    }
+  }
+
+  public int getPendingCount() {
+    return pending;
+  }
+
+  /**
+   * 쌓인 행 실행 후 커밋 (재고가 바뀐 행은 at 시각의 ADJUST 재고 이벤트와 함께)
+   *
+   * @return 갱신 모드에서 대상 제품이 없어 반영되지 않은 행 수
+   */
+  public int flush(LocalDateTime at) throws SQLException {
+    if (pending == 0) return 0;
+    int missing = 0;
+    try {
+      // 배치 실행 전에 대상 행을 잠그고 현재 수량과의 차이를 계산한다
+      List<int[]> adjustments = adjustments(lockStock());
+      if (upsert != null) {
+        upsert.executeBatch();
+      }
+      if (update != null) {
+        for (int count : update.executeBatch()) {
+          if (count == 0) missing++;   // SUCCESS_NO_INFO(-2) 는 반영된 것으로 본다
+        }
+      }
+      if (insert != null) {
+        insert.executeBatch();
+        try (ResultSet keys = insert.getGeneratedKeys()) {
+          for (int[] stock : insertedStock) {
+            if (!keys.next()) {
+              throw new SQLException("새 제품 ID 를 받지 못했습니다");
+            }
+            if (stock[0] != 0 || stock[1] != 0) {
+              adjustments.add(new int[]{keys.getInt(1), stock[0], stock[1]});
+            }
+          }
+        }
+      }
+      InventoryEventDAO.appendAdjustments(conn, StoreDAO.MAIN_STORE_ID, adjustments, at);
+      conn.commit();
+    } catch (SQLException e) {
+      conn.rollback();
+      throw e;
+    } finally {
+      pending = 0;
+      stockRows.clear();
+      insertedStock.clear();
+    }
+    return missing;
+  }
+
+  // ID 가 있는 행의 현재 재고를 잠그고 읽음 {매장, 창고}
+  private Map<Integer, int[]> lockStock() throws SQLException {
+    Map<Integer, int[]> stock = new HashMap<>();
+    for (int from = 0; from < stockRows.size(); from += LOCK_BATCH) {
+      int to = Math.min(stockRows.size(), from + LOCK_BATCH);
+      StringBuilder sql = new StringBuilder(
+          "SELECT product_id, store_quantity, warehouse_quantity FROM products WHERE product_id IN (");
+      for (int i = from; i < to; i++) {
+        sql.append(i == from ? "?" : ", ?");
+      }
+      sql.append(") FOR UPDATE");
+      try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+        for (int i = from; i < to; i++) {
+          pstmt.setInt(i - from + 1, stockRows.get(i).productId);
+        }
+        try (ResultSet rs = pstmt.executeQuery()) {
+          while (rs.next()) {
+            stock.put(rs.getInt(1), new int[]{rs.getInt(2), rs.getInt(3)});
+          }
+        }
+      }
+    }
+    return stock;
+  }
+
+  // 행 순서대로 적용했을 때의 증감 (같은 제품이 여러 번 나오면 앞 행의 결과에서 이어서 계산)
+  private List<int[]> adjustments(Map<Integer, int[]> stock) {
+    List<int[]> adjustments = new ArrayList<>();
+    for (StockRow row : stockRows) {
+      int[] current = stock.get(row.productId);
+      if (current == null) {
+        if (!row.insertsMissing) continue;   // 갱신 모드에서 없는 제품은 반영되지 않는다
+        current = new int[2];
+        stock.put(row.productId, current);
+      }
+      int storeDelta = row.storeQuantity == null ? 0 : row.storeQuantity - current[0];
+      int warehouseDelta = row.warehouseQuantity == null ? 0 : row.warehouseQuantity - current[1];
+      if (storeDelta != 0 || warehouseDelta != 0) {
+        adjustments.add(new int[]{row.productId, storeDelta, warehouseDelta});
+        current[0] += storeDelta;
+        current[1] += warehouseDelta;
+      }
+    }
+    return adjustments;
+  }
+
+  /**
+   * 재고 수량을 바꾸는 행 (수량이 null 이면 그 열은 바꾸지 않음)
+   */
+  private static final class StockRow {
+    final int productId;
+    final Integer storeQuantity;
+    final Integer warehouseQuantity;
+    final boolean insertsMissing;   // 없는 제품이면 새로 추가되는 행 (upsert)
+
+    StockRow(int productId, Integer storeQuantity, Integer warehouseQuantity, boolean insertsMissing) {
+      this.productId = productId;
+      this.storeQuantity = storeQuantity;
+      this.warehouseQuantity = warehouseQuantity;
+      this.insertsMissing = insertsMissing;
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      if (pending > 0) {
+        conn.rollback();
+      }
+      for (Statement statement : new Statement[]{upsert, insert, update}) {
+        if (statement != null) statement.close();
+      }
+      conn.setAutoCommit(true);
+    } finally {
+      conn.close();
+    }
+  }
+}
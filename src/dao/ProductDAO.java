@@ -1,16 +1,70 @@
 package dao;
 
+import dto.InventoryEvent;
 import dto.Product;
 import common.DBManager;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 제품 및 대기 주문 관련 데이터베이스 액세스 객체
+ *
+ * 지점 하나의 재고를 다룬다. 본점(StoreDAO.MAIN_STORE_ID)은 products 의 재고 컬럼을 그대로 쓰고,
+ * 다른 지점은 store_inventory 의 (지점, 제품) 행을 쓰므로 지점끼리 같은 행 잠금을 다투지 않는다.
  */
 public class ProductDAO {
+  private static final String PRODUCT_COLUMNS = "p.product_id, p.name, p.manufacturer, p.price";
+
+  private final int storeId;
+
+  public ProductDAO() {
+    this(StoreDAO.MAIN_STORE_ID);
+  }
+
+  public ProductDAO(int storeId) {
+    this.storeId = storeId;
+  }
+
+  /**
+   * 이 DAO 가 다루는 지점 ID
+   */
+  public int getStoreId() {
+    return storeId;
+  }
+
+  // 지점 재고를 붙인 제품 조회 (제품 ID, 이름, 제조사, 가격, 매장 재고, 창고 재고 순)
+  // 지점 ID 는 정수라 SQL 에 바로 넣는다
+  static String productSelectSql(int storeId) {
+    if (storeId == StoreDAO.MAIN_STORE_ID) {
+      return "SELECT " + PRODUCT_COLUMNS + ", p.store_quantity, p.warehouse_quantity FROM products p";
+    }
+    return "SELECT " + PRODUCT_COLUMNS + ", i.store_quantity, i.warehouse_quantity FROM products p "
+        + "JOIN store_inventory i ON i.store_id = " + storeId + " AND i.product_id = p.product_id";
+  }
+
+  // 지점 재고 행 조회 (제품 ID, 매장 재고, 창고 재고 순)
+  static String stockScanSql(int storeId) {
+    if (storeId == StoreDAO.MAIN_STORE_ID) {
+      return "SELECT product_id, store_quantity, warehouse_quantity FROM products";
+    }
+    return "SELECT product_id, store_quantity, warehouse_quantity FROM store_inventory WHERE store_id = " + storeId;
+  }
+
+  // 지점 재고 한 행 갱신 (매개변수는 assignments 의 값들, 제품 ID, condition 의 값들 순)
+  static String stockUpdateSql(int storeId, String assignments) {
+    return stockUpdateSql(storeId, assignments, "");
+  }
+
+  static String stockUpdateSql(int storeId, String assignments, String condition) {
+    if (storeId == StoreDAO.MAIN_STORE_ID) {
+      return "UPDATE products SET " + assignments + " WHERE product_id = ?" + condition;
+    }
+    return "UPDATE store_inventory SET " + assignments + " WHERE store_id = " + storeId + " AND product_id = ?"
+        + condition;
+  }
 
   /**
    * 데이터베이스 연결 가져오기
@@ -24,7 +78,7 @@ public class ProductDAO {
    */
   public List<Product> getAllProducts() {
     List<Product> products = new ArrayList<>();
-    String sql = "SELECT * FROM products";
+    String sql = productSelectSql(storeId) + " ORDER BY p.product_id";
 
     try (Connection conn = getConnection();
         PreparedStatement pstmt = conn.prepareStatement(sql);
@@ -32,12 +86,12 @@ public class ProductDAO {
 
       while (rs.next()) {
         Product product = new Product();
-        product.setProductId(rs.getInt("product_id"));
-        product.setName(rs.getString("name"));
-        product.setManufacturer(rs.getString("manufacturer"));
-        product.setPrice(rs.getInt("price"));
-        product.setStoreQuantity(rs.getInt("store_quantity"));
-        product.setWarehouseQuantity(rs.getInt("warehouse_quantity"));
+        product.setProductId(rs.getInt(1));
+        product.setName(rs.getString(2));
+        product.setManufacturer(rs.getString(3));
+        product.setPrice(rs.getInt(4));
+        product.setStoreQuantity(rs.getInt(5));
+        product.setWarehouseQuantity(rs.getInt(6));
 
         products.add(product);
       }
@@ -53,7 +107,7 @@ public class ProductDAO {
    */
   public Product getProductById(int productId) {
     Product product = null;
-    String sql = "SELECT * FROM products WHERE product_id = ?";
+    String sql = productSelectSql(storeId) + " WHERE p.product_id = ?";
 
     try (Connection conn = getConnection();
         PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -63,12 +117,12 @@ public class ProductDAO {
       try (ResultSet rs = pstmt.executeQuery()) {
         if (rs.next()) {
           product = new Product();
-          product.setProductId(rs.getInt("product_id"));
-          product.setName(rs.getString("name"));
-          product.setManufacturer(rs.getString("manufacturer"));
-          product.setPrice(rs.getInt("price"));
-          product.setStoreQuantity(rs.getInt("store_quantity"));
-          product.setWarehouseQuantity(rs.getInt("warehouse_quantity"));
+          product.setProductId(rs.getInt(1));
+          product.setName(rs.getString(2));
+          product.setManufacturer(rs.getString(3));
+          product.setPrice(rs.getInt(4));
+          product.setStoreQuantity(rs.getInt(5));
+          product.setWarehouseQuantity(rs.getInt(6));
         }
       }
     } catch (SQLException e) {
@@ -79,40 +133,190 @@ public class ProductDAO {
   }
 
   /**
-   * 재고 수량 업데이트
+   * 재고 이동 - 매장/창고 재고를 증감하고 같은 트랜잭션에서 재고 이벤트를 덧붙인다
+   *
+   * @return 제품이 없거나 증감 후 재고가 음수가 되면 false
    */
-  public boolean updateInventory(int productId, int storeQuantity, int warehouseQuantity) {
-    boolean success = false;
-    String sql = "UPDATE products SET store_quantity = ?, warehouse_quantity = ? WHERE product_id = ?";
+  public boolean moveStock(int productId, InventoryEvent.Type type, int storeDelta, int warehouseDelta,
+      LocalDateTime at) {
+    String sql = stockUpdateSql(storeId,
+        "store_quantity = store_quantity + ?, warehouse_quantity = warehouse_quantity + ?",
+        " AND store_quantity + ? >= 0 AND warehouse_quantity + ? >= 0");
 
-    try (Connection conn = getConnection();
-        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        pstmt.setInt(1, storeDelta);
+        pstmt.setInt(2, warehouseDelta);
+        pstmt.setInt(3, productId);
+        pstmt.setInt(4, storeDelta);
+        pstmt.setInt(5, warehouseDelta);
+        if (pstmt.executeUpdate() == 0) {
+          conn.rollback();
+          return false;
+        }
 
-      pstmt.setInt(1, storeQuantity);
-      pstmt.setInt(2, warehouseQuantity);
-      pstmt.setInt(3, productId);
+        InventoryEventDAO.append(conn, storeId, productId, type, storeDelta, warehouseDelta, at);
+        conn.commit();
+        return true;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return false;
+  }
 
-      int result = pstmt.executeUpdate();
-      success = (result > 0);
+  /**
+   * 현재 재고 스냅샷 저장 (at 은 스냅샷 기준 시뮬레이션 시각)
+   *
+   * @return 스냅샷 ID, 실패 시 -1
+   */
+  public long takeInventorySnapshot(LocalDateTime at) {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        long snapshotId = InventoryEventDAO.snapshot(conn, storeId, at);
+        conn.commit();
+        return snapshotId;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
     } catch (SQLException e) {
       e.printStackTrace();
     }
+    return -1;
+  }
 
-    return success;
+  /**
+   * at 시각의 제품별 재고 (productId 가 0 이면 전체) - 직전 스냅샷 + 이후 이벤트로 계산
+   */
+  public List<Product> getInventoryAsOf(LocalDateTime at, int productId) {
+    try (Connection conn = getConnection()) {
+      return InventoryEventDAO.asOf(conn, storeId, at, productId);
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return new ArrayList<>();
   }
 
   /**
-   * 대기 주문 생성
+   * 한 제품의 at 까지 재고 이벤트 최근 limit 건 (최신순)
+   */
+  public List<InventoryEvent> getInventoryEvents(int productId, LocalDateTime at, int limit) {
+    try (Connection conn = getConnection()) {
+      return InventoryEventDAO.events(conn, storeId, productId, at, limit);
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return new ArrayList<>();
+  }
+
+  /**
+   * 마지막 스냅샷 + 이후 이벤트로 재고를 다시 계산해 어긋난 제품을 고침
+   *
+   * @return 고친 제품 수, 실패 시 -1
+   */
+  public int rebuildInventory() {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        int repaired = InventoryEventDAO.rebuild(conn, storeId);
+        conn.commit();
+        return repaired;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return -1;
+  }
+
+  /**
+   * 재고 이력을 비우고 현재 재고를 기준 스냅샷으로 저장 (새 시뮬레이션 시작)
+   */
+  public boolean resetInventoryHistory() {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        InventoryEventDAO.reset(conn, storeId);
+        conn.commit();
+        return true;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return false;
+  }
+
+  /**
+   * 대량 반영용 배치 작성기 열기 (사용 후 close 필요)
+   */
+  public ProductBatchWriter openBatchWriter() throws SQLException {
+    Connection conn = getConnection();
+    if (conn == null) {
+      throw new SQLException("DB 연결 실패");
+    }
+    return new ProductBatchWriter(conn);
+  }
+
+  /**
+   * 제품들의 가격과 재고를 conn 의 트랜잭션 안에서 되돌림 (체크포인트 복원, 본점 외 지점은 지점 재고만, 커밋은 호출 쪽)
+   *
+   * @return 대상 제품이 없어 반영되지 않은 수
+   */
+  static int restoreInventory(Connection conn, int storeId, List<Product> products) throws SQLException {
+    boolean main = storeId == StoreDAO.MAIN_STORE_ID;
+    String sql = stockUpdateSql(storeId, main
+        ? "price = ?, store_quantity = ?, warehouse_quantity = ?" : "store_quantity = ?, warehouse_quantity = ?");
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      for (Product product : products) {
+        int index = 1;
+        if (main) {
+          pstmt.setInt(index++, product.getPrice());
+        }
+        pstmt.setInt(index++, product.getStoreQuantity());
+        pstmt.setInt(index++, product.getWarehouseQuantity());
+        pstmt.setInt(index, product.getProductId());
+        pstmt.addBatch();
+      }
+      int missing = 0;
+      for (int result : pstmt.executeBatch()) {
+        if (result == 0) missing++;
+      }
+      return missing;
+    }
+  }
+
+  /**
+   * 대기 주문 생성 (이 지점의 주문)
    */
   public int createWaitingOrder(int productId, int quantity) {
     int orderId = -1;
-    String sql = "INSERT INTO waiting_orders (product_id, quantity, status) VALUES (?, ?, 'waiting')";
+    String sql = "INSERT INTO waiting_orders (store_id, product_id, quantity, status) VALUES (?, ?, ?, 'waiting')";
 
     try (Connection conn = getConnection();
         PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-      pstmt.setInt(1, productId);
-      pstmt.setInt(2, quantity);
+      pstmt.setInt(1, storeId);
+      pstmt.setInt(2, productId);
+      pstmt.setInt(3, quantity);
 
       int result = pstmt.executeUpdate();
 
@@ -0,0 +1,276 @@
+package dao;
+
+import dto.SalesRollup;
+import common.DBManager;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 판매 집계(sales_hourly / sales_daily) 데이터베이스 액세스 객체
+ *
+ * 집계 행은 SaleDAO.recordSale 이 판매와 같은 트랜잭션에서 누적하므로 판매 테이블과 항상 일치한다.
+ * 키에 store_id 가 있어 지점마다 다른 행을 누적하므로 같은 제품이 여러 지점에서 팔려도 행 잠금을 다투지 않는다.
+ * 조회는 지점을 합친 값이다. 일일 보고서 요약과 판매 내역 탭의 기간 합계가 sale_items 대신 이 테이블을 읽는다.
+ * 판매 원장(LedgerSaleDAO) 모드에서는 집계를 누적하지 않으므로 SaleDAO.hasRollups 로 먼저 확인한다.
+ */
+public class RollupDAO {
+
+  private static final String HOURLY_UPSERT =
+      "INSERT INTO sales_hourly (bucket_hour, store_id, product_id, units, revenue, sale_count) VALUES (?, ?, ?, ?, ?, 1) "
+          + "ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue), "
+          + "sale_count = sale_count + 1";
+  private static final String DAILY_UPSERT =
+      "INSERT INTO sales_daily (bucket_date, store_id, product_id, units, revenue, sale_count) VALUES (?, ?, ?, ?, ?, 1) "
+          + "ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue), "
+          + "sale_count = sale_count + 1";
+
+  /**
+   * 데이터베이스 연결 가져오기
+   */
+  private Connection getConnection() throws SQLException {
+    return DBManager.getConnection();
+  }
+
+  /**
+   * 판매 한 건을 지점의 시간/일 집계에 누적 (호출자의 트랜잭션 안에서 실행)
+   */
+  static void applySale(Connection conn, int storeId, int productId, LocalDateTime soldAt, int quantity, long amount)
+      throws SQLException {
+    LocalDateTime hour = soldAt.truncatedTo(ChronoUnit.HOURS);
+
+    try (PreparedStatement hourly = conn.prepareStatement(HOURLY_UPSERT);
+        PreparedStatement daily = conn.prepareStatement(DAILY_UPSERT)) {
+      hourly.setTimestamp(1, Timestamp.valueOf(hour));
+      hourly.setInt(2, storeId);
+      hourly.setInt(3, productId);
+      hourly.setInt(4, quantity);
+      hourly.setLong(5, amount);
+      hourly.executeUpdate();
+
+      daily.setDate(1, Date.valueOf(hour.toLocalDate()));
+      daily.setInt(2, storeId);
+      daily.setInt(3, productId);
+      daily.setInt(4, quantity);
+      daily.setLong(5, amount);
+      daily.executeUpdate();
+    }
+  }
+
+  /**
+   * 집계 테이블 비우기 (호출자의 연결에서 실행)
+   */
+  static void clear(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("DELETE FROM sales_hourly");
+      stmt.executeUpdate("DELETE FROM sales_daily");
+    }
+  }
+
+  /**
+   * 지점의 from 이 속한 시간 이후 집계를 판매 테이블에서 다시 계산 (호출자의 트랜잭션 안에서 실행)
+   * 일 집계는 from 날짜부터 다시 만든다. 다른 지점의 집계 행은 건드리지 않는다.
+   */
+  static void refreshFrom(Connection conn, int storeId, LocalDateTime from) throws SQLException {
+    Timestamp hour = Timestamp.valueOf(from.truncatedTo(ChronoUnit.HOURS));
+    Timestamp day = Timestamp.valueOf(from.toLocalDate().atStartOfDay());
+
+    try (PreparedStatement deleteHourly = conn.prepareStatement(
+            "DELETE FROM sales_hourly WHERE store_id = ? AND bucket_hour >= ?");
+        PreparedStatement deleteDaily = conn.prepareStatement(
+            "DELETE FROM sales_daily WHERE store_id = ? AND bucket_date >= ?");
+        PreparedStatement hourly = conn.prepareStatement(
+            "INSERT INTO sales_hourly (bucket_hour, store_id, product_id, units, revenue, sale_count) "
+                + "SELECT DATE_FORMAT(s.sale_date, '%Y-%m-%d %H:00:00'), s.store_id, si.product_id, "
+                + "SUM(si.quantity), SUM(si.total_price), COUNT(DISTINCT s.sale_id) "
+                + "FROM sales s JOIN sale_items si ON si.sale_id = s.sale_id AND si.sale_date = s.sale_date "
+                + "WHERE s.store_id = ? AND s.sale_date >= ? AND si.sale_date >= ? "
+                + "GROUP BY DATE_FORMAT(s.sale_date, '%Y-%m-%d %H:00:00'), s.store_id, si.product_id");
+        PreparedStatement daily = conn.prepareStatement(
+            "INSERT INTO sales_daily (bucket_date, store_id, product_id, units, revenue, sale_count) "
+                + "SELECT DATE(bucket_hour), store_id, product_id, SUM(units), SUM(revenue), SUM(sale_count) "
+                + "FROM sales_hourly WHERE store_id = ? AND bucket_hour >= ? "
+                + "GROUP BY DATE(bucket_hour), store_id, product_id")) {
+      deleteHourly.setInt(1, storeId);
+      deleteHourly.setTimestamp(2, hour);
+      deleteHourly.executeUpdate();
+      deleteDaily.setInt(1, storeId);
+      deleteDaily.setDate(2, Date.valueOf(from.toLocalDate()));
+      deleteDaily.executeUpdate();
+      hourly.setInt(1, storeId);
+      hourly.setTimestamp(2, hour);
+      hourly.setTimestamp(3, hour);
+      hourly.executeUpdate();
+      daily.setInt(1, storeId);
+      daily.setTimestamp(2, day);
+      daily.executeUpdate();
+    }
+  }
+
+  /**
+   * 기간 [from, to) 의 제품별 시간 집계 (전 지점 합계, 시간, 제품 ID 순)
+   */
+  public List<SalesRollup> getHourlyRollups(LocalDateTime from, LocalDateTime to) {
+    String sql = "SELECT bucket_hour, product_id, SUM(units), SUM(revenue), SUM(sale_count) FROM sales_hourly "
+        + "WHERE bucket_hour >= ? AND bucket_hour < ? GROUP BY bucket_hour, product_id ORDER BY bucket_hour, product_id";
+    return queryHourly(sql, from, to, 0);
+  }
+
+  /**
+   * 한 제품의 기간 [from, to) 시간 집계 (전 지점 합계)
+   */
+  public List<SalesRollup> getHourlyRollups(int productId, LocalDateTime from, LocalDateTime to) {
+    String sql = "SELECT bucket_hour, product_id, SUM(units), SUM(revenue), SUM(sale_count) FROM sales_hourly "
+        + "WHERE product_id = ? AND bucket_hour >= ? AND bucket_hour < ? GROUP BY bucket_hour, product_id "
+        + "ORDER BY bucket_hour";
+    return queryHourly(sql, from, to, productId);
+  }
+
+  private List<SalesRollup> queryHourly(String sql, LocalDateTime from, LocalDateTime to, int productId) {
+    List<SalesRollup> rollups = new ArrayList<>();
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+      int index = 1;
+      if (productId > 0) {
+        pstmt.setInt(index++, productId);
+      }
+      pstmt.setTimestamp(index++, Timestamp.valueOf(from));
+      pstmt.setTimestamp(index, Timestamp.valueOf(to));
+
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          rollups.add(new SalesRollup(rs.getInt(2), rs.getTimestamp(1).toLocalDateTime(),
+              rs.getLong(3), rs.getLong(4), rs.getLong(5)));
+        }
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+
+    return rollups;
+  }
+
+  /**
+   * 기간 [from, to) 의 합계 {수량, 매출, 판매 건수} (전 지점, productId 가 0 이면 전체 제품, from/to 가 null 이면 제한 없음)
+   * 시간 집계를 읽으므로 정각이 아닌 경계는 그 시간 전체가 포함된다.
+   */
+  public long[] getTotals(int productId, LocalDateTime from, LocalDateTime to) {
+    StringBuilder sql = new StringBuilder(
+        "SELECT COALESCE(SUM(units), 0), COALESCE(SUM(revenue), 0), COALESCE(SUM(sale_count), 0) FROM sales_hourly WHERE 1 = 1");
+    if (from != null) sql.append(" AND bucket_hour >= ?");
+    if (to != null) sql.append(" AND bucket_hour < ?");
+    if (productId > 0) sql.append(" AND product_id = ?");
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+      int index = 1;
+      if (from != null) pstmt.setTimestamp(index++, Timestamp.valueOf(from.truncatedTo(ChronoUnit.HOURS)));
+      if (to != null) pstmt.setTimestamp(index++, Timestamp.valueOf(to));
+      if (productId > 0) pstmt.setInt(index, productId);
+
+      try (ResultSet rs = pstmt.executeQuery()) {
+        if (rs.next()) {
+          return new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)};
+        }
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return new long[3];
+  }
+
+  /**
+   * 기간 [from, to] 의 제품별 일 집계 (전 지점 합계, 날짜, 제품 ID 순)
+   */
+  public List<SalesRollup> getDailyRollups(LocalDate from, LocalDate to) {
+    List<SalesRollup> rollups = new ArrayList<>();
+    String sql = "SELECT bucket_date, product_id, SUM(units), SUM(revenue), SUM(sale_count) FROM sales_daily "
+        + "WHERE bucket_date BETWEEN ? AND ? GROUP BY bucket_date, product_id ORDER BY bucket_date, product_id";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+      pstmt.setDate(1, Date.valueOf(from));
+      pstmt.setDate(2, Date.valueOf(to));
+
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          rollups.add(new SalesRollup(rs.getInt(2), rs.getDate(1).toLocalDate().atStartOfDay(),
+              rs.getLong(3), rs.getLong(4), rs.getLong(5)));
+        }
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+
+    return rollups;
+  }
+
+  /**
+   * 기간 [from, to] 의 제품별 합계 (전 지점 합계, 매출 순, limit 개)
+   */
+  public List<SalesRollup> getTopProducts(LocalDate from, LocalDate to, int limit) {
+    List<SalesRollup> rollups = new ArrayList<>();
+    String sql = "SELECT product_id, SUM(units), SUM(revenue), SUM(sale_count) FROM sales_daily "
+        + "WHERE bucket_date BETWEEN ? AND ? GROUP BY product_id ORDER BY SUM(revenue) DESC LIMIT ?";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+      pstmt.setDate(1, Date.valueOf(from));
+      pstmt.setDate(2, Date.valueOf(to));
+      pstmt.setInt(3, limit);
+
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          rollups.add(new SalesRollup(rs.getInt(1), from.atStartOfDay(), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+        }
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+
+    return rollups;
+  }
+
+  /**
+   * 판매 테이블에서 집계 테이블 재생성 (기존 데이터 적재 후 한 번 실행)
+   * 판매 시각은 sales.sale_date 기준이다.
+   */
+  public boolean rebuild() {
+    String hourly = "INSERT INTO sales_hourly (bucket_hour, store_id, product_id, units, revenue, sale_count) "
+        + "SELECT DATE_FORMAT(s.sale_date, '%Y-%m-%d %H:00:00'), s.store_id, si.product_id, "
+        + "SUM(si.quantity), SUM(si.total_price), COUNT(DISTINCT s.sale_id) "
+        + "FROM sales s JOIN sale_items si ON si.sale_id = s.sale_id "
+        + "GROUP BY DATE_FORMAT(s.sale_date, '%Y-%m-%d %H:00:00'), s.store_id, si.product_id";
+    String daily = "INSERT INTO sales_daily (bucket_date, store_id, product_id, units, revenue, sale_count) "
+        + "SELECT DATE(bucket_hour), store_id, product_id, SUM(units), SUM(revenue), SUM(sale_count) "
+        + "FROM sales_hourly GROUP BY DATE(bucket_hour), store_id, product_id";
+
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try (Statement stmt = conn.createStatement()) {
+        clear(conn);
+        stmt.executeUpdate(hourly);
+        stmt.executeUpdate(daily);
+        conn.commit();
+        return true;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return false;
+  }
+}
@@ -1,17 +1,86 @@
 package dao;
 
+import dto.Product;
+import dto.Sale;
 import dto.SaleItem;
+import dto.WaitingOrder;
 import common.DBManager;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 판매 관련 데이터베이스 액세스 객체
+ *
+ * 판매 테이블과 집계는 모든 지점이 같이 쓰고(sales.store_id 로 구분), 대기 주문은 이 DAO 의 지점 것만 다룬다.
  */
 public class SaleDAO {
 
+  private static final String[] PARTITIONED_TABLES = {"sales", "sale_items"};
+  private static final long TO_DAYS_EPOCH = 719528;   // MySQL TO_DAYS('1970-01-01')
+
+  private static final Map<Integer, LedgerSaleDAO> sharedLedgers = new HashMap<>();
+
+  private final int storeId;
+
+  public SaleDAO() {
+    this(StoreDAO.MAIN_STORE_ID);
+  }
+
+  public SaleDAO(int storeId) {
+    this.storeId = storeId;
+  }
+
+  /**
+   * 본점 기본 판매 저장소
+   */
+  public static SaleDAO create() {
+    return create(StoreDAO.MAIN_STORE_ID);
+  }
+
+  /**
+   * 지점 기본 판매 저장소
+   * -Dsales.ledger.dir=<폴더> 를 지정하면 같은 지점의 서비스는 같은 메모리 매핑 판매 원장(LedgerSaleDAO)을 쓴다.
+   * 본점 원장은 폴더 바로 아래, 다른 지점은 store-<지점 ID> 하위 폴더에 두어 지점끼리 추가 잠금을 다투지 않는다.
+   */
+  public static synchronized SaleDAO create(int storeId) {
+    String ledgerDir = System.getProperty("sales.ledger.dir");
+    if (ledgerDir == null) {
+      return new SaleDAO(storeId);
+    }
+    LedgerSaleDAO ledger = sharedLedgers.get(storeId);
+    if (ledger == null) {
+      Path dir = storeId == StoreDAO.MAIN_STORE_ID
+          ? Paths.get(ledgerDir) : Paths.get(ledgerDir, "store-" + storeId);
+      try {
+        ledger = new LedgerSaleDAO(dir, storeId);
+        Runtime.getRuntime().addShutdownHook(new Thread(ledger::close));
+        sharedLedgers.put(storeId, ledger);
+      } catch (IOException e) {
+        System.err.println("❌ 판매 원장을 열 수 없어 DB 에 기록합니다: " + e.getMessage());
+        e.printStackTrace();
+        return new SaleDAO(storeId);
+      }
+    }
+    return ledger;
+  }
+
+  /**
+   * 이 DAO 가 다루는 지점 ID
+   */
+  public int getStoreId() {
+    return storeId;
+  }
+
   /**
    * 데이터베이스 연결 가져오기
    */
@@ -20,12 +89,13 @@ public class SaleDAO {
   }
 
   /**
-   * 대기 주문 테이블 초기화
+   * 지점 대기 주문 초기화
    */
   public void clearWaitingOrders() {
-    String sql = "DELETE FROM waiting_orders";
+    String sql = "DELETE FROM waiting_orders WHERE store_id = ?";
     try (Connection conn = getConnection();
         PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setInt(1, storeId);
       pstmt.executeUpdate();
     } catch (SQLException e) {
       e.printStackTrace();
@@ -85,6 +155,78 @@ public class SaleDAO {
     return saleId;
   }
 
+  /**
+   * 판매 한 건 저장 - 판매, 판매 항목, 시간/일 집계를 한 트랜잭션으로 반영
+   *
+   * @param soldAt 판매 일시 (시뮬레이션 시각) - sale_date 와 집계 구간에 쓰인다
+   * @return 판매 ID, 실패 시 -1 (전체 롤백)
+   */
+  public int recordSale(int productId, int quantity, int unitPrice, LocalDateTime soldAt) {
+    int totalPrice = quantity * unitPrice;
+    String saleSql = "INSERT INTO sales (store_id, sale_date, total_amount) VALUES (?, ?, ?)";
+    String itemSql = "INSERT INTO sale_items (sale_id, sale_date, product_id, quantity, unit_price, total_price) "
+        + "VALUES (?, ?, ?, ?, ?, ?)";
+    Timestamp saleDate = Timestamp.valueOf(soldAt);
+
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try (PreparedStatement saleStmt = conn.prepareStatement(saleSql, Statement.RETURN_GENERATED_KEYS);
+          PreparedStatement itemStmt = conn.prepareStatement(itemSql)) {
+
+        saleStmt.setInt(1, storeId);
+        saleStmt.setTimestamp(2, saleDate);
+        saleStmt.setInt(3, totalPrice);
+        saleStmt.executeUpdate();
+        int saleId;
+        try (ResultSet rs = saleStmt.getGeneratedKeys()) {
+          if (!rs.next()) {
+            conn.rollback();
+            return -1;
+          }
+          saleId = rs.getInt(1);
+        }
+
+        itemStmt.setInt(1, saleId);
+        itemStmt.setTimestamp(2, saleDate);
+        itemStmt.setInt(3, productId);
+        itemStmt.setInt(4, quantity);
+        itemStmt.setInt(5, unitPrice);
+        itemStmt.setInt(6, totalPrice);
+        itemStmt.executeUpdate();
+
+        RollupDAO.applySale(conn, storeId, productId, soldAt, quantity, totalPrice);
+        conn.commit();
+        return saleId;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return -1;
+  }
+
+  /**
+   * 판매를 기록할 때 시간/일 집계(sales_hourly / sales_daily)도 누적하는지 (집계를 읽는 화면/보고서가 확인)
+   */
+  public boolean hasRollups() {
+    return true;
+  }
+
+  /**
+   * 판매 집계 테이블 초기화
+   */
+  public void clearSaleRollups() {
+    try (Connection conn = getConnection()) {
+      RollupDAO.clear(conn);
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+  }
+
   /**
    * 판매 항목 추가
    */
@@ -144,26 +286,29 @@ public class SaleDAO {
 
 
   /**
-   * 대기 주문 목록 조회
+   * 지점 대기 주문 목록 조회
    */
   public List<SaleItem> getWaitingOrders() {
     List<SaleItem> waitingOrders = new ArrayList<>();
-    String sql = "SELECT order_id, product_id, quantity FROM waiting_orders WHERE status = 'waiting' ORDER BY request_date ASC";
+    String sql = "SELECT order_id, product_id, quantity FROM waiting_orders "
+        + "WHERE store_id = ? AND status = 'waiting' ORDER BY request_date ASC";
 
     try (Connection conn = getConnection();
-        PreparedStatement pstmt = conn.prepareStatement(sql);
-        ResultSet rs = pstmt.executeQuery()) {
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-      while (rs.next()) {
-        SaleItem item = new SaleItem();
-        item.setSaleItemId(rs.getInt("order_id"));  // 대기 주문 ID를 SaleItem의 ID로 재사용
-        item.setSaleId(-1); // 대기 주문은 sale_id가 없으므로 기본값 -1 설정
-        item.setProductId(rs.getInt("product_id"));
-        item.setQuantity(rs.getInt("quantity"));
-        item.setUnitPrice(0); // 대기 주문은 단가 정보 없음 (0으로 설정)
-        item.setTotalPrice(0); // 총 가격도 0으로 설정
+      pstmt.setInt(1, storeId);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          SaleItem item = new SaleItem();
+          item.setSaleItemId(rs.getInt("order_id"));  // 대기 주문 ID를 SaleItem의 ID로 재사용
+          item.setSaleId(-1); // 대기 주문은 sale_id가 없으므로 기본값 -1 설정
+          item.setProductId(rs.getInt("product_id"));
+          item.setQuantity(rs.getInt("quantity"));
+          item.setUnitPrice(0); // 대기 주문은 단가 정보 없음 (0으로 설정)
+          item.setTotalPrice(0); // 총 가격도 0으로 설정
 
-        waitingOrders.add(item);
+          waitingOrders.add(item);
+        }
       }
     } catch (SQLException e) {
       e.printStackTrace();
@@ -173,18 +318,422 @@ public class SaleDAO {
   }
 
   /**
-   * 대기 주문 완료 처리 (status 변경)
+   * 대기 주문 완료 처리 (status 변경) - 아직 대기 중인 주문일 때만 바꾸므로 같은 주문을 두 번 처리하지 않는다
+   *
+   * @return 이 호출이 주문을 완료로 바꿨으면 true
    */
-  public void completeWaitingOrder(int orderId) {
-    String sql = "UPDATE waiting_orders SET status = 'processed' WHERE order_id = ?";
+  public boolean completeWaitingOrder(int orderId) {
+    return updateWaitingOrderStatus(orderId, "waiting", "processed");
+  }
+
+  /**
+   * 완료로 바꾼 대기 주문을 다시 대기 상태로 (완료 처리 뒤 재고 이동이나 판매 저장이 실패했을 때)
+   */
+  public void reopenWaitingOrder(int orderId) {
+    updateWaitingOrderStatus(orderId, "processed", "waiting");
+  }
+
+  private boolean updateWaitingOrderStatus(int orderId, String from, String to) {
+    String sql = "UPDATE waiting_orders SET status = ? WHERE order_id = ? AND status = ?";
 
     try (Connection conn = getConnection();
         PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-      pstmt.setInt(1, orderId);
-      pstmt.executeUpdate();
+      pstmt.setString(1, to);
+      pstmt.setInt(2, orderId);
+      pstmt.setString(3, from);
+      return pstmt.executeUpdate() > 0;
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return false;
+  }
+
+  /**
+   * 지점의 처리 대기 중인 주문 전체 (요청 일시 포함, 체크포인트용)
+   */
+  public List<WaitingOrder> getOpenWaitingOrders() {
+    List<WaitingOrder> orders = new ArrayList<>();
+    String sql = "SELECT order_id, product_id, quantity, request_date, status FROM waiting_orders "
+        + "WHERE store_id = ? AND status = 'waiting' ORDER BY order_id";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+      pstmt.setInt(1, storeId);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          Timestamp requestDate = rs.getTimestamp(4);
+          orders.add(new WaitingOrder(rs.getInt(1), rs.getInt(2), rs.getInt(3),
+              requestDate == null ? null : requestDate.toLocalDateTime(), rs.getString(5)));
+        }
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+
+    return orders;
+  }
+
+  /**
+   * 지점 대기 주문 중 가장 큰 주문 ID (상태 무관, 없으면 0, 실패 시 -1)
+   * 체크포인트에 함께 저장해 복원 때 체크포인트 뒤에 생긴 주문을 가려낸다.
+   */
+  public int getLastWaitingOrderId() {
+    String sql = "SELECT COALESCE(MAX(order_id), 0) FROM waiting_orders WHERE store_id = ?";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+      pstmt.setInt(1, storeId);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next() ? rs.getInt(1) : 0;
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return -1;
+  }
+
+  /**
+   * 체크포인트 복원 - 재고, 재고 이력, 대기 주문, 체크포인트 이후 판매를 한 트랜잭션으로 되돌림
+   * 실패하면 롤백되어 아무것도 바뀌지 않는다.
+   *
+   * @param lastOrderId 체크포인트 시점의 getLastWaitingOrderId (이보다 큰 주문은 체크포인트 뒤에 생긴 주문)
+   * @return 대상 제품이 없어 재고를 되돌리지 못한 수, 실패 시 -1
+   */
+  public int restoreCheckpoint(List<Product> products, List<WaitingOrder> orders, int lastOrderId, LocalDateTime at) {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        int missing = ProductDAO.restoreInventory(conn, storeId, products);
+        // 버려진 시간대의 재고 이벤트를 지우고 복원한 재고를 새 기준 스냅샷으로
+        InventoryEventDAO.deleteAfter(conn, storeId, at);
+        InventoryEventDAO.snapshot(conn, storeId, at);
+        replaceWaitingOrders(conn, orders, lastOrderId);
+        deleteSalesAfter(conn, at);
+        conn.commit();
+        return missing;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return -1;
+  }
+
+  // 지금 대기 중인 주문과 체크포인트 뒤에 생긴 주문(처리 여부 무관)을 지우고, 체크포인트의 주문을 주문 ID 로 upsert
+  // (체크포인트 뒤에 처리된 주문은 같은 ID 행이 남아 있으므로 대기 상태로 되돌린다)
+  private void replaceWaitingOrders(Connection conn, List<WaitingOrder> orders, int lastOrderId) throws SQLException {
+    try (PreparedStatement delete = conn.prepareStatement(
+            "DELETE FROM waiting_orders WHERE store_id = ? AND (status = 'waiting' OR order_id > ?)");
+        PreparedStatement upsert = conn.prepareStatement(
+            "INSERT INTO waiting_orders (order_id, store_id, product_id, quantity, request_date, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE store_id = VALUES(store_id), product_id = VALUES(product_id), "
+                + "quantity = VALUES(quantity), request_date = VALUES(request_date), status = VALUES(status)")) {
+      delete.setInt(1, storeId);
+      delete.setInt(2, lastOrderId);
+      delete.executeUpdate();
+      for (WaitingOrder order : orders) {
+        upsert.setInt(1, order.getOrderId());
+        upsert.setInt(2, storeId);
+        upsert.setInt(3, order.getProductId());
+        upsert.setInt(4, order.getQuantity());
+        upsert.setTimestamp(5, order.getRequestDate() == null ? null : Timestamp.valueOf(order.getRequestDate()));
+        upsert.setString(6, order.getStatus());
+        upsert.addBatch();
+      }
+      upsert.executeBatch();
+    }
+  }
+
+  /**
+   * 이 지점의 after 이후(초과) 판매 삭제 후 해당 구간 집계 재계산 (restoreCheckpoint 트랜잭션 안, 마지막 단계)
+   */
+  protected void deleteSalesAfter(Connection conn, LocalDateTime after) throws SQLException {
+    Timestamp cutoff = Timestamp.valueOf(after);
+    try (PreparedStatement items = conn.prepareStatement(
+            "DELETE si FROM sale_items si JOIN sales s ON s.sale_id = si.sale_id AND s.sale_date = si.sale_date "
+                + "WHERE si.sale_date > ? AND s.store_id = ?");
+        PreparedStatement sales = conn.prepareStatement("DELETE FROM sales WHERE sale_date > ? AND store_id = ?")) {
+      items.setTimestamp(1, cutoff);
+      items.setInt(2, storeId);
+      items.executeUpdate();
+      sales.setTimestamp(1, cutoff);
+      sales.setInt(2, storeId);
+      if (sales.executeUpdate() > 0) {
+        RollupDAO.refreshFrom(conn, storeId, after);
+      }
+    }
+  }
+
+  /**
+   * 판매 상세 행 콜백 (스트리밍 조회용)
+   */
+  public interface SaleLineHandler {
+    void onLine(int saleId, Timestamp saleDate, int productId, String name, String manufacturer,
+        int quantity, int unitPrice, int totalPrice) throws IOException;
+  }
+
+  /**
+   * 기간 [from, to) 의 판매 상세를 판매 ID 순으로 스트리밍
+   * 두 테이블 모두 sale_date 조건을 걸어 해당 날짜 파티션만 읽는다.
+   * 전진 전용 커서 + fetchSize(Integer.MIN_VALUE) 로 행을 하나씩 받아 결과 전체를 메모리에 올리지 않는다.
+   * 일관된 읽기(잠금 없음)이므로 조회 중에도 판매 등록은 막히지 않는다.
+   *
+   * @return 읽은 행 수
+   */
+  public long streamSaleLines(LocalDateTime from, LocalDateTime to, SaleLineHandler handler)
+      throws SQLException, IOException {
+    String sql = "SELECT s.sale_id, s.sale_date, si.product_id, p.name, p.manufacturer, "
+        + "si.quantity, si.unit_price, si.total_price "
+        + "FROM sales s "
+        + "JOIN sale_items si ON si.sale_id = s.sale_id "
+        + "JOIN products p ON p.product_id = si.product_id "
+        + "WHERE s.sale_date >= ? AND s.sale_date < ? AND si.sale_date >= ? AND si.sale_date < ? "
+        + "ORDER BY s.sale_id";
+    long rows = 0;
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+      pstmt.setFetchSize(Integer.MIN_VALUE);   // MySQL 드라이버의 행 단위 스트리밍
+      pstmt.setTimestamp(1, Timestamp.valueOf(from));
+      pstmt.setTimestamp(2, Timestamp.valueOf(to));
+      pstmt.setTimestamp(3, Timestamp.valueOf(from));
+      pstmt.setTimestamp(4, Timestamp.valueOf(to));
+
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          handler.onLine(rs.getInt(1), rs.getTimestamp(2), rs.getInt(3), rs.getString(4), rs.getString(5),
+              rs.getInt(6), rs.getInt(7), rs.getInt(8));
+          rows++;
+        }
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * 판매 내역 한 페이지 조회 (최신순, 키셋 페이지네이션)
+   * OFFSET 대신 직전 페이지 마지막 행의 (sale_date, sale_id) 다음부터 읽으므로 페이지가 깊어져도 비용이 같다.
+   * 제품 조건이 있으면 sale_items 의 (product_id, sale_date, sale_id) 인덱스 순서로 읽는다.
+   *
+   * @param from      시작 일시 (포함, null 이면 제한 없음)
+   * @param to        종료 일시 (제외, null 이면 제한 없음)
+   * @param productId 제품 ID (0 이면 전체)
+   * @param after     직전 페이지의 마지막 판매 (null 이면 첫 페이지)
+   */
+  public List<Sale> getSalesPage(LocalDateTime from, LocalDateTime to, int productId, Sale after, int limit) {
+    List<Sale> sales = new ArrayList<>();
+    String alias = productId > 0 ? "si" : "s";
+    StringBuilder sql = new StringBuilder();
+    List<Object> params = new ArrayList<>();
+
+    if (productId > 0) {
+      // DISTINCT 와 함께 쓰는 ORDER BY 컬럼(si.*)은 선택 목록에 있어야 한다 (MySQL 오류 3065)
+      sql.append("SELECT DISTINCT si.sale_id, si.sale_date, s.total_amount FROM sale_items si ")
+          .append("JOIN sales s ON s.sale_id = si.sale_id AND s.sale_date = si.sale_date ")
+          .append("WHERE si.product_id = ?");
+      params.add(productId);
+    } else {
+      sql.append("SELECT s.sale_id, s.sale_date, s.total_amount FROM sales s WHERE 1 = 1");
+    }
+    if (from != null) {
+      sql.append(" AND ").append(alias).append(".sale_date >= ?");
+      params.add(Timestamp.valueOf(from));
+    }
+    if (to != null) {
+      sql.append(" AND ").append(alias).append(".sale_date < ?");
+      params.add(Timestamp.valueOf(to));
+    }
+    if (after != null) {
+      sql.append(" AND (").append(alias).append(".sale_date < ? OR (")
+          .append(alias).append(".sale_date = ? AND ").append(alias).append(".sale_id < ?))");
+      Timestamp afterDate = Timestamp.valueOf(after.getSaleDate());
+      params.add(afterDate);
+      params.add(afterDate);
+      params.add(after.getSaleId());
+    }
+    sql.append(" ORDER BY ").append(alias).append(".sale_date DESC, ").append(alias).append(".sale_id DESC LIMIT ?");
+    params.add(limit);
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+      for (int i = 0; i < params.size(); i++) {
+        pstmt.setObject(i + 1, params.get(i));
+      }
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          sales.add(new Sale(rs.getInt(1), rs.getTimestamp(2).toLocalDateTime(), rs.getInt(3)));
+        }
+      }
+
+      if (!sales.isEmpty()) {
+        fillProductSummaries(conn, sales);
+      }
     } catch (SQLException e) {
       e.printStackTrace();
     }
+
+    return sales;
+  }
+
+  /**
+   * 페이지에 담긴 판매들의 제품 요약/수량 채우기 (페이지의 날짜 범위로 파티션을 좁혀 한 번에 조회)
+   */
+  private static void fillProductSummaries(Connection conn, List<Sale> sales) throws SQLException {
+    Map<Integer, Sale> byId = new LinkedHashMap<>();
+    LocalDateTime oldest = sales.get(0).getSaleDate();
+    LocalDateTime newest = oldest;
+    for (Sale sale : sales) {
+      byId.put(sale.getSaleId(), sale);
+      if (sale.getSaleDate().isBefore(oldest)) oldest = sale.getSaleDate();
+      if (sale.getSaleDate().isAfter(newest)) newest = sale.getSaleDate();
+    }
+
+    StringBuilder sql = new StringBuilder("SELECT si.sale_id, p.name, si.quantity FROM sale_items si ")
+        .append("JOIN products p ON p.product_id = si.product_id ")
+        .append("WHERE si.sale_date >= ? AND si.sale_date <= ? AND si.sale_id IN (");
+    for (int i = 0; i < byId.size(); i++) {
+      sql.append(i == 0 ? "?" : ", ?");
+    }
+    sql.append(") ORDER BY si.sale_item_id");
+
+    try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+      int index = 1;
+      pstmt.setTimestamp(index++, Timestamp.valueOf(oldest));
+      pstmt.setTimestamp(index++, Timestamp.valueOf(newest));
+      for (int saleId : byId.keySet()) {
+        pstmt.setInt(index++, saleId);
+      }
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          Sale sale = byId.get(rs.getInt(1));
+          int quantity = rs.getInt(3);
+          String line = rs.getString(2) + " x" + quantity;
+          sale.setProductSummary(sale.getProductSummary() == null ? line : sale.getProductSummary() + ", " + line);
+          sale.setTotalQuantity(sale.getTotalQuantity() + quantity);
+        }
+      }
+    }
+  }
+
+  /**
+   * 판매 테이블의 일별 파티션을 through 날짜까지 준비
+   * 마지막 파티션(pmax)을 나눠 빠진 날짜마다 파티션을 추가하며, from 이전의 빈 구간은 파티션 하나로 묶는다.
+   * 파티션이 없는 테이블(이전 스키마)은 건너뛴다.
+   *
+   * @return 추가한 파티션 수
+   */
+  public int ensureSalePartitions(LocalDate from, LocalDate through) {
+    int added = 0;
+    try (Connection conn = getConnection()) {
+      for (String table : PARTITIONED_TABLES) {
+        Map<String, Long> bounds = getPartitionBounds(conn, table);
+        if (bounds == null) continue;
+
+        long lastBound = Long.MIN_VALUE;
+        for (long bound : bounds.values()) {
+          lastBound = Math.max(lastBound, bound);
+        }
+
+        List<String> parts = new ArrayList<>();
+        LocalDate day = from;
+        if (lastBound < toDays(from)) {
+          parts.add(partition(from.minusDays(1)));
+        } else {
+          day = fromDays(lastBound);
+        }
+        for (; !day.isAfter(through); day = day.plusDays(1)) {
+          parts.add(partition(day));
+        }
+        if (parts.isEmpty()) continue;
+
+        try (Statement stmt = conn.createStatement()) {
+          stmt.execute("ALTER TABLE " + table + " REORGANIZE PARTITION pmax INTO ("
+              + String.join(", ", parts) + ", PARTITION pmax VALUES LESS THAN MAXVALUE)");
+        }
+        added += parts.size();
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return added;
+  }
+
+  /**
+   * cutoff 이전 날짜만 담은 판매 파티션 삭제 (보존 기간 정리 - 행 단위 DELETE 없이 바로 끝난다)
+   *
+   * @return 삭제한 파티션 수
+   */
+  public int dropSalePartitionsBefore(LocalDate cutoff) {
+    int dropped = 0;
+    try (Connection conn = getConnection()) {
+      for (String table : PARTITIONED_TABLES) {
+        Map<String, Long> bounds = getPartitionBounds(conn, table);
+        if (bounds == null) continue;
+
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : bounds.entrySet()) {
+          if (entry.getValue() <= toDays(cutoff)) {
+            names.add(entry.getKey());
+          }
+        }
+        if (names.isEmpty()) continue;
+
+        try (Statement stmt = conn.createStatement()) {
+          stmt.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", names));
+        }
+        dropped += names.size();
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return dropped;
+  }
+
+  /**
+   * 파티션 이름 -> 상한(TO_DAYS 값, MAXVALUE 제외). 파티션 테이블이 아니면 null
+   */
+  private static Map<String, Long> getPartitionBounds(Connection conn, String table) throws SQLException {
+    String sql = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM INFORMATION_SCHEMA.PARTITIONS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY PARTITION_ORDINAL_POSITION";
+    Map<String, Long> bounds = new LinkedHashMap<>();
+    boolean partitioned = false;
+
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, table);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          String name = rs.getString(1);
+          if (name == null) return null;
+          partitioned = true;
+          String description = rs.getString(2);
+          if (!"MAXVALUE".equalsIgnoreCase(description)) {
+            bounds.put(name, Long.parseLong(description.trim()));
+          }
+        }
+      }
+    }
+    return partitioned ? bounds : null;
+  }
+
+  private static long toDays(LocalDate date) {
+    return date.toEpochDay() + TO_DAYS_EPOCH;
+  }
+
+  private static LocalDate fromDays(long toDays) {
+    return LocalDate.ofEpochDay(toDays - TO_DAYS_EPOCH);
+  }
+
+  // 하루치 파티션 정의 (이름은 담는 날짜)
+  private static String partition(LocalDate day) {
+    return "PARTITION p" + day.toString().replace("-", "") + " VALUES LESS THAN (" + toDays(day.plusDays(1)) + ")";
   }
 }
\ No newline at end of file
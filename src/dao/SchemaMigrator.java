@@ -0,0 +1,453 @@
+package dao;
+
+import common.DBManager;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스키마 마이그레이션 실행기
+ *
+ * init.sql 은 볼륨을 처음 만들 때만 실행되므로, 이후에 추가된 인덱스/테이블/파티션은 시작할 때 여기서 적용한다.
+ * 적용한 버전은 schema_version 테이블에 남기고, 아직 적용하지 않은 버전만 순서대로 실행한다.
+ * DDL 은 MySQL 에서 자동 커밋되어 되돌릴 수 없으므로 각 단계는 INFORMATION_SCHEMA 를 먼저 확인해 여러 번 실행해도 안전하게 만든다.
+ * (새로 만든 DB 는 init.sql 에 이미 반영되어 있어 기록만 남는다)
+ */
+public class SchemaMigrator {
+
+  private static final String LOCK_NAME = "eureka_schema_migration";
+  private static final int LOCK_TIMEOUT_SECONDS = 60;
+  private static final int BACKFILL_BATCH = 10000;
+
+  // 온라인 DDL 을 지원하지 않는 변경일 때 MySQL 이 돌려주는 오류 코드
+  private static final int ER_ALTER_OPERATION_NOT_SUPPORTED = 1845;
+  private static final int ER_ALTER_OPERATION_NOT_SUPPORTED_REASON = 1846;
+
+  private final List<Migration> migrations = new ArrayList<>();
+
+  public SchemaMigrator() {
+    migrations.add(new Migration(1, "대기 주문 조회 인덱스", this::addWaitingOrderIndexes));
+    migrations.add(new Migration(2, "판매 일시 DATETIME 변환과 인덱스", this::convertSaleDate));
+    migrations.add(new Migration(3, "시간/일 판매 집계 테이블", this::createRollupTables));
+    migrations.add(new Migration(4, "판매 항목 판매 일시 컬럼", this::addSaleItemDate));
+    migrations.add(new Migration(5, "판매 테이블 일 단위 파티션", this::partitionSales));
+    migrations.add(new Migration(6, "보관 테이블", this::createArchiveTables));
+    migrations.add(new Migration(7, "재고 이벤트 로그와 스냅샷", this::createInventoryEventTables));
+    migrations.add(new Migration(8, "지점과 지점별 재고", this::createStoreTables));
+    migrations.add(new Migration(9, "보관 테이블 지점 컬럼", this::addArchiveStoreColumns));
+    migrations.add(new Migration(10, "판매 집계 지점 키", this::addRollupStoreColumns));
+  }
+
+  /**
+   * 기본 DB 에 미적용 마이그레이션 실행
+   *
+   * @return 성공 여부 (실패하면 이후 버전은 실행하지 않는다)
+   */
+  public static boolean migrate() {
+    return new SchemaMigrator().run();
+  }
+
+  /**
+   * 미적용 마이그레이션 실행 (여러 인스턴스가 동시에 시작해도 잠금으로 하나만 실행)
+   */
+  public boolean run() {
+    Connection conn = DBManager.getConnection();
+    if (conn == null) {
+      System.err.println("❌ 스키마 마이그레이션: DB 연결 실패");
+      return false;
+    }
+
+    try (conn) {
+      if (!acquireLock(conn)) {
+        System.err.println("❌ 스키마 마이그레이션: 잠금을 얻지 못했습니다 (다른 인스턴스가 실행 중)");
+        return false;
+      }
+      try {
+        createVersionTable(conn);
+        int current = currentVersion(conn);
+
+        for (Migration migration : migrations) {
+          if (migration.version <= current) continue;
+
+          System.out.println("🛠️ 스키마 V" + migration.version + " 적용 중: " + migration.description);
+          long start = System.nanoTime();
+          migration.step.apply(conn);
+          long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+          recordVersion(conn, migration, elapsedMillis);
+          System.out.println("✅ 스키마 V" + migration.version + " 적용 완료 (" + elapsedMillis + "ms)");
+        }
+        return true;
+      } finally {
+        releaseLock(conn);
+      }
+    } catch (SQLException e) {
+      System.err.println("❌ 스키마 마이그레이션 실패: " + e.getMessage());
+      e.printStackTrace();
+    }
+    return false;
+  }
+
+  /**
+   * V1: 대기 주문 처리(status, request_date)와 제품별 대기 주문 조회 인덱스
+   */
+  private void addWaitingOrderIndexes(Connection conn) throws SQLException {
+    if (!indexExists(conn, "waiting_orders", "idx_waiting_orders_status")) {
+      alterOnline(conn, "ALTER TABLE waiting_orders ADD INDEX idx_waiting_orders_status (status, request_date)");
+    }
+    if (!indexExists(conn, "waiting_orders", "idx_waiting_orders_product")) {
+      alterOnline(conn, "ALTER TABLE waiting_orders ADD INDEX idx_waiting_orders_product (product_id)");
+    }
+  }
+
+  /**
+   * V2: sales.sale_date 를 시뮬레이션 시각을 그대로 담는 DATETIME NOT NULL 로 바꾸고 날짜 인덱스 추가
+   * (컬럼 형식 변경은 테이블 복사가 필요해 온라인으로 할 수 없다)
+   */
+  private void convertSaleDate(Connection conn) throws SQLException {
+    if (!"datetime".equalsIgnoreCase(columnType(conn, "sales", "sale_date"))) {
+      try (Statement stmt = conn.createStatement()) {
+        stmt.executeUpdate("UPDATE sales SET sale_date = CURRENT_TIMESTAMP WHERE sale_date IS NULL");
+      }
+      alterOnline(conn, "ALTER TABLE sales MODIFY sale_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP");
+    }
+    if (!indexExists(conn, "sales", "idx_sales_date")) {
+      alterOnline(conn, "ALTER TABLE sales ADD INDEX idx_sales_date (sale_date)");
+    }
+  }
+
+  /**
+   * V3: 판매 집계 테이블 (기존 판매로 채우는 것은 지점 키를 더하는 V10 에서)
+   */
+  private void createRollupTables(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      if (!tableExists(conn, "sales_hourly")) {
+        stmt.executeUpdate("CREATE TABLE sales_hourly ("
+            + "bucket_hour DATETIME NOT NULL, product_id INT NOT NULL, "
+            + "units BIGINT NOT NULL DEFAULT 0, revenue BIGINT NOT NULL DEFAULT 0, sale_count INT NOT NULL DEFAULT 0, "
+            + "PRIMARY KEY (bucket_hour, product_id), KEY idx_sales_hourly_product (product_id, bucket_hour))");
+      }
+      if (!tableExists(conn, "sales_daily")) {
+        stmt.executeUpdate("CREATE TABLE sales_daily ("
+            + "bucket_date DATE NOT NULL, product_id INT NOT NULL, "
+            + "units BIGINT NOT NULL DEFAULT 0, revenue BIGINT NOT NULL DEFAULT 0, sale_count INT NOT NULL DEFAULT 0, "
+            + "PRIMARY KEY (bucket_date, product_id), KEY idx_sales_daily_product (product_id, bucket_date))");
+      }
+    }
+  }
+
+  /**
+   * V4: sale_items.sale_date 추가 후 sales 에서 배치로 채우고 판매/제품 조회 인덱스 추가
+   */
+  private void addSaleItemDate(Connection conn) throws SQLException {
+    if (columnType(conn, "sale_items", "sale_date") == null) {
+      alterOnline(conn, "ALTER TABLE sale_items ADD COLUMN sale_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP AFTER sale_id");
+      backfillSaleItemDates(conn);
+    }
+    if (!indexExists(conn, "sale_items", "idx_sale_items_sale")) {
+      alterOnline(conn, "ALTER TABLE sale_items ADD INDEX idx_sale_items_sale (sale_id)");
+    }
+    if (!indexExists(conn, "sale_items", "idx_sale_items_product")) {
+      alterOnline(conn, "ALTER TABLE sale_items ADD INDEX idx_sale_items_product (product_id, sale_date, sale_id)");
+    }
+  }
+
+  // 한 번에 전체를 갱신하면 잠금과 언두 로그가 커지므로 sale_item_id 구간별로 나눠 커밋한다
+  private void backfillSaleItemDates(Connection conn) throws SQLException {
+    long maxId;
+    try (Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(sale_item_id), 0) FROM sale_items")) {
+      rs.next();
+      maxId = rs.getLong(1);
+    }
+
+    String sql = "UPDATE sale_items si JOIN sales s ON s.sale_id = si.sale_id SET si.sale_date = s.sale_date "
+        + "WHERE si.sale_item_id > ? AND si.sale_item_id <= ?";
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      for (long low = 0; low < maxId; low += BACKFILL_BATCH) {
+        pstmt.setLong(1, low);
+        pstmt.setLong(2, low + BACKFILL_BATCH);
+        pstmt.executeUpdate();
+      }
+    }
+  }
+
+  /**
+   * V5: sales / sale_items 를 판매 일시 기준 RANGE 파티션으로 변환
+   * 파티션 테이블은 외래 키를 지원하지 않고 파티션 키가 기본 키에 포함되어야 하므로 외래 키를 지우고 기본 키를 바꾼다.
+   * 기존 행은 모두 pmax 에 들어가고, 일별 파티션은 SalesService 가 날짜가 바뀔 때 pmax 를 나눠 만든다.
+   * (파티션 변환은 테이블 복사라 판매가 많으면 오래 걸린다)
+   */
+  private void partitionSales(Connection conn) throws SQLException {
+    for (String foreignKey : foreignKeys(conn, "sale_items")) {
+      alterOnline(conn, "ALTER TABLE sale_items DROP FOREIGN KEY " + foreignKey);
+    }
+
+    String partitions = " PARTITION BY RANGE (TO_DAYS(sale_date)) ("
+        + "PARTITION p0 VALUES LESS THAN (TO_DAYS('2020-01-01')), "
+        + "PARTITION pmax VALUES LESS THAN MAXVALUE)";
+    try (Statement stmt = conn.createStatement()) {
+      if (!isPartitioned(conn, "sales")) {
+        stmt.executeUpdate("ALTER TABLE sales DROP PRIMARY KEY, ADD PRIMARY KEY (sale_id, sale_date)" + partitions);
+      }
+      if (!isPartitioned(conn, "sale_items")) {
+        stmt.executeUpdate("ALTER TABLE sale_items DROP PRIMARY KEY, ADD PRIMARY KEY (sale_item_id, sale_date)" + partitions);
+      }
+    }
+  }
+
+  /**
+   * V6: 보관 테이블 (압축 행 형식)
+   */
+  private void createArchiveTables(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS sales_archive ("
+          + "sale_id INT PRIMARY KEY, sale_date DATETIME NOT NULL, total_amount INT NOT NULL, "
+          + "archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, KEY idx_sales_archive_date (sale_date)"
+          + ") ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8");
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS sale_items_archive ("
+          + "sale_item_id INT PRIMARY KEY, sale_id INT NOT NULL, sale_date DATETIME NOT NULL, product_id INT NOT NULL, "
+          + "quantity INT NOT NULL, unit_price INT NOT NULL, total_price INT NOT NULL, "
+          + "archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, KEY idx_sale_items_archive_sale (sale_id)"
+          + ") ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8");
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS waiting_orders_archive ("
+          + "order_id INT PRIMARY KEY, product_id INT NOT NULL, quantity INT NOT NULL, "
+          + "request_date TIMESTAMP NULL, status VARCHAR(20) NOT NULL, "
+          + "archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP"
+          + ") ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8");
+    }
+  }
+
+  /**
+   * V7: 재고 이벤트 로그와 스냅샷 (기준 스냅샷은 지점 컬럼이 생긴 V8 에서 저장)
+   */
+  private void createInventoryEventTables(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS inventory_events ("
+          + "event_id BIGINT AUTO_INCREMENT PRIMARY KEY, product_id INT NOT NULL, event_type TINYINT NOT NULL, "
+          + "store_delta INT NOT NULL, warehouse_delta INT NOT NULL, event_time DATETIME NOT NULL, "
+          + "KEY idx_inventory_events_product (product_id, event_time), KEY idx_inventory_events_time (event_time))");
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS inventory_snapshots ("
+          + "snapshot_id BIGINT AUTO_INCREMENT PRIMARY KEY, snapshot_time DATETIME NOT NULL, "
+          + "last_event_id BIGINT NOT NULL, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+          + "KEY idx_inventory_snapshots_time (snapshot_time))");
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS inventory_snapshot_items ("
+          + "snapshot_id BIGINT NOT NULL, product_id INT NOT NULL, "
+          + "store_quantity INT NOT NULL, warehouse_quantity INT NOT NULL, PRIMARY KEY (snapshot_id, product_id))");
+    }
+  }
+
+  /**
+   * V8: 지점, 지점 재고, 지점별 대기 주문/판매/재고 이벤트 (본점이 스냅샷이 없으면 현재 재고를 기준 스냅샷으로 저장)
+   */
+  private void createStoreTables(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS stores (store_id INT PRIMARY KEY, name VARCHAR(50) NOT NULL)");
+      stmt.executeUpdate("INSERT IGNORE INTO stores (store_id, name) VALUES (" + StoreDAO.MAIN_STORE_ID + ", '본점')");
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS store_inventory ("
+          + "store_id INT NOT NULL, product_id INT NOT NULL, "
+          + "store_quantity INT NOT NULL DEFAULT 0, warehouse_quantity INT NOT NULL DEFAULT 0, "
+          + "PRIMARY KEY (store_id, product_id))");
+    }
+    if (columnType(conn, "waiting_orders", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE waiting_orders ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER order_id");
+    }
+    if (!indexExists(conn, "waiting_orders", "idx_waiting_orders_store")) {
+      alterOnline(conn, "ALTER TABLE waiting_orders ADD INDEX idx_waiting_orders_store (store_id, status, request_date)");
+    }
+    if (columnType(conn, "sales", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE sales ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER sale_id");
+    }
+    if (columnType(conn, "inventory_events", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE inventory_events ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER event_id, "
+          + "DROP INDEX idx_inventory_events_product, DROP INDEX idx_inventory_events_time, "
+          + "ADD INDEX idx_inventory_events_store (store_id, event_id), "
+          + "ADD INDEX idx_inventory_events_product (store_id, product_id, event_time)");
+    }
+    if (columnType(conn, "inventory_snapshots", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE inventory_snapshots ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER snapshot_id, "
+          + "DROP INDEX idx_inventory_snapshots_time, "
+          + "ADD INDEX idx_inventory_snapshots_time (store_id, snapshot_time)");
+    }
+    if (InventoryEventDAO.hasSnapshot(conn, StoreDAO.MAIN_STORE_ID)) return;
+
+    conn.setAutoCommit(false);
+    try {
+      InventoryEventDAO.snapshot(conn, StoreDAO.MAIN_STORE_ID, InventoryEventDAO.BASELINE);
+      conn.commit();
+    } catch (SQLException e) {
+      conn.rollback();
+      throw e;
+    } finally {
+      conn.setAutoCommit(true);
+    }
+  }
+
+  /**
+   * V9: 보관한 판매/대기 주문에도 지점 ID (이전에 보관한 행은 본점)
+   */
+  private void addArchiveStoreColumns(Connection conn) throws SQLException {
+    if (columnType(conn, "sales_archive", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE sales_archive ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER sale_id");
+    }
+    if (columnType(conn, "waiting_orders_archive", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE waiting_orders_archive ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER order_id");
+    }
+  }
+
+  /**
+   * V10: 판매 집계 키에 지점 ID (지점끼리 같은 집계 행을 누적하지 않도록), 추가했으면 판매 테이블에서 지점별로 다시 만든다
+   */
+  private void addRollupStoreColumns(Connection conn) throws SQLException {
+    boolean added = false;
+    if (columnType(conn, "sales_hourly", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE sales_hourly ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER bucket_hour, "
+          + "DROP PRIMARY KEY, ADD PRIMARY KEY (bucket_hour, store_id, product_id)");
+      added = true;
+    }
+    if (columnType(conn, "sales_daily", "store_id") == null) {
+      alterOnline(conn, "ALTER TABLE sales_daily ADD COLUMN store_id INT NOT NULL DEFAULT 1 AFTER bucket_date, "
+          + "DROP PRIMARY KEY, ADD PRIMARY KEY (bucket_date, store_id, product_id)");
+      added = true;
+    }
+    if (added && !new RollupDAO().rebuild()) {
+      throw new SQLException("판매 집계 재생성 실패");
+    }
+  }
+
+  /**
+   * 읽기/쓰기를 막지 않는 온라인 DDL(INPLACE, LOCK=NONE)로 먼저 시도하고, 지원하지 않는 변경이면 기본 방식으로 실행
+   */
+  private static void alterOnline(Connection conn, String alter) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      try {
+        stmt.executeUpdate(alter + ", ALGORITHM=INPLACE, LOCK=NONE");
+      } catch (SQLException e) {
+        if (e.getErrorCode() != ER_ALTER_OPERATION_NOT_SUPPORTED
+            && e.getErrorCode() != ER_ALTER_OPERATION_NOT_SUPPORTED_REASON) {
+          throw e;
+        }
+        System.out.println("⚠️ 온라인 DDL 불가, 테이블 잠금으로 실행: " + e.getMessage());
+        stmt.executeUpdate(alter);
+      }
+    }
+  }
+
+  private static boolean acquireLock(Connection conn) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+      pstmt.setString(1, LOCK_NAME);
+      pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next() && rs.getInt(1) == 1;
+      }
+    }
+  }
+
+  private static void releaseLock(Connection conn) {
+    try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+      pstmt.setString(1, LOCK_NAME);
+      pstmt.executeQuery().close();
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+  }
+
+  private static void createVersionTable(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version ("
+          + "version INT PRIMARY KEY, description VARCHAR(200) NOT NULL, "
+          + "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, duration_ms BIGINT NOT NULL)");
+    }
+  }
+
+  private static int currentVersion(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  private static void recordVersion(Connection conn, Migration migration, long elapsedMillis) throws SQLException {
+    String sql = "INSERT INTO schema_version (version, description, duration_ms) VALUES (?, ?, ?)";
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setInt(1, migration.version);
+      pstmt.setString(2, migration.description);
+      pstmt.setLong(3, elapsedMillis);
+      pstmt.executeUpdate();
+    }
+  }
+
+  private static boolean tableExists(Connection conn, String table) throws SQLException {
+    return exists(conn, "SELECT 1 FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+        table, null);
+  }
+
+  private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+    return exists(conn, "SELECT 1 FROM INFORMATION_SCHEMA.STATISTICS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?", table, index);
+  }
+
+  private static boolean isPartitioned(Connection conn, String table) throws SQLException {
+    return exists(conn, "SELECT 1 FROM INFORMATION_SCHEMA.PARTITIONS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL", table, null);
+  }
+
+  private static boolean exists(Connection conn, String sql, String first, String second) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, first);
+      if (second != null) {
+        pstmt.setString(2, second);
+      }
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next();
+      }
+    }
+  }
+
+  /**
+   * 컬럼 자료형 (컬럼이 없으면 null)
+   */
+  private static String columnType(Connection conn, String table, String column) throws SQLException {
+    String sql = "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, table);
+      pstmt.setString(2, column);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next() ? rs.getString(1) : null;
+      }
+    }
+  }
+
+  private static List<String> foreignKeys(Connection conn, String table) throws SQLException {
+    List<String> names = new ArrayList<>();
+    String sql = "SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'";
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, table);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          names.add(rs.getString(1));
+        }
+      }
+    }
+    return names;
+  }
+
+  private interface Step {
+    void apply(Connection conn) throws SQLException;
+  }
+
+  private static final class Migration {
+    final int version;
+    final String description;
+    final Step step;
+
+    Migration(int version, String description, Step step) {
+      this.version = version;
+      this.description = description;
+      this.step = step;
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package dao;
+
+import common.DBManager;
+import dto.Store;
+import dto.StockTransfer;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 지점(stores)과 지점 재고(store_inventory) 관련 데이터베이스 액세스 객체
+ *
+ * 본점은 기존 products 재고 컬럼을 쓰므로 store_inventory 에는 본점 외 지점의 행만 있다.
+ * 지점 간 재고 이동(StoreRebalancer)의 재고 조회와 배치 반영도 여기서 한다.
+ */
+public class StoreDAO {
+  public static final int MAIN_STORE_ID = 1;
+
+  // 이동 적용 순서 - 행 잠금을 (지점, 제품) 순으로 잡아 스냅샷(지점 재고 행을 기본 키 순으로 공유 잠금)과 엇갈리지 않게 한다
+  private static final Comparator<StockTransfer> BY_SOURCE =
+      Comparator.comparingInt(StockTransfer::getFromStoreId).thenComparingInt(StockTransfer::getProductId);
+  private static final Comparator<StockTransfer> BY_DESTINATION =
+      Comparator.comparingInt(StockTransfer::getToStoreId).thenComparingInt(StockTransfer::getProductId);
+
+  /**
+   * 지점 재고 한 행을 받는 콜백 (streamStoreStock)
+   */
+  public interface StockHandler {
+    void onStock(int storeId, int productId, int storeQuantity, int warehouseQuantity, int backorderQuantity);
+  }
+
+  /**
+   * 데이터베이스 연결 가져오기
+   */
+  private Connection getConnection() throws SQLException {
+    return DBManager.getConnection();
+  }
+
+  /**
+   * 지점 1..storeCount 가 있도록 만들고, 새 지점과 새 제품의 지점 재고를 본점 재고로 채운다
+   *
+   * 이미 있는 지점 재고는 건드리지 않으므로 재시작해도 지점별 재고가 이어진다.
+   *
+   * @return 성공 여부
+   */
+  public boolean ensureStores(int storeCount) {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try (PreparedStatement store = conn.prepareStatement("INSERT IGNORE INTO stores (store_id, name) VALUES (?, ?)");
+          PreparedStatement stock = conn.prepareStatement("INSERT IGNORE INTO store_inventory "
+              + "(store_id, product_id, store_quantity, warehouse_quantity) "
+              + "SELECT s.store_id, p.product_id, p.store_quantity, p.warehouse_quantity FROM stores s CROSS JOIN products p "
+              + "WHERE s.store_id BETWEEN 2 AND ?")) {
+        for (int storeId = MAIN_STORE_ID; storeId <= storeCount; storeId++) {
+          store.setInt(1, storeId);
+          store.setString(2, storeId == MAIN_STORE_ID ? "본점" : "지점 " + storeId);
+          store.addBatch();
+        }
+        store.executeBatch();
+        stock.setInt(1, storeCount);
+        stock.executeUpdate();
+        conn.commit();
+        return true;
+      } catch (SQLException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return false;
+  }
+
+  /**
+   * 지점의 모든 제품 재고를 같은 수량으로 맞춤 (없는 행은 새로 만든다, 본점은 products 갱신)
+   *
+   * @return 반영한 행 수, 실패 시 -1
+   */
+  public int resetStock(int storeId, int storeQuantity, int warehouseQuantity) {
+    String sql = storeId == MAIN_STORE_ID
+        ? "UPDATE products SET store_quantity = ?, warehouse_quantity = ?"
+        : "INSERT INTO store_inventory (store_id, product_id, store_quantity, warehouse_quantity) "
+            + "SELECT " + storeId + ", product_id, ?, ? FROM products "
+            + "ON DUPLICATE KEY UPDATE store_quantity = VALUES(store_quantity), "
+            + "warehouse_quantity = VALUES(warehouse_quantity)";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+      pstmt.setInt(1, storeQuantity);
+      pstmt.setInt(2, warehouseQuantity);
+      return pstmt.executeUpdate();
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return -1;
+  }
+
+  /**
+   * 모든 지점의 제품별 재고와 처리 대기 중인 주문 수량을 한 행씩 전달 (행 단위 스트리밍이라 지점 × 제품 수와 무관하게 메모리가 일정)
+   *
+   * @return 전달한 행 수
+   */
+  public long streamStoreStock(StockHandler handler) throws SQLException {
+    String sql = "SELECT k.store_id, k.product_id, k.store_quantity, k.warehouse_quantity, COALESCE(w.quantity, 0) "
+        + "FROM (SELECT " + MAIN_STORE_ID + " AS store_id, product_id, store_quantity, warehouse_quantity FROM products "
+        + "UNION ALL SELECT i.store_id, i.product_id, i.store_quantity, i.warehouse_quantity FROM store_inventory i "
+        + "JOIN products p ON p.product_id = i.product_id) k "
+        + "LEFT JOIN (SELECT store_id, product_id, SUM(quantity) AS quantity FROM waiting_orders "
+        + "WHERE status = 'waiting' GROUP BY store_id, product_id) w "
+        + "ON w.store_id = k.store_id AND w.product_id = k.product_id";
+    long rows = 0;
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+      pstmt.setFetchSize(Integer.MIN_VALUE);   // MySQL 드라이버의 행 단위 스트리밍
+
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          handler.onStock(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5));
+          rows++;
+        }
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * 지점 간 재고 이동 적용 - 보내는 지점 창고에서 빼고 받는 지점 창고에 더한 뒤 재고 이벤트를 남긴다
+   *
+   * batchSize 건씩 한 트랜잭션으로 묶어 배치 실행한다. 계획 뒤에 창고 재고가 줄어 보낼 수 없게 된 이동은 건너뛰고,
+   * 한 묶음이 실패하면 그 묶음만 롤백된다.
+   *
+   * @return 실제로 반영된 이동
+   */
+  public List<StockTransfer> applyTransfers(List<StockTransfer> transfers, LocalDateTime at, int batchSize) {
+    List<StockTransfer> applied = new ArrayList<>();
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try {
+        for (int from = 0; from < transfers.size(); from += batchSize) {
+          List<StockTransfer> chunk = transfers.subList(from, Math.min(transfers.size(), from + batchSize));
+          try {
+            List<StockTransfer> done = applyChunk(conn, chunk, at);
+            conn.commit();
+            applied.addAll(done);
+          } catch (SQLException e) {
+            conn.rollback();
+            System.err.println("❌ 지점 간 이동 " + chunk.size() + "건 반영 실패: " + e.getMessage());
+          }
+        }
+      } finally {
+        conn.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+    return applied;
+  }
+
+  private static List<StockTransfer> applyChunk(Connection conn, List<StockTransfer> chunk, LocalDateTime at)
+      throws SQLException {
+    List<StockTransfer> sources = new ArrayList<>(chunk);
+    sources.sort(BY_SOURCE);
+    int[] taken = updateWarehouses(conn, sources, true);
+
+    List<StockTransfer> applied = new ArrayList<>(sources.size());
+    for (int i = 0; i < sources.size(); i++) {
+      if (taken[i] != 0) {
+        applied.add(sources.get(i));
+      }
+    }
+    applied.sort(BY_DESTINATION);
+    int[] given = updateWarehouses(conn, applied, false);
+    for (int result : given) {
+      if (result == 0) {
+        throw new SQLException("받는 지점의 제품 행이 없습니다");
+      }
+    }
+    InventoryEventDAO.appendTransfers(conn, applied, at);
+    return applied;
+  }
+
+  // 창고 재고 증감 배치 (본점은 products, 다른 지점은 store_inventory) - 이동 순서대로 결과 행 수를 돌려준다
+  // 보내는 쪽은 재고가 모자라면 0행, 받는 쪽 지점 행이 없으면 새로 만든다
+  private static int[] updateWarehouses(Connection conn, List<StockTransfer> transfers, boolean source)
+      throws SQLException {
+    String mainSql = "UPDATE products SET warehouse_quantity = warehouse_quantity + ? WHERE product_id = ?"
+        + (source ? " AND warehouse_quantity + ? >= 0" : "");
+    String branchSql = source
+        ? "UPDATE store_inventory SET warehouse_quantity = warehouse_quantity + ? "
+            + "WHERE store_id = ? AND product_id = ? AND warehouse_quantity + ? >= 0"
+        : "INSERT INTO store_inventory (warehouse_quantity, store_id, product_id, store_quantity) VALUES (?, ?, ?, 0) "
+            + "ON DUPLICATE KEY UPDATE warehouse_quantity = warehouse_quantity + VALUES(warehouse_quantity)";
+
+    int[] results = new int[transfers.size()];
+    List<Integer> mainRows = new ArrayList<>();
+    List<Integer> branchRows = new ArrayList<>();
+    try (PreparedStatement main = conn.prepareStatement(mainSql);
+        PreparedStatement branch = conn.prepareStatement(branchSql)) {
+      for (int i = 0; i < transfers.size(); i++) {
+        StockTransfer transfer = transfers.get(i);
+        int storeId = source ? transfer.getFromStoreId() : transfer.getToStoreId();
+        int delta = source ? -transfer.getQuantity() : transfer.getQuantity();
+        if (storeId == MAIN_STORE_ID) {
+          main.setInt(1, delta);
+          main.setInt(2, transfer.getProductId());
+          if (source) {
+            main.setInt(3, delta);
+          }
+          main.addBatch();
+          mainRows.add(i);
+        } else {
+          branch.setInt(1, delta);
+          branch.setInt(2, storeId);
+          branch.setInt(3, transfer.getProductId());
+          if (source) {
+            branch.setInt(4, delta);
+          }
+          branch.addBatch();
+          branchRows.add(i);
+        }
+      }
+      scatter(mainRows.isEmpty() ? new int[0] : main.executeBatch(), mainRows, results);
+      scatter(branchRows.isEmpty() ? new int[0] : branch.executeBatch(), branchRows, results);
+    }
+    return results;
+  }
+
+  // 배치 결과를 원래 이동 순서 자리에 옮긴다 (SUCCESS_NO_INFO 는 반영된 것으로 본다)
+  private static void scatter(int[] counts, List<Integer> rows, int[] results) {
+    for (int i = 0; i < counts.length; i++) {
+      results[rows.get(i)] = counts[i] == Statement.SUCCESS_NO_INFO ? 1 : counts[i];
+    }
+  }
+
+  /**
+   * 지점 목록 (지점 ID 순)
+   */
+  public List<Store> getStores() {
+    List<Store> stores = new ArrayList<>();
+    String sql = "SELECT store_id, name FROM stores ORDER BY store_id";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql);
+        ResultSet rs = pstmt.executeQuery()) {
+
+      while (rs.next()) {
+        stores.add(new Store(rs.getInt(1), rs.getString(2)));
+      }
+    } catch (SQLException e) {
+      e.printStackTrace();
+    }
+
+    return stores;
+  }
+}
@@ -0,0 +1,119 @@
+package dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고 이동 이벤트 DTO 클래스 (inventory_events 한 행)
+ */
+public class InventoryEvent {
+
+  /**
+   * 재고 이동 종류 (DB 에는 code 로 저장)
+   */
+  public enum Type {
+    SALE(1, "판매"),
+    TRANSFER(2, "창고→매장 이동"),
+    DELIVERY(3, "본사 배송"),
+    BACKORDER(4, "대기 주문 처리"),
+    ADJUST(5, "수량 조정"),
+    REBALANCE(6, "지점 간 이동");
+
+    private final int code;
+    private final String label;
+
+    Type(int code, String label) {
+      this.code = code;
+      this.label = label;
+    }
+
+    public int getCode() {
+      return code;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+
+    public static Type fromCode(int code) {
+      for (Type type : values()) {
+        if (type.code == code) return type;
+      }
+      return ADJUST;
+    }
+  }
+
+  private long eventId;
+  private int productId;
+  private Type type;
+  private int storeDelta;       // 매장 재고 증감
+  private int warehouseDelta;   // 창고 재고 증감
+  private LocalDateTime eventTime;
+
+
+  public InventoryEvent() {
+  }
+
+  public InventoryEvent(long eventId, int productId, Type type, int storeDelta, int warehouseDelta,
+      LocalDateTime eventTime) {
+    this.eventId = eventId;
+    this.productId = productId;
+    this.type = type;
+    this.storeDelta = storeDelta;
+    this.warehouseDelta = warehouseDelta;
+    this.eventTime = eventTime;
+  }
+
+  public long getEventId() {
+    return eventId;
+  }
+
+  public void setEventId(long eventId) {
+    this.eventId = eventId;
+  }
+
+  public int getProductId() {
+    return productId;
+  }
+
+  public void setProductId(int productId) {
+    this.productId = productId;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public void setType(Type type) {
+    this.type = type;
+  }
+
+  public int getStoreDelta() {
+    return storeDelta;
+  }
+
+  public void setStoreDelta(int storeDelta) {
+    this.storeDelta = storeDelta;
+  }
+
+  public int getWarehouseDelta() {
+    return warehouseDelta;
+  }
+
+  public void setWarehouseDelta(int warehouseDelta) {
+    this.warehouseDelta = warehouseDelta;
+  }
+
+  public LocalDateTime getEventTime() {
+    return eventTime;
+  }
+
+  public void setEventTime(LocalDateTime eventTime) {
+    this.eventTime = eventTime;
+  }
+
+  @Override
+  public String toString() {
+    return "InventoryEvent [eventId=" + eventId + ", productId=" + productId + ", type=" + type +
+        ", storeDelta=" + storeDelta + ", warehouseDelta=" + warehouseDelta + ", eventTime=" + eventTime + "]";
+  }
+}
@@ -9,6 +9,8 @@ public class Sale {
   private int saleId;
   private LocalDateTime saleDate;
   private int totalAmount;
+  private int totalQuantity;      // 판매 항목 수량 합계 (내역 조회용)
+  private String productSummary;  // "제품명 x수량, ..." (내역 조회용)
 
   // 기본 생성자
   public Sale() {
@@ -46,6 +48,22 @@ public class Sale {
     this.totalAmount = totalAmount;
   }
 
+  public int getTotalQuantity() {
+    return totalQuantity;
+  }
+
+  public void setTotalQuantity(int totalQuantity) {
+    this.totalQuantity = totalQuantity;
+  }
+
+  public String getProductSummary() {
+    return productSummary;
+  }
+
+  public void setProductSummary(String productSummary) {
+    this.productSummary = productSummary;
+  }
+
   @Override
   public String toString() {
     return "Sale [saleId=" + saleId + ", saleDate=" + saleDate +
@@ -0,0 +1,72 @@
+package dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 제품별 시간/일 단위 판매 집계 DTO 클래스
+ */
+public class SalesRollup {
+  private int productId;
+  private LocalDateTime bucketStart;   // 시간 집계는 정각, 일 집계는 자정
+  private long units;
+  private long revenue;
+  private long saleCount;
+
+
+  public SalesRollup() {
+  }
+
+  public SalesRollup(int productId, LocalDateTime bucketStart, long units, long revenue, long saleCount) {
+    this.productId = productId;
+    this.bucketStart = bucketStart;
+    this.units = units;
+    this.revenue = revenue;
+    this.saleCount = saleCount;
+  }
+
+  public int getProductId() {
+    return productId;
+  }
+
+  public void setProductId(int productId) {
+    this.productId = productId;
+  }
+
+  public LocalDateTime getBucketStart() {
+    return bucketStart;
+  }
+
+  public void setBucketStart(LocalDateTime bucketStart) {
+    this.bucketStart = bucketStart;
+  }
+
+  public long getUnits() {
+    return units;
+  }
+
+  public void setUnits(long units) {
+    this.units = units;
+  }
+
+  public long getRevenue() {
+    return revenue;
+  }
+
+  public void setRevenue(long revenue) {
+    this.revenue = revenue;
+  }
+
+  public long getSaleCount() {
+    return saleCount;
+  }
+
+  public void setSaleCount(long saleCount) {
+    this.saleCount = saleCount;
+  }
+
+  @Override
+  public String toString() {
+    return "SalesRollup [productId=" + productId + ", bucketStart=" + bucketStart +
+        ", units=" + units + ", revenue=" + revenue + ", saleCount=" + saleCount + "]";
+  }
+}
@@ -0,0 +1,62 @@
+package dto;
+
+/**
+ * 지점 간 재고 이동 DTO 클래스 (보내는 지점 창고 → 받는 지점 창고)
+ */
+public class StockTransfer {
+  private int productId;
+  private int fromStoreId;
+  private int toStoreId;
+  private int quantity;
+
+  // 기본 생성자
+  public StockTransfer() {
+  }
+
+  // 필드 초기화 생성자
+  public StockTransfer(int productId, int fromStoreId, int toStoreId, int quantity) {
+    this.productId = productId;
+    this.fromStoreId = fromStoreId;
+    this.toStoreId = toStoreId;
+    this.quantity = quantity;
+  }
+
+  // Getter와 Setter 메소드
+  public int getProductId() {
+    return productId;
+  }
+
+  public void setProductId(int productId) {
+    this.productId = productId;
+  }
+
+  public int getFromStoreId() {
+    return fromStoreId;
+  }
+
+  public void setFromStoreId(int fromStoreId) {
+    this.fromStoreId = fromStoreId;
+  }
+
+  public int getToStoreId() {
+    return toStoreId;
+  }
+
+  public void setToStoreId(int toStoreId) {
+    this.toStoreId = toStoreId;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(int quantity) {
+    this.quantity = quantity;
+  }
+
+  @Override
+  public String toString() {
+    return "StockTransfer [productId=" + productId + ", fromStoreId=" + fromStoreId + ", toStoreId=" + toStoreId +
+        ", quantity=" + quantity + "]";
+  }
+}
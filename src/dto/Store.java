@@ -0,0 +1,41 @@
+package dto;
+
+/**
+ * 지점 정보를 담는 DTO 클래스
+ */
+public class Store {
+  private int storeId;
+  private String name;
+
+  // 기본 생성자
+  public Store() {
+  }
+
+  // 필드 초기화 생성자
+  public Store(int storeId, String name) {
+    this.storeId = storeId;
+    this.name = name;
+  }
+
+  // Getter와 Setter 메소드
+  public int getStoreId() {
+    return storeId;
+  }
+
+  public void setStoreId(int storeId) {
+    this.storeId = storeId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public String toString() {
+    return "Store [storeId=" + storeId + ", name=" + name + "]";
+  }
+}
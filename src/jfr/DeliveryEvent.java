@@ -0,0 +1,30 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 본사 -> 창고 배송 (InventoryService.receiveDeliveryFromHeadquarters)
+ */
+@Name("eureka.phonesale.Delivery")
+@Label("본사 배송")
+@Category({"Eureka Phone Sale", "Inventory"})
+@Description("본사 배송 한 번의 제품 수, 수량과 결과 (이어지는 대기 주문 처리 제외)")
+@StackTrace(false)
+public class DeliveryEvent extends Event {
+  @Label("제품 수")
+  public int products;
+
+  @Label("배송 수량")
+  public int quantity;
+
+  @Label("대기 주문분 수량")
+  public int waitingOrderQuantity;
+
+  @Label("갱신 실패 제품 수")
+  public int failedProducts;
+}
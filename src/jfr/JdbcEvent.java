@@ -0,0 +1,30 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * DAO 의 JDBC 문장 실행 한 번 (InstrumentedConnection)
+ *
+ * 호출한 DAO 메소드가 필요하면 기록 설정에서 eureka.phonesale.Jdbc#stackTrace=true 로 켠다.
+ */
+@Name("eureka.phonesale.Jdbc")
+@Label("JDBC 문장 실행")
+@Category({"Eureka Phone Sale", "Database"})
+@Description("SQL 형태별 문장 실행 시간과 변경 행 수")
+@StackTrace(false)
+public class JdbcEvent extends Event {
+  @Label("SQL 형태")
+  public String sql;
+
+  @Label("변경 행 수")
+  @Description("조회 문장은 0")
+  public long rows;
+
+  @Label("성공")
+  public boolean success;
+}
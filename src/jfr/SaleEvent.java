@@ -0,0 +1,38 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 판매 처리 한 건 (SalesService.processSale)
+ */
+@Name("eureka.phonesale.Sale")
+@Label("판매 처리")
+@Category({"Eureka Phone Sale", "Sales"})
+@Description("판매 요청 한 건의 처리 결과와 소요 시간")
+@StackTrace(false)
+public class SaleEvent extends Event {
+  public static final String COMPLETED = "COMPLETED";
+  public static final String WAITING = "WAITING";
+  public static final String FAILED = "FAILED";
+
+  @Label("제품 ID")
+  public int productId;
+
+  @Label("수량")
+  public int quantity;
+
+  @Label("결과")
+  @Description("COMPLETED, WAITING(대기 주문 등록), FAILED")
+  public String outcome;
+
+  @Label("판매 ID")
+  public int saleId;
+
+  @Label("금액")
+  public int totalAmount;
+}
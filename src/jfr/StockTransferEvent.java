@@ -0,0 +1,33 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 제품 하나의 창고 -> 매장 재고 이동 (InventoryService.transferFromWarehouseToStore)
+ */
+@Name("eureka.phonesale.StockTransfer")
+@Label("재고 이동")
+@Category({"Eureka Phone Sale", "Inventory"})
+@Description("창고에서 매장으로 옮긴 제품별 수량과 결과")
+@StackTrace(false)
+public class StockTransferEvent extends Event {
+  @Label("제품 ID")
+  public int productId;
+
+  @Label("수량")
+  public int quantity;
+
+  @Label("이동 후 매장 재고")
+  public int storeQuantity;
+
+  @Label("이동 후 창고 재고")
+  public int warehouseQuantity;
+
+  @Label("성공")
+  public boolean success;
+}
@@ -0,0 +1,27 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 대기 주문 일괄 처리 (SalesService.processWaitingOrders)
+ */
+@Name("eureka.phonesale.WaitingOrderBatch")
+@Label("대기 주문 일괄 처리")
+@Category({"Eureka Phone Sale", "Sales"})
+@Description("대기 주문 목록 전체를 한 번 처리하는 데 걸린 시간")
+@StackTrace(false)
+public class WaitingOrderBatchEvent extends Event {
+  @Label("대기 주문 수")
+  public int pendingOrders;
+
+  @Label("처리 완료 수")
+  public int processedOrders;
+
+  @Label("처리 수량")
+  public int processedUnits;
+}
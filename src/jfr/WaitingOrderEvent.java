@@ -0,0 +1,36 @@
+package jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 대기 주문 한 건 처리 (SalesService.processWaitingOrders 내부)
+ */
+@Name("eureka.phonesale.WaitingOrder")
+@Label("대기 주문 처리")
+@Category({"Eureka Phone Sale", "Sales"})
+@Description("대기 주문 한 건의 재고 확인과 판매 전환 결과")
+@StackTrace(false)
+public class WaitingOrderEvent extends Event {
+  public static final String FROM_STORE = "FROM_STORE";
+  public static final String WITH_WAREHOUSE = "WITH_WAREHOUSE";
+  public static final String INSUFFICIENT = "INSUFFICIENT";
+  public static final String FAILED = "FAILED";
+
+  @Label("대기 주문 ID")
+  public int orderId;
+
+  @Label("제품 ID")
+  public int productId;
+
+  @Label("수량")
+  public int quantity;
+
+  @Label("결과")
+  @Description("FROM_STORE, WITH_WAREHOUSE(창고 재고 사용), INSUFFICIENT(재고 부족), FAILED")
+  public String outcome;
+}
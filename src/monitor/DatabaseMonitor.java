@@ -0,0 +1,84 @@
+package monitor;
+
+import common.SqlStats;
+import java.util.List;
+
+/**
+ * DB 연결/문장 통계 MBean
+ * 연결 풀이 없으므로 "풀" 지표는 연결 획득 시간과 동시에 열린 연결 수로 대신한다.
+ */
+public class DatabaseMonitor implements DatabaseMonitorMBean {
+  private final SqlStats stats = SqlStats.getInstance();
+
+  @Override
+  public long getOpenConnections() {
+    return stats.getOpenConnections();
+  }
+
+  @Override
+  public long getPeakOpenConnections() {
+    return stats.getPeakOpenConnections();
+  }
+
+  @Override
+  public long getConnectionsAcquired() {
+    return stats.getConnectionAcquireHistogram().getCount();
+  }
+
+  @Override
+  public long getConnectionErrors() {
+    return stats.getConnectionErrors();
+  }
+
+  @Override
+  public double getConnectionAcquireP50Millis() {
+    return stats.getConnectionAcquireHistogram().percentile(0.50) / 1e6;
+  }
+
+  @Override
+  public double getConnectionAcquireP99Millis() {
+    return stats.getConnectionAcquireHistogram().percentile(0.99) / 1e6;
+  }
+
+  @Override
+  public int getStatementShapes() {
+    return stats.snapshot().size();
+  }
+
+  @Override
+  public long getStatementCalls() {
+    long calls = 0;
+    for (SqlStats.ShapeStats shape : stats.snapshot()) {
+      calls += shape.getCalls();
+    }
+    return calls;
+  }
+
+  @Override
+  public long getStatementErrors() {
+    long errors = 0;
+    for (SqlStats.ShapeStats shape : stats.snapshot()) {
+      errors += shape.getErrors();
+    }
+    return errors;
+  }
+
+  /**
+   * 누적 실행 시간이 가장 큰 SQL 형태
+   */
+  @Override
+  public String getSlowestStatement() {
+    List<SqlStats.ShapeStats> shapes = stats.snapshot();
+    return shapes.isEmpty() ? "" : shapes.get(0).getShape();
+  }
+
+  @Override
+  public String getStatementReport() {
+    return stats.formatReport();
+  }
+
+  @Override
+  public void resetStatistics() {
+    stats.reset();
+  }
+}
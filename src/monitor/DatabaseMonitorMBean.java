@@ -0,0 +1,20 @@
+package monitor;
+
+/**
+ * DB 연결/문장 통계 MBean 인터페이스
+ */
+public interface DatabaseMonitorMBean {
+  long getOpenConnections();
+  long getPeakOpenConnections();
+  long getConnectionsAcquired();
+  long getConnectionErrors();
+  double getConnectionAcquireP50Millis();
+  double getConnectionAcquireP99Millis();
+  int getStatementShapes();
+  long getStatementCalls();
+  long getStatementErrors();
+  String getSlowestStatement();
+  String getStatementReport();
+
+  void resetStatistics();
+}
@@ -0,0 +1,78 @@
+package monitor;
+
+import dto.Product;
+import java.util.List;
+import service.InventoryService;
+
+/**
+ * 재고 지표 MBean
+ * 재고 합계는 DB 조회가 필요하므로 1초 동안 캐시한다.
+ */
+public class InventoryMonitor implements InventoryMonitorMBean {
+  private static final long TOTALS_TTL_NANOS = 1_000_000_000L;
+
+  private final InventoryService inventoryService;
+
+  private long totalsLoadedAt = 0;
+  private long storeTotal;
+  private long warehouseTotal;
+  private int productCount;
+
+  public InventoryMonitor(InventoryService inventoryService) {
+    this.inventoryService = inventoryService;
+  }
+
+  @Override
+  public long getTransfers() {
+    return inventoryService.getTransferCount();
+  }
+
+  @Override
+  public long getTransferredUnits() {
+    return inventoryService.getTransferredUnits();
+  }
+
+  @Override
+  public long getLowStockEvents() {
+    return inventoryService.getLowStockEventCount();
+  }
+
+  @Override
+  public long getDeliveries() {
+    return inventoryService.getDeliveryCount();
+  }
+
+  @Override
+  public synchronized long getStoreStockTotal() {
+    refreshTotals();
+    return storeTotal;
+  }
+
+  @Override
+  public synchronized long getWarehouseStockTotal() {
+    refreshTotals();
+    return warehouseTotal;
+  }
+
+  @Override
+  public synchronized int getProductCount() {
+    refreshTotals();
+    return productCount;
+  }
+
+  private void refreshTotals() {
+    long now = System.nanoTime();
+    if (totalsLoadedAt != 0 && now - totalsLoadedAt < TOTALS_TTL_NANOS) return;
+
+    List<Product> products = inventoryService.getAllProducts();
+    long store = 0, warehouse = 0;
+    for (Product product : products) {
+      store += product.getStoreQuantity();
+      warehouse += product.getWarehouseQuantity();
+    }
+    storeTotal = store;
+    warehouseTotal = warehouse;
+    productCount = products.size();
+    totalsLoadedAt = now;
+  }
+}
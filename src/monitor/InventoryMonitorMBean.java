@@ -0,0 +1,14 @@
+package monitor;
+
+/**
+ * 재고 지표 MBean 인터페이스
+ */
+public interface InventoryMonitorMBean {
+  long getTransfers();
+  long getTransferredUnits();
+  long getLowStockEvents();
+  long getDeliveries();
+  long getStoreStockTotal();
+  long getWarehouseStockTotal();
+  int getProductCount();
+}
@@ -0,0 +1,44 @@
+package monitor;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import service.SimulationDriver;
+import service.SimulationService;
+import service.TimeService;
+
+/**
+ * 운영 지표 MBean 등록
+ * jconsole / VisualVM 등에서 eureka.phonesale 도메인으로 조회할 수 있다.
+ */
+public class MonitorRegistry {
+  private static final String DOMAIN = "eureka.phonesale";
+
+  private MonitorRegistry() {
+  }
+
+  /**
+   * 판매, 재고, 시뮬레이션, DB MBean 등록 (이미 등록된 이름은 교체)
+   */
+  public static void registerAll(SimulationService simulationService, SimulationDriver simulationDriver,
+      TimeService timeService) {
+    register("Sales", new SalesMonitor(simulationService.getSalesService()));
+    register("Inventory", new InventoryMonitor(simulationService.getInventoryService()));
+    register("Simulation", new SimulationMonitor(simulationService, simulationDriver, timeService));
+    register("Database", new DatabaseMonitor());
+  }
+
+  private static void register(String type, Object mbean) {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName name = new ObjectName(DOMAIN + ":type=" + type);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(mbean, name);
+    } catch (JMException e) {
+      System.err.println("❌ MBean 등록 실패 (" + type + "): " + e.getMessage());
+    }
+  }
+}
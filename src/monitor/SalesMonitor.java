@@ -0,0 +1,75 @@
+package monitor;
+
+import service.SalesService;
+
+/**
+ * 판매 지표 MBean
+ */
+public class SalesMonitor implements SalesMonitorMBean {
+  private static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+
+  private final SalesService salesService;
+
+  // 초당 판매 계산용 직전 표본
+  private long lastSampleNanos = System.nanoTime();
+  private long lastSampleCount = 0;
+  private double lastRate = 0;
+
+  public SalesMonitor(SalesService salesService) {
+    this.salesService = salesService;
+  }
+
+  @Override
+  public long getCompletedSales() {
+    return salesService.getCompletedSaleCount();
+  }
+
+  @Override
+  public long getFailedSales() {
+    return salesService.getFailedSaleCount();
+  }
+
+  @Override
+  public long getWaitingOrderRegistrations() {
+    return salesService.getWaitingOrderRegistrationCount();
+  }
+
+  @Override
+  public long getFulfilledWaitingOrders() {
+    return salesService.getFulfilledWaitingOrderCount();
+  }
+
+  @Override
+  public long getRevenue() {
+    return salesService.getRevenue();
+  }
+
+  /**
+   * 직전 조회 이후 실제 시간 기준 초당 판매 건수 (1초 미만 간격이면 직전 값)
+   */
+  @Override
+  public synchronized double getSalesPerSecond() {
+    long now = System.nanoTime();
+    long elapsed = now - lastSampleNanos;
+    if (elapsed >= RATE_WINDOW_NANOS) {
+      long count = salesService.getCompletedSaleCount();
+      lastRate = (count - lastSampleCount) * 1e9 / elapsed;
+      lastSampleCount = count;
+      lastSampleNanos = now;
+    }
+    return lastRate;
+  }
+
+  @Override
+  public int getOpenBackorders() {
+    return salesService.getKpi().getOpenBackorderCount();
+  }
+
+  /**
+   * 시뮬레이션 시간 기준 1분/1시간/1일 KPI 보고서
+   */
+  @Override
+  public String getKpiReport() {
+    return salesService.getKpi().formatReport();
+  }
+}
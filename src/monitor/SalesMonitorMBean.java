@@ -0,0 +1,15 @@
+package monitor;
+
+/**
+ * 판매 지표 MBean 인터페이스
+ */
+public interface SalesMonitorMBean {
+  long getCompletedSales();
+  long getFailedSales();
+  long getWaitingOrderRegistrations();
+  long getFulfilledWaitingOrders();
+  long getRevenue();
+  double getSalesPerSecond();
+  int getOpenBackorders();
+  String getKpiReport();
+}
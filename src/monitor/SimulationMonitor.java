@@ -0,0 +1,83 @@
+package monitor;
+
+import common.EventBus;
+import common.TickProfiler;
+import service.SimulationDriver;
+import service.SimulationService;
+import service.TimeService;
+
+/**
+ * 시뮬레이션 상태 MBean
+ */
+public class SimulationMonitor implements SimulationMonitorMBean {
+  private final SimulationService simulationService;
+  private final SimulationDriver simulationDriver;
+  private final TimeService timeService;
+
+  public SimulationMonitor(SimulationService simulationService, SimulationDriver simulationDriver,
+      TimeService timeService) {
+    this.simulationService = simulationService;
+    this.simulationDriver = simulationDriver;
+    this.timeService = timeService;
+  }
+
+  @Override
+  public String getSimulatedDateTime() {
+    return timeService.getFormattedDate() + " " + timeService.getFormattedTime();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return simulationService.isRunning() && simulationDriver.isRunning();
+  }
+
+  @Override
+  public boolean isPaused() {
+    return simulationDriver.isPaused();
+  }
+
+  @Override
+  public double getRequestedSpeed() {
+    return simulationDriver.getRequestedSpeed();
+  }
+
+  @Override
+  public double getAchievedSpeed() {
+    return simulationDriver.getAchievedSpeed();
+  }
+
+  @Override
+  public int getMinutesPerTick() {
+    return simulationDriver.getMinutesPerTick();
+  }
+
+  @Override
+  public long getAdvancedMinutes() {
+    return simulationDriver.getAdvancedMinutes();
+  }
+
+  @Override
+  public String getTickReport() {
+    return TickProfiler.getInstance().formatReport();
+  }
+
+  @Override
+  public String getEventBusReport() {
+    return EventBus.getDefault().formatMetrics();
+  }
+
+  @Override
+  public void pause() {
+    simulationDriver.pause();
+  }
+
+  @Override
+  public void resume() {
+    simulationDriver.resume();
+  }
+
+  @Override
+  public void setRequestedSpeed(double speed) {
+    simulationDriver.setRequestedSpeed(speed);
+  }
+}
@@ -0,0 +1,20 @@
+package monitor;
+
+/**
+ * 시뮬레이션 상태 MBean 인터페이스 (일시 정지/재개, 속도 변경 가능)
+ */
+public interface SimulationMonitorMBean {
+  String getSimulatedDateTime();
+  boolean isRunning();
+  boolean isPaused();
+  double getRequestedSpeed();
+  double getAchievedSpeed();
+  int getMinutesPerTick();
+  long getAdvancedMinutes();
+  String getTickReport();
+  String getEventBusReport();
+
+  void pause();
+  void resume();
+  void setRequestedSpeed(double speed);
+}
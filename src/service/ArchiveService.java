@@ -0,0 +1,155 @@
+package service;
+
+import dao.ArchiveDAO;
+import dao.SaleDAO;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 보관 작업 서비스
+ *
+ * 보존 기간(retentionDays)이 지난 판매와 처리 끝난 대기 주문을 작은 배치로 보관 테이블에 옮긴다.
+ * 전용 스레드 하나에서 실행하고 배치 사이마다 쉬어 실시간 판매가 연결과 잠금을 먼저 쓰도록 한다.
+ * 옮기고 나서 비어 있는 오래된 판매 파티션은 삭제해 원본 테이블을 작게 유지한다.
+ */
+public class ArchiveService {
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  public static final long DEFAULT_PAUSE_MILLIS = 20;
+
+  private final ArchiveDAO archiveDAO;
+  private final SaleDAO saleDAO;
+  private final int retentionDays;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "sales-archiver");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // 실행 중에 들어온 요청은 가장 최근 날짜 하나로 합친다
+  private final AtomicReference<LocalDate> pendingDate = new AtomicReference<>();
+  private volatile int batchSize = DEFAULT_BATCH_SIZE;
+  private volatile long pauseMillis = DEFAULT_PAUSE_MILLIS;
+  private volatile Consumer<String> logger = System.out::println;
+
+  private final LongAdder archivedSales = new LongAdder();
+  private final LongAdder archivedOrders = new LongAdder();
+
+  public ArchiveService(int retentionDays) {
+    this(new ArchiveDAO(), SaleDAO.create(), retentionDays);
+  }
+
+  public ArchiveService(ArchiveDAO archiveDAO, SaleDAO saleDAO, int retentionDays) {
+    this.archiveDAO = archiveDAO;
+    this.saleDAO = saleDAO;
+    this.retentionDays = retentionDays;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  public void setPauseMillis(long pauseMillis) {
+    this.pauseMillis = Math.max(0, pauseMillis);
+  }
+
+  public void setLogger(Consumer<String> logger) {
+    this.logger = logger;
+  }
+
+  public int getRetentionDays() {
+    return retentionDays;
+  }
+
+  public long getArchivedSales() {
+    return archivedSales.sum();
+  }
+
+  public long getArchivedOrders() {
+    return archivedOrders.sum();
+  }
+
+  /**
+   * 보관 작업 요청 (today 기준 보존 기간 이전 판매가 대상, 호출 스레드는 기다리지 않는다)
+   */
+  public void requestArchive(LocalDate today) {
+    if (pendingDate.getAndSet(today) == null) {
+      executor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    LocalDate date;
+    while ((date = pendingDate.get()) != null) {
+      try {
+        runOnce(date);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        pendingDate.set(null);
+        return;
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+      }
+      pendingDate.compareAndSet(date, null);
+    }
+  }
+
+  /**
+   * 보관 작업 한 번 실행 (호출 스레드에서 끝까지 실행)
+   */
+  public void runOnce(LocalDate today) throws InterruptedException {
+    long start = System.nanoTime();
+    LocalDate cutoff = today.minusDays(retentionDays);
+
+    long salesBefore = archivedSales.sum();
+    long ordersBefore = archivedOrders.sum();
+
+    boolean salesDone = drainBatches(() -> archiveDAO.archiveSalesBefore(cutoff.atStartOfDay(), batchSize), archivedSales);
+    boolean ordersDone = drainBatches(() -> archiveDAO.archiveClosedWaitingOrders(batchSize), archivedOrders);
+    long sales = archivedSales.sum() - salesBefore;
+    long orders = archivedOrders.sum() - ordersBefore;
+
+    // 옮기고 남은 빈 파티션 정리 (판매 보관이 끝까지 성공했을 때만 - 실패하면 남은 행이 있다)
+    int dropped = salesDone ? saleDAO.dropSalePartitionsBefore(cutoff) : 0;
+    if (!salesDone || !ordersDone) {
+      logger.accept("❌ 보관 작업 중 오류가 발생해 중단했습니다. 다음 날짜 변경 때 다시 시도합니다.");
+    }
+
+    if (sales > 0 || orders > 0 || dropped > 0) {
+      logger.accept(String.format("🗄️ 보관 완료 (%s 이전): 판매 %,d건, 대기 주문 %,d건, 빈 파티션 %d개 삭제 (%.1f초)",
+          cutoff, sales, orders, dropped, (System.nanoTime() - start) / 1e9));
+    }
+  }
+
+  /**
+   * 남은 대상이 없을 때까지 배치 반복, 오류가 나면 false
+   */
+  private boolean drainBatches(Batch batch, LongAdder counter) throws InterruptedException {
+    int size = batchSize;
+    while (true) {
+      int moved = batch.run();
+      if (moved < 0) return false;
+      counter.add(moved);
+      if (moved < size) return true;
+      if (pauseMillis > 0) {
+        Thread.sleep(pauseMillis);
+      }
+    }
+  }
+
+  private interface Batch {
+    int run();
+  }
+
+  /**
+   * 보관 스레드 종료
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
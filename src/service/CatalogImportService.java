@@ -0,0 +1,357 @@
+package service;
+
+import dao.ProductBatchWriter;
+import dao.ProductDAO;
+import dto.Product;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * CSV 카탈로그 가져오기 서비스
+ *
+ * 파일을 한 줄씩 읽어 검증한 뒤 배치로 쌓고, chunkSize 행마다 한 트랜잭션으로 반영한다 (메모리 사용량은 파일 크기와 무관).
+ * 첫 줄은 헤더이며 구분자(, ; 탭 |)는 헤더에서 자동으로 찾는다. 사용 가능한 열:
+ * product_id, name, manufacturer, price, store_quantity, warehouse_quantity
+ * - UPSERT: name/manufacturer/price 필수, product_id 가 있으면 같은 ID 를 갱신하고 없으면 새로 추가
+ * - UPDATE: product_id 필수, price/store_quantity/warehouse_quantity 중 있는 값만 갱신
+ * 재고 수량이 바뀐 제품은 구간 트랜잭션 안에서 clock 시각의 ADJUST 재고 이벤트로 남는다.
+ */
+public class CatalogImportService {
+
+  public enum Mode {
+    UPSERT("제품 추가/갱신"),
+    UPDATE("가격/재고 갱신");
+
+    private final String label;
+
+    Mode(String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  /**
+   * 진행 상황 알림 (구간 커밋마다 호출)
+   */
+  public interface ProgressListener {
+    void onProgress(long rowsRead, long bytesRead, long totalBytes);
+  }
+
+  public static final int DEFAULT_CHUNK_SIZE = 10_000;
+  private static final int MAX_ERRORS = 20;
+  private static final String[] COLUMNS = {"product_id", "name", "manufacturer", "price", "store_quantity", "warehouse_quantity"};
+  private static final int ID = 0, NAME = 1, MANUFACTURER = 2, PRICE = 3, STORE = 4, WAREHOUSE = 5;
+
+  private final ProductDAO productDAO;
+  private final Supplier<LocalDateTime> clock;
+
+  public CatalogImportService() {
+    this(new ProductDAO(), LocalDateTime::now);
+  }
+
+  /**
+   * @param clock 재고 조정 이벤트 시각 (시뮬레이션 시계)
+   */
+  public CatalogImportService(ProductDAO productDAO, Supplier<LocalDateTime> clock) {
+    this.productDAO = productDAO;
+    this.clock = clock;
+  }
+
+  public Result importFile(Path file, Mode mode) throws IOException {
+    return importFile(file, mode, DEFAULT_CHUNK_SIZE, null);
+  }
+
+  /**
+   * 파일 가져오기
+   * SQL 오류가 나면 해당 구간을 롤백하고 중단하며, 그 전까지 커밋된 행은 유지된다.
+   */
+  public Result importFile(Path file, Mode mode, int chunkSize, ProgressListener progress) throws IOException {
+    Result result = new Result(mode);
+    long totalBytes = Files.size(file);
+    long start = System.nanoTime();
+
+    try (CountingInputStream counter = new CountingInputStream(Files.newInputStream(file));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8), 1 << 16);
+        ProductBatchWriter writer = productDAO.openBatchWriter()) {
+
+      String header = reader.readLine();
+      if (header == null) {
+        result.addError(0, "빈 파일입니다.");
+        return result;
+      }
+      if (header.startsWith("\uFEFF")) {
+        header = header.substring(1);   // UTF-8 BOM (엑셀 저장 파일)
+      }
+      char delimiter = detectDelimiter(header);
+      int[] columnIndex = mapColumns(parseLine(header, delimiter, new ArrayList<>()));
+      String missing = checkRequiredColumns(columnIndex, mode);
+      if (missing != null) {
+        result.addError(1, "필수 열이 없습니다: " + missing);
+        return result;
+      }
+
+      List<String> fields = new ArrayList<>();
+      Product product = new Product();
+      String line;
+      long lineNo = 1;
+      while ((line = reader.readLine()) != null) {
+        lineNo++;
+        if (line.isBlank()) continue;
+        result.rowsRead++;
+
+        String error = addRow(writer, mode, parseLine(line, delimiter, fields), columnIndex, product);
+        if (error != null) {
+          result.addError(lineNo, error);
+          continue;
+        }
+
+        if (writer.getPendingCount() >= chunkSize) {
+          commitChunk(writer, result);
+          if (progress != null) progress.onProgress(result.rowsRead, counter.count, totalBytes);
+        }
+      }
+      commitChunk(writer, result);
+      if (progress != null) progress.onProgress(result.rowsRead, totalBytes, totalBytes);
+    } catch (SQLException e) {
+      e.printStackTrace();
+      result.failure = e.getMessage();
+    } finally {
+      result.elapsedNanos = System.nanoTime() - start;
+    }
+    return result;
+  }
+
+  private void commitChunk(ProductBatchWriter writer, Result result) throws SQLException {
+    int pending = writer.getPendingCount();
+    int missing = writer.flush(clock.get());
+    result.rowsApplied += pending - missing;
+    result.rowsNotFound += missing;
+    result.chunks++;
+  }
+
+  /**
+   * 한 행 검증 후 배치에 추가, 오류면 사유 반환
+   */
+  private static String addRow(ProductBatchWriter writer, Mode mode, List<String> fields, int[] columnIndex,
+      Product product) throws SQLException {
+    try {
+      Integer id = parseInt(fields, columnIndex[ID], "product_id");
+      Integer price = parseInt(fields, columnIndex[PRICE], "price");
+      Integer store = parseInt(fields, columnIndex[STORE], "store_quantity");
+      Integer warehouse = parseInt(fields, columnIndex[WAREHOUSE], "warehouse_quantity");
+      if (id != null && id <= 0) return "product_id 는 양수여야 합니다.";
+
+      if (mode == Mode.UPDATE) {
+        if (id == null) return "product_id 가 없습니다.";
+        if (price == null && store == null && warehouse == null) return "갱신할 값이 없습니다.";
+        writer.addUpdate(id, price, store, warehouse);
+        return null;
+      }
+
+      String name = field(fields, columnIndex[NAME]);
+      String manufacturer = field(fields, columnIndex[MANUFACTURER]);
+      if (name == null) return "name 이 없습니다.";
+      if (name.length() > 100) return "name 이 100자를 넘습니다.";
+      if (manufacturer == null) return "manufacturer 가 없습니다.";
+      if (manufacturer.length() > 50) return "manufacturer 가 50자를 넘습니다.";
+      if (price == null) return "price 가 없습니다.";
+
+      product.setProductId(id == null ? 0 : id);
+      product.setName(name);
+      product.setManufacturer(manufacturer);
+      product.setPrice(price);
+      product.setStoreQuantity(store == null ? 0 : store);
+      product.setWarehouseQuantity(warehouse == null ? 0 : warehouse);
+      writer.addUpsert(product);
+      return null;
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+  }
+
+  private static String field(List<String> fields, int index) {
+    if (index < 0 || index >= fields.size()) return null;
+    String value = fields.get(index).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  private static Integer parseInt(List<String> fields, int index, String column) {
+    String value = field(fields, index);
+    if (value == null) return null;
+    try {
+      int parsed = Integer.parseInt(value.replace("_", ""));
+      if (parsed < 0) throw new IllegalArgumentException(column + " 는 0 이상이어야 합니다: " + value);
+      return parsed;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " 가 정수가 아닙니다: " + value);
+    }
+  }
+
+  private static char detectDelimiter(String header) {
+    char best = ',';
+    long bestCount = 0;
+    for (char candidate : new char[]{',', ';', '\t', '|'}) {
+      long count = header.chars().filter(c -> c == candidate).count();
+      if (count > bestCount) {
+        best = candidate;
+        bestCount = count;
+      }
+    }
+    return best;
+  }
+
+  private static int[] mapColumns(List<String> header) {
+    int[] index = new int[COLUMNS.length];
+    Arrays.fill(index, -1);
+    for (int i = 0; i < header.size(); i++) {
+      String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+      for (int c = 0; c < COLUMNS.length; c++) {
+        if (COLUMNS[c].equals(name) || (c == ID && name.equals("id"))) {
+          index[c] = i;
+        }
+      }
+    }
+    return index;
+  }
+
+  private static String checkRequiredColumns(int[] index, Mode mode) {
+    if (mode == Mode.UPDATE) {
+      if (index[ID] < 0) return "product_id";
+      if (index[PRICE] < 0 && index[STORE] < 0 && index[WAREHOUSE] < 0) return "price/store_quantity/warehouse_quantity 중 하나";
+      return null;
+    }
+    for (int c : new int[]{NAME, MANUFACTURER, PRICE}) {
+      if (index[c] < 0) return COLUMNS[c];
+    }
+    return null;
+  }
+
+  /**
+   * 한 줄 분리 ("..." 안의 구분자와 "" 이스케이프 지원). fields 를 재사용한다.
+   */
+  static List<String> parseLine(String line, char delimiter, List<String> fields) {
+    fields.clear();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"') {
+          if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+            current.append('"');
+            i++;
+          } else {
+            quoted = false;
+          }
+        } else {
+          current.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == delimiter) {
+        fields.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    fields.add(current.toString());
+    return fields;
+  }
+
+  /**
+   * 읽은 바이트 수 집계 (진행률 계산용)
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+    private long count = 0;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) count++;
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) count += n;
+      return n;
+    }
+  }
+
+  /**
+   * 가져오기 결과
+   */
+  public static final class Result {
+    private final Mode mode;
+    private long rowsRead;
+    private long rowsApplied;
+    private long rowsNotFound;
+    private long rowsRejected;
+    private int chunks;
+    private long elapsedNanos;
+    private String failure;
+    private final List<String> errors = new ArrayList<>();
+
+    Result(Mode mode) {
+      this.mode = mode;
+    }
+
+    private void addError(long lineNo, String message) {
+      rowsRejected++;
+      if (errors.size() < MAX_ERRORS) {
+        errors.add(lineNo + "행: " + message);
+      }
+    }
+
+    public Mode getMode() { return mode; }
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsApplied() { return rowsApplied; }
+    public long getRowsNotFound() { return rowsNotFound; }
+    public long getRowsRejected() { return rowsRejected; }
+    public int getChunks() { return chunks; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public String getFailure() { return failure; }
+    public List<String> getErrors() { return errors; }
+
+    public boolean isSuccess() {
+      return failure == null;
+    }
+
+    public String formatSummary() {
+      double seconds = elapsedNanos / 1e9;
+      StringBuilder sb = new StringBuilder();
+      sb.append(String.format("%s: %,d행 읽음, %,d행 반영, %,d행 거부", mode.getLabel(), rowsRead, rowsApplied, rowsRejected));
+      if (rowsNotFound > 0) {
+        sb.append(String.format(", %,d행 대상 없음", rowsNotFound));
+      }
+      sb.append(String.format(" (%d개 트랜잭션, %.1f초, %,.0f행/초)", chunks, seconds, rowsRead / Math.max(seconds, 1e-9)));
+      if (failure != null) {
+        sb.append(" - 중단: ").append(failure);
+      }
+      return sb.toString();
+    }
+  }
+}
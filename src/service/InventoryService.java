@@ -1,27 +1,52 @@
 package service;
 
+import common.EventBus;
 import dao.ProductDAO;
 import dao.SaleDAO;
+import dto.InventoryEvent;
 import dto.Product;
 import dto.SaleItem;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import jfr.DeliveryEvent;
+import jfr.StockTransferEvent;
 
 /**
  * 재고 관리 서비스
  */
 public class InventoryService {
-  private List<InventoryChangeListener> listeners = new ArrayList<>();
+  private static final String INVENTORY_CHANGED_KEY = "inventoryChanged";
+
+  private final List<EventBus.Subscription<InventoryChangeListener>> listeners = new CopyOnWriteArrayList<>();
 
   private final ProductDAO productDAO;
   private final SaleDAO saleDAO;
   private SalesService salesService;  // 🔹 나중에 set 가능하도록 변경
 
+  // 운영 지표
+  private final LongAdder transfers = new LongAdder();
+  private final LongAdder transferredUnits = new LongAdder();
+  private final LongAdder lowStockEvents = new LongAdder();
+  private final LongAdder deliveries = new LongAdder();
+
   public InventoryService() {
-    this.productDAO = new ProductDAO();
-    this.saleDAO = new SaleDAO();
+    this(new ProductDAO(), SaleDAO.create());
+  }
+
+  /**
+   * DAO 지정 생성자 (벤치마크의 메모리 DAO 등)
+   */
+  public InventoryService(ProductDAO productDAO, SaleDAO saleDAO) {
+    this.productDAO = productDAO;
+    this.saleDAO = saleDAO;
   }
 
   // 🔹 Setter를 추가해서 SalesService를 나중에 주입할 수 있도록 변경
@@ -38,10 +63,29 @@ public class InventoryService {
   }
 
   /**
-   * 재고 변경 리스너 등록
+   * 재고 변경 리스너 등록 (재고 변경 이벤트는 최신 상태로 합쳐서 전달)
+   */
+  public EventBus.Subscription<InventoryChangeListener> addInventoryChangeListener(InventoryChangeListener listener) {
+    return addInventoryChangeListener(listener, EventBus.OverflowPolicy.COALESCE);
+  }
+
+  /**
+   * 재고 변경 리스너 등록 (큐 초과 정책 지정)
+   */
+  public EventBus.Subscription<InventoryChangeListener> addInventoryChangeListener(InventoryChangeListener listener,
+      EventBus.OverflowPolicy policy) {
+    EventBus.Subscription<InventoryChangeListener> subscription =
+        EventBus.getDefault().subscribe("inventory", listener, policy, EventBus.DEFAULT_CAPACITY);
+    listeners.add(subscription);
+    return subscription;
+  }
+
+  /**
+   * 재고 변경 리스너 해지
    */
-  public void addInventoryChangeListener(InventoryChangeListener listener) {
-    listeners.add(listener);
+  public void removeInventoryChangeListener(EventBus.Subscription<InventoryChangeListener> subscription) {
+    listeners.remove(subscription);
+    EventBus.getDefault().unsubscribe(subscription);
   }
 
   /**
@@ -63,13 +107,24 @@ public class InventoryService {
         int transferQty = Math.min(10 - product.getStoreQuantity(), product.getWarehouseQuantity());
 
         if (transferQty > 0) {
+          StockTransferEvent event = new StockTransferEvent();
+          event.begin();
           int newStoreQty = product.getStoreQuantity() + transferQty;
           int newWarehouseQty = product.getWarehouseQuantity() - transferQty;
 
-          productDAO.updateInventory(product.getProductId(), newStoreQty, newWarehouseQty);
+          event.success = productDAO.moveStock(product.getProductId(), InventoryEvent.Type.TRANSFER,
+              transferQty, -transferQty, simulatedNow());
+          event.productId = product.getProductId();
+          event.quantity = transferQty;
+          event.storeQuantity = newStoreQty;
+          event.warehouseQuantity = newWarehouseQty;
+          event.commit();
+          transfers.increment();
+          transferredUnits.add(transferQty);
 
-          for (InventoryChangeListener listener : listeners) {
-            listener.onStockTransferCompleted(product.getProductId(), transferQty, newStoreQty);
+          int productId = product.getProductId();
+          for (EventBus.Subscription<InventoryChangeListener> listener : listeners) {
+            listener.post(l -> l.onStockTransferCompleted(productId, transferQty, newStoreQty));
           }
 
           anyTransfer = true;
@@ -86,6 +141,8 @@ public class InventoryService {
    * 1시: 본사에서 창고로 배송
    */
   public void receiveDeliveryFromHeadquarters() {
+    DeliveryEvent event = new DeliveryEvent();
+    event.begin();
     List<Product> products = productDAO.getAllProducts();
 
     // 대기 주문에 있는 제품에 대해 추가 수량 확인
@@ -113,13 +170,21 @@ public class InventoryService {
 
       // 대기 주문이 있는 경우 해당 수량만큼 추가
       if (waitingOrderCounts.containsKey(product.getProductId())) {
-        additionalQty += waitingOrderCounts.get(product.getProductId());
+        int waitingQty = waitingOrderCounts.get(product.getProductId());
+        additionalQty += waitingQty;
+        event.waitingOrderQuantity += waitingQty;
       }
 
-      int newWarehouseQty = product.getWarehouseQuantity() + additionalQty;
-      productDAO.updateInventory(product.getProductId(), product.getStoreQuantity(), newWarehouseQty);
+      if (productDAO.moveStock(product.getProductId(), InventoryEvent.Type.DELIVERY, 0, additionalQty, simulatedNow())) {
+        event.quantity += additionalQty;
+      } else {
+        event.failedProducts++;
+      }
     }
 
+    event.products = products.size();
+    event.commit();
+    deliveries.increment();
     notifyInventoryChanged();
 
     // 본사 배송 이후 대기 주문 자동 처리 - NullPointerException 방지
@@ -136,12 +201,13 @@ public class InventoryService {
     // 매장 재고만 확인
     if (product.getStoreQuantity() >= quantity) {
       int newStoreQty = product.getStoreQuantity() - quantity;
-      productDAO.updateInventory(productId, newStoreQty, product.getWarehouseQuantity());
+      productDAO.moveStock(productId, InventoryEvent.Type.SALE, -quantity, 0, simulatedNow());
       notifyInventoryChanged();
 
       if (newStoreQty < 3) {
-        for (InventoryChangeListener listener : listeners) {
-          listener.onLowStockDetected(product);
+        lowStockEvents.increment();
+        for (EventBus.Subscription<InventoryChangeListener> listener : listeners) {
+          listener.post(l -> l.onLowStockDetected(product));
         }
       }
 
@@ -153,19 +219,37 @@ public class InventoryService {
   }
 
   /**
-   * 대기 주문 완료 처리 (status 변경)
+   * 대기 주문 완료 처리 (status 변경, 이미 처리된 주문이면 false)
    */
-  public void completeWaitingOrder(int orderId) {
-    saleDAO.completeWaitingOrder(orderId);
+  public boolean completeWaitingOrder(int orderId) {
+    return saleDAO.completeWaitingOrder(orderId);
   }
 
   /**
    * 재고 변경 알림
+   *
+   * 제품 목록 조회는 호출 스레드가 아니라 디스패치 스레드에서 한 번만 수행하고 구독자끼리 공유한다.
    */
   private void notifyInventoryChanged() {
-    List<Product> updatedProducts = productDAO.getAllProducts();
-    for (InventoryChangeListener listener : listeners) {
-      listener.onInventoryChanged(updatedProducts);
+    if (listeners.isEmpty()) return;
+
+    ProductSnapshot snapshot = new ProductSnapshot();
+    for (EventBus.Subscription<InventoryChangeListener> listener : listeners) {
+      listener.post(INVENTORY_CHANGED_KEY, l -> l.onInventoryChanged(snapshot.get()));
+    }
+  }
+
+  /**
+   * 재고 변경 이벤트 하나에 대한 제품 목록 (처음 요청될 때 조회)
+   */
+  private class ProductSnapshot {
+    private List<Product> products;
+
+    synchronized List<Product> get() {
+      if (products == null) {
+        products = productDAO.getAllProducts();
+      }
+      return products;
     }
   }
 
@@ -176,10 +260,136 @@ public class InventoryService {
     return productDAO.getProductById(productId);
   }
 
+  /**
+   * 창고 -> 매장 재고 이동 건수
+   */
+  public long getTransferCount() {
+    return transfers.sum();
+  }
+
+  /**
+   * 창고 -> 매장으로 이동한 총 수량
+   */
+  public long getTransferredUnits() {
+    return transferredUnits.sum();
+  }
+
+  /**
+   * 재고 부족 경고 발생 건수
+   */
+  public long getLowStockEventCount() {
+    return lowStockEvents.sum();
+  }
+
+  /**
+   * 본사 배송 처리 횟수
+   */
+  public long getDeliveryCount() {
+    return deliveries.sum();
+  }
+
   /**
    * 재고 변경 이벤트 발생
    */
   public void fireInventoryChangedEvent() {
     notifyInventoryChanged();
   }
-}
\ No newline at end of file
+
+  /**
+   * 현재 재고 스냅샷 저장 (at 시각 기준) - 이후 시점 재고 조회는 이 스냅샷 뒤 이벤트만 읽는다
+   */
+  public long takeInventorySnapshot(LocalDateTime at) {
+    long snapshotId = productDAO.takeInventorySnapshot(at);
+    if (snapshotId < 0) {
+      System.err.println("❌ 재고 스냅샷 저장 실패: " + at);
+    }
+    return snapshotId;
+  }
+
+  /**
+   * 현재 시뮬레이션 시각으로 재고 스냅샷 저장
+   */
+  public long takeInventorySnapshot() {
+    return takeInventorySnapshot(simulatedNow());
+  }
+
+  /**
+   * at 시각의 제품별 재고 (productId 가 0 이면 전체)
+   */
+  public List<Product> getInventoryAsOf(LocalDateTime at, int productId) {
+    return productDAO.getInventoryAsOf(at, productId);
+  }
+
+  /**
+   * 한 제품의 at 까지 재고 이벤트 최근 limit 건
+   */
+  public List<InventoryEvent> getInventoryEvents(int productId, LocalDateTime at, int limit) {
+    return productDAO.getInventoryEvents(productId, at, limit);
+  }
+
+  /**
+   * 스냅샷 + 이벤트로 재고를 다시 계산해 어긋난 제품을 고침
+   *
+   * @return 고친 제품 수, 실패 시 -1
+   */
+  public int rebuildInventory() {
+    int repaired = productDAO.rebuildInventory();
+    if (repaired > 0) {
+      notifyInventoryChanged();
+    }
+    return repaired;
+  }
+
+  // 재고 이벤트 시각 - 판매와 같은 시뮬레이션 시계를 쓴다
+  private LocalDateTime simulatedNow() {
+    return salesService != null ? salesService.currentSaleTime() : LocalDateTime.now();
+  }
+
+  /**
+   * 재고 이벤트에 기록하는 현재 시뮬레이션 시각 (카탈로그 가져오기의 조정 이벤트 시각)
+   */
+  public LocalDateTime getSimulatedTime() {
+    return simulatedNow();
+  }
+
+  /**
+   * 체크포인트 저장 - 제품별 가격과 매장/창고 재고
+   */
+  void writeCheckpoint(DataOutput out) throws IOException {
+    List<Product> products = productDAO.getAllProducts();
+    out.writeInt(products.size());
+    for (Product product : products) {
+      out.writeInt(product.getProductId());
+      out.writeInt(product.getPrice());
+      out.writeInt(product.getStoreQuantity());
+      out.writeInt(product.getWarehouseQuantity());
+    }
+  }
+
+  /**
+   * 체크포인트의 재고 부분 읽기 (DB 반영은 SalesService.restoreCheckpoint 에서 대기 주문/판매와 한 트랜잭션으로)
+   */
+  static List<Product> readCheckpoint(DataInput in) throws IOException {
+    int count = in.readInt();
+    List<Product> products = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Product product = new Product();
+      product.setProductId(in.readInt());
+      product.setPrice(in.readInt());
+      product.setStoreQuantity(in.readInt());
+      product.setWarehouseQuantity(in.readInt());
+      products.add(product);
+    }
+    return products;
+  }
+
+  /**
+   * 체크포인트 복원 완료 - 카탈로그에 없는 제품 경고와 재고 변경 알림
+   */
+  void checkpointRestored(int missing) {
+    if (missing > 0) {
+      System.err.println("⚠️ 체크포인트의 제품 " + missing + "개가 카탈로그에 없어 재고를 복원하지 못했습니다.");
+    }
+    notifyInventoryChanged();
+  }
+}
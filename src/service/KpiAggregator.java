@@ -0,0 +1,615 @@
+package service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시뮬레이션 시간 기준 슬라이딩 윈도우 KPI 집계기
+ *
+ * 기록은 제품별/전체 LongAdder 에 더하기만 하므로 잠금이 없고, 시뮬레이션 시계가 분을 넘길 때
+ * 그 분에 기록된 값만 분 단위(60칸)와 시간 단위(24칸) 링 배열로 옮긴다.
+ * 각 칸에는 담긴 분/시간 번호를 함께 두어 윈도우를 벗어난 칸은 지우지 않고 읽을 때 건너뛴다.
+ * 1분/1시간 윈도우는 분 단위 링, 1일 윈도우는 시간 단위 링(현재 시간 포함 최근 24개)으로 계산한다.
+ * 읽기는 기록과 동시에 일어날 수 있으므로 근사치다.
+ */
+public class KpiAggregator {
+
+  /**
+   * 집계 윈도우
+   */
+  public enum Window {
+    MINUTE("1분", 1),
+    HOUR("1시간", 60),
+    DAY("1일", 1440);
+
+    private final String label;
+    private final int minutes;
+
+    Window(String label, int minutes) {
+      this.label = label;
+      this.minutes = minutes;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+
+    public int getMinutes() {
+      return minutes;
+    }
+  }
+
+  // 지표 번호
+  private static final int REVENUE = 0;
+  private static final int UNITS = 1;
+  private static final int SALES = 2;            // 즉시 판매 + 대기 주문 판매
+  private static final int ATTEMPTS = 3;         // 판매 요청 수 (즉시 판매 + 품절 + 실패)
+  private static final int STOCKOUTS = 4;        // 매장 재고 부족
+  private static final int FAILURES = 5;         // 재고 부족 외 실패
+  private static final int BACKORDERS = 6;       // 대기 주문 등록
+  private static final int BACKORDERS_FILLED = 7;
+  private static final int METRICS = 8;
+
+  // 대기 주문 대기 시간(분) 분포: 칸 b 는 [2^(b-1), 2^b) 분, 마지막 칸은 그 이상 전부
+  private static final int AGE_BINS = 16;
+  private static final int WIDTH = METRICS + AGE_BINS;
+
+  private static final int MINUTE_SLOTS = 60;
+  private static final int HOUR_SLOTS = 24;
+
+  private final Series overall = new Series();
+  private volatile Series[] products = new Series[64];
+  private final ConcurrentHashMap<Integer, Long> openBackorders = new ConcurrentHashMap<>();
+
+  // 현재 LongAdder 에 쌓이고 있는 시뮬레이션 분 (epoch 기준)
+  private volatile long currentMinute;
+
+  public KpiAggregator() {
+    this.currentMinute = toMinute(LocalDate.now(), LocalTime.of(9, 0));
+  }
+
+  /**
+   * 날짜와 시각을 epoch 기준 분 번호로 변환
+   */
+  public static long toMinute(LocalDate date, LocalTime time) {
+    return date.toEpochDay() * 1440 + time.getHour() * 60 + time.getMinute();
+  }
+
+  /**
+   * 시뮬레이션 시계 진행 - 지난 분의 값을 링으로 옮긴다 (분마다 한 번, 시계 스레드에서 호출)
+   * 시계가 되돌아가면 모든 기록을 지운다.
+   */
+  public synchronized void advanceTo(long minute) {
+    long previous = currentMinute;
+    if (minute == previous) return;
+    if (minute < previous) {
+      clear();
+      currentMinute = minute;
+      return;
+    }
+
+    overall.roll(previous);
+    for (Series series : products) {
+      if (series != null) {
+        series.roll(previous);
+      }
+    }
+    currentMinute = minute;
+  }
+
+  public long getCurrentMinute() {
+    return currentMinute;
+  }
+
+  /**
+   * 즉시 판매 완료
+   */
+  public void recordSale(int productId, int quantity, long amount) {
+    Series series = seriesFor(productId);
+    overall.addSale(quantity, amount, true);
+    if (series != null) series.addSale(quantity, amount, true);
+  }
+
+  /**
+   * 매장 재고 부족 (대기 주문 등록 여부와 무관하게 품절로 집계)
+   */
+  public void recordStockout(int productId) {
+    Series series = seriesFor(productId);
+    overall.addAttempt(STOCKOUTS);
+    if (series != null) series.addAttempt(STOCKOUTS);
+  }
+
+  /**
+   * 재고 부족 외 판매 실패
+   */
+  public void recordFailure(int productId) {
+    Series series = seriesFor(productId);
+    overall.addAttempt(FAILURES);
+    if (series != null) series.addAttempt(FAILURES);
+  }
+
+  /**
+   * 대기 주문 등록
+   */
+  public void recordBackorder(int productId, int orderId) {
+    openBackorders.put(orderId, currentMinute);
+    Series series = seriesFor(productId);
+    overall.add(BACKORDERS, 1);
+    if (series != null) series.add(BACKORDERS, 1);
+  }
+
+  /**
+   * 대기 주문이 판매로 전환됨 - 등록 시점부터의 대기 시간을 분포에 기록
+   */
+  public void recordBackorderFilled(int productId, int orderId, int quantity, long amount) {
+    Long registered = openBackorders.remove(orderId);
+    Series series = seriesFor(productId);
+    overall.addSale(quantity, amount, false);
+    overall.add(BACKORDERS_FILLED, 1);
+    if (series != null) {
+      series.addSale(quantity, amount, false);
+      series.add(BACKORDERS_FILLED, 1);
+    }
+    if (registered != null) {
+      int bin = ageBin(currentMinute - registered);
+      overall.add(METRICS + bin, 1);
+      if (series != null) series.add(METRICS + bin, 1);
+    }
+  }
+
+  /**
+   * 처리되지 않은 대기 주문 수
+   */
+  public int getOpenBackorderCount() {
+    return openBackorders.size();
+  }
+
+  private static int ageBin(long ageMinutes) {
+    if (ageMinutes <= 0) return 0;
+    return Math.min(AGE_BINS - 1, 64 - Long.numberOfLeadingZeros(ageMinutes));
+  }
+
+  // 제품 ID 로 직접 찾는 배열 (Integer 박싱 없이 조회)
+  private Series seriesFor(int productId) {
+    if (productId < 0) return null;
+    Series[] array = products;
+    if (productId < array.length && array[productId] != null) {
+      return array[productId];
+    }
+    synchronized (this) {
+      array = products;
+      if (productId >= array.length) {
+        Series[] grown = new Series[Math.max(productId + 1, array.length * 2)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        array = grown;
+      }
+      if (array[productId] == null) {
+        array[productId] = new Series();
+      }
+      products = array;
+      return array[productId];
+    }
+  }
+
+  /**
+   * 전체 KPI
+   */
+  public Snapshot snapshot(Window window) {
+    return overall.snapshot(-1, window, currentMinute);
+  }
+
+  /**
+   * 제품별 KPI (기록이 없으면 0)
+   */
+  public Snapshot snapshot(int productId, Window window) {
+    Series[] array = products;
+    Series series = productId >= 0 && productId < array.length ? array[productId] : null;
+    return series == null ? new Snapshot(productId, window, new long[WIDTH]) : series.snapshot(productId, window, currentMinute);
+  }
+
+  /**
+   * 매출 상위 제품
+   */
+  public List<Snapshot> topProducts(Window window, int limit) {
+    long minute = currentMinute;
+    List<Snapshot> list = new ArrayList<>();
+    Series[] array = products;
+    for (int id = 0; id < array.length; id++) {
+      if (array[id] != null) {
+        Snapshot s = array[id].snapshot(id, window, minute);
+        if (s.getAttempts() > 0 || s.getSales() > 0) {
+          list.add(s);
+        }
+      }
+    }
+    list.sort(Comparator.comparingLong(Snapshot::getRevenue).reversed());
+    return list.size() > limit ? new ArrayList<>(list.subList(0, limit)) : list;
+  }
+
+  /**
+   * 모든 기록 초기화
+   */
+  public synchronized void clear() {
+    overall.clear();
+    for (Series series : products) {
+      if (series != null) series.clear();
+    }
+    openBackorders.clear();
+  }
+
+  /**
+   * 체크포인트 저장 - 현재 분, 미처리 대기 주문 등록 시각, 전체/제품별 카운터와 링
+   */
+  public synchronized void writeTo(DataOutput out) throws IOException {
+    out.writeLong(currentMinute);
+    out.writeInt(openBackorders.size());
+    for (Map.Entry<Integer, Long> entry : openBackorders.entrySet()) {
+      out.writeInt(entry.getKey());
+      out.writeLong(entry.getValue());
+    }
+    overall.writeTo(out);
+
+    Series[] array = products;
+    int count = 0;
+    for (Series series : array) {
+      if (series != null) count++;
+    }
+    out.writeInt(count);
+    for (int id = 0; id < array.length; id++) {
+      if (array[id] != null) {
+        out.writeInt(id);
+        array[id].writeTo(out);
+      }
+    }
+  }
+
+  /**
+   * 체크포인트 복원 (기존 기록은 모두 바뀐다)
+   */
+  public synchronized void readFrom(DataInput in) throws IOException {
+    clear();
+    currentMinute = in.readLong();
+    int backorders = in.readInt();
+    for (int i = 0; i < backorders; i++) {
+      openBackorders.put(in.readInt(), in.readLong());
+    }
+    overall.readFrom(in);
+
+    int count = in.readInt();
+    for (int i = 0; i < count; i++) {
+      seriesFor(in.readInt()).readFrom(in);
+    }
+  }
+
+  /**
+   * 텍스트 보고서
+   */
+  public String formatReport() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("%-6s %12s %8s %8s %9s %8s %24s%n",
+        "윈도우", "매출", "판매", "수량", "판매/초", "품절률", "대기 p50/p90/p99(분)"));
+    for (Window window : Window.values()) {
+      appendRow(sb, window.getLabel(), snapshot(window));
+    }
+    sb.append(String.format("미처리 대기 주문: %d%n", getOpenBackorderCount()));
+    sb.append("매출 상위 제품 (1일)\n");
+    for (Snapshot s : topProducts(Window.DAY, 5)) {
+      appendRow(sb, "#" + s.getProductId(), s);
+    }
+    return sb.toString();
+  }
+
+  private static void appendRow(StringBuilder sb, String label, Snapshot s) {
+    sb.append(String.format("%-6s %,12d %8d %8d %9.3f %7.1f%% %24s%n", label,
+        s.getRevenue(), s.getSales(), s.getUnits(), s.getSalesPerSecond(), s.getStockoutRate() * 100,
+        String.format("%.0f/%.0f/%.0f", s.getBackorderAgePercentile(0.50),
+            s.getBackorderAgePercentile(0.90), s.getBackorderAgePercentile(0.99))));
+  }
+
+  /**
+   * 제품 하나(또는 전체)의 현재 분 카운터와 링
+   *
+   * 링(제품당 약 17KB)은 처음 기록이 링으로 옮겨질 때 만들고 clear 때 버리므로,
+   * 한 번도 팔리지 않은 제품은 LongAdder 카운터만 가진다.
+   */
+  private static final class Series {
+    private final LongAdder[] current = new LongAdder[WIDTH];
+    private volatile Rings rings;
+    private volatile boolean touched;
+
+    Series() {
+      for (int i = 0; i < WIDTH; i++) {
+        current[i] = new LongAdder();
+      }
+    }
+
+    void addSale(int quantity, long amount, boolean attempt) {
+      current[REVENUE].add(amount);
+      current[UNITS].add(quantity);
+      current[SALES].increment();
+      if (attempt) current[ATTEMPTS].increment();
+      touched = true;
+    }
+
+    void addAttempt(int metric) {
+      current[metric].increment();
+      current[ATTEMPTS].increment();
+      touched = true;
+    }
+
+    void add(int metric, long value) {
+      current[metric].add(value);
+      touched = true;
+    }
+
+    // advanceTo / readFrom 에서만 호출 (KpiAggregator 잠금 안)
+    private Rings ringsForWrite() {
+      Rings r = rings;
+      if (r == null) {
+        r = new Rings();
+        rings = r;
+      }
+      return r;
+    }
+
+    /**
+     * 현재 분 카운터를 minute 칸으로 옮김 (advanceTo 에서만 호출)
+     */
+    void roll(long minute) {
+      if (!touched) return;
+      touched = false;
+
+      Rings r = ringsForWrite();
+      long hour = Math.floorDiv(minute, 60);
+      int minuteBase = Math.floorMod(minute, MINUTE_SLOTS) * WIDTH;
+      int hourBase = Math.floorMod(hour, HOUR_SLOTS) * WIDTH;
+      boolean freshMinute = r.minuteStamps.get(minuteBase / WIDTH) != minute;
+      boolean freshHour = r.hourStamps.get(hourBase / WIDTH) != hour;
+
+      for (int i = 0; i < WIDTH; i++) {
+        long value = current[i].sumThenReset();
+        if (freshMinute) {
+          r.minuteValues.set(minuteBase + i, value);
+        } else if (value != 0) {
+          r.minuteValues.addAndGet(minuteBase + i, value);
+        }
+        if (freshHour) {
+          r.hourValues.set(hourBase + i, value);
+        } else if (value != 0) {
+          r.hourValues.addAndGet(hourBase + i, value);
+        }
+      }
+      r.minuteStamps.set(minuteBase / WIDTH, minute);
+      r.hourStamps.set(hourBase / WIDTH, hour);
+    }
+
+    Snapshot snapshot(int productId, Window window, long minute) {
+      long[] totals = new long[WIDTH];
+      for (int i = 0; i < WIDTH; i++) {
+        totals[i] = current[i].sum();
+      }
+
+      Rings r = rings;
+      if (r == null) {
+        return new Snapshot(productId, window, totals);
+      }
+      if (window == Window.DAY) {
+        long hour = Math.floorDiv(minute, 60);
+        for (int slot = 0; slot < HOUR_SLOTS; slot++) {
+          long stamp = r.hourStamps.get(slot);
+          if (stamp > hour - HOUR_SLOTS && stamp <= hour) {
+            addSlot(totals, r.hourValues, slot);
+          }
+        }
+      } else {
+        for (int slot = 0; slot < MINUTE_SLOTS; slot++) {
+          long stamp = r.minuteStamps.get(slot);
+          if (stamp > minute - window.getMinutes() && stamp <= minute) {
+            addSlot(totals, r.minuteValues, slot);
+          }
+        }
+      }
+      return new Snapshot(productId, window, totals);
+    }
+
+    private static void addSlot(long[] totals, AtomicLongArray values, int slot) {
+      int base = slot * WIDTH;
+      for (int i = 0; i < WIDTH; i++) {
+        totals[i] += values.get(base + i);
+      }
+    }
+
+    // 링은 기록이 있는 칸만 (칸 번호, 스탬프, 값) 으로 저장한다 (링이 없으면 0칸)
+    void writeTo(DataOutput out) throws IOException {
+      for (int i = 0; i < WIDTH; i++) {
+        out.writeLong(current[i].sum());
+      }
+      Rings r = rings;
+      if (r == null) {
+        out.writeShort(0);
+        out.writeShort(0);
+        return;
+      }
+      writeSlots(out, r.minuteValues, r.minuteStamps);
+      writeSlots(out, r.hourValues, r.hourStamps);
+    }
+
+    void readFrom(DataInput in) throws IOException {
+      clear();
+      for (int i = 0; i < WIDTH; i++) {
+        current[i].add(in.readLong());
+      }
+      int minuteSlots = in.readShort();
+      if (minuteSlots > 0) {
+        Rings r = ringsForWrite();
+        readSlots(in, minuteSlots, r.minuteValues, r.minuteStamps);
+      }
+      int hourSlots = in.readShort();
+      if (hourSlots > 0) {
+        Rings r = ringsForWrite();
+        readSlots(in, hourSlots, r.hourValues, r.hourStamps);
+      }
+      touched = true;
+    }
+
+    private static void writeSlots(DataOutput out, AtomicLongArray values, AtomicLongArray stamps) throws IOException {
+      int used = 0;
+      for (int slot = 0; slot < stamps.length(); slot++) {
+        if (stamps.get(slot) != Long.MIN_VALUE) used++;
+      }
+      out.writeShort(used);
+      for (int slot = 0; slot < stamps.length(); slot++) {
+        if (stamps.get(slot) == Long.MIN_VALUE) continue;
+        out.writeShort(slot);
+        out.writeLong(stamps.get(slot));
+        for (int i = 0; i < WIDTH; i++) {
+          out.writeLong(values.get(slot * WIDTH + i));
+        }
+      }
+    }
+
+    private static void readSlots(DataInput in, int used, AtomicLongArray values, AtomicLongArray stamps) throws IOException {
+      for (int n = 0; n < used; n++) {
+        int slot = in.readShort();
+        stamps.set(slot, in.readLong());
+        for (int i = 0; i < WIDTH; i++) {
+          values.set(slot * WIDTH + i, in.readLong());
+        }
+      }
+    }
+
+    void clear() {
+      for (int i = 0; i < WIDTH; i++) {
+        current[i].reset();
+      }
+      rings = null;
+      touched = false;
+    }
+  }
+
+  /**
+   * 분 단위(60칸)와 시간 단위(24칸) 링 - 칸마다 담긴 분/시간 번호를 스탬프로 둔다
+   */
+  private static final class Rings {
+    final AtomicLongArray minuteValues = new AtomicLongArray(MINUTE_SLOTS * WIDTH);
+    final AtomicLongArray minuteStamps = new AtomicLongArray(MINUTE_SLOTS);
+    final AtomicLongArray hourValues = new AtomicLongArray(HOUR_SLOTS * WIDTH);
+    final AtomicLongArray hourStamps = new AtomicLongArray(HOUR_SLOTS);
+
+    Rings() {
+      for (int i = 0; i < MINUTE_SLOTS; i++) {
+        minuteStamps.set(i, Long.MIN_VALUE);
+      }
+      for (int i = 0; i < HOUR_SLOTS; i++) {
+        hourStamps.set(i, Long.MIN_VALUE);
+      }
+    }
+  }
+
+  /**
+   * 윈도우 하나의 KPI 값
+   */
+  public static final class Snapshot {
+    private final int productId;
+    private final Window window;
+    private final long[] totals;
+
+    Snapshot(int productId, Window window, long[] totals) {
+      this.productId = productId;
+      this.window = window;
+      this.totals = totals;
+    }
+
+    /**
+     * 제품 ID (전체 집계는 -1)
+     */
+    public int getProductId() {
+      return productId;
+    }
+
+    public Window getWindow() {
+      return window;
+    }
+
+    public long getRevenue() {
+      return totals[REVENUE];
+    }
+
+    public long getUnits() {
+      return totals[UNITS];
+    }
+
+    public long getSales() {
+      return totals[SALES];
+    }
+
+    public long getAttempts() {
+      return totals[ATTEMPTS];
+    }
+
+    public long getStockouts() {
+      return totals[STOCKOUTS];
+    }
+
+    public long getFailures() {
+      return totals[FAILURES];
+    }
+
+    public long getBackorders() {
+      return totals[BACKORDERS];
+    }
+
+    public long getBackordersFilled() {
+      return totals[BACKORDERS_FILLED];
+    }
+
+    /**
+     * 시뮬레이션 초당 판매 건수
+     */
+    public double getSalesPerSecond() {
+      return totals[SALES] / (window.getMinutes() * 60.0);
+    }
+
+    /**
+     * 판매 요청 중 매장 재고 부족 비율 (0~1)
+     */
+    public double getStockoutRate() {
+      return totals[ATTEMPTS] == 0 ? 0 : (double) totals[STOCKOUTS] / totals[ATTEMPTS];
+    }
+
+    /**
+     * 판매로 전환된 대기 주문의 대기 시간 백분위 (시뮬레이션 분, 칸 안에서는 선형 보간)
+     */
+    public double getBackorderAgePercentile(double p) {
+      long count = 0;
+      for (int b = 0; b < AGE_BINS; b++) {
+        count += totals[METRICS + b];
+      }
+      if (count == 0) return 0;
+
+      double rank = Math.max(1, Math.ceil(p * count));
+      long seen = 0;
+      for (int b = 0; b < AGE_BINS; b++) {
+        long inBin = totals[METRICS + b];
+        if (seen + inBin >= rank) {
+          if (b == 0) return 0;
+          double lower = 1L << (b - 1);
+          double upper = 1L << b;
+          return lower + (upper - lower) * (rank - seen) / inBin;
+        }
+        seen += inBin;
+      }
+      return 1L << (AGE_BINS - 1);
+    }
+  }
+}
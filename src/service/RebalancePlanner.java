@@ -0,0 +1,159 @@
+package service;
+
+import dto.StockTransfer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 지점 간 재고 이동 계획
+ *
+ * 지점별 재고(매장 + 창고)와 대기 주문 수량으로 제품마다 모자란 지점과 남는 지점을 나누고, 남는 지점 창고에서 모자란 지점 창고로 보낼 이동을 만든다.
+ * - 모자람 = 대기 주문 + minLevel - 재고, 남음 = min(창고 재고, 재고 - 대기 주문 - maxLevel)
+ *   minLevel < maxLevel 이라 받은 지점이 곧바로 다시 보내는 일이 없다.
+ * - 이동 횟수를 줄이려고 남는 양과 모자란 양이 똑같은 쌍을 먼저 맞추고, 나머지는 큰 쪽끼리 채운다
+ *   (이동 수는 제품마다 많아야 보내는 지점 + 받는 지점 - 1).
+ * 제품끼리는 서로 영향이 없으므로 제품 단위로 병렬 계산하고, 모자람/남음이 없는 지점 행은 담아 두지 않는다.
+ */
+public class RebalancePlanner {
+  private final int minLevel;
+  private final int maxLevel;
+  private final Map<Integer, ProductBalance> products = new HashMap<>();
+  private long rows;
+
+  public RebalancePlanner(int minLevel, int maxLevel) {
+    if (minLevel < 0 || maxLevel < minLevel) {
+      throw new IllegalArgumentException("0 <= minLevel <= maxLevel 이어야 합니다: " + minLevel + ", " + maxLevel);
+    }
+    this.minLevel = minLevel;
+    this.maxLevel = maxLevel;
+  }
+
+  /**
+   * 지점 재고 한 행 추가 (StoreDAO.StockHandler 로 바로 넘길 수 있다)
+   */
+  public void add(int storeId, int productId, int storeQuantity, int warehouseQuantity, int backorderQuantity) {
+    rows++;
+    int available = storeQuantity + warehouseQuantity;
+    int deficit = backorderQuantity + minLevel - available;
+    if (deficit > 0) {
+      products.computeIfAbsent(productId, ProductBalance::new).receivers.add(storeId, deficit);
+      return;
+    }
+    int surplus = Math.min(warehouseQuantity, available - backorderQuantity - maxLevel);
+    if (surplus > 0) {
+      products.computeIfAbsent(productId, ProductBalance::new).donors.add(storeId, surplus);
+    }
+  }
+
+  /**
+   * 지금까지 추가한 지점 재고 행 수
+   */
+  public long getRowCount() {
+    return rows;
+  }
+
+  /**
+   * 이동 계획 (제품 단위 병렬 계산, 같은 입력이면 같은 순서)
+   */
+  public List<StockTransfer> plan() {
+    return products.values().parallelStream()
+        .filter(balance -> balance.donors.size > 0 && balance.receivers.size > 0)
+        .flatMap(balance -> balance.solve().stream())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * 한 제품의 보내는 지점 / 받는 지점 목록
+   */
+  private static final class ProductBalance {
+    final int productId;
+    final Side donors = new Side();
+    final Side receivers = new Side();
+
+    ProductBalance(int productId) {
+      this.productId = productId;
+    }
+
+    List<StockTransfer> solve() {
+      long[] give = donors.sortedDescending();
+      long[] take = receivers.sortedDescending();
+      List<StockTransfer> transfers = new ArrayList<>();
+
+      // 1) 양이 똑같은 쌍은 한 번의 이동으로 끝난다
+      Map<Integer, ArrayDeque<Integer>> takersByAmount = new HashMap<>();
+      for (int j = 0; j < take.length; j++) {
+        takersByAmount.computeIfAbsent(amount(take[j]), k -> new ArrayDeque<>()).add(j);
+      }
+      for (int i = 0; i < give.length; i++) {
+        ArrayDeque<Integer> takers = takersByAmount.get(amount(give[i]));
+        if (takers == null || takers.isEmpty()) continue;
+        int j = takers.poll();
+        transfers.add(new StockTransfer(productId, store(give[i]), store(take[j]), amount(give[i])));
+        give[i] = 0;
+        take[j] = 0;
+      }
+
+      // 2) 남은 양은 큰 쪽끼리 채운다
+      int i = nextNonZero(give, 0);
+      int j = nextNonZero(take, 0);
+      while (i < give.length && j < take.length) {
+        int quantity = Math.min(amount(give[i]), amount(take[j]));
+        transfers.add(new StockTransfer(productId, store(give[i]), store(take[j]), quantity));
+        give[i] = pack(amount(give[i]) - quantity, store(give[i]));
+        take[j] = pack(amount(take[j]) - quantity, store(take[j]));
+        if (amount(give[i]) == 0) i = nextNonZero(give, i + 1);
+        if (amount(take[j]) == 0) j = nextNonZero(take, j + 1);
+      }
+      return transfers;
+    }
+
+    private static int nextNonZero(long[] entries, int from) {
+      while (from < entries.length && amount(entries[from]) == 0) from++;
+      return from;
+    }
+  }
+
+  /**
+   * (수량, 지점 ID) 를 long 하나에 담은 목록 - 정렬하면 수량 순, 같은 수량은 지점 ID 순
+   */
+  private static final class Side {
+    long[] entries = new long[4];
+    int size;
+
+    void add(int storeId, int amount) {
+      if (size == entries.length) {
+        entries = Arrays.copyOf(entries, size * 2);
+      }
+      entries[size++] = pack(amount, storeId);
+    }
+
+    long[] sortedDescending() {
+      long[] sorted = Arrays.copyOf(entries, size);
+      Arrays.sort(sorted);
+      for (int left = 0, right = sorted.length - 1; left < right; left++, right--) {
+        long tmp = sorted[left];
+        sorted[left] = sorted[right];
+        sorted[right] = tmp;
+      }
+      return sorted;
+    }
+  }
+
+  private static long pack(int amount, int storeId) {
+    return ((long) amount << 32) | (storeId & 0xFFFFFFFFL);
+  }
+
+  private static int amount(long entry) {
+    return (int) (entry >>> 32);
+  }
+
+  private static int store(long entry) {
+    return (int) entry;
+  }
+}
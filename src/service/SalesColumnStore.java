@@ -0,0 +1,487 @@
+package service;
+
+import dto.Product;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 판매 항목 컬럼 저장소 (프로세스 내 분석용)
+ *
+ * 커밋된 판매 한 줄을 제품 ID / 제조사 코드 / 수량 / 단가 / 시간 구간 원시 배열에 나눠 담는다.
+ * 행은 청크(64K 행) 단위로 쌓이고 청크마다 시간/제품 ID 최소·최대를 두어, 조건과 겹치지 않는 청크는 읽지 않는다.
+ * 그룹 집계는 청크별로 병렬 실행해 부분 배열을 합치므로 MySQL 을 거치지 않고 수억 행도 바로 답한다.
+ * 기록은 지점마다 writer() 로 받은 Writer 가 자기 청크에만 쓰므로 지점끼리 잠금을 다투지 않는다.
+ * 저장소 잠금은 새 청크를 붙일 때(64K 행마다)와 처음 보는 제품을 사전에 넣을 때만 잡는다.
+ * 읽기는 여러 스레드에서 가능하며 청크의 size 를 volatile 로 공개해 기록 중인 청크도 읽는다.
+ * -Danalytics.max.rows 를 넘으면 오래된 청크부터 버린다 (기본은 5백만 행과 최대 힙의 1/8 중 작은 쪽).
+ */
+public class SalesColumnStore {
+
+  public static final int CHUNK_ROWS = 1 << 16;
+  public static final long DEFAULT_MAX_ROWS = 5_000_000L;
+  private static final int BYTES_PER_ROW = 18;   // int 4개 + short 1개
+
+  /**
+   * 그룹 기준
+   */
+  public enum Dimension {
+    PRODUCT("제품"),
+    MANUFACTURER("제조사"),
+    HOUR("시간"),
+    DAY("날짜"),
+    HOUR_OF_DAY("시간대");
+
+    private final String label;
+
+    Dimension(String label) {
+      this.label = label;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+  }
+
+  private final long maxRows;
+  private volatile Chunk[] chunks = new Chunk[0];
+
+  // 제품 사전 (기록 스레드만 추가, 읽기는 배열 교체로 공개)
+  private volatile int[] manufacturerByProduct = new int[0];
+  private volatile String[] productNames = new String[0];
+  private volatile String[] manufacturers = new String[0];
+  private final Map<String, Integer> manufacturerCodes = new HashMap<>();
+
+  public SalesColumnStore() {
+    this(Long.getLong("analytics.max.rows", defaultMaxRows()));
+  }
+
+  // 기본 한도 - GUI 와 같은 힙을 쓰므로 최대 힙의 1/8 을 넘지 않는다
+  private static long defaultMaxRows() {
+    return Math.min(DEFAULT_MAX_ROWS, Runtime.getRuntime().maxMemory() / 8 / BYTES_PER_ROW);
+  }
+
+  public SalesColumnStore(long maxRows) {
+    this.maxRows = Math.max(CHUNK_ROWS, maxRows);
+  }
+
+  /**
+   * 지점 하나의 기록기 (지점마다 하나씩 받아 쓴다)
+   */
+  public Writer writer() {
+    return new Writer();
+  }
+
+  /**
+   * 자기 청크에만 행을 쓰는 기록기 - 같은 Writer 를 쓰는 스레드끼리만 잠금을 다툰다
+   */
+  public final class Writer {
+    private Chunk active;
+
+    private Writer() {
+    }
+
+    /**
+     * 판매 한 줄 추가 (판매가 커밋된 뒤 호출)
+     */
+    public synchronized void append(Product product, int quantity, int unitPrice, LocalDateTime soldAt) {
+      int productId = product.getProductId();
+      int manufacturer = register(product);
+      // 가득 찼거나 한도/clear 로 저장소에서 빠진 청크에는 더 쓰지 않는다
+      if (active == null || active.size == CHUNK_ROWS || active.dropped) {
+        active = new Chunk();
+        addChunk(active);
+      }
+      active.add(productId, manufacturer, quantity, unitPrice, toHour(soldAt));
+    }
+  }
+
+  private synchronized void addChunk(Chunk chunk) {
+    Chunk[] current = chunks;
+    int keep = current.length;
+    // 새 청크를 포함해 한도를 넘으면 앞쪽 청크를 버린다
+    long excess = (long) (keep + 1) * CHUNK_ROWS - maxRows;
+    int drop = excess <= 0 ? 0 : (int) Math.min(keep, (excess + CHUNK_ROWS - 1) / CHUNK_ROWS);
+    for (int i = 0; i < drop; i++) {
+      current[i].dropped = true;
+    }
+    Chunk[] next = Arrays.copyOfRange(current, drop, keep + 1);
+    next[next.length - 1] = chunk;
+    chunks = next;
+  }
+
+  // 제조사 코드 (등록된 제품은 잠금 없이 배열에서 읽는다)
+  private int register(Product product) {
+    int productId = product.getProductId();
+    int[] byProduct = manufacturerByProduct;
+    if (productId < byProduct.length && byProduct[productId] > 0) {
+      return byProduct[productId] - 1;
+    }
+    return registerNew(product);
+  }
+
+  private synchronized int registerNew(Product product) {
+    int productId = product.getProductId();
+    int[] byProduct = manufacturerByProduct;
+    if (productId < byProduct.length && byProduct[productId] > 0) {
+      return byProduct[productId] - 1;
+    }
+
+    Integer code = manufacturerCodes.get(product.getManufacturer());
+    if (code == null) {
+      code = manufacturerCodes.size();
+      manufacturerCodes.put(product.getManufacturer(), code);
+      String[] names = Arrays.copyOf(manufacturers, code + 1);
+      names[code] = product.getManufacturer();
+      manufacturers = names;
+    }
+
+    String[] names = productNames;
+    if (productId >= byProduct.length) {
+      int length = Math.max(productId + 1, byProduct.length * 2);
+      byProduct = Arrays.copyOf(byProduct, length);
+      names = Arrays.copyOf(names, length);
+    } else {
+      byProduct = byProduct.clone();
+      names = names.clone();
+    }
+    byProduct[productId] = code + 1;   // 0 은 미등록
+    names[productId] = product.getName();
+    productNames = names;
+    manufacturerByProduct = byProduct;
+    return code;
+  }
+
+  /**
+   * 전체 비우기
+   */
+  public synchronized void clear() {
+    for (Chunk chunk : chunks) {
+      chunk.dropped = true;
+    }
+    chunks = new Chunk[0];
+  }
+
+  public long getRowCount() {
+    long rows = 0;
+    for (Chunk chunk : chunks) {
+      rows += chunk.size;
+    }
+    return rows;
+  }
+
+  public int getChunkCount() {
+    return chunks.length;
+  }
+
+  /**
+   * 조건에 맞는 판매 줄을 dimension 으로 묶어 수량/매출/줄 수 합계
+   *
+   * @param from         시작 일시 (포함, null 이면 제한 없음) - 시간 단위로 내림
+   * @param to           종료 일시 (제외, null 이면 제한 없음) - 시간 단위로 올림
+   * @param productId    제품 ID (0 이면 전체)
+   * @param manufacturer 제조사 (null 이면 전체)
+   * @return 그룹 키 순 결과
+   */
+  public Result aggregate(Dimension dimension, LocalDateTime from, LocalDateTime to, int productId, String manufacturer) {
+    long start = System.nanoTime();
+    Chunk[] snapshot = chunks;
+    int[] byProduct = manufacturerByProduct;
+    String[] productLabels = productNames;
+    String[] manufacturerLabels = manufacturers;
+
+    int fromHour = from == null ? Integer.MIN_VALUE : toHour(from);
+    int toHour = to == null ? Integer.MAX_VALUE : ceilHour(to);
+    int manufacturerCode = -1;
+    if (manufacturer != null) {
+      manufacturerCode = Arrays.asList(manufacturerLabels).indexOf(manufacturer);
+      if (manufacturerCode < 0) {
+        return new Result(dimension, Collections.emptyList(), 0, 0, System.nanoTime() - start);
+      }
+    }
+    Filter filter = new Filter(fromHour, toHour, productId, manufacturerCode);
+
+    // 키 범위를 먼저 정해 청크마다 같은 크기의 밀집 배열에 더한다
+    int keyBase;
+    int keyCount;
+    switch (dimension) {
+      case PRODUCT:
+        int maxProduct = -1;
+        for (Chunk chunk : snapshot) {
+          if (!filter.skips(chunk)) maxProduct = Math.max(maxProduct, chunk.maxProduct);
+        }
+        keyBase = 0;
+        keyCount = Math.min(maxProduct + 1, byProduct.length);
+        break;
+      case MANUFACTURER:
+        keyBase = 0;
+        keyCount = manufacturerLabels.length;
+        break;
+      case HOUR_OF_DAY:
+        keyBase = 0;
+        keyCount = 24;
+        break;
+      default:
+        int minHour = Integer.MAX_VALUE;
+        int maxHour = Integer.MIN_VALUE;
+        for (Chunk chunk : snapshot) {
+          if (filter.skips(chunk)) continue;
+          minHour = Math.min(minHour, Math.max(chunk.minHour, fromHour));
+          maxHour = Math.max(maxHour, Math.min(chunk.maxHour, toHour - 1));
+        }
+        if (minHour > maxHour) {
+          keyBase = 0;
+          keyCount = 0;
+        } else if (dimension == Dimension.DAY) {
+          keyBase = Math.floorDiv(minHour, 24);
+          keyCount = Math.floorDiv(maxHour, 24) - keyBase + 1;
+        } else {
+          keyBase = minHour;
+          keyCount = maxHour - minHour + 1;
+        }
+    }
+
+    int base = keyBase;
+    int count = keyCount;
+    Partial total = Arrays.stream(snapshot).parallel()
+        .filter(chunk -> !filter.skips(chunk))
+        .collect(() -> new Partial(count),
+            (partial, chunk) -> chunk.aggregate(dimension, filter, base, partial),
+            Partial::merge);
+
+    List<Group> groups = new ArrayList<>();
+    for (int key = 0; key < count; key++) {
+      if (total.lines[key] == 0) continue;
+      groups.add(new Group(label(dimension, key + base, productLabels, manufacturerLabels),
+          total.units[key], total.revenue[key], total.lines[key]));
+    }
+    return new Result(dimension, groups, total.scannedRows, total.scannedChunks, System.nanoTime() - start);
+  }
+
+  private static String label(Dimension dimension, int key, String[] productLabels, String[] manufacturerLabels) {
+    switch (dimension) {
+      case PRODUCT:
+        return key + " " + productLabels[key];
+      case MANUFACTURER:
+        return manufacturerLabels[key];
+      case HOUR:
+        return LocalDateTime.ofEpochSecond(key * 3600L, 0, ZoneOffset.UTC).toString().replace('T', ' ');
+      case DAY:
+        return LocalDate.ofEpochDay(key).toString();
+      default:
+        return String.format("%02d시", key);
+    }
+  }
+
+  // epoch 기준 시간 번호 (시뮬레이션 시각을 시간대 없이 그대로 쓴다)
+  private static int toHour(LocalDateTime time) {
+    return (int) Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600L);
+  }
+
+  private static int ceilHour(LocalDateTime time) {
+    return (int) -Math.floorDiv(-time.toEpochSecond(ZoneOffset.UTC), 3600L);
+  }
+
+  /**
+   * 조회 조건 (청크 단위 건너뛰기와 행 단위 검사)
+   */
+  private static final class Filter {
+    final int fromHour;
+    final int toHour;
+    final int productId;
+    final int manufacturer;
+
+    Filter(int fromHour, int toHour, int productId, int manufacturer) {
+      this.fromHour = fromHour;
+      this.toHour = toHour;
+      this.productId = productId;
+      this.manufacturer = manufacturer;
+    }
+
+    boolean skips(Chunk chunk) {
+      return chunk.size == 0 || chunk.maxHour < fromHour || chunk.minHour >= toHour
+          || (productId > 0 && (productId < chunk.minProduct || productId > chunk.maxProduct));
+    }
+
+    // 청크 전체가 시간 범위 안이면 행마다 시간을 검사하지 않는다
+    boolean coversTime(Chunk chunk) {
+      return chunk.minHour >= fromHour && chunk.maxHour < toHour;
+    }
+  }
+
+  /**
+   * 병렬 작업 하나의 부분 합계
+   */
+  private static final class Partial {
+    final long[] units;
+    final long[] revenue;
+    final long[] lines;
+    long scannedRows;
+    int scannedChunks;
+
+    Partial(int keys) {
+      units = new long[keys];
+      revenue = new long[keys];
+      lines = new long[keys];
+    }
+
+    void merge(Partial other) {
+      for (int i = 0; i < units.length; i++) {
+        units[i] += other.units[i];
+        revenue[i] += other.revenue[i];
+        lines[i] += other.lines[i];
+      }
+      scannedRows += other.scannedRows;
+      scannedChunks += other.scannedChunks;
+    }
+  }
+
+  /**
+   * 청크 - 컬럼 배열과 최소/최대
+   */
+  private static final class Chunk {
+    final int[] productIds = new int[CHUNK_ROWS];
+    final short[] manufacturers = new short[CHUNK_ROWS];
+    final int[] quantities = new int[CHUNK_ROWS];
+    final int[] unitPrices = new int[CHUNK_ROWS];
+    final int[] hours = new int[CHUNK_ROWS];
+    volatile int size;
+    volatile int minHour = Integer.MAX_VALUE;
+    volatile int maxHour = Integer.MIN_VALUE;
+    volatile int minProduct = Integer.MAX_VALUE;
+    volatile int maxProduct = Integer.MIN_VALUE;
+    volatile boolean dropped;   // 저장소에서 빠짐 (기록기가 새 청크로 넘어간다)
+
+    void add(int productId, int manufacturer, int quantity, int unitPrice, int hour) {
+      int row = size;
+      productIds[row] = productId;
+      manufacturers[row] = (short) manufacturer;
+      quantities[row] = quantity;
+      unitPrices[row] = unitPrice;
+      hours[row] = hour;
+      if (hour < minHour) minHour = hour;
+      if (hour > maxHour) maxHour = hour;
+      if (productId < minProduct) minProduct = productId;
+      if (productId > maxProduct) maxProduct = productId;
+      size = row + 1;   // 마지막에 써서 읽기 스레드에 행 공개
+    }
+
+    void aggregate(Dimension dimension, Filter filter, int keyBase, Partial partial) {
+      int rows = size;
+      boolean checkTime = !filter.coversTime(this);
+      int keys = partial.lines.length;
+
+      for (int row = 0; row < rows; row++) {
+        int hour = hours[row];
+        if (checkTime && (hour < filter.fromHour || hour >= filter.toHour)) continue;
+        if (filter.productId > 0 && productIds[row] != filter.productId) continue;
+        if (filter.manufacturer >= 0 && manufacturers[row] != filter.manufacturer) continue;
+
+        int key;
+        switch (dimension) {
+          case PRODUCT:
+            key = productIds[row];
+            break;
+          case MANUFACTURER:
+            key = manufacturers[row];
+            break;
+          case HOUR:
+            key = hour - keyBase;
+            break;
+          case DAY:
+            key = Math.floorDiv(hour, 24) - keyBase;
+            break;
+          default:
+            key = Math.floorMod(hour, 24);
+        }
+        if (key < 0 || key >= keys) continue;   // 조회 시작 뒤 추가된 제품/시간
+
+        int quantity = quantities[row];
+        partial.units[key] += quantity;
+        partial.revenue[key] += (long) quantity * unitPrices[row];
+        partial.lines[key]++;
+      }
+      partial.scannedRows += rows;
+      partial.scannedChunks++;
+    }
+  }
+
+  /**
+   * 그룹 하나의 합계
+   */
+  public static final class Group {
+    private final String label;
+    private final long units;
+    private final long revenue;
+    private final long lines;
+
+    Group(String label, long units, long revenue, long lines) {
+      this.label = label;
+      this.units = units;
+      this.revenue = revenue;
+      this.lines = lines;
+    }
+
+    public String getLabel() {
+      return label;
+    }
+
+    public long getUnits() {
+      return units;
+    }
+
+    public long getRevenue() {
+      return revenue;
+    }
+
+    public long getLines() {
+      return lines;
+    }
+  }
+
+  /**
+   * 집계 결과 (그룹 목록과 읽은 행/청크 수, 걸린 시간)
+   */
+  public static final class Result {
+    private final Dimension dimension;
+    private final List<Group> groups;
+    private final long scannedRows;
+    private final int scannedChunks;
+    private final long elapsedNanos;
+
+    Result(Dimension dimension, List<Group> groups, long scannedRows, int scannedChunks, long elapsedNanos) {
+      this.dimension = dimension;
+      this.groups = groups;
+      this.scannedRows = scannedRows;
+      this.scannedChunks = scannedChunks;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public Dimension getDimension() {
+      return dimension;
+    }
+
+    public List<Group> getGroups() {
+      return groups;
+    }
+
+    public long getScannedRows() {
+      return scannedRows;
+    }
+
+    public int getScannedChunks() {
+      return scannedChunks;
+    }
+
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+  }
+}
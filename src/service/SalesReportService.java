@@ -0,0 +1,300 @@
+package service;
+
+import dao.ProductDAO;
+import dao.RollupDAO;
+import dao.SaleDAO;
+import dto.Product;
+import dto.SalesRollup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 일일 판매 보고서 생성 서비스
+ *
+ * 해당 날짜(시뮬레이션 날짜)의 판매를 sales + sale_items + products 조인 결과로 스트리밍해 상세 CSV 를 쓰고,
+ * 제품/제조사/시간대별 요약은 판매 때 함께 누적된 시간 집계(sales_hourly, 하루 최대 24 x 제품 수 행)로 만든다.
+ * 집계를 남기지 않는 판매 원장 모드(SaleDAO.hasRollups 가 false)에서는 CSV 를 쓰며 읽은 행을 직접 합산한다.
+ * 누적 상태는 제품 수와 24시간 배열뿐이라 판매량과 무관하게 메모리가 일정하다.
+ * 보고서는 전용 스레드 하나에서 순서대로 만들어지므로 시뮬레이션 스레드를 막지 않는다.
+ */
+public class SalesReportService {
+
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private final SaleDAO saleDAO;
+  private final RollupDAO rollupDAO;
+  private final ProductDAO productDAO;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "sales-report");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public SalesReportService() {
+    this(SaleDAO.create(), new RollupDAO(), new ProductDAO());
+  }
+
+  public SalesReportService(SaleDAO saleDAO, RollupDAO rollupDAO, ProductDAO productDAO) {
+    this.saleDAO = saleDAO;
+    this.rollupDAO = rollupDAO;
+    this.productDAO = productDAO;
+  }
+
+  /**
+   * 보고서 생성 예약 - date 하루 동안의 판매를 보고서로 저장
+   */
+  public CompletableFuture<Report> scheduleReport(LocalDate date, Path directory) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return writeReport(date, directory);
+      } catch (IOException | SQLException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  /**
+   * 보고서 생성 (호출 스레드에서 실행)
+   */
+  public synchronized Report writeReport(LocalDate date, Path directory) throws IOException, SQLException {
+    long start = System.nanoTime();
+    LocalDateTime from = date.atStartOfDay();
+    LocalDateTime to = date.plusDays(1).atStartOfDay();
+
+    Files.createDirectories(directory);
+    Path csvPath = directory.resolve("sales-" + date + ".csv");
+    Path summaryPath = directory.resolve("sales-" + date + "-summary.txt");
+    Aggregator aggregator = new Aggregator();
+    boolean fromRollups = saleDAO.hasRollups();
+    long lines;
+
+    try (BufferedWriter csv = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8)) {
+      csv.write("sale_id,sale_date,product_id,name,manufacturer,quantity,unit_price,total_price\n");
+      StringBuilder line = new StringBuilder(128);
+      lines = saleDAO.streamSaleLines(from, to, (saleId, saleDate, productId, name, manufacturer, quantity, unitPrice, totalPrice) -> {
+        line.setLength(0);
+        line.append(saleId).append(',')
+            .append(saleDate == null ? "" : DATE_TIME.format(saleDate.toLocalDateTime())).append(',')
+            .append(productId).append(',');
+        appendCsv(line, name).append(',');
+        appendCsv(line, manufacturer).append(',')
+            .append(quantity).append(',')
+            .append(unitPrice).append(',')
+            .append(totalPrice).append('\n');
+        csv.append(line);
+        if (!fromRollups) {
+          aggregator.add(saleId, saleDate, productId, name, manufacturer, quantity, totalPrice);
+        }
+      });
+    }
+
+    if (fromRollups) {
+      List<SalesRollup> rollups = rollupDAO.getHourlyRollups(from, to);
+      Map<Integer, Product> products = new HashMap<>();
+      if (!rollups.isEmpty()) {
+        for (Product product : productDAO.getAllProducts()) {
+          products.put(product.getProductId(), product);
+        }
+      }
+      for (SalesRollup rollup : rollups) {
+        aggregator.add(rollup, products.get(rollup.getProductId()));
+      }
+      aggregator.lines = lines;
+    }
+
+    Report report = new Report(date, aggregator, csvPath, summaryPath, System.nanoTime() - start);
+    Files.writeString(summaryPath, report.formatSummary(), StandardCharsets.UTF_8);
+    return report;
+  }
+
+  private static StringBuilder appendCsv(StringBuilder sb, String value) {
+    if (value == null) return sb;
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+      return sb.append(value);
+    }
+    return sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+  }
+
+  /**
+   * 보고서 스레드 종료 (대기 중인 보고서는 마저 만든다)
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * 제품별 합계
+   */
+  public static final class ProductTotals {
+    public final int productId;
+    public final String name;
+    public final String manufacturer;
+    public long lines;
+    public long units;
+    public long revenue;
+
+    ProductTotals(int productId, String name, String manufacturer) {
+      this.productId = productId;
+      this.name = name;
+      this.manufacturer = manufacturer;
+    }
+  }
+
+  /**
+   * 한 번 읽으며 누적하는 합계
+   */
+  private static final class Aggregator {
+    private final Map<Integer, ProductTotals> products = new HashMap<>();
+    private final long[] hourSales = new long[24];
+    private final long[] hourUnits = new long[24];
+    private final long[] hourRevenue = new long[24];
+    private long lastSaleId = -1;
+    private long sales;
+    private long lines;
+    private long units;
+    private long revenue;
+
+    void add(int saleId, Timestamp saleDate, int productId, String name, String manufacturer, int quantity, int totalPrice) {
+      int hour = saleDate == null ? 0 : saleDate.toLocalDateTime().getHour();
+      if (saleId != lastSaleId) {   // 판매 ID 순으로 오므로 바뀔 때마다 판매 한 건
+        lastSaleId = saleId;
+        sales++;
+        hourSales[hour]++;
+      }
+      ProductTotals totals = products.get(productId);
+      if (totals == null) {
+        totals = new ProductTotals(productId, name, manufacturer);
+        products.put(productId, totals);
+      }
+      totals.lines++;
+      totals.units += quantity;
+      totals.revenue += totalPrice;
+      hourUnits[hour] += quantity;
+      hourRevenue[hour] += totalPrice;
+      lines++;
+      units += quantity;
+      revenue += totalPrice;
+    }
+
+    // 판매 한 건은 상세 한 행이므로 집계의 판매 건수가 곧 판매/상세 행 수 (전체 상세 행 수는 CSV 에서 센다)
+    void add(SalesRollup rollup, Product product) {
+      int hour = rollup.getBucketStart().getHour();
+      ProductTotals totals = products.get(rollup.getProductId());
+      if (totals == null) {
+        totals = product == null
+            ? new ProductTotals(rollup.getProductId(), null, null)
+            : new ProductTotals(rollup.getProductId(), product.getName(), product.getManufacturer());
+        products.put(rollup.getProductId(), totals);
+      }
+      totals.lines += rollup.getSaleCount();
+      totals.units += rollup.getUnits();
+      totals.revenue += rollup.getRevenue();
+      hourSales[hour] += rollup.getSaleCount();
+      hourUnits[hour] += rollup.getUnits();
+      hourRevenue[hour] += rollup.getRevenue();
+      sales += rollup.getSaleCount();
+      units += rollup.getUnits();
+      revenue += rollup.getRevenue();
+    }
+  }
+
+  /**
+   * 보고서 결과
+   */
+  public static final class Report {
+    private final LocalDate date;
+    private final Aggregator totals;
+    private final Path csvPath;
+    private final Path summaryPath;
+    private final long elapsedNanos;
+
+    Report(LocalDate date, Aggregator totals, Path csvPath, Path summaryPath, long elapsedNanos) {
+      this.date = date;
+      this.totals = totals;
+      this.csvPath = csvPath;
+      this.summaryPath = summaryPath;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public LocalDate getDate() { return date; }
+    public long getSales() { return totals.sales; }
+    public long getLines() { return totals.lines; }
+    public long getUnits() { return totals.units; }
+    public long getRevenue() { return totals.revenue; }
+    public Path getCsvPath() { return csvPath; }
+    public Path getSummaryPath() { return summaryPath; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * 매출 순 제품 합계
+     */
+    public List<ProductTotals> getProductTotals() {
+      List<ProductTotals> list = new ArrayList<>(totals.products.values());
+      list.sort((a, b) -> Long.compare(b.revenue, a.revenue));
+      return list;
+    }
+
+    /**
+     * 제조사별 [수량, 매출]
+     */
+    public Map<String, long[]> getManufacturerTotals() {
+      Map<String, long[]> result = new TreeMap<>();
+      for (ProductTotals p : totals.products.values()) {
+        long[] sum = result.computeIfAbsent(String.valueOf(p.manufacturer), k -> new long[2]);
+        sum[0] += p.units;
+        sum[1] += p.revenue;
+      }
+      return result;
+    }
+
+    public String formatSummary() {
+      StringBuilder sb = new StringBuilder();
+      sb.append("# 일일 판매 보고서 ").append(date).append(" (생성: ").append(LocalDateTime.now()).append(")\n");
+      sb.append(String.format("판매 %,d건 / 상세 %,d행 / 수량 %,d개 / 매출 %,d원 (%.2f초)%n%n",
+          totals.sales, totals.lines, totals.units, totals.revenue, elapsedNanos / 1e9));
+
+      sb.append("## 제조사별\n");
+      sb.append(String.format("%-16s %10s %16s%n", "제조사", "수량", "매출"));
+      for (Map.Entry<String, long[]> e : getManufacturerTotals().entrySet()) {
+        sb.append(String.format("%-16s %,10d %,16d%n", e.getKey(), e.getValue()[0], e.getValue()[1]));
+      }
+
+      sb.append("\n## 시간대별\n");
+      sb.append(String.format("%-6s %8s %10s %16s%n", "시", "판매", "수량", "매출"));
+      for (int h = 0; h < 24; h++) {
+        if (totals.hourSales[h] == 0) continue;
+        sb.append(String.format("%02d시   %,8d %,10d %,16d%n", h, totals.hourSales[h], totals.hourUnits[h], totals.hourRevenue[h]));
+      }
+
+      sb.append("\n## 제품별 (매출 순)\n");
+      sb.append(String.format("%-8s %-30s %-14s %10s %16s%n", "ID", "제품", "제조사", "수량", "매출"));
+      for (ProductTotals p : getProductTotals()) {
+        sb.append(String.format("%-8d %-30s %-14s %,10d %,16d%n", p.productId, p.name, p.manufacturer, p.units, p.revenue));
+      }
+      return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s 판매 %,d건, 매출 %,d원 -> %s", date, totals.sales, totals.revenue, csvPath);
+    }
+  }
+}
@@ -1,21 +1,65 @@
 package service;
 
+import common.EventBus;
+import common.LatencyHistogram;
 import dao.ProductDAO;
 import dao.SaleDAO;
+import dao.StoreDAO;
+import dto.InventoryEvent;
 import dto.Product;
 import dto.SaleItem;
+import dto.WaitingOrder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import jfr.SaleEvent;
+import jfr.WaitingOrderBatchEvent;
+import jfr.WaitingOrderEvent;
 
 /**
  * 판매 관련 비즈니스 로직 서비스
+ *
+ * 지점 하나의 판매를 맡는다. 지점끼리 같이 쓰는 판매 테이블/집계와 분석용 컬럼 저장소의 초기화, 파티션 관리는 본점 서비스만 한다.
+ * 지점 서비스는 본점의 컬럼 저장소를 받아 같이 기록하므로 판매 분석도 보고서/집계처럼 전 지점 합계다.
  */
 public class SalesService {
   private SaleDAO saleDAO;
   private ProductDAO productDAO;
   private InventoryService inventoryService;
-  private List<SalesListener> salesListeners = new ArrayList<>();
-  private List<WaitingOrderListener> waitingOrderListeners = new ArrayList<>();
+  private final boolean ownsSharedTables;
+  private final List<EventBus.Subscription<SalesListener>> salesListeners = new CopyOnWriteArrayList<>();
+  private final List<EventBus.Subscription<WaitingOrderListener>> waitingOrderListeners = new CopyOnWriteArrayList<>();
+
+  // 운영 지표
+  private final LongAdder completedSales = new LongAdder();
+  private final LongAdder failedSales = new LongAdder();
+  private final LongAdder waitingOrderRegistrations = new LongAdder();
+  private final LongAdder fulfilledWaitingOrders = new LongAdder();
+  private final LongAdder revenue = new LongAdder();
+  private final KpiAggregator kpi = new KpiAggregator();
+  private final SalesColumnStore columnStore;
+  private final SalesColumnStore.Writer columnWriter;
+  private final LatencyHistogram saleLatency = new LatencyHistogram();
+  // 판매 일시와 집계 구간을 정하는 시뮬레이션 시각 (시계가 없으면 실제 시각)
+  private volatile LocalDateTime simulatedTime;
+
+  // 판매 파티션 관리 - 준비된 마지막 날짜와 보존 일수 (-Dsales.retention.days, 0 이면 삭제하지 않음)
+  private static final int PARTITION_AHEAD_DAYS = 14;
+  private final int retentionDays = Integer.getInteger("sales.retention.days", 0);
+  private LocalDate partitionHorizon;
+  private LocalDate lastMaintainedDate;
 
   /**
    * 판매 이벤트 리스너 인터페이스
@@ -36,9 +80,27 @@ public class SalesService {
    * 파라미터 없는 생성자
    */
   public SalesService() {
-    this.saleDAO = new SaleDAO();
-    this.productDAO = new ProductDAO();
-    this.inventoryService = new InventoryService();
+    this(SaleDAO.create(), new ProductDAO(), new InventoryService());
+  }
+
+  /**
+   * DAO 와 재고 서비스 지정 생성자 (벤치마크의 메모리 DAO 등)
+   */
+  public SalesService(SaleDAO saleDAO, ProductDAO productDAO, InventoryService inventoryService) {
+    this(saleDAO, productDAO, inventoryService, new SalesColumnStore());
+  }
+
+  /**
+   * 컬럼 저장소 지정 생성자 (지점 서비스는 본점 서비스의 저장소를 같이 쓰되 기록기는 지점마다 따로 둔다)
+   */
+  public SalesService(SaleDAO saleDAO, ProductDAO productDAO, InventoryService inventoryService,
+      SalesColumnStore columnStore) {
+    this.saleDAO = saleDAO;
+    this.productDAO = productDAO;
+    this.inventoryService = inventoryService;
+    this.columnStore = columnStore;
+    this.columnWriter = columnStore.writer();
+    this.ownsSharedTables = saleDAO.getStoreId() == StoreDAO.MAIN_STORE_ID;
 
     initializeDatabase();
 
@@ -72,12 +134,21 @@ public class SalesService {
    */
   private void initializeDatabase() {
     try {
-      // 대기 주문 초기화
+      // 지점 대기 주문 초기화
       saleDAO.clearWaitingOrders();
 
-      // 판매 내역 초기화
-      saleDAO.clearSaleItems();
-      saleDAO.clearSales();
+      // 판매 내역 초기화 (체크포인트에서 이어하면 판매 기록은 유지하고 복원 때 체크포인트 이후분만 지운다)
+      if (System.getProperty("checkpoint.resume") == null) {
+        if (ownsSharedTables) {
+          saleDAO.clearSaleItems();
+          saleDAO.clearSales();
+          saleDAO.clearSaleRollups();
+        }
+        productDAO.resetInventoryHistory();
+      }
+      if (ownsSharedTables) {
+        columnStore.clear();
+      }
 
       System.out.println("✅ 판매 관련 데이터베이스 테이블이 초기화되었습니다.");
     } catch (Exception e) {
@@ -86,25 +157,96 @@ public class SalesService {
   }
 
   /**
-   * 판매 리스너 등록
+   * 시뮬레이션 시각 갱신 (KPI 윈도우를 시뮬레이션 시간 기준으로 넘긴다)
+   */
+  public void setSimulatedTime(LocalDate date, LocalTime time) {
+    if (ownsSharedTables && !date.equals(lastMaintainedDate)) {
+      maintainSalePartitions(date);
+    }
+    simulatedTime = LocalDateTime.of(date, time);
+    kpi.advanceTo(KpiAggregator.toMinute(date, time));
+  }
+
+  /**
+   * 날짜가 바뀔 때 판매 파티션 관리 - 앞으로 쓸 날짜 파티션을 미리 만들고 보존 기간이 지난 파티션은 삭제
+   */
+  private synchronized void maintainSalePartitions(LocalDate date) {
+    if (date.equals(lastMaintainedDate)) return;
+    lastMaintainedDate = date;
+
+    if (partitionHorizon == null || !date.isBefore(partitionHorizon.minusDays(PARTITION_AHEAD_DAYS / 2))) {
+      LocalDate through = date.plusDays(PARTITION_AHEAD_DAYS);
+      int added = saleDAO.ensureSalePartitions(date, through);
+      partitionHorizon = through;
+      if (added > 0) {
+        System.out.println("🗂️ 판매 파티션 " + added + "개 추가 (~" + through + ")");
+      }
+    }
+    if (retentionDays > 0) {
+      int dropped = saleDAO.dropSalePartitionsBefore(date.minusDays(retentionDays));
+      if (dropped > 0) {
+        System.out.println("🗑️ 보존 기간(" + retentionDays + "일)이 지난 판매 파티션 " + dropped + "개 삭제");
+      }
+    }
+  }
+
+  LocalDateTime currentSaleTime() {
+    LocalDateTime time = simulatedTime;
+    return time != null ? time : LocalDateTime.now();
+  }
+
+  /**
+   * 판매 리스너 등록 (큐가 가득 차면 판매 처리가 대기)
    */
   public void addSalesListener(SalesListener listener) {
-    salesListeners.add(listener);
+    addSalesListener(listener, EventBus.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * 판매 리스너 등록 (큐 초과 정책 지정)
+   */
+  public void addSalesListener(SalesListener listener, EventBus.OverflowPolicy policy) {
+    salesListeners.add(EventBus.getDefault().subscribe("sales", listener, policy, EventBus.DEFAULT_CAPACITY));
   }
 
   /**
-   * 대기 주문 리스너 등록
+   * 대기 주문 리스너 등록 (큐가 가득 차면 대기 주문 처리가 대기)
    */
   public void addWaitingOrderListener(WaitingOrderListener listener) {
-    waitingOrderListeners.add(listener);
+    addWaitingOrderListener(listener, EventBus.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * 대기 주문 리스너 등록 (큐 초과 정책 지정)
+   */
+  public void addWaitingOrderListener(WaitingOrderListener listener, EventBus.OverflowPolicy policy) {
+    waitingOrderListeners.add(EventBus.getDefault().subscribe("waiting", listener, policy, EventBus.DEFAULT_CAPACITY));
   }
 
   /**
    * 판매 처리 - 매장 재고만 사용
    */
   public int processSale(int productId, int quantity) {
+    SaleEvent event = new SaleEvent();
+    event.begin();
+    event.productId = productId;
+    event.quantity = quantity;
+    event.outcome = SaleEvent.FAILED;
+    event.saleId = -1;
+    long start = System.nanoTime();
+    try {
+      return sell(productId, quantity, event);
+    } finally {
+      saleLatency.record(System.nanoTime() - start);
+      event.commit();
+    }
+  }
+
+  private int sell(int productId, int quantity, SaleEvent event) {
     Product product = productDAO.getProductById(productId);
     if (product == null) {
+      failedSales.increment();
+      kpi.recordFailure(productId);
       notifySaleFailed(productId, quantity, "제품을 찾을 수 없습니다.");
       return -1;
     }
@@ -112,37 +254,59 @@ public class SalesService {
     // 수정: 매장 재고만 확인
     if (product.getStoreQuantity() >= quantity) {
       // 매장 재고 감소
-      int newStoreQty = product.getStoreQuantity() - quantity;
-      boolean stockUpdated = productDAO.updateInventory(
-          productId, newStoreQty, product.getWarehouseQuantity());
+      boolean stockUpdated = productDAO.moveStock(productId, InventoryEvent.Type.SALE, -quantity, 0,
+          currentSaleTime());
 
       if (stockUpdated) {
         // 재고 변경 알림
         inventoryService.fireInventoryChangedEvent();
         // 판매 완료 처리
-        return completeSale(productId, quantity, product.getPrice());
+        int saleId = completeSale(product, quantity);
+        if (saleId > 0) {
+          event.outcome = SaleEvent.COMPLETED;
+          event.saleId = saleId;
+          event.totalAmount = quantity * product.getPrice();
+          kpi.recordSale(productId, quantity, event.totalAmount);
+        } else {
+          kpi.recordFailure(productId);
+        }
+        return saleId;
       } else {
+        failedSales.increment();
+        kpi.recordFailure(productId);
         notifySaleFailed(productId, quantity, "재고 업데이트 중 오류가 발생했습니다.");
         return -1;
       }
     } else {
       // 매장 재고 부족 시 대기 주문 등록
-      return registerWaitingOrder(productId, quantity);
+      kpi.recordStockout(productId);
+      if (registerWaitingOrder(productId, quantity)) {
+        event.outcome = SaleEvent.WAITING;
+      }
+      return -1;
     }
   }
 
   /**
    * 판매 완료 처리
    */
-  private int completeSale(int productId, int quantity, int unitPrice) {
+  private int completeSale(Product product, int quantity) {
+    int productId = product.getProductId();
+    int unitPrice = product.getPrice();
     int totalAmount = quantity * unitPrice;
-    int saleId = saleDAO.createSale(totalAmount);
-
-    if (saleId > 0 && saleDAO.addSaleItem(saleId, productId, quantity, unitPrice, totalAmount)) {
+    LocalDateTime soldAt = currentSaleTime();
+    // 판매/판매 항목/시간·일 집계를 한 트랜잭션으로 저장
+    int saleId = saleDAO.recordSale(productId, quantity, unitPrice, soldAt);
+
+    if (saleId > 0) {
+      completedSales.increment();
+      revenue.add(totalAmount);
+      columnWriter.append(product, quantity, unitPrice, soldAt);
       notifySaleCompleted(saleId, totalAmount);
       return saleId;
     }
 
+    failedSales.increment();
     notifySaleFailed(productId, quantity, "판매 정보 저장 중 오류가 발생했습니다.");
     return -1;
   }
@@ -150,16 +314,19 @@ public class SalesService {
   /**
    * 대기 주문 등록
    */
-  private int registerWaitingOrder(int productId, int quantity) {
+  private boolean registerWaitingOrder(int productId, int quantity) {
     int orderId = productDAO.createWaitingOrder(productId, quantity);
 
     if (orderId > 0) {
+      waitingOrderRegistrations.increment();
+      kpi.recordBackorder(productId, orderId);
       notifySaleFailed(productId, quantity, "재고 부족으로 대기 주문으로 등록되었습니다.");
-    } else {
-      notifySaleFailed(productId, quantity, "대기 주문 등록 중 오류가 발생했습니다.");
+      return true;
     }
 
-    return -1;
+    failedSales.increment();
+    notifySaleFailed(productId, quantity, "대기 주문 등록 중 오류가 발생했습니다.");
+    return false;
   }
 
   /**
@@ -173,10 +340,19 @@ public class SalesService {
    * 대기 주문 자동 처리 - 창고 재고도 고려
    */
   public int processWaitingOrders() {
+    WaitingOrderBatchEvent batchEvent = new WaitingOrderBatchEvent();
+    batchEvent.begin();
     List<SaleItem> waitingOrders = saleDAO.getWaitingOrders();
     int processedCount = 0;
 
     for (SaleItem order : waitingOrders) {
+      WaitingOrderEvent event = new WaitingOrderEvent();
+      event.begin();
+      event.orderId = order.getSaleItemId();
+      event.productId = order.getProductId();
+      event.quantity = order.getQuantity();
+      event.outcome = WaitingOrderEvent.FAILED;
+
       Product product = productDAO.getProductById(order.getProductId());
 
       // 매장 재고와 창고 재고 모두 확인
@@ -186,42 +362,59 @@ public class SalesService {
 
       // 매장 재고만으로 충분한 경우
       if (storeQuantity >= requestedQuantity) {
-        int newStoreQty = storeQuantity - requestedQuantity;
-
-        if (productDAO.updateInventory(product.getProductId(), newStoreQty, warehouseQuantity)) {
-          int saleId = completeSale(order.getProductId(), requestedQuantity, product.getPrice());
-
-          if (saleId > 0) {
-            saleDAO.completeWaitingOrder(order.getSaleItemId());
-            notifyWaitingOrderProcessed(order.getProductId(), requestedQuantity, true);
-            processedCount++;
-          }
+        if (fulfilWaitingOrder(order, product, -requestedQuantity, 0)) {
+          notifyWaitingOrderProcessed(order.getProductId(), requestedQuantity, true);
+          processedCount++;
+          batchEvent.processedUnits += requestedQuantity;
+          kpi.recordBackorderFilled(order.getProductId(), order.getSaleItemId(),
+              requestedQuantity, (long) requestedQuantity * product.getPrice());
+          event.outcome = WaitingOrderEvent.FROM_STORE;
         }
       }
       // 매장 재고 + 창고 재고로 해결 가능한 경우
       else if (storeQuantity + warehouseQuantity >= requestedQuantity) {
         // 매장 재고를 먼저 사용
         int remainingQty = requestedQuantity - storeQuantity;
-        int newWarehouseQty = warehouseQuantity - remainingQty;
 
         // 창고에서 매장으로 재고 이동 후 판매 처리
-        if (productDAO.updateInventory(product.getProductId(), 0, newWarehouseQty)) {
-          int saleId = completeSale(order.getProductId(), requestedQuantity, product.getPrice());
-
-          if (saleId > 0) {
-            saleDAO.completeWaitingOrder(order.getSaleItemId());
-            notifyWaitingOrderProcessed(order.getProductId(), requestedQuantity, true);
-            processedCount++;
-          }
+        if (fulfilWaitingOrder(order, product, -storeQuantity, -remainingQty)) {
+          notifyWaitingOrderProcessed(order.getProductId(), requestedQuantity, true);
+          processedCount++;
+          batchEvent.processedUnits += requestedQuantity;
+          kpi.recordBackorderFilled(order.getProductId(), order.getSaleItemId(),
+              requestedQuantity, (long) requestedQuantity * product.getPrice());
+          event.outcome = WaitingOrderEvent.WITH_WAREHOUSE;
         }
       } else {
         notifyWaitingOrderProcessed(order.getProductId(), requestedQuantity, false);
+        event.outcome = WaitingOrderEvent.INSUFFICIENT;
       }
+      event.commit();
     }
 
+    batchEvent.pendingOrders = waitingOrders.size();
+    batchEvent.processedOrders = processedCount;
+    batchEvent.commit();
     return processedCount;
   }
 
+  /**
+   * 대기 주문 하나 처리 - 주문을 먼저 완료로 바꾼 쪽만 재고를 옮기고 판매를 기록한다
+   * (다른 스레드가 같은 주문을 이미 처리했으면 false, 재고 이동이나 판매 저장이 실패하면 주문을 다시 대기 상태로)
+   */
+  private boolean fulfilWaitingOrder(SaleItem order, Product product, int storeDelta, int warehouseDelta) {
+    int orderId = order.getSaleItemId();
+    if (!saleDAO.completeWaitingOrder(orderId)) {
+      return false;
+    }
+    if (productDAO.moveStock(product.getProductId(), InventoryEvent.Type.BACKORDER, storeDelta, warehouseDelta,
+        currentSaleTime()) && completeSale(product, order.getQuantity()) > 0) {
+      return true;
+    }
+    saleDAO.reopenWaitingOrder(orderId);
+    return false;
+  }
+
   /**
    * 판매 항목 조회 메소드 추가
    */
@@ -229,12 +422,165 @@ public class SalesService {
     return saleDAO.getSaleItemsBySaleId(saleId);
   }
 
+  /**
+   * 완료된 판매 건수
+   */
+  public long getCompletedSaleCount() {
+    return completedSales.sum();
+  }
+
+  /**
+   * 실패한 판매 건수 (대기 주문 등록은 제외)
+   */
+  public long getFailedSaleCount() {
+    return failedSales.sum();
+  }
+
+  /**
+   * 재고 부족으로 등록된 대기 주문 건수
+   */
+  public long getWaitingOrderRegistrationCount() {
+    return waitingOrderRegistrations.sum();
+  }
+
+  /**
+   * 처리 완료된 대기 주문 건수
+   */
+  public long getFulfilledWaitingOrderCount() {
+    return fulfilledWaitingOrders.sum();
+  }
+
+  /**
+   * 누적 매출액
+   */
+  public long getRevenue() {
+    return revenue.sum();
+  }
+
+  /**
+   * processSale 한 건의 처리 시간 분포 (대기 주문 등록 포함)
+   */
+  public LatencyHistogram getSaleLatencyHistogram() {
+    return saleLatency;
+  }
+
+  /**
+   * 시뮬레이션 시간 기준 KPI 집계기
+   */
+  public KpiAggregator getKpi() {
+    return kpi;
+  }
+
+  /**
+   * 체크포인트 저장 - 누적 지표, 마지막 대기 주문 ID, 대기 주문, KPI 윈도우
+   */
+  void writeCheckpoint(DataOutput out) throws IOException {
+    for (LongAdder counter : counters()) {
+      out.writeLong(counter.sum());
+    }
+
+    int lastOrderId = saleDAO.getLastWaitingOrderId();
+    if (lastOrderId < 0) {
+      throw new IOException("대기 주문 조회 실패");
+    }
+    out.writeInt(lastOrderId);
+    List<WaitingOrder> orders = saleDAO.getOpenWaitingOrders();
+    out.writeInt(orders.size());
+    for (WaitingOrder order : orders) {
+      out.writeInt(order.getOrderId());
+      out.writeInt(order.getProductId());
+      out.writeInt(order.getQuantity());
+      out.writeLong(order.getRequestDate() == null ? Long.MIN_VALUE : order.getRequestDate().toEpochSecond(ZoneOffset.UTC));
+    }
+    kpi.writeTo(out);
+  }
+
+  /**
+   * 체크포인트의 판매 부분 (끝까지 읽어 검증만 하고 반영은 restoreCheckpoint 에서)
+   */
+  static final class CheckpointState {
+    final long[] counters;
+    final int lastOrderId;
+    final List<WaitingOrder> orders;
+    final KpiAggregator kpi;
+
+    CheckpointState(long[] counters, int lastOrderId, List<WaitingOrder> orders, KpiAggregator kpi) {
+      this.counters = counters;
+      this.lastOrderId = lastOrderId;
+      this.orders = orders;
+      this.kpi = kpi;
+    }
+  }
+
+  /**
+   * 체크포인트의 판매 부분 읽기 - 이 단계에서는 DB 와 집계를 바꾸지 않는다
+   */
+  CheckpointState readCheckpoint(DataInput in) throws IOException {
+    long[] values = new long[counters().length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = in.readLong();
+    }
+
+    int lastOrderId = in.readInt();
+    int count = in.readInt();
+    List<WaitingOrder> orders = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int orderId = in.readInt();
+      int productId = in.readInt();
+      int quantity = in.readInt();
+      long requested = in.readLong();
+      orders.add(new WaitingOrder(orderId, productId, quantity,
+          requested == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(requested, 0, ZoneOffset.UTC), "waiting"));
+    }
+    KpiAggregator restoredKpi = new KpiAggregator();
+    restoredKpi.readFrom(in);
+    return new CheckpointState(values, lastOrderId, orders, restoredKpi);
+  }
+
+  /**
+   * 체크포인트 복원 - 재고, 대기 주문, 체크포인트 시각 이후 판매를 한 트랜잭션으로 되돌린 뒤
+   * 누적 지표, 시계, KPI 를 바꾼다 (트랜잭션이 실패하면 아무것도 바뀌지 않는다)
+   *
+   * @return 대상 제품이 없어 재고를 되돌리지 못한 수
+   */
+  int restoreCheckpoint(List<Product> products, CheckpointState state, LocalDateTime checkpointTime) throws IOException {
+    int missing = saleDAO.restoreCheckpoint(products, state.orders, state.lastOrderId, checkpointTime);
+    if (missing < 0) {
+      throw new IOException("체크포인트 복원 실패 (재고/대기 주문/판매는 바뀌지 않았습니다)");
+    }
+
+    LongAdder[] counters = counters();
+    for (int i = 0; i < counters.length; i++) {
+      counters[i].reset();
+      counters[i].add(state.counters[i]);
+    }
+    setSimulatedTime(checkpointTime.toLocalDate(), checkpointTime.toLocalTime());
+    ByteArrayOutputStream kpiState = new ByteArrayOutputStream();
+    state.kpi.writeTo(new DataOutputStream(kpiState));
+    kpi.readFrom(new DataInputStream(new ByteArrayInputStream(kpiState.toByteArray())));
+    if (ownsSharedTables) {
+      columnStore.clear();
+    }
+    return missing;
+  }
+
+  private LongAdder[] counters() {
+    return new LongAdder[]{completedSales, failedSales, waitingOrderRegistrations, fulfilledWaitingOrders, revenue};
+  }
+
+  /**
+   * 커밋된 판매 항목 컬럼 저장소 (분석 탭, 같은 저장소를 쓰는 지점 판매 포함)
+   */
+  public SalesColumnStore getColumnStore() {
+    return columnStore;
+  }
+
   /**
    * 판매 완료 이벤트 발생
    */
   private void notifySaleCompleted(int saleId, int totalAmount) {
-    for (SalesListener listener : salesListeners) {
-      listener.onSaleCompleted(saleId, totalAmount);
+    for (EventBus.Subscription<SalesListener> listener : salesListeners) {
+      listener.post(l -> l.onSaleCompleted(saleId, totalAmount));
     }
   }
 
@@ -242,8 +588,8 @@ public class SalesService {
    * 판매 실패 이벤트 발생
    */
   private void notifySaleFailed(int productId, int requestedQuantity, String reason) {
-    for (SalesListener listener : salesListeners) {
-      listener.onSaleFailed(productId, requestedQuantity, reason);
+    for (EventBus.Subscription<SalesListener> listener : salesListeners) {
+      listener.post(l -> l.onSaleFailed(productId, requestedQuantity, reason));
     }
   }
 
@@ -251,8 +597,11 @@ public class SalesService {
    * 대기 주문 처리 이벤트 발생
    */
   private void notifyWaitingOrderProcessed(int productId, int quantity, boolean success) {
-    for (WaitingOrderListener listener : waitingOrderListeners) {
-      listener.onWaitingOrderProcessed(productId, quantity, success);
+    if (success) {
+      fulfilledWaitingOrders.increment();
+    }
+    for (EventBus.Subscription<WaitingOrderListener> listener : waitingOrderListeners) {
+      listener.post(l -> l.onWaitingOrderProcessed(productId, quantity, success));
     }
   }
 }
\ No newline at end of file
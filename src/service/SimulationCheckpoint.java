@@ -0,0 +1,134 @@
+package service;
+
+import dto.Product;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 시뮬레이션 체크포인트 파일
+ *
+ * 시계, 고객 도착률, 난수 생성기 상태, 제품 재고, 대기 주문, 누적 지표와 KPI 윈도우를 GZIP 바이너리 한 파일에 담는다. 형식:
+ * 헤더 = MAGIC(int) VERSION(byte) 체크포인트 시각(long, epoch 초 UTC) 분당 방문 고객 수(double) 난수 상태(int 길이 + 직렬화 바이트)
+ * 본문 = 재고(InventoryService) → 판매(SalesService) 순서
+ * 임시 파일에 다 쓴 뒤 이름을 원자적으로 바꾸므로 저장 도중 종료돼도 이전 체크포인트는 그대로 남는다.
+ */
+final class SimulationCheckpoint {
+  static final int MAGIC = 0x53494D43;   // "SIMC"
+  static final int VERSION = 2;
+
+  /**
+   * 복원한 헤더 값 (시계/도착률/난수는 SimulationService 가 직접 되돌린다)
+   */
+  static final class Header {
+    final LocalDateTime time;
+    final double arrivalRate;
+    final Random random;
+
+    Header(LocalDateTime time, double arrivalRate, Random random) {
+      this.time = time;
+      this.arrivalRate = arrivalRate;
+      this.random = random;
+    }
+  }
+
+  private SimulationCheckpoint() {
+  }
+
+  /**
+   * 체크포인트 저장 (임시 파일 → 원자적 이동)
+   */
+  static void write(Path path, LocalDateTime time, double arrivalRate, Random random,
+      InventoryService inventoryService, SalesService salesService) throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)))) {
+      out.writeInt(MAGIC);
+      out.writeByte(VERSION);
+      out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+      out.writeDouble(arrivalRate);
+      byte[] randomState = serialize(random);
+      out.writeInt(randomState.length);
+      out.write(randomState);
+
+      inventoryService.writeCheckpoint(out);
+      salesService.writeCheckpoint(out);
+    } catch (IOException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+
+    try {
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // 원자적 이동을 지원하지 않는 파일 시스템
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * 체크포인트 읽기 - 재고와 판매 상태는 바로 되돌리고 헤더를 돌려준다 (읽기나 복원에 실패하면 아무것도 바뀌지 않는다)
+   */
+  static Header read(Path path, InventoryService inventoryService, SalesService salesService) throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+        new GZIPInputStream(Files.newInputStream(path), 64 * 1024)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("체크포인트 파일이 아닙니다: " + path);
+      }
+      int version = in.readUnsignedByte();
+      if (version != VERSION) {
+        throw new IOException("지원하지 않는 체크포인트 버전: " + version);
+      }
+      LocalDateTime time = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+      double arrivalRate = in.readDouble();
+      byte[] randomState = new byte[in.readInt()];
+      in.readFully(randomState);
+      Random random = deserialize(randomState);
+
+      // 파일을 끝까지 읽어 검증한 뒤에 DB 를 한 트랜잭션으로 되돌린다
+      List<Product> products = InventoryService.readCheckpoint(in);
+      SalesService.CheckpointState sales = salesService.readCheckpoint(in);
+      inventoryService.checkpointRestored(salesService.restoreCheckpoint(products, sales, time));
+      return new Header(time, arrivalRate, random);
+    }
+  }
+
+  private static byte[] serialize(Random random) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(random);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Random deserialize(byte[] state) throws IOException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+      // 난수 생성기 외의 클래스는 역직렬화하지 않는다
+      in.setObjectInputFilter(ObjectInputFilter.Config.createFilter("java.util.Random;!*"));
+      return (Random) in.readObject();
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException("난수 생성기 상태를 읽을 수 없습니다", e);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package service;
+
+import common.TickProfiler;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시뮬레이션 시계 구동기
+ *
+ * 전용 스레드에서 시간을 진행시키며, 틱마다 실제 처리 비용(시간 이벤트가 모두 처리될 때까지)을 재고
+ * 한 틱에 진행할 분 수를 조절해 요청 속도를 맞춘다. 요청 속도를 낼 수 없으면 실제 달성 속도가 그대로 드러난다.
+ *
+ * 속도 1x 는 기존 Swing 타이머와 같이 실제 600ms 당 시뮬레이션 1분이다.
+ * 지점 체인처럼 같은 시계를 구독하는 서비스가 여럿이면 틱마다 모두 끝나기를 기다리므로 가장 느린 지점이 속도를 정한다.
+ */
+public class SimulationDriver {
+  /** 최대 속도 (가능한 한 빠르게) */
+  public static final double MAX_SPEED = 0;
+
+  private static final double REAL_MILLIS_PER_MINUTE_AT_1X = 600.0;
+  private static final long TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(20);   // 한 틱의 목표 시간
+  private static final long MAX_DEBT_NANOS = TimeUnit.SECONDS.toNanos(1);           // 밀린 진행분은 최대 1초치만 따라잡음
+  private static final long SPEED_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500); // 달성 속도 측정 구간
+  private static final int MAX_MINUTES_PER_TICK = 24 * 60;
+  private static final long STOP_WAIT_MILLIS = 1000;
+
+  private final TimeService timeService;
+  private final List<SimulationService> simulationServices = new CopyOnWriteArrayList<>();
+
+  private volatile double requestedSpeed = 10;
+  private volatile boolean running = false;
+  private volatile boolean paused = false;
+  private volatile Thread thread;
+  private Thread stoppingThread;   // 정지했지만 아직 틱을 끝내는 중일 수 있는 이전 구동 스레드
+
+  // 측정값
+  private volatile double achievedSpeed;
+  private volatile int minutesPerTick = 1;
+  private volatile long lastTickNanos;
+  private volatile double costPerMinuteNanos;   // 분당 처리 비용 (지수 이동 평균)
+  private volatile long advancedMinutes;
+
+  public SimulationDriver(TimeService timeService, SimulationService simulationService) {
+    this.timeService = timeService;
+    this.simulationServices.add(simulationService);
+  }
+
+  /**
+   * 같은 시계를 구독하는 서비스 추가 (틱마다 이 서비스의 시간 이벤트 처리도 기다린다)
+   */
+  public void addSimulationService(SimulationService simulationService) {
+    simulationServices.add(simulationService);
+  }
+
+  /**
+   * 시계 구동 시작
+   */
+  public synchronized void start() {
+    if (running) return;
+    // 이전 구동 스레드가 끝나기 전에 새 스레드가 시계를 진행시키면 한 틱에 시간이 두 번 간다
+    awaitStopped(0);
+    running = true;
+    thread = new Thread(this::runLoop, "simulation-driver");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * 시계 구동 정지 (진행 중인 틱은 끝까지 처리)
+   */
+  public synchronized void stop() {
+    if (!running) return;
+    running = false;
+    stoppingThread = thread;
+    thread = null;
+    stoppingThread.interrupt();
+    achievedSpeed = 0;
+    awaitStopped(STOP_WAIT_MILLIS);
+  }
+
+  /**
+   * 이전 구동 스레드 종료 대기 (timeoutMillis 가 0 이면 끝날 때까지)
+   */
+  private void awaitStopped(long timeoutMillis) {
+    Thread previous = stoppingThread;
+    if (previous == null) return;
+    try {
+      previous.join(timeoutMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (!previous.isAlive()) {
+      stoppingThread = null;
+    }
+  }
+
+  /**
+   * 일시 정지 (구동 스레드는 유지하고 시간 진행만 멈춤)
+   */
+  public void pause() {
+    paused = true;
+  }
+
+  /**
+   * 일시 정지 해제
+   */
+  public void resume() {
+    paused = false;
+  }
+
+  public boolean isPaused() {
+    return paused;
+  }
+
+  /**
+   * 요청 속도 설정 (MAX_SPEED 이면 가능한 한 빠르게)
+   */
+  public void setRequestedSpeed(double speed) {
+    this.requestedSpeed = Math.max(MAX_SPEED, speed);
+  }
+
+  public double getRequestedSpeed() {
+    return requestedSpeed;
+  }
+
+  public boolean isMaxSpeed() {
+    return requestedSpeed <= MAX_SPEED;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * 최근 측정 구간의 실제 달성 속도 (배속)
+   */
+  public double getAchievedSpeed() {
+    return achievedSpeed;
+  }
+
+  /**
+   * 현재 한 틱에 진행하는 분 수
+   */
+  public int getMinutesPerTick() {
+    return minutesPerTick;
+  }
+
+  /**
+   * 마지막 틱의 처리 시간
+   */
+  public long getLastTickNanos() {
+    return lastTickNanos;
+  }
+
+  /**
+   * 구동 시작 이후 진행한 시뮬레이션 분 수
+   */
+  public long getAdvancedMinutes() {
+    return advancedMinutes;
+  }
+
+  /**
+   * 구동 루프
+   */
+  private void runLoop() {
+    long startedAt = System.nanoTime();
+    long windowStart = startedAt;
+    long windowMinutes = 0;
+    long paidMinutes = 0;   // 고정 속도 모드에서 지금까지 진행한 분 수 (기준 시각 이후)
+    double lastSpeed = requestedSpeed;
+
+    while (running && thread == Thread.currentThread()) {
+      double speed = requestedSpeed;
+      long now = System.nanoTime();
+
+      if (paused) {
+        sleepQuietly(10);
+        achievedSpeed = 0;
+        lastSpeed = -1;   // 재개하면 기준 시각을 다시 잡는다
+        windowStart = System.nanoTime();
+        windowMinutes = 0;
+        continue;
+      }
+
+      if (speed != lastSpeed) {
+        // 속도가 바뀌면 기준 시각을 다시 잡는다
+        startedAt = now;
+        paidMinutes = 0;
+        lastSpeed = speed;
+      }
+
+      int batch;
+      if (speed <= MAX_SPEED) {
+        batch = budgetedBatch();
+      } else {
+        double minutesPerNano = speed / TimeUnit.MILLISECONDS.toNanos((long) REAL_MILLIS_PER_MINUTE_AT_1X);
+        long owed = (long) ((now - startedAt) * minutesPerNano) - paidMinutes;
+        long maxDebt = Math.max(1, (long) (MAX_DEBT_NANOS * minutesPerNano));
+        if (owed > maxDebt) {
+          // 따라잡을 수 없는 빚은 버린다 (달성 속도가 요청보다 낮게 표시됨)
+          paidMinutes += owed - maxDebt;
+          owed = maxDebt;
+        }
+        batch = (int) Math.min(owed, budgetedBatch());
+      }
+
+      if (batch > 0) {
+        long tickStart = System.nanoTime();
+        if (!runTick(batch)) break;
+        long tickNanos = System.nanoTime() - tickStart;
+        TickProfiler.getInstance().endTick(tickNanos);
+
+        lastTickNanos = tickNanos;
+        minutesPerTick = batch;
+        double perMinute = (double) tickNanos / batch;
+        costPerMinuteNanos = costPerMinuteNanos == 0 ? perMinute : costPerMinuteNanos * 0.8 + perMinute * 0.2;
+        paidMinutes += batch;
+        windowMinutes += batch;
+      } else {
+        // 다음 1분이 될 때까지 잠시 대기
+        sleepQuietly(1);
+      }
+
+      now = System.nanoTime();
+      if (now - windowStart >= SPEED_WINDOW_NANOS) {
+        double realMillis = (now - windowStart) / 1_000_000.0;
+        achievedSpeed = windowMinutes * REAL_MILLIS_PER_MINUTE_AT_1X / realMillis;
+        windowStart = now;
+        windowMinutes = 0;
+      }
+    }
+  }
+
+  /**
+   * 측정된 분당 비용으로 한 틱 예산 안에 처리할 수 있는 분 수
+   */
+  private int budgetedBatch() {
+    double cost = costPerMinuteNanos;
+    if (cost <= 0) return 1;
+    return (int) Math.max(1, Math.min(MAX_MINUTES_PER_TICK, TICK_BUDGET_NANOS / cost));
+  }
+
+  /**
+   * 1분씩 batch 번 진행하고 모든 시간 이벤트가 처리될 때까지 대기. 중단되면 false
+   */
+  private boolean runTick(int batch) {
+    for (int i = 0; i < batch; i++) {
+      if (thread != Thread.currentThread()) return false;   // 정지됨 - 남은 분은 진행하지 않는다
+      timeService.advanceTime(1);
+      advancedMinutes++;
+    }
+    try {
+      for (SimulationService simulationService : simulationServices) {
+        while (!simulationService.awaitTimeEventsProcessed(100, TimeUnit.MILLISECONDS)) {
+          if (!running) return false;
+        }
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
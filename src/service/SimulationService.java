@@ -1,11 +1,21 @@
 package service;
 
+import common.EventBus;
+import common.TickProfiler;
 import dto.Product;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalTime;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Random;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 전체 시뮬레이션 관리 서비스
@@ -14,14 +24,34 @@ public class SimulationService implements TimeService.TimeEventListener {
   private TimeService timeService;
   private InventoryService inventoryService;
   private SalesService salesService;
-  private Random random = new Random();
-  private boolean isRunning = false;
+  private volatile Random random;
+  private volatile double customerArrivalRate = 0.1;   // 영업 시간 1분당 평균 방문 고객 수
+  private volatile boolean isRunning = false;
+  private final EventBus.Subscription<TimeService.TimeEventListener> timeSubscription;
+  private volatile WorkloadRecorder recorder;
+  private final SalesReportService reportService = new SalesReportService();
+  // -Dreport.dir 지정 시 날짜가 바뀔 때마다 전날 판매 보고서를 저장
+  private volatile Path reportDirectory = System.getProperty("report.dir") == null
+      ? null : Paths.get(System.getProperty("report.dir"));
+  // -Darchive.days 지정 시 날짜가 바뀔 때마다 보존 기간이 지난 판매와 처리 끝난 대기 주문을 보관 테이블로 이동
+  private volatile ArchiveService archiveService;
+  // -Dcheckpoint.file 지정 시 -Dcheckpoint.every.minutes(기본 60) 시뮬레이션 분마다 체크포인트 저장
+  private volatile Path checkpointFile = System.getProperty("checkpoint.file") == null
+      ? null : Paths.get(System.getProperty("checkpoint.file"));
+  private final int checkpointEveryMinutes = Math.max(1, Integer.getInteger("checkpoint.every.minutes", 60));
+  private final ConcurrentLinkedQueue<PendingCheckpoint> pendingCheckpoints = new ConcurrentLinkedQueue<>();
+  // 체크포인트는 이 서비스(한 지점)의 상태만 담으므로 지점이 여러 곳이면 StoreChain 이 끈다
+  private volatile String checkpointDisabledReason;
+  private volatile LocalDateTime lastTick;   // 마지막으로 처리를 마친 시뮬레이션 분
+  private final AtomicLong visitSequence = new AtomicLong();
 
   /**
    * 시뮬레이션 이벤트 리스너 인터페이스
    */
   public interface SimulationListener {
-    void onCustomerVisit(int customerId);
+    // visitId 는 방문마다 새로 매기는 번호 (고객 ID 는 10명 중 하나라 동시에 매장에 있는 고객끼리 겹친다)
+    void onCustomerVisit(long visitId, int customerId);
+    void onCustomerServed(long visitId, int customerId, boolean purchased);
     void onSimulationStarted();
     void onSimulationStopped();
     void onInventoryManagement();
@@ -35,40 +65,78 @@ public class SimulationService implements TimeService.TimeEventListener {
     void onLogMessage(String message);
   }
 
-  private List<SimulationListener> listeners = new ArrayList<>();
-  private List<SimulationLogListener> logListeners = new ArrayList<>();
+  private final List<EventBus.Subscription<SimulationListener>> listeners = new CopyOnWriteArrayList<>();
+  private final List<EventBus.Subscription<SimulationLogListener>> logListeners = new CopyOnWriteArrayList<>();
 
   public SimulationService(TimeService timeService) {
+    this(timeService, new InventoryService(), new SalesService(), createRandom(0));
+  }
+
+  /**
+   * -Dsimulation.seed 가 지정되면 고정 시드 난수 생성기 (stream 으로 용도별 시드를 구분), 아니면 임의 시드
+   */
+  public static Random createRandom(int stream) {
+    String seed = System.getProperty("simulation.seed");
+    if (seed != null) {
+      try {
+        return new Random(Long.parseLong(seed.trim()) + stream);
+      } catch (NumberFormatException e) {
+        System.err.println("❌ simulation.seed 값이 올바르지 않습니다: " + seed);
+      }
+    }
+    return new Random();
+  }
+
+  /**
+   * 서비스와 난수 생성기 지정 생성자 (벤치마크 하니스에서 고정 시드로 재현 가능한 부하를 만들 때 사용)
+   */
+  public SimulationService(TimeService timeService, InventoryService inventoryService, SalesService salesService,
+      Random random) {
     this.timeService = timeService;
-    this.inventoryService = new InventoryService();
-    this.salesService = new SalesService();
+    this.inventoryService = inventoryService;
+    this.salesService = salesService;
+    this.random = random;
 
     // 중요: 순환 참조 설정
     this.inventoryService.setSalesService(this.salesService);
 
-    timeService.addTimeEventListener(this); // 시간 이벤트 리스너 등록
+    int archiveDays = Integer.getInteger("archive.days", 0);
+    if (archiveDays > 0) {
+      setArchiveService(new ArchiveService(archiveDays));
+    }
+
+    // 시간 이벤트 리스너 등록 - 분 단위 이벤트를 하나도 놓치지 않도록 BLOCK 정책 사용
+    this.timeSubscription = timeService.addTimeEventListener(this, EventBus.OverflowPolicy.BLOCK);
   }
 
   /**
    * 시뮬레이션 리스너 등록
    */
   public void addSimulationListener(SimulationListener listener) {
-    listeners.add(listener);
+    addSimulationListener(listener, EventBus.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * 시뮬레이션 리스너 등록 (큐 초과 정책 지정)
+   */
+  public void addSimulationListener(SimulationListener listener, EventBus.OverflowPolicy policy) {
+    listeners.add(EventBus.getDefault().subscribe("simulation", listener, policy, EventBus.DEFAULT_CAPACITY));
   }
 
   /**
-   * 시뮬레이션 로그 리스너 등록
+   * 시뮬레이션 로그 리스너 등록 (밀리면 오래된 로그부터 버림)
    */
   public void addSimulationLogListener(SimulationLogListener listener) {
-    logListeners.add(listener);
+    logListeners.add(EventBus.getDefault().subscribe(
+        "log", listener, EventBus.OverflowPolicy.DROP_OLDEST, EventBus.DEFAULT_CAPACITY));
   }
 
   /**
    * 로그 메시지 전달
    */
   private void notifyLogMessage(String message) {
-    for (SimulationLogListener listener : logListeners) {
-      listener.onLogMessage(message);
+    for (EventBus.Subscription<SimulationLogListener> listener : logListeners) {
+      listener.post(l -> l.onLogMessage(message));
     }
   }
 
@@ -87,6 +155,10 @@ public class SimulationService implements TimeService.TimeEventListener {
   public void stopSimulation() {
     if (!isRunning) return;
     isRunning = false;
+    WorkloadRecorder r = recorder;
+    if (r != null) {
+      r.flush();
+    }
     notifySimulationEvent(SimulationListener::onSimulationStopped);
   }
 
@@ -95,7 +167,24 @@ public class SimulationService implements TimeService.TimeEventListener {
    */
   @Override
   public void onTimeChanged(LocalTime time, LocalDate date) {
-    if (isRunning && timeService.isBusinessHour()) {
+    // 체크포인트는 새 분을 시작하기 전에 찍는다 - 직전 분의 정각/날짜 이벤트까지 반영된 상태
+    LocalDateTime previous = lastTick;
+    if (previous != null) {
+      savePendingCheckpoints(previous);
+      Path periodic = checkpointFile;
+      if (periodic != null && isRunning && KpiAggregator.toMinute(date, time) % checkpointEveryMinutes == 0) {
+        saveCheckpoint(periodic, previous);
+      }
+    }
+    lastTick = LocalDateTime.of(date, time);
+
+    salesService.setSimulatedTime(date, time);
+    WorkloadRecorder r = recorder;
+    if (r != null) {
+      r.time(KpiAggregator.toMinute(date, time));
+    }
+    // 비동기 전달이므로 현재 시계가 아닌 이벤트 발생 시각으로 판단
+    if (isRunning && TimeService.isBusinessHour(time)) {
       simulateCustomerVisits();
     }
   }
@@ -106,6 +195,10 @@ public class SimulationService implements TimeService.TimeEventListener {
   @Override
   public void onHourChanged(int hour) {
     if (!isRunning) return;
+    WorkloadRecorder r = recorder;
+    if (r != null) {
+      r.hour(hour);
+    }
 
     switch (hour) {
       case 9 -> {
@@ -149,39 +242,267 @@ public class SimulationService implements TimeService.TimeEventListener {
   @Override
   public void onDayChanged(LocalDate date) {
     if (isRunning) {
+      WorkloadRecorder r = recorder;
+      if (r != null) {
+        r.day();
+      }
+      // 하루 한 번 재고 스냅샷 - 시점 재고 조회는 그날 이벤트만 더하면 된다
+      inventoryService.takeInventorySnapshot(date.atStartOfDay());
       salesService.processWaitingOrders(); // 09:00 대기 주문 자동 처리
+
+      Path directory = reportDirectory;
+      if (directory != null) {
+        exportSalesReport(date.minusDays(1), directory);
+      }
+
+      ArchiveService archiver = archiveService;
+      if (archiver != null) {
+        archiver.requestArchive(date);
+      }
     }
   }
 
   /**
-   * 고객 방문 시뮬레이션
+   * 보관 작업 서비스 지정 (null 이면 보관하지 않음)
    */
-  private void simulateCustomerVisits() {
-    if (random.nextInt(100) < 10) { // 10% 확률로 고객 방문
-      int customerId = random.nextInt(10) + 1;
-      notifySimulationEvent(listener -> listener.onCustomerVisit(customerId));
-
-      List<Product> products = inventoryService.getAllProducts();
-      if (!products.isEmpty()) {
-        Product selectedProduct = products.get(random.nextInt(products.size()));
-        int quantity = random.nextInt(3) + 1;
-
-        int saleId = salesService.processSale(selectedProduct.getProductId(), quantity);
-        if (saleId > 0) {
-          // System.out.println() 대신 리스너를 통해 로그 메시지 전달
-          notifyLogMessage("✅ 고객 " + customerId + "님이 " + selectedProduct.getName() + "을(를) " + quantity + "개 구매했습니다.");
-        } else {
-          notifyLogMessage("❌ 고객 " + customerId + "님의 구매 실패 (재고 부족)");
-        }
+  public void setArchiveService(ArchiveService archiveService) {
+    if (archiveService != null) {
+      archiveService.setLogger(this::notifyLogMessage);
+    }
+    this.archiveService = archiveService;
+  }
+
+  public ArchiveService getArchiveService() {
+    return archiveService;
+  }
+
+  /**
+   * 판매 보고서 저장 예약 (보고서 스레드에서 실행되며 완료/실패는 로그로 알린다)
+   */
+  public CompletableFuture<SalesReportService.Report> exportSalesReport(LocalDate date, Path directory) {
+    return reportService.scheduleReport(date, directory).whenComplete((report, error) -> {
+      if (error != null) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        System.err.println("❌ 판매 보고서 생성 실패: " + cause.getMessage());
+        notifyLogMessage("❌ 판매 보고서 생성 실패: " + cause.getMessage());
+      } else {
+        notifyLogMessage("📊 판매 보고서 저장: " + report);
+      }
+    });
+  }
+
+  public void setReportDirectory(Path directory) {
+    this.reportDirectory = directory;
+  }
+
+  public Path getReportDirectory() {
+    return reportDirectory;
+  }
+
+  /**
+   * 체크포인트 저장 요청
+   *
+   * 실행 중이면 다음 분을 시작하기 전에 시뮬레이션 스레드에서 저장하고, 정지 상태면 남은 시간 이벤트를 처리한 뒤 바로 저장한다.
+   */
+  public CompletableFuture<Path> requestCheckpoint(Path path) {
+    String disabled = checkpointDisabledReason;
+    if (disabled != null) {
+      notifyLogMessage("❌ 체크포인트 저장 불가: " + disabled);
+      CompletableFuture<Path> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new IOException(disabled));
+      return failed;
+    }
+    PendingCheckpoint request = new PendingCheckpoint(path);
+    pendingCheckpoints.add(request);
+    if (!isRunning) {
+      try {
+        awaitTimeEventsProcessed(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
       }
+      savePendingCheckpoints(LocalDateTime.of(timeService.getCurrentDate(), timeService.getCurrentTime()));
+    }
+    return request.future;
+  }
+
+  private synchronized void savePendingCheckpoints(LocalDateTime time) {
+    PendingCheckpoint request;
+    while ((request = pendingCheckpoints.poll()) != null) {
+      if (saveCheckpoint(request.path, time)) {
+        request.future.complete(request.path);
+      } else {
+        request.future.completeExceptionally(new IOException("체크포인트 저장 실패: " + request.path));
+      }
+    }
+  }
+
+  private synchronized boolean saveCheckpoint(Path path, LocalDateTime time) {
+    long start = System.nanoTime();
+    try {
+      SimulationCheckpoint.write(path, time, customerArrivalRate, random, inventoryService, salesService);
+      notifyLogMessage(String.format("💾 체크포인트 저장: %s (%s, %.1fms)", path, time, (System.nanoTime() - start) / 1e6));
+      return true;
+    } catch (IOException e) {
+      System.err.println("❌ 체크포인트 저장 실패: " + e.getMessage());
+      notifyLogMessage("❌ 체크포인트 저장 실패: " + e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * 체크포인트 복원 (정지 상태에서만) - 시계, 도착률, 난수 상태, 재고, 대기 주문, 지표를 되돌리고 체크포인트 이후 판매는 지운다
+   *
+   * @return 복원한 시뮬레이션 시각
+   */
+  public synchronized LocalDateTime restoreCheckpoint(Path path) throws IOException {
+    if (isRunning) {
+      throw new IllegalStateException("시뮬레이션 실행 중에는 체크포인트를 복원할 수 없습니다.");
     }
+    if (checkpointDisabledReason != null) {
+      throw new IOException(checkpointDisabledReason);
+    }
+    try {
+      awaitTimeEventsProcessed(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("체크포인트 복원 중단", e);
+    }
+
+    long start = System.nanoTime();
+    SimulationCheckpoint.Header header = SimulationCheckpoint.read(path, inventoryService, salesService);
+    timeService.setDate(header.time.toLocalDate());
+    timeService.setTime(header.time.toLocalTime());
+    customerArrivalRate = header.arrivalRate;
+    random = header.random;
+    lastTick = header.time;
+    notifyLogMessage(String.format("♻️ 체크포인트 복원: %s (%s, %.1fms)", path, header.time, (System.nanoTime() - start) / 1e6));
+    return header.time;
+  }
+
+  public void setCheckpointFile(Path path) {
+    this.checkpointFile = path;
+  }
+
+  public Path getCheckpointFile() {
+    return checkpointFile;
+  }
+
+  /**
+   * 체크포인트 저장/복원 막기 (reason 은 요청이 거절될 때의 메시지, 주기 저장도 끈다)
+   */
+  public void disableCheckpoints(String reason) {
+    this.checkpointDisabledReason = reason;
+    this.checkpointFile = null;
+  }
+
+  private static final class PendingCheckpoint {
+    final Path path;
+    final CompletableFuture<Path> future = new CompletableFuture<>();
+
+    PendingCheckpoint(Path path) {
+      this.path = path;
+    }
+  }
+
+  /**
+   * 영업 시간 1분당 평균 방문 고객 수 설정 (기본 0.1)
+   */
+  public void setCustomerArrivalRate(double customersPerMinute) {
+    this.customerArrivalRate = Math.max(0, customersPerMinute);
+  }
+
+  public double getCustomerArrivalRate() {
+    return customerArrivalRate;
+  }
+
+  /**
+   * 고객 방문 시뮬레이션 - 정수 부분만큼 방문하고 소수 부분은 확률로 한 명 더
+   */
+  private void simulateCustomerVisits() {
+    double rate = customerArrivalRate;
+    int visits = (int) rate;
+    if (random.nextDouble() < rate - visits) {
+      visits++;
+    }
+    for (int i = 0; i < visits; i++) {
+      simulateCustomerVisit();
+    }
+  }
+
+  /**
+   * 고객 한 명 방문 - 고객/제품/수량을 고르고 기록 중이면 작업 부하 파일에 남긴다
+   */
+  private void simulateCustomerVisit() {
+    int customerId = random.nextInt(10) + 1;
+    List<Product> products = inventoryService.getAllProducts();
+    Product selectedProduct = products.isEmpty() ? null : products.get(random.nextInt(products.size()));
+    int productId = selectedProduct == null ? 0 : selectedProduct.getProductId();
+    int quantity = selectedProduct == null ? 0 : random.nextInt(3) + 1;
+
+    WorkloadRecorder r = recorder;
+    if (r != null) {
+      r.customer(customerId, productId, quantity);
+    }
+    serveCustomer(customerId, productId, selectedProduct == null ? null : selectedProduct.getName(), quantity);
+  }
+
+  /**
+   * 고객 응대 (시뮬레이션과 작업 부하 재생이 함께 사용, productId 가 0 이면 방문만)
+   */
+  public void serveCustomer(int customerId, int productId, String productName, int quantity) {
+    long visitId = visitSequence.incrementAndGet();
+    notifySimulationEvent(listener -> listener.onCustomerVisit(visitId, customerId));
+    if (productId <= 0) return;
+
+    int saleId = salesService.processSale(productId, quantity);
+    notifySimulationEvent(listener -> listener.onCustomerServed(visitId, customerId, saleId > 0));
+    if (logListeners.isEmpty()) return;
+
+    String name = productName != null ? productName : "제품 #" + productId;
+    if (saleId > 0) {
+      // System.out.println() 대신 리스너를 통해 로그 메시지 전달
+      notifyLogMessage("✅ 고객 " + customerId + "님이 " + name + "을(를) " + quantity + "개 구매했습니다.");
+    } else {
+      notifyLogMessage("❌ 고객 " + customerId + "님의 구매 실패 (재고 부족)");
+    }
+  }
+
+  /**
+   * 고객 방문/구매 요청과 정각/날짜 이벤트를 파일로 기록 시작 (이미 기록 중이면 먼저 닫는다)
+   */
+  public void startRecording(Path path) throws IOException {
+    stopRecording();
+    recorder = new WorkloadRecorder(path,
+        KpiAggregator.toMinute(timeService.getCurrentDate(), timeService.getCurrentTime()));
+    notifyLogMessage("⏺️ 작업 부하 기록 시작: " + path);
+  }
+
+  /**
+   * 작업 부하 기록 종료
+   */
+  public void stopRecording() {
+    WorkloadRecorder r = recorder;
+    recorder = null;
+    if (r != null) {
+      r.close();
+      notifyLogMessage("⏹️ 작업 부하 기록 종료: 레코드 " + r.getRecordCount() + "개");
+    }
+  }
+
+  public boolean isRecording() {
+    return recorder != null;
   }
 
   /**
    * 재고 관리 수행 (22시)
    */
   private void performInventoryManagement() {
-    inventoryService.transferFromWarehouseToStore();
+    long start = TickProfiler.begin();
+    try {
+      inventoryService.transferFromWarehouseToStore();
+    } finally {
+      TickProfiler.end(TickProfiler.Category.INVENTORY, start);
+    }
     notifySimulationEvent(SimulationListener::onInventoryManagement);
   }
 
@@ -199,6 +520,13 @@ public class SimulationService implements TimeService.TimeEventListener {
     }
   }
 
+  /**
+   * 지금까지 게시된 시간 이벤트를 모두 처리할 때까지 대기
+   */
+  public boolean awaitTimeEventsProcessed(long timeout, TimeUnit unit) throws InterruptedException {
+    return timeSubscription.awaitIdle(timeout, unit);
+  }
+
   /**
    * 시뮬레이션 실행 중인지 확인
    */
@@ -210,8 +538,8 @@ public class SimulationService implements TimeService.TimeEventListener {
    * 공통 이벤트 알림 메소드
    */
   private void notifySimulationEvent(java.util.function.Consumer<SimulationListener> event) {
-    for (SimulationListener listener : listeners) {
-      event.accept(listener);
+    for (EventBus.Subscription<SimulationListener> listener : listeners) {
+      listener.post(event);
     }
   }
 
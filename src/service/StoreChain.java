@@ -0,0 +1,134 @@
+package service;
+
+import common.EventBus;
+import dao.ProductDAO;
+import dao.SaleDAO;
+import dao.StoreDAO;
+import dto.Store;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 지점 체인 - 본점과 지점마다 SimulationService 하나씩 두고 같은 시계로 병렬 실행
+ *
+ * 지점 서비스는 각자의 시간 이벤트 구독 스레드에서 돌고, 재고/대기 주문/재고 이벤트/판매 집계가 지점 ID 로 나뉘어 있고
+ * 판매 분석 저장소도 지점마다 기록기를 따로 두므로 한 지점의 판매가 다른 지점의 행 잠금이나 기록 잠금을 기다리지 않는다.
+ * 남는 공유 지점은 테이블 AUTO_INCREMENT 잠금, 분석 저장소의 청크 추가/제품 등록, 틱마다 모든 지점을 기다리는 구동기다.
+ * 판매 테이블 관리, 보관, 일일 보고서, 체크포인트는 본점 서비스만 맡는다.
+ * 지점이 둘 이상이면 StoreRebalancer 가 -Drebalance.every.hours 시간마다(기본 1, 0 이면 끔) 지점 간 재고를 재배치한다.
+ */
+public class StoreChain {
+  private static final int RANDOM_STREAM_BASE = 100;   // 지점 난수 시드 = simulation.seed + 100 + 지점 ID
+
+  private final List<Store> stores;
+  private final List<SimulationService> services;
+  private final StoreRebalancer rebalancer;   // 지점이 하나면 null
+
+  private StoreChain(List<Store> stores, List<SimulationService> services, StoreRebalancer rebalancer) {
+    this.stores = Collections.unmodifiableList(stores);
+    this.services = Collections.unmodifiableList(services);
+    this.rebalancer = rebalancer;
+  }
+
+  /**
+   * 본점 서비스에 지점 2..storeCount 를 붙여 체인 구성 (없는 지점은 DB 에 만들고 본점 재고로 채운다)
+   */
+  public static StoreChain open(SimulationService mainService, TimeService timeService, int storeCount) {
+    StoreDAO storeDAO = new StoreDAO();
+    if (!storeDAO.ensureStores(storeCount)) {
+      System.err.println("❌ 지점을 준비하지 못해 본점만 실행합니다.");
+      storeCount = 1;
+    }
+
+    List<Store> stores = new ArrayList<>();
+    List<SimulationService> services = new ArrayList<>();
+    stores.add(new Store(StoreDAO.MAIN_STORE_ID, "본점"));
+    services.add(mainService);
+
+    for (Store store : storeDAO.getStores()) {
+      int storeId = store.getStoreId();
+      if (storeId == StoreDAO.MAIN_STORE_ID || storeId > storeCount) continue;
+
+      ProductDAO productDAO = new ProductDAO(storeId);
+      SaleDAO saleDAO = SaleDAO.create(storeId);
+      InventoryService inventoryService = new InventoryService(productDAO, saleDAO);
+      SalesService salesService = new SalesService(saleDAO, productDAO, inventoryService,
+          mainService.getSalesService().getColumnStore());
+      SimulationService service = new SimulationService(timeService, inventoryService, salesService,
+          SimulationService.createRandom(RANDOM_STREAM_BASE + storeId));
+      if (service.getArchiveService() != null) {
+        service.getArchiveService().shutdown();
+        service.setArchiveService(null);
+      }
+      service.setReportDirectory(null);
+      service.setCheckpointFile(null);
+      service.setCustomerArrivalRate(mainService.getCustomerArrivalRate());
+
+      stores.add(store);
+      services.add(service);
+    }
+    System.out.println("🏬 지점 " + stores.size() + "곳으로 시뮬레이션합니다.");
+    if (stores.size() > 1) {
+      // 체크포인트에는 본점 상태만 담기므로 복원하면 지점 재고/대기 주문/판매가 본점과 어긋난다
+      mainService.disableCheckpoints("지점이 여러 곳이면 체크포인트를 지원하지 않습니다.");
+    }
+
+    StoreRebalancer rebalancer = null;
+    if (stores.size() > 1) {
+      rebalancer = new StoreRebalancer(storeDAO, Integer.getInteger("rebalance.min.level", StoreRebalancer.DEFAULT_MIN_LEVEL),
+          Integer.getInteger("rebalance.max.level", StoreRebalancer.DEFAULT_MAX_LEVEL));
+      rebalancer.setEveryHours(Integer.getInteger("rebalance.every.hours", 1));
+      // 재배치는 전용 스레드에서 돌므로 시간 이벤트가 밀려도 시뮬레이션을 붙잡지 않는다
+      timeService.addTimeEventListener(rebalancer, EventBus.OverflowPolicy.COALESCE);
+    }
+    return new StoreChain(stores, services, rebalancer);
+  }
+
+  /**
+   * 본점 외 지점 시뮬레이션 시작 (본점은 호출자가 시작)
+   */
+  public void startBranches() {
+    for (SimulationService service : branches()) {
+      service.startSimulation();
+    }
+  }
+
+  /**
+   * 본점 외 지점 시뮬레이션 정지
+   */
+  public void stopBranches() {
+    for (SimulationService service : branches()) {
+      service.stopSimulation();
+    }
+  }
+
+  /**
+   * 지점 목록 (본점 먼저, getServices 와 같은 순서)
+   */
+  public List<Store> getStores() {
+    return stores;
+  }
+
+  /**
+   * 지점별 시뮬레이션 서비스 (본점 먼저)
+   */
+  public List<SimulationService> getServices() {
+    return services;
+  }
+
+  /**
+   * 지점 간 재고 재배치 작업 (지점이 하나면 null)
+   */
+  public StoreRebalancer getRebalancer() {
+    return rebalancer;
+  }
+
+  /**
+   * 본점 외 지점 서비스
+   */
+  public List<SimulationService> branches() {
+    return services.subList(1, services.size());
+  }
+}
@@ -0,0 +1,179 @@
+package service;
+
+import dao.StoreDAO;
+import dto.StockTransfer;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 지점 간 재고 재배치 작업
+ *
+ * 지점별 재고와 대기 주문 수량을 한 번에 스트리밍으로 읽어 RebalancePlanner 로 이동 계획을 세우고(제품별 병렬),
+ * StoreDAO 에 배치로 반영한다. 시간 이벤트를 받아 everyHours 시간마다 전용 스레드에서 실행하며,
+ * 실행 중에 들어온 요청은 가장 최근 시각 하나로 합친다.
+ */
+public class StoreRebalancer implements TimeService.TimeEventListener {
+
+  public static final int DEFAULT_MIN_LEVEL = 5;
+  public static final int DEFAULT_MAX_LEVEL = 30;
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private final StoreDAO storeDAO;
+  private final int minLevel;
+  private final int maxLevel;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "store-rebalancer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final AtomicReference<LocalDateTime> pendingTime = new AtomicReference<>();
+  private volatile int batchSize = DEFAULT_BATCH_SIZE;
+  private volatile int everyHours = 1;
+  private volatile LocalDateTime currentTime;
+  private volatile Consumer<String> logger = System.out::println;
+
+  private final LongAdder runs = new LongAdder();
+  private final LongAdder transfers = new LongAdder();
+  private final LongAdder units = new LongAdder();
+  private volatile long lastRunNanos;
+
+  public StoreRebalancer() {
+    this(new StoreDAO(), Integer.getInteger("rebalance.min.level", DEFAULT_MIN_LEVEL),
+        Integer.getInteger("rebalance.max.level", DEFAULT_MAX_LEVEL));
+  }
+
+  public StoreRebalancer(StoreDAO storeDAO, int minLevel, int maxLevel) {
+    if (minLevel < 0 || maxLevel < minLevel) {
+      throw new IllegalArgumentException("재배치 기준이 올바르지 않습니다: min=" + minLevel + ", max=" + maxLevel);
+    }
+    this.storeDAO = storeDAO;
+    this.minLevel = minLevel;
+    this.maxLevel = maxLevel;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  /**
+   * 실행 주기 (시뮬레이션 시간, 0 이하면 시간 이벤트로는 실행하지 않는다)
+   */
+  public void setEveryHours(int everyHours) {
+    this.everyHours = everyHours;
+  }
+
+  public void setLogger(Consumer<String> logger) {
+    this.logger = logger;
+  }
+
+  public long getRunCount() {
+    return runs.sum();
+  }
+
+  public long getTransferCount() {
+    return transfers.sum();
+  }
+
+  public long getTransferredUnits() {
+    return units.sum();
+  }
+
+  public long getLastRunNanos() {
+    return lastRunNanos;
+  }
+
+  @Override
+  public void onTimeChanged(LocalTime time, LocalDate date) {
+    currentTime = LocalDateTime.of(date, time);
+  }
+
+  @Override
+  public void onHourChanged(int hour) {
+    int every = everyHours;
+    LocalDateTime now = currentTime;
+    if (every > 0 && now != null && hour % every == 0) {
+      requestRebalance(now);
+    }
+  }
+
+  @Override
+  public void onDayChanged(LocalDate date) {
+  }
+
+  /**
+   * 재배치 요청 (at 은 재고 이벤트 시각, 호출 스레드는 기다리지 않는다)
+   */
+  public void requestRebalance(LocalDateTime at) {
+    if (pendingTime.getAndSet(at) == null) {
+      executor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    LocalDateTime at;
+    while ((at = pendingTime.get()) != null) {
+      try {
+        runOnce(at);
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+      }
+      pendingTime.compareAndSet(at, null);
+    }
+  }
+
+  /**
+   * 재배치 한 번 실행 (호출 스레드에서 끝까지 실행), 반영한 이동 목록을 돌려준다
+   */
+  public List<StockTransfer> runOnce(LocalDateTime at) {
+    long start = System.nanoTime();
+    RebalancePlanner planner = new RebalancePlanner(minLevel, maxLevel);
+    try {
+      storeDAO.streamStoreStock(planner::add);
+    } catch (SQLException e) {
+      System.err.println("❌ 지점 재고를 읽지 못해 재배치를 건너뜁니다: " + e.getMessage());
+      e.printStackTrace();
+      return Collections.emptyList();
+    }
+    long read = System.nanoTime();
+    List<StockTransfer> plan = planner.plan();
+    long planned = System.nanoTime();
+    List<StockTransfer> applied = plan.isEmpty()
+        ? Collections.<StockTransfer>emptyList() : storeDAO.applyTransfers(plan, at, batchSize);
+    long end = System.nanoTime();
+
+    long quantity = 0;
+    for (StockTransfer transfer : applied) {
+      quantity += transfer.getQuantity();
+    }
+    runs.increment();
+    transfers.add(applied.size());
+    units.add(quantity);
+    lastRunNanos = end - start;
+
+    if (!plan.isEmpty()) {
+      logger.accept(String.format(
+          "🔀 지점 간 재고 재배치: %,d건 / %,d개 (계획 %,d건, 재고 %,d행) - 조회 %.1fms, 계획 %.1fms, 반영 %.1fms",
+          applied.size(), quantity, plan.size(), planner.getRowCount(),
+          (read - start) / 1e6, (planned - read) / 1e6, (end - planned) / 1e6));
+    }
+    return applied;
+  }
+
+  /**
+   * 재배치 스레드 종료
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -1,18 +1,21 @@
 package service;
 
+import common.EventBus;
 import java.time.LocalTime;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 시뮬레이션 시간 관리 서비스
  */
 public class TimeService {
-  private LocalTime currentTime;
-  private LocalDate currentDate;
-  private List<TimeEventListener> listeners = new ArrayList<>();
+  private static final String TIME_CHANGED_KEY = "timeChanged";
+
+  private volatile LocalTime currentTime;
+  private volatile LocalDate currentDate;
+  private final List<EventBus.Subscription<TimeEventListener>> listeners = new CopyOnWriteArrayList<>();
 
   // 시간 이벤트를 수신할 리스너 인터페이스
   public interface TimeEventListener {
@@ -28,10 +31,22 @@ public class TimeService {
   }
 
   /**
-   * 시간 이벤트 리스너 등록
+   * 시간 이벤트 리스너 등록 (모든 분 단위 이벤트를 순서대로 전달)
+   */
+  public EventBus.Subscription<TimeEventListener> addTimeEventListener(TimeEventListener listener) {
+    return addTimeEventListener(listener, EventBus.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * 시간 이벤트 리스너 등록 (큐 초과 정책 지정)
+   * COALESCE 정책이면 밀린 분 단위 이벤트는 최신 시간 하나로 합쳐진다.
    */
-  public void addTimeEventListener(TimeEventListener listener) {
-    listeners.add(listener);
+  public EventBus.Subscription<TimeEventListener> addTimeEventListener(TimeEventListener listener,
+      EventBus.OverflowPolicy policy) {
+    EventBus.Subscription<TimeEventListener> subscription =
+        EventBus.getDefault().subscribe("time", listener, policy, EventBus.DEFAULT_CAPACITY);
+    listeners.add(subscription);
+    return subscription;
   }
 
   /**
@@ -50,18 +65,24 @@ public class TimeService {
       currentDate = currentDate.plusDays(1);
     }
 
+    LocalTime time = currentTime;
+    LocalDate date = currentDate;
+    int hour = time.getHour();
+    boolean hourChanged = hour != previousHour;
+    boolean dayChanged = !date.isEqual(previousDate);
+
     // 모든 리스너에게 시간 변경 알림
-    for (TimeEventListener listener : listeners) {
-      listener.onTimeChanged(currentTime, currentDate);
+    for (EventBus.Subscription<TimeEventListener> listener : listeners) {
+      listener.post(TIME_CHANGED_KEY, l -> l.onTimeChanged(time, date));
 
       // 시간이 바뀌었으면 시간 변경 이벤트 발생
-      if (currentTime.getHour() != previousHour) {
-        listener.onHourChanged(currentTime.getHour());
+      if (hourChanged) {
+        listener.post(l -> l.onHourChanged(hour));
       }
 
       // 날짜가 바뀌었으면 날짜 변경 이벤트 발생
-      if (!currentDate.isEqual(previousDate)) {
-        listener.onDayChanged(currentDate);
+      if (dayChanged) {
+        listener.post(l -> l.onDayChanged(date));
       }
     }
   }
@@ -112,7 +133,14 @@ public class TimeService {
    * 영업 시간 여부 확인 (9:00 ~ 18:00)
    */
   public boolean isBusinessHour() {
-    int hour = currentTime.getHour();
+    return isBusinessHour(currentTime);
+  }
+
+  /**
+   * 주어진 시각이 영업 시간인지 확인 (9:00 ~ 18:00)
+   */
+  public static boolean isBusinessHour(LocalTime time) {
+    int hour = time.getHour();
     return hour >= 9 && hour < 18;
   }
 }
\ No newline at end of file
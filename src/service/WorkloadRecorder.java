@@ -0,0 +1,142 @@
+package service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 작업 부하 기록기
+ *
+ * 고객 방문/구매 요청과 정각/날짜 이벤트를 바이너리 파일로 남긴다. 형식:
+ * 헤더 = MAGIC(int) VERSION(byte) 시작 분(long, epoch 기준 시뮬레이션 분)
+ * 레코드 = 종류(byte) + 가변 길이 정수들
+ *   TIME     분 증가량 (지그재그 가변 길이) - 다음 레코드가 일어난 시뮬레이션 분, 바뀐 경우에만 기록
+ *   HOUR     시 (byte)
+ *   DAY      -
+ *   CUSTOMER 고객 ID, 제품 ID (0 이면 방문만), 수량
+ * 쓰기 오류가 나면 기록만 중단하고 시뮬레이션은 계속된다.
+ */
+public class WorkloadRecorder implements AutoCloseable {
+  static final int MAGIC = 0x45505357;   // "EPSW"
+  static final int VERSION = 1;
+
+  static final int TIME = 1;
+  static final int HOUR = 2;
+  static final int DAY = 3;
+  static final int CUSTOMER = 4;
+
+  private final Path path;
+  private final DataOutputStream out;
+  private long writtenMinute;
+  private long currentMinute;
+  private long recordCount;
+  private boolean closed;
+
+  public WorkloadRecorder(Path path, long startMinute) throws IOException {
+    this.path = path;
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+    this.writtenMinute = startMinute;
+    this.currentMinute = startMinute;
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeLong(startMinute);
+  }
+
+  /**
+   * 현재 시뮬레이션 분 (다음 레코드 앞에 필요할 때만 기록)
+   */
+  public synchronized void time(long minute) {
+    currentMinute = minute;
+  }
+
+  public synchronized void hour(int hour) {
+    if (!beginRecord(HOUR)) return;
+    try {
+      out.writeByte(hour);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  public synchronized void day() {
+    beginRecord(DAY);
+  }
+
+  public synchronized void customer(int customerId, int productId, int quantity) {
+    if (!beginRecord(CUSTOMER)) return;
+    try {
+      writeVarint(customerId);
+      writeVarint(productId);
+      writeVarint(quantity);
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  // 필요하면 TIME 레코드를 먼저 쓰고 레코드 종류 기록
+  private boolean beginRecord(int type) {
+    if (closed) return false;
+    try {
+      if (currentMinute != writtenMinute) {
+        long delta = currentMinute - writtenMinute;
+        out.writeByte(TIME);
+        writeVarint((delta << 1) ^ (delta >> 63));
+        writtenMinute = currentMinute;
+        recordCount++;
+      }
+      out.writeByte(type);
+      recordCount++;
+      return true;
+    } catch (IOException e) {
+      fail(e);
+      return false;
+    }
+  }
+
+  private void writeVarint(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private void fail(IOException e) {
+    System.err.println("❌ 작업 부하 기록 중 오류 (" + path + "): " + e.getMessage());
+    e.printStackTrace();
+    closed = true;
+    try {
+      out.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  /**
+   * 버퍼 내용을 파일에 반영
+   */
+  public synchronized void flush() {
+    if (closed) return;
+    try {
+      out.flush();
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  public synchronized long getRecordCount() {
+    return recordCount;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) return;
+    closed = true;
+    try {
+      out.close();
+    } catch (IOException e) {
+      System.err.println("❌ 작업 부하 파일 닫기 실패 (" + path + "): " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 작업 부하 재생기
+ *
+ * WorkloadRecorder 파일을 읽어 시계 진행 없이 최대 속도로 SimulationService 를 구동한다.
+ * 고객 레코드는 serveCustomer 로 판매를 요청하고, 정각/날짜 레코드는 재고 이동·배송·대기 주문 처리를
+ * 그대로 실행하므로 같은 수요로 다른 재고 보충 정책을 비교할 수 있다.
+ * 재생은 호출 스레드에서 진행되며, 제품 ID 는 기록 당시 카탈로그와 같아야 한다.
+ */
+public class WorkloadReplayer {
+
+  /**
+   * 재생 결과
+   */
+  public static final class Result {
+    public final long records;
+    public final long customers;
+    public final long simulatedMinutes;
+    public final long elapsedNanos;
+
+    Result(long records, long customers, long simulatedMinutes, long elapsedNanos) {
+      this.records = records;
+      this.customers = customers;
+      this.simulatedMinutes = simulatedMinutes;
+      this.elapsedNanos = elapsedNanos;
+    }
+  }
+
+  public static Result replay(Path path, SimulationService simulationService) throws IOException {
+    SalesService salesService = simulationService.getSalesService();
+    simulationService.startSimulation();
+
+    long start = System.nanoTime();
+    long records = 0;
+    long customers = 0;
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+      if (in.readInt() != WorkloadRecorder.MAGIC) {
+        throw new IOException("작업 부하 파일이 아닙니다: " + path);
+      }
+      int version = in.readUnsignedByte();
+      if (version != WorkloadRecorder.VERSION) {
+        throw new IOException("지원하지 않는 작업 부하 파일 버전: " + version);
+      }
+      long startMinute = in.readLong();
+      long minute = startMinute;
+      salesService.setSimulatedTime(dateOf(minute), timeOf(minute));
+
+      while (true) {
+        int type;
+        try {
+          type = in.readUnsignedByte();
+        } catch (EOFException e) {
+          break;
+        }
+        records++;
+
+        switch (type) {
+          case WorkloadRecorder.TIME -> {
+            long zigzag = readVarint(in);
+            minute += (zigzag >>> 1) ^ -(zigzag & 1);
+            salesService.setSimulatedTime(dateOf(minute), timeOf(minute));
+          }
+          case WorkloadRecorder.HOUR -> simulationService.onHourChanged(in.readUnsignedByte());
+          case WorkloadRecorder.DAY -> simulationService.onDayChanged(dateOf(minute));
+          case WorkloadRecorder.CUSTOMER -> {
+            int customerId = (int) readVarint(in);
+            int productId = (int) readVarint(in);
+            int quantity = (int) readVarint(in);
+            simulationService.serveCustomer(customerId, productId, null, quantity);
+            customers++;
+          }
+          default -> throw new IOException("알 수 없는 레코드 종류 " + type + " (레코드 " + records + ")");
+        }
+      }
+      return new Result(records, customers, minute - startMinute, System.nanoTime() - start);
+    }
+  }
+
+  private static long readVarint(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("가변 길이 정수가 너무 깁니다");
+  }
+
+  private static LocalDate dateOf(long minute) {
+    return LocalDate.ofEpochDay(Math.floorDiv(minute, 1440));
+  }
+
+  private static LocalTime timeOf(long minute) {
+    return LocalTime.ofSecondOfDay(Math.floorMod(minute, 1440) * 60L);
+  }
+}
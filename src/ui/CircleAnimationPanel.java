@@ -1,26 +1,75 @@
 package ui;
 
+import service.SimulationService;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 동그라미 애니메이션 패널
+ *
+ * 시뮬레이션의 실제 고객 방문/구매 이벤트를 그린다.
+ * - 고객 동그라미는 풀에서 재사용하고, 충돌/혼잡도 검사는 균일 격자로 주변 칸만 확인한다.
+ * - 화면은 오프스크린 버퍼에 유지하고, 움직인 동그라미가 걸친 격자 칸만 다시 그린다.
  */
-public class CircleAnimationPanel extends JPanel {
+public class CircleAnimationPanel extends JPanel implements SimulationService.SimulationListener {
+  // 애니메이션 관련 상수
+  private static final int FRAME_DELAY_MS = 30;
+  private static final int MAX_CUSTOMERS = 5000;    // 동시에 표시할 최대 고객 수
+  private static final int CUSTOMER_SIZE = 16;
+  private static final int SALES_PERSON_SIZE = 30;
+  private static final int CELL_SIZE = 32;          // 격자 칸 크기 (가장 큰 동그라미 지름 이상)
+  private static final int PATIENCE_TICKS = 400;    // 결과 없이 기다리는 최대 프레임 수
+
+  private static final Color SALES_PERSON_COLOR = new Color(66, 133, 244);
+  private static final Color CUSTOMER_COLOR = new Color(234, 67, 53);
+  private static final Color PURCHASED_COLOR = new Color(52, 168, 83);
+  private static final Color FAILED_COLOR = new Color(158, 158, 158);
+
   // 애니메이션 관련 변수
   private Timer animationTimer;
-  private boolean isAnimating = false;
-  private Random random = new Random();
+  private volatile boolean isAnimating = false;
+  private Random random = SimulationService.createRandom(1);   // -Dsimulation.seed 지정 시 재현 가능
+
+  // 다른 스레드에서 들어온 이벤트 (EDT 프레임마다 비움)
+  private final ConcurrentLinkedQueue<Long> arrivals = new ConcurrentLinkedQueue<>();   // 방문 번호
+  private final ConcurrentLinkedQueue<Long> outcomes = new ConcurrentLinkedQueue<>();   // 방문 번호 << 1 | 구매 여부
+  private final AtomicInteger pendingArrivals = new AtomicInteger();
 
   // 판매원 동그라미 (파란색)
   private Circle salesPerson;
 
-  // 구매자 동그라미들 (빨간색)
-  private List<Circle> customers = new ArrayList<>();
+  // 구매자 동그라미들 (빨간색) - 활성 목록과 재사용 풀
+  private Circle[] customers = new Circle[64];
+  private int customerCount = 0;
+  private final ArrayDeque<Circle> pool = new ArrayDeque<>();
+  private final Map<Long, Circle> awaitingOutcome = new HashMap<>();   // 방문 번호 -> 결과를 기다리는 동그라미
+  private int droppedCustomers = 0;
+  private long servedCustomers = 0;
+
+  // 균일 격자 (칸마다 연결 리스트: cellHead -> nextInCell)
+  private int gridCols, gridRows;
+  private int[] cellHead = new int[0];
+  private int[] nextInCell = new int[64];
+  private boolean[] dirtyCells = new boolean[0];
+  private int dirtyCount = 0;
+
+  // 오프스크린 버퍼
+  private BufferedImage background;   // 고정 레이아웃
+  private BufferedImage scene;        // 레이아웃 + 동그라미
+  private Rectangle lastOverlayBounds;
+  private final Map<Long, BufferedImage> sprites = new HashMap<>();
+
+  private enum State { ENTERING, WAITING, LEAVING }
 
   /**
    * 동그라미 클래스
@@ -32,8 +81,16 @@ public class CircleAnimationPanel extends JPanel {
     int size;                // 크기
     Color color;             // 색상
     boolean isMoving;        // 이동 중인지 여부
+    State state;             // 고객 상태
+    int waitTicks;           // 대기한 프레임 수
+    long visitId;            // 시뮬레이션 방문 번호
 
     public Circle(double x, double y, int size, Color color) {
+      reset(x, y, size, color);
+    }
+
+    // 풀에서 꺼낼 때 재초기화
+    void reset(double x, double y, int size, Color color) {
       this.x = x;
       this.y = y;
       this.targetX = x;
@@ -42,6 +99,8 @@ public class CircleAnimationPanel extends JPanel {
       this.color = color;
       this.speed = 1.0 + random.nextDouble() * 2.0; // 1~3 사이의 랜덤 속도
       this.isMoving = false;
+      this.state = State.ENTERING;
+      this.waitTicks = 0;
     }
 
     // 목표 지점으로 이동
@@ -51,9 +110,9 @@ public class CircleAnimationPanel extends JPanel {
       this.isMoving = true;
     }
 
-    // 현재 위치에서 목표 위치로 조금씩 이동
-    public void update() {
-      if (!isMoving) return;
+    // 현재 위치에서 목표 위치로 조금씩 이동, 움직였으면 true
+    public boolean update() {
+      if (!isMoving) return false;
 
       double dx = targetX - x;
       double dy = targetY - y;
@@ -64,21 +123,22 @@ public class CircleAnimationPanel extends JPanel {
         x = targetX;
         y = targetY;
         isMoving = false;
-        return;
+        return true;
       }
 
       // 목표 방향으로 이동
       double ratio = speed / distance;
       x += dx * ratio;
       y += dy * ratio;
+      return true;
     }
 
     // 충돌 감지
     public boolean intersects(Circle other) {
       double dx = this.x - other.x;
       double dy = this.y - other.y;
-      double distance = Math.sqrt(dx * dx + dy * dy);
-      return distance < (this.size/2 + other.size/2);
+      double radii = this.size / 2.0 + other.size / 2.0;
+      return dx * dx + dy * dy < radii * radii;
     }
   }
 
@@ -90,12 +150,7 @@ public class CircleAnimationPanel extends JPanel {
     setBorder(BorderFactory.createTitledBorder("실시간 시뮬레이션"));
 
     // 판매원 초기화 (파란색 동그라미)
-    salesPerson = new Circle(150, 150, 30, new Color(66, 133, 244));
-
-    // 구매자 초기화 (빨간색 동그라미들)
-    for (int i = 0; i < 5; i++) {
-      customers.add(new Circle(400, 100 + i * 60, 30, new Color(234, 67, 53)));
-    }
+    salesPerson = new Circle(150, 150, SALES_PERSON_SIZE, SALES_PERSON_COLOR);
 
     // 마우스 클릭 이벤트 처리
     addMouseListener(new MouseAdapter() {
@@ -103,37 +158,78 @@ public class CircleAnimationPanel extends JPanel {
       public void mouseClicked(MouseEvent e) {
         // 판매원을 클릭한 위치로 이동
         salesPerson.moveTo(e.getX(), e.getY());
+        ensureTimerRunning();
+      }
+    });
+
+    // 크기가 바뀌면 버퍼와 격자를 다시 만든다
+    addComponentListener(new ComponentAdapter() {
+      @Override
+      public void componentResized(ComponentEvent e) {
+        rebuildBuffers();
       }
     });
   }
 
+  // ===== 시뮬레이션 이벤트 (디스패치 스레드에서 호출) =====
+
   @Override
-  protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
-    Graphics2D g2d = (Graphics2D) g;
-    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+  public void onCustomerVisit(long visitId, int customerId) {
+    if (!isAnimating) return;
+    // 대기열이 표시 한도를 넘으면 새 고객은 세기만 하고 버린다
+    if (pendingArrivals.incrementAndGet() > MAX_CUSTOMERS) {
+      pendingArrivals.decrementAndGet();
+      return;
+    }
+    arrivals.add(visitId);
+  }
+
+  @Override
+  public void onCustomerServed(long visitId, int customerId, boolean purchased) {
+    if (!isAnimating) return;
+    outcomes.add((visitId << 1) | (purchased ? 1 : 0));
+  }
 
-    // 레이아웃 영역 그리기
-    drawLayout(g2d);
+  @Override
+  public void onSimulationStarted() {
+  }
 
-    // 판매원 그리기
-    drawCircle(g2d, salesPerson);
+  @Override
+  public void onSimulationStopped() {
+  }
 
-    // 모든 구매자 그리기
-    for (Circle customer : customers) {
-      drawCircle(g2d, customer);
+  @Override
+  public void onInventoryManagement() {
+  }
 
-      // 판매원과 구매자가 만났을 때 거래 표시
-      if (salesPerson.intersects(customer)) {
-        drawTransaction(g2d, salesPerson, customer);
-      }
+  @Override
+  public void onHeadquartersDelivery() {
+  }
+
+  // ===== 그리기 =====
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    if (scene == null) {
+      super.paintComponent(g);
+      return;
     }
+    Rectangle clip = g.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    g.drawImage(scene, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+        clip.x, clip.y, clip.x + clip.width, clip.y + clip.height, null);
+
+    Graphics2D g2d = (Graphics2D) g;
+    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    drawOverlay(g2d);
   }
 
   // 레이아웃 영역 그리기
-  private void drawLayout(Graphics2D g2d) {
-    int width = getWidth();
-    int height = getHeight();
+  private void drawLayout(Graphics2D g2d, int width, int height) {
+    g2d.setColor(getBackground());
+    g2d.fillRect(0, 0, width, height);
 
     // 판매원 구역
     g2d.setColor(new Color(240, 248, 255));
@@ -154,10 +250,35 @@ public class CircleAnimationPanel extends JPanel {
     g2d.drawString("판매 구역", width/2 - 30, 50);
   }
 
-  // 동그라미 그리기
+  // 동그라미 그리기 (안티앨리어싱된 스프라이트를 복사)
   private void drawCircle(Graphics2D g2d, Circle circle) {
-    g2d.setColor(circle.color);
-    g2d.fillOval((int)(circle.x - circle.size/2), (int)(circle.y - circle.size/2), circle.size, circle.size);
+    g2d.drawImage(spriteOf(circle), (int)(circle.x - circle.size/2), (int)(circle.y - circle.size/2), null);
+  }
+
+  // 색상/크기별 동그라미 이미지를 한 번만 그려 둔다
+  private BufferedImage spriteOf(Circle circle) {
+    long key = ((long) circle.color.getRGB() << 16) | circle.size;
+    BufferedImage sprite = sprites.get(key);
+    if (sprite == null) {
+      sprite = new BufferedImage(circle.size, circle.size, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = sprite.createGraphics();
+      g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      g.setColor(circle.color);
+      g.fillOval(0, 0, circle.size, circle.size);
+      g.dispose();
+      sprites.put(key, sprite);
+    }
+    return sprite;
+  }
+
+  // 버퍼 위에 매 프레임 덧그리는 요소 (거래 표시, 혼잡도 문구)
+  private void drawOverlay(Graphics2D g2d) {
+    if (lastOverlayBounds == null) return;
+
+    forEachNear(salesPerson, other -> drawTransaction(g2d, salesPerson, other));
+
+    g2d.setColor(Color.DARK_GRAY);
+    g2d.drawString(crowdText(), 20, getHeight() - 16);
   }
 
   // 거래 표시 그리기
@@ -177,18 +298,31 @@ public class CircleAnimationPanel extends JPanel {
     g2d.drawString("판매", midX - 15, midY + 5);
   }
 
+  private String crowdText() {
+    String text = "매장 고객: " + customerCount + "명 | 응대 완료: " + servedCustomers + "명";
+    if (droppedCustomers > 0) {
+      text += " | 표시 생략: " + droppedCustomers + "명";
+    }
+    return text;
+  }
+
+  // 거래 표시와 문구가 차지하는 영역 (이전 프레임 영역과 함께 다시 그려야 한다)
+  private Rectangle computeOverlayBounds() {
+    int half = SALES_PERSON_SIZE;
+    Rectangle bounds = new Rectangle((int)salesPerson.x - half, (int)salesPerson.y - half, half * 2, half * 2);
+    forEachNear(salesPerson, other -> bounds.add(new Rectangle((int)other.x - 16, (int)other.y - 16, 32, 32)));
+    bounds.add(new Rectangle(10, getHeight() - 32, getWidth() - 20, 22));
+    return bounds;
+  }
+
+  // ===== 애니메이션 =====
+
   // 애니메이션 시작
   public void startAnimation() {
     if (isAnimating) return;
     isAnimating = true;
 
-    animationTimer = new Timer(30, new ActionListener() {
-      @Override
-      public void actionPerformed(ActionEvent e) {
-        updateAnimation();
-        repaint();
-      }
-    });
+    animationTimer = new Timer(FRAME_DELAY_MS, e -> updateAnimation());
     animationTimer.start();
   }
 
@@ -203,46 +337,299 @@ public class CircleAnimationPanel extends JPanel {
     }
   }
 
-  // 애니메이션 상태 업데이트
+  private void ensureTimerRunning() {
+    if (animationTimer == null) {
+      // 정지 상태에서도 판매원 클릭 이동은 끝까지 보여준다
+      animationTimer = new Timer(FRAME_DELAY_MS, e -> updateAnimation());
+      animationTimer.start();
+    }
+  }
+
+  // 애니메이션 상태 업데이트 (EDT)
   private void updateAnimation() {
-    // 모든 동그라미 업데이트
-    salesPerson.update();
+    if (scene == null) {
+      rebuildBuffers();
+      if (scene == null) return;
+    }
+
+    int width = getWidth();
+    int height = getHeight();
+
+    drainEvents(width, height);
+
+    // 판매원은 가끔 판매원 구역 내 랜덤 위치로 이동
+    if (!salesPerson.isMoving && random.nextInt(100) < 5 && width > 80 && height > 120) {
+      double newX = 20 + random.nextInt(width/3 - 40);
+      double newY = 50 + random.nextInt(height - 100);
+      salesPerson.moveTo(newX, newY);
+    }
+
+    markDirty(salesPerson);
+    boolean salesPersonMoved = salesPerson.update();
+    if (salesPersonMoved) {
+      markDirty(salesPerson);
+    }
+
+    // 고객 상태 갱신 (제거는 마지막 원소와 교체)
+    for (int i = customerCount - 1; i >= 0; i--) {
+      Circle c = customers[i];
+      if (c.isMoving) {
+        markDirty(c);
+        c.update();
+        markDirty(c);
+      }
+
+      if (c.state == State.ENTERING && !c.isMoving) {
+        c.state = State.WAITING;
+      } else if (c.state == State.WAITING && ++c.waitTicks > PATIENCE_TICKS) {
+        awaitingOutcome.remove(c.visitId);
+        leave(c, FAILED_COLOR, width, height);
+      } else if (c.state == State.LEAVING && !c.isMoving) {
+        markDirty(c);
+        release(i);
+      }
+    }
 
-    for (Circle customer : customers) {
-      customer.update();
+    rebuildGrid();
+
+    boolean idle = dirtyCount == 0 && !salesPersonMoved;
+    if (!isAnimating && idle) {
+      // 정지 상태에서 클릭 이동이 끝나면 타이머도 멈춘다
+      if (animationTimer != null) {
+        animationTimer.stop();
+        animationTimer = null;
+      }
     }
+    if (idle && lastOverlayBounds != null) {
+      return;  // 바뀐 것이 없으면 다시 그리지 않는다
+    }
+
+    Rectangle dirtyBounds = renderDirtyCells();
+    Rectangle currentOverlay = computeOverlayBounds();
+    Rectangle overlayBounds = lastOverlayBounds == null ? currentOverlay : currentOverlay.union(lastOverlayBounds);
+    lastOverlayBounds = currentOverlay;
 
-    // 가끔 랜덤하게 동그라미들이 움직이도록 설정
-    if (random.nextInt(100) < 5) { // 5% 확률로 판매원이 랜덤 위치로 이동
-      if (!salesPerson.isMoving) {
-        // 판매원 구역 내에서 랜덤 위치로 이동
-        double newX = 20 + random.nextInt(getWidth()/3 - 40);
-        double newY = 50 + random.nextInt(getHeight() - 100);
-        salesPerson.moveTo(newX, newY);
+    Rectangle repaintBounds = dirtyBounds == null ? overlayBounds : dirtyBounds.union(overlayBounds);
+    repaint(repaintBounds);
+  }
+
+  // 다른 스레드에서 들어온 방문/응대 결과를 반영
+  private void drainEvents(int width, int height) {
+    Long visitId;
+    while ((visitId = arrivals.poll()) != null) {
+      pendingArrivals.decrementAndGet();
+      if (customerCount >= MAX_CUSTOMERS) {
+        droppedCustomers++;
+        continue;
       }
+      Circle c = acquire(width - 20, 40 + random.nextInt(Math.max(1, height - 60)));
+      double[] spot = pickWaitingSpot(width, height);
+      c.moveTo(spot[0], spot[1]);
+      c.visitId = visitId;
+      awaitingOutcome.put(visitId, c);
+    }
+
+    // 결과는 같은 방문의 동그라미에만 반영 (표시하지 못했거나 이미 떠난 고객의 결과는 버린다)
+    Long outcome;
+    while ((outcome = outcomes.poll()) != null) {
+      Circle c = awaitingOutcome.remove(outcome >> 1);
+      if (c == null) continue;
+      leave(c, (outcome & 1) != 0 ? PURCHASED_COLOR : FAILED_COLOR, width, height);
+      servedCustomers++;
     }
+  }
 
-    if (random.nextInt(100) < 3) { // 3% 확률로 구매자가 판매 구역으로 이동
-      int idx = random.nextInt(customers.size());
-      Circle customer = customers.get(idx);
-      if (!customer.isMoving) {
-        // 판매 구역으로 이동
-        double newX = getWidth()/3 + random.nextInt(getWidth()/3);
-        double newY = 50 + random.nextInt(getHeight() - 100);
-        customer.moveTo(newX, newY);
+  // 판매 구역에서 후보 몇 곳 중 가장 덜 붐비는 칸을 고른다
+  private double[] pickWaitingSpot(int width, int height) {
+    double bestX = width / 2.0, bestY = height / 2.0;
+    int bestCount = Integer.MAX_VALUE;
+    for (int attempt = 0; attempt < 4; attempt++) {
+      double x = width / 3.0 + 10 + random.nextInt(Math.max(1, width / 3 - 20));
+      double y = 60 + random.nextInt(Math.max(1, height - 90));
+      int count = countInCell((int)(x / CELL_SIZE), (int)(y / CELL_SIZE));
+      if (count < bestCount) {
+        bestCount = count;
+        bestX = x;
+        bestY = y;
       }
     }
+    return new double[]{bestX, bestY};
+  }
+
+  private void leave(Circle c, Color color, int width, int height) {
+    c.color = color;
+    c.state = State.LEAVING;
+    markDirty(c);
+    c.moveTo(width - 12, 40 + random.nextInt(Math.max(1, height - 60)));
+  }
+
+  // ===== 풀 =====
+
+  private Circle acquire(double x, double y) {
+    Circle c = pool.pollFirst();
+    if (c == null) {
+      c = new Circle(x, y, CUSTOMER_SIZE, CUSTOMER_COLOR);
+    } else {
+      c.reset(x, y, CUSTOMER_SIZE, CUSTOMER_COLOR);
+    }
+    if (customerCount == customers.length) {
+      customers = Arrays.copyOf(customers, customers.length * 2);
+    }
+    customers[customerCount++] = c;
+    return c;
+  }
+
+  private void release(int index) {
+    pool.addLast(customers[index]);
+    customers[index] = customers[--customerCount];
+    customers[customerCount] = null;
+  }
+
+  // ===== 균일 격자 =====
+
+  private void rebuildGrid() {
+    Arrays.fill(cellHead, -1);
+    if (nextInCell.length < customers.length) {
+      nextInCell = new int[customers.length];
+    }
+    for (int i = 0; i < customerCount; i++) {
+      int cell = cellIndex(customers[i].x, customers[i].y);
+      nextInCell[i] = cellHead[cell];
+      cellHead[cell] = i;
+    }
+  }
+
+  private int cellIndex(double x, double y) {
+    int cx = Math.max(0, Math.min(gridCols - 1, (int)(x / CELL_SIZE)));
+    int cy = Math.max(0, Math.min(gridRows - 1, (int)(y / CELL_SIZE)));
+    return cy * gridCols + cx;
+  }
+
+  private int countInCell(int cx, int cy) {
+    if (cx < 0 || cy < 0 || cx >= gridCols || cy >= gridRows) return 0;
+    int count = 0;
+    for (int i = cellHead[cy * gridCols + cx]; i >= 0; i = nextInCell[i]) {
+      count++;
+    }
+    return count;
+  }
+
+  // 주변 3x3 칸의 고객 중 겹치는 고객에 대해 실행
+  private void forEachNear(Circle circle, java.util.function.Consumer<Circle> action) {
+    if (cellHead.length == 0) return;
+    int cx = (int)(circle.x / CELL_SIZE);
+    int cy = (int)(circle.y / CELL_SIZE);
+    for (int y = cy - 1; y <= cy + 1; y++) {
+      if (y < 0 || y >= gridRows) continue;
+      for (int x = cx - 1; x <= cx + 1; x++) {
+        if (x < 0 || x >= gridCols) continue;
+        for (int i = cellHead[y * gridCols + x]; i >= 0; i = nextInCell[i]) {
+          if (i < customerCount && circle.intersects(customers[i])) {
+            action.accept(customers[i]);
+          }
+        }
+      }
+    }
+  }
+
+  // ===== 버퍼와 변경 영역 =====
+
+  private void rebuildBuffers() {
+    int width = getWidth();
+    int height = getHeight();
+    if (width <= 0 || height <= 0) return;
+
+    gridCols = (width + CELL_SIZE - 1) / CELL_SIZE;
+    gridRows = (height + CELL_SIZE - 1) / CELL_SIZE;
+    cellHead = new int[gridCols * gridRows];
+    dirtyCells = new boolean[gridCols * gridRows];
+    rebuildGrid();
+
+    background = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D bg = background.createGraphics();
+    bg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    drawLayout(bg, width, height);
+    bg.dispose();
+
+    scene = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Arrays.fill(dirtyCells, true);
+    dirtyCount = dirtyCells.length;
+    renderDirtyCells();
+    lastOverlayBounds = computeOverlayBounds();
+    repaint();
+  }
+
+  // 동그라미가 걸친 칸을 다시 그릴 칸으로 표시
+  private void markDirty(Circle c) {
+    if (dirtyCells.length == 0) return;
+    int half = c.size / 2 + 1;
+    int x0 = Math.max(0, (int)((c.x - half) / CELL_SIZE));
+    int x1 = Math.min(gridCols - 1, (int)((c.x + half) / CELL_SIZE));
+    int y0 = Math.max(0, (int)((c.y - half) / CELL_SIZE));
+    int y1 = Math.min(gridRows - 1, (int)((c.y + half) / CELL_SIZE));
+    for (int y = y0; y <= y1; y++) {
+      for (int x = x0; x <= x1; x++) {
+        int cell = y * gridCols + x;
+        if (!dirtyCells[cell]) {
+          dirtyCells[cell] = true;
+          dirtyCount++;
+        }
+      }
+    }
+  }
+
+  // 동그라미의 외접 사각형이 칸과 겹치는지 확인
+  private static boolean overlaps(Circle c, Rectangle cell) {
+    double half = c.size / 2.0;
+    return c.x + half >= cell.x && c.x - half <= cell.x + cell.width
+        && c.y + half >= cell.y && c.y - half <= cell.y + cell.height;
+  }
+
+  // 표시된 칸만 배경을 복사하고 그 칸에 걸친 동그라미를 다시 그린다. 다시 그린 영역을 반환
+  private Rectangle renderDirtyCells() {
+    if (dirtyCount == 0 || scene == null) return null;
+
+    Graphics2D g2d = scene.createGraphics();
+    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    Rectangle bounds = null;
+    Rectangle cellRect = new Rectangle();
+
+    for (int cy = 0; cy < gridRows; cy++) {
+      for (int cx = 0; cx < gridCols; cx++) {
+        int cell = cy * gridCols + cx;
+        if (!dirtyCells[cell]) continue;
+        dirtyCells[cell] = false;
+
+        cellRect.setBounds(cx * CELL_SIZE, cy * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+        g2d.setClip(cellRect);
+        g2d.drawImage(background, cellRect.x, cellRect.y, cellRect.x + CELL_SIZE, cellRect.y + CELL_SIZE,
+            cellRect.x, cellRect.y, cellRect.x + CELL_SIZE, cellRect.y + CELL_SIZE, null);
+
+        // 지름이 칸 크기 이하이므로 주변 3x3 칸의 고객만 이 칸에 걸칠 수 있다
+        for (int y = cy - 1; y <= cy + 1; y++) {
+          if (y < 0 || y >= gridRows) continue;
+          for (int x = cx - 1; x <= cx + 1; x++) {
+            if (x < 0 || x >= gridCols) continue;
+            for (int i = cellHead[y * gridCols + x]; i >= 0; i = nextInCell[i]) {
+              if (overlaps(customers[i], cellRect)) {
+                drawCircle(g2d, customers[i]);
+              }
+            }
+          }
+        }
+        if (overlaps(salesPerson, cellRect)) {
+          drawCircle(g2d, salesPerson);
+        }
 
-    if (random.nextInt(100) < 2) { // 2% 확률로 구매자가 원래 위치로 돌아감
-      for (int i = 0; i < customers.size(); i++) {
-        Circle customer = customers.get(i);
-        if (!customer.isMoving && customer.x < getWidth()*2/3) {
-          // 구매자 구역으로 돌아가기
-          double newX = getWidth()*2/3 + 50;
-          double newY = 100 + i * 60;
-          customer.moveTo(newX, newY);
+        if (bounds == null) {
+          bounds = new Rectangle(cellRect);
+        } else {
+          bounds.add(cellRect);
         }
       }
     }
+    dirtyCount = 0;
+    g2d.dispose();
+    return bounds;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package ui;
+
+import dto.InventoryEvent;
+import dto.Product;
+import service.InventoryService;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 재고 이력 탭
+ *
+ * 기준 시각의 제품별 재고를 직전 스냅샷 + 이후 재고 이벤트로 계산해 보여주고,
+ * 제품 ID 를 지정하면 그 시각까지의 재고 이동 이벤트를 최신순으로 함께 보여준다.
+ */
+public class InventoryHistoryPanel extends JPanel {
+  private static final int EVENT_LIMIT = 500;
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+  private final InventoryService inventoryService;
+  private final DefaultTableModel stockModel;
+  private final DefaultTableModel eventModel;
+  private final JTextField timeField = new JTextField(12);
+  private final JTextField productField = new JTextField(6);
+  private final JLabel statusLabel = new JLabel(" ");
+  private boolean running;
+
+  public InventoryHistoryPanel(InventoryService inventoryService) {
+    super(new BorderLayout(5, 5));
+    this.inventoryService = inventoryService;
+    setBackground(Color.WHITE);
+
+    JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+    filterPanel.setBorder(BorderFactory.createTitledBorder("조회 조건"));
+    filterPanel.add(new JLabel("기준 시각:"));
+    timeField.setToolTipText("yyyy-MM-dd 또는 yyyy-MM-dd HH:mm (날짜만 쓰면 그날 마감, 비우면 현재)");
+    filterPanel.add(timeField);
+    filterPanel.add(new JLabel("제품 ID:"));
+    productField.setToolTipText("비우면 전체 제품 (이벤트 목록은 제품을 지정해야 표시)");
+    filterPanel.add(productField);
+    JButton searchButton = new JButton("조회");
+    searchButton.addActionListener(e -> search());
+    filterPanel.add(searchButton);
+    JButton rebuildButton = new JButton("재고 검증");
+    rebuildButton.setToolTipText("마지막 스냅샷 + 이후 이벤트로 현재 재고를 다시 계산해 어긋난 제품을 고칩니다");
+    rebuildButton.addActionListener(e -> rebuild());
+    filterPanel.add(rebuildButton);
+    add(filterPanel, BorderLayout.NORTH);
+
+    stockModel = new DefaultTableModel(new String[]{"ID", "모델명", "제조사", "매장 재고", "창고 재고"}, 0) {
+      @Override
+      public boolean isCellEditable(int row, int column) {
+        return false;
+      }
+    };
+    JTable stockTable = new JTable(stockModel);
+    stockTable.setRowHeight(22);
+    stockTable.getColumnModel().getColumn(1).setPreferredWidth(250);
+    JScrollPane stockScroll = new JScrollPane(stockTable);
+    stockScroll.setBorder(BorderFactory.createTitledBorder("기준 시각 재고"));
+
+    eventModel = new DefaultTableModel(new String[]{"이벤트 ID", "시각", "종류", "매장 증감", "창고 증감"}, 0) {
+      @Override
+      public boolean isCellEditable(int row, int column) {
+        return false;
+      }
+    };
+    JTable eventTable = new JTable(eventModel);
+    eventTable.setRowHeight(22);
+    JScrollPane eventScroll = new JScrollPane(eventTable);
+    eventScroll.setBorder(BorderFactory.createTitledBorder("재고 이벤트 (최신순, 최대 " + EVENT_LIMIT + "건)"));
+
+    JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, stockScroll, eventScroll);
+    splitPane.setResizeWeight(0.6);
+    add(splitPane, BorderLayout.CENTER);
+    add(statusLabel, BorderLayout.SOUTH);
+  }
+
+  /**
+   * 조건을 읽어 기준 시각 재고와 이벤트 조회
+   */
+  public void search() {
+    if (running) return;
+
+    int productId;
+    LocalDateTime at;
+    try {
+      String product = productField.getText().trim();
+      productId = product.isEmpty() ? 0 : Integer.parseInt(product);
+      at = parseTime(timeField.getText());
+    } catch (NumberFormatException | DateTimeParseException e) {
+      statusLabel.setText("❌ 조회 조건이 올바르지 않습니다: " + e.getMessage());
+      return;
+    }
+
+    String label = timeField.getText().trim().isEmpty() ? "현재" : DATE_TIME.format(at);
+    running = true;
+    statusLabel.setText("조회 중...");
+    new SwingWorker<Void, Void>() {
+      private List<Product> stock;
+      private List<InventoryEvent> events;
+      private long elapsedNanos;
+
+      @Override
+      protected Void doInBackground() {
+        long start = System.nanoTime();
+        stock = inventoryService.getInventoryAsOf(at, productId);
+        events = productId > 0
+            ? inventoryService.getInventoryEvents(productId, at, EVENT_LIMIT) : Collections.emptyList();
+        elapsedNanos = System.nanoTime() - start;
+        return null;
+      }
+
+      @Override
+      protected void done() {
+        running = false;
+        try {
+          get();
+          stockModel.setRowCount(0);
+          for (Product product : stock) {
+            stockModel.addRow(new Object[]{
+                product.getProductId(),
+                product.getName(),
+                product.getManufacturer(),
+                product.getStoreQuantity(),
+                product.getWarehouseQuantity()
+            });
+          }
+          eventModel.setRowCount(0);
+          for (InventoryEvent event : events) {
+            eventModel.addRow(new Object[]{
+                event.getEventId(),
+                DATE_TIME.format(event.getEventTime()),
+                event.getType().getLabel(),
+                event.getStoreDelta(),
+                event.getWarehouseDelta()
+            });
+          }
+          statusLabel.setText(String.format("%s 기준 제품 %,d개, 이벤트 %,d건 (%.1fms)",
+              label, stock.size(), events.size(), elapsedNanos / 1e6));
+        } catch (Exception e) {
+          statusLabel.setText("❌ 재고 이력 조회 실패: " + e.getMessage());
+          e.printStackTrace();
+        }
+      }
+    }.execute();
+  }
+
+  private void rebuild() {
+    if (running) return;
+    running = true;
+    statusLabel.setText("재고 검증 중...");
+    new SwingWorker<Integer, Void>() {
+      @Override
+      protected Integer doInBackground() {
+        return inventoryService.rebuildInventory();
+      }
+
+      @Override
+      protected void done() {
+        running = false;
+        try {
+          int repaired = get();
+          statusLabel.setText(repaired < 0 ? "❌ 재고 검증 실패"
+              : repaired == 0 ? "✅ 재고가 이벤트 로그와 일치합니다" : "⚠️ 어긋난 제품 " + repaired + "개의 재고를 고쳤습니다");
+        } catch (Exception e) {
+          statusLabel.setText("❌ 재고 검증 실패: " + e.getMessage());
+          e.printStackTrace();
+        }
+      }
+    }.execute();
+  }
+
+  // 날짜만 입력하면 그날 마감(23:59:59), 비우면 아주 먼 미래 (= 현재 재고)
+  private static LocalDateTime parseTime(String text) {
+    String value = text.trim();
+    if (value.isEmpty()) return LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    if (value.length() <= 10) {
+      return LocalDate.parse(value).atTime(23, 59, 59);
+    }
+    return LocalDateTime.parse(value, DATE_TIME);
+  }
+}
@@ -1,12 +1,23 @@
 package ui;
 
+import common.EventBus;
+import common.TickProfiler;
+import dao.ProductDAO;
+import dao.SaleDAO;
+import dao.SchemaMigrator;
 import dto.SaleItem;
 import dto.Product;
+import monitor.MonitorRegistry;
 import service.*;
 
 import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalTime;
 import java.time.LocalDate;
 import java.util.List;
@@ -21,6 +32,9 @@ public class MainFrame extends JFrame {
   private InventoryService inventoryService;
   private SalesService salesService;
   private SimulationService simulationService;
+  private CatalogImportService catalogImportService;
+  private SimulationDriver simulationDriver;
+  private StoreChain storeChain;   // -Dstores=N (N > 1) 일 때만
 
   // UI 컴포넌트
   private JTable productTable;
@@ -31,16 +45,20 @@ public class MainFrame extends JFrame {
   private JButton startButton;
   private JButton stopButton;
   private JButton restockButton;
+  private JButton importButton;
   private JLabel statusLabel;
+  private JLabel speedLabel;
+  private JLabel profilerLabel;
   private CircleAnimationPanel simulationPanel;
+  private StoreChainPanel storeChainPanel;
 
   // 테이블 모델
   private DefaultTableModel productTableModel;
   private DefaultTableModel waitingOrdersTableModel;
+  private DefaultTableModel kpiTableModel;
 
-  // 시뮬레이션 타이머
-  private Timer simulationTimer;
-  private int timeScale = 10;
+  // 실제 속도 표시 갱신 타이머
+  private Timer speedDisplayTimer;
 
   public MainFrame() {
     setTitle("핸드폰 판매 관리 시스템");
@@ -50,10 +68,26 @@ public class MainFrame extends JFrame {
 
     initServices();
     initComponents();
+    resumeFromCheckpoint();
     loadProductsFromDatabase();
     refreshWaitingOrdersTable();
   }
 
+  /**
+   * -Dcheckpoint.resume=<파일> 지정 시 시작하자마자 체크포인트에서 이어하기
+   */
+  private void resumeFromCheckpoint() {
+    String resumePath = System.getProperty("checkpoint.resume");
+    if (resumePath == null) return;
+    try {
+      simulationService.restoreCheckpoint(Paths.get(resumePath));
+      updateClockLabels();
+    } catch (IOException | RuntimeException e) {
+      System.err.println("❌ 체크포인트 복원 실패: " + e.getMessage());
+      addLog("❌ 체크포인트 복원 실패: " + e.getMessage());
+    }
+  }
+
   /**
    * 데이터베이스에서 제품 목록 불러오기
    */
@@ -73,18 +107,57 @@ public class MainFrame extends JFrame {
    * 서비스 초기화
    */
   private void initServices() {
+    // 기존 볼륨에도 새 인덱스/테이블이 적용되도록 서비스보다 먼저 스키마 마이그레이션 실행
+    SchemaMigrator.migrate();
+
+    // 체크포인트에는 본점 상태만 담기므로 지점이 여러 곳이면 이어하지 않고 처음부터 시작한다
+    // (판매 서비스가 만들어질 때 이 속성을 보고 판매 기록 초기화 여부를 정하므로 서비스 생성 전에 정리)
+    int storeCount = Integer.getInteger("stores", 1);
+    if (storeCount > 1 && System.getProperty("checkpoint.resume") != null) {
+      System.err.println("❌ 지점이 여러 곳이면 체크포인트에서 이어할 수 없어 처음부터 시작합니다.");
+      System.clearProperty("checkpoint.resume");
+    }
+
     timeService = new TimeService();
     simulationService = new SimulationService(timeService);
+    simulationDriver = new SimulationDriver(timeService, simulationService);
+    simulationDriver.setRequestedSpeed(10);
+
+    // -Dstores=N 지정 시 본점 외 지점 N-1 곳을 같은 시계로 병렬 시뮬레이션 (구동기는 틱마다 모든 지점을 기다린다)
+    if (storeCount > 1) {
+      storeChain = StoreChain.open(simulationService, timeService, storeCount);
+      for (SimulationService branch : storeChain.branches()) {
+        simulationDriver.addSimulationService(branch);
+      }
+      if (storeChain.getRebalancer() != null) {
+        storeChain.getRebalancer().setLogger(this::addLog);
+      }
+    }
+
+    // JMX 로 판매/재고/시뮬레이션/DB 지표 노출
+    MonitorRegistry.registerAll(simulationService, simulationDriver, timeService);
 
     // SimulationService에서 서비스 객체들을 가져옴
     inventoryService = simulationService.getInventoryService();
     salesService = simulationService.getSalesService();
+    catalogImportService = new CatalogImportService(new ProductDAO(), inventoryService::getSimulatedTime);
 
     // 시뮬레이션 로그 리스너 등록
     simulationService.addSimulationLogListener(message -> {
       addLog(message);
     });
 
+    // -Dsimulation.record=<파일> 지정 시 고객 방문/구매 요청을 기록 (종료할 때 파일을 닫는다)
+    String recordPath = System.getProperty("simulation.record");
+    if (recordPath != null) {
+      try {
+        simulationService.startRecording(Paths.get(recordPath));
+        Runtime.getRuntime().addShutdownHook(new Thread(simulationService::stopRecording));
+      } catch (IOException e) {
+        System.err.println("❌ 작업 부하 기록 파일을 열 수 없습니다: " + e.getMessage());
+      }
+    }
+
     timeService.addTimeEventListener(new TimeService.TimeEventListener() {
       @Override
       public void onTimeChanged(LocalTime time, LocalDate date) {
@@ -96,8 +169,8 @@ public class MainFrame extends JFrame {
         if (hour == 9) {
           addLog("🏪 09:00 - 영업 시작!");
         } else if (hour == 1) {
+          // 배송과 대기 주문 처리는 SimulationService 가 시뮬레이션 스레드에서 한다 (여기서는 표시만)
           addLog("🚚 01:00 - 본사 배송 도착!");
-          receiveDeliveryFromHeadquarters();
         }
       }
 
@@ -108,7 +181,7 @@ public class MainFrame extends JFrame {
           addLog("📅 새로운 날이 시작되었습니다: " + timeService.getFormattedDate());
         });
       }
-    });
+    }, EventBus.OverflowPolicy.COALESCE);
 
     inventoryService.addInventoryChangeListener(new InventoryService.InventoryChangeListener() {
       @Override
@@ -127,7 +200,7 @@ public class MainFrame extends JFrame {
       public void onLowStockDetected(Product product) {
         addLog(String.format("⚠️ 재고 부족 경고: %s (매장 재고: %d개)", product.getName(), product.getStoreQuantity()));
       }
-    });
+    }, EventBus.OverflowPolicy.COALESCE);
 
     salesService.addSalesListener(new SalesService.SalesListener() {
       @Override
@@ -161,7 +234,14 @@ public class MainFrame extends JFrame {
           addLog(String.format("❌ 판매 실패: %s %d개 - %s", productName, requestedQuantity, reason));
         }
       }
-    });
+    }, EventBus.OverflowPolicy.DROP_OLDEST);
+
+    // 대기 주문 처리(배송 뒤/영업 시작)는 SimulationService 가 하고 화면은 결과만 반영
+    salesService.addWaitingOrderListener((productId, quantity, success) -> {
+      if (success) {
+        refreshWaitingOrdersTable();
+      }
+    }, EventBus.OverflowPolicy.DROP_OLDEST);
   }
 
   /**
@@ -187,9 +267,34 @@ public class MainFrame extends JFrame {
 
     simulationPanel = new CircleAnimationPanel();
     simulationPanel.setBackground(Color.WHITE); // 시뮬레이션 패널 배경색 설정
+    // 실제 고객 방문/구매 이벤트를 애니메이션에 반영 (밀리면 오래된 이벤트부터 버림)
+    simulationService.addSimulationListener(simulationPanel, EventBus.OverflowPolicy.DROP_OLDEST);
     splitPane.setRightComponent(simulationPanel);
 
-    mainPanel.add(splitPane, BorderLayout.CENTER);
+    // 판매 내역 탭은 처음 열 때 조회
+    JTabbedPane tabbedPane = new JTabbedPane();
+    tabbedPane.addTab("시뮬레이션", splitPane);
+    SalesHistoryPanel historyPanel = new SalesHistoryPanel(SaleDAO.create());
+    tabbedPane.addTab("판매 내역", historyPanel);
+    tabbedPane.addTab("판매 분석", new SalesAnalyticsPanel(salesService.getColumnStore()));
+    tabbedPane.addTab("재고 이력", new InventoryHistoryPanel(inventoryService));
+    if (storeChain != null) {
+      storeChainPanel = new StoreChainPanel(storeChain);
+      tabbedPane.addTab("지점 현황", storeChainPanel);
+    }
+    tabbedPane.addChangeListener(new ChangeListener() {
+      private boolean loaded = false;
+
+      @Override
+      public void stateChanged(ChangeEvent e) {
+        if (!loaded && tabbedPane.getSelectedComponent() == historyPanel) {
+          loaded = true;
+          historyPanel.search();
+        }
+      }
+    });
+
+    mainPanel.add(tabbedPane, BorderLayout.CENTER);
     mainPanel.add(createStatusPanel(), BorderLayout.SOUTH);
 
     add(mainPanel);
@@ -242,22 +347,57 @@ public class MainFrame extends JFrame {
     restockButton.addActionListener(e -> manageInventory());
     panel.add(restockButton);
 
+    // 카탈로그 가져오기 버튼
+    importButton = new JButton("카탈로그 가져오기");
+    importButton.setFont(new Font("Arial", Font.BOLD, 12)); // 굵은 폰트
+    importButton.setFocusPainted(false); // 포커스 테두리 제거
+    importButton.addActionListener(e -> importCatalog());
+    panel.add(importButton);
+
+    // 판매 보고서 버튼 (보고서 스레드에서 생성되어 시뮬레이션은 계속 진행)
+    JButton reportButton = new JButton("판매 보고서");
+    reportButton.setFont(new Font("Arial", Font.BOLD, 12)); // 굵은 폰트
+    reportButton.setFocusPainted(false); // 포커스 테두리 제거
+    reportButton.addActionListener(e -> {
+      Path directory = simulationService.getReportDirectory() != null
+          ? simulationService.getReportDirectory() : Paths.get("reports");
+      addLog("📊 판매 보고서 생성 중... (" + directory.toAbsolutePath() + ")");
+      simulationService.exportSalesReport(timeService.getCurrentDate(), directory);
+    });
+    panel.add(reportButton);
+
+    // 체크포인트 저장/복원 버튼 (저장은 실행 중에도 가능, 복원은 정지 상태에서만)
+    JButton saveCheckpointButton = new JButton("체크포인트 저장");
+    saveCheckpointButton.setFont(new Font("Arial", Font.BOLD, 12)); // 굵은 폰트
+    saveCheckpointButton.setFocusPainted(false); // 포커스 테두리 제거
+    saveCheckpointButton.addActionListener(e -> saveCheckpoint());
+    panel.add(saveCheckpointButton);
+
+    JButton restoreCheckpointButton = new JButton("체크포인트 복원");
+    restoreCheckpointButton.setFont(new Font("Arial", Font.BOLD, 12)); // 굵은 폰트
+    restoreCheckpointButton.setFocusPainted(false); // 포커스 테두리 제거
+    restoreCheckpointButton.addActionListener(e -> restoreCheckpoint());
+    panel.add(restoreCheckpointButton);
+
     JPanel speedPanel = new JPanel();
     speedPanel.add(new JLabel("속도: "));
-    String[] speeds = {"1x", "5x", "10x", "50x", "100x"};
+    String[] speeds = {"1x", "5x", "10x", "50x", "100x", "500x", "1000x", "최대"};
     JComboBox<String> speedCombo = new JComboBox<>(speeds);
     speedCombo.setSelectedIndex(2); // 기본 10x
     speedCombo.addActionListener(e -> {
       String selected = (String)speedCombo.getSelectedItem();
-      timeScale = Integer.parseInt(selected.substring(0, selected.length() - 1));
-      addLog("🔄 시뮬레이션 속도가 " + selected + "로 변경되었습니다.");
-
-      // 타이머가 실행 중이면 속도 변경 적용
-      if (simulationTimer != null && simulationTimer.isRunning()) {
-        simulationTimer.setDelay(600 / timeScale);
+      if (selected.endsWith("x")) {
+        simulationDriver.setRequestedSpeed(Integer.parseInt(selected.substring(0, selected.length() - 1)));
+      } else {
+        simulationDriver.setRequestedSpeed(SimulationDriver.MAX_SPEED);
       }
+      addLog("🔄 시뮬레이션 속도가 " + selected + "로 변경되었습니다.");
     });
     speedPanel.add(speedCombo);
+
+    // 요청 속도 대비 실제 달성 속도
+    speedLabel = new JLabel("실제: -");
+    speedPanel.add(speedLabel);
     panel.add(speedPanel);
 
     return panel;
@@ -292,6 +432,7 @@ public class MainFrame extends JFrame {
     JScrollPane productScrollPane = new JScrollPane(productTable);
     productScrollPane.setBorder(BorderFactory.createTitledBorder("제품 목록"));
     panel.add(productScrollPane, BorderLayout.CENTER);
+    panel.add(createKpiPanel(), BorderLayout.NORTH);
 
     // 하단 패널 (대기 주문 + 로그)
     JPanel bottomPanel = new JPanel(new GridLayout(2, 1, 0, 5));
@@ -325,6 +466,48 @@ public class MainFrame extends JFrame {
     return panel;
   }
 
+  /**
+   * 시뮬레이션 시간 기준 KPI 표 (1분/1시간/1일 윈도우)
+   */
+  private JScrollPane createKpiPanel() {
+    String[] kpiColumns = {"윈도우", "매출(원)", "판매", "수량", "판매/초", "품절률", "대기 p50(분)", "대기 p90(분)", "대기 p99(분)"};
+    kpiTableModel = new DefaultTableModel(kpiColumns, 0) {
+      @Override
+      public boolean isCellEditable(int row, int column) {
+        return false;
+      }
+    };
+    for (KpiAggregator.Window window : KpiAggregator.Window.values()) {
+      kpiTableModel.addRow(new Object[]{window.getLabel(), 0, 0, 0, "0.000", "0.0%", 0, 0, 0});
+    }
+
+    JTable kpiTable = new JTable(kpiTableModel);
+    kpiTable.setRowHeight(20);
+    JScrollPane kpiScrollPane = new JScrollPane(kpiTable);
+    kpiScrollPane.setBorder(BorderFactory.createTitledBorder("판매 지표 (시뮬레이션 시간)"));
+    kpiScrollPane.setPreferredSize(new Dimension(600, 110));
+    return kpiScrollPane;
+  }
+
+  /**
+   * KPI 표 갱신 (집계기에서 바로 읽으므로 SQL 조회 없음)
+   */
+  private void updateKpiTable() {
+    KpiAggregator kpi = salesService.getKpi();
+    KpiAggregator.Window[] windows = KpiAggregator.Window.values();
+    for (int row = 0; row < windows.length; row++) {
+      KpiAggregator.Snapshot s = kpi.snapshot(windows[row]);
+      kpiTableModel.setValueAt(String.format("%,d", s.getRevenue()), row, 1);
+      kpiTableModel.setValueAt(s.getSales(), row, 2);
+      kpiTableModel.setValueAt(s.getUnits(), row, 3);
+      kpiTableModel.setValueAt(String.format("%.3f", s.getSalesPerSecond()), row, 4);
+      kpiTableModel.setValueAt(String.format("%.1f%%", s.getStockoutRate() * 100), row, 5);
+      kpiTableModel.setValueAt(Math.round(s.getBackorderAgePercentile(0.50)), row, 6);
+      kpiTableModel.setValueAt(Math.round(s.getBackorderAgePercentile(0.90)), row, 7);
+      kpiTableModel.setValueAt(Math.round(s.getBackorderAgePercentile(0.99)), row, 8);
+    }
+  }
+
   /**
    * 하단 상태 패널 생성
    */
@@ -337,6 +520,12 @@ public class MainFrame extends JFrame {
     statusLabel = new JLabel("시스템 준비 완료. 시뮬레이션을 시작하세요.");
     panel.add(statusLabel, BorderLayout.WEST);
 
+    // 틱 지연 분석 요약 (마우스를 올리면 전체 보고서)
+    profilerLabel = new JLabel(" ");
+    profilerLabel.setFont(new Font("Monospaced", Font.PLAIN, 11));
+    profilerLabel.setHorizontalAlignment(SwingConstants.CENTER);
+    panel.add(profilerLabel, BorderLayout.CENTER);
+
     JLabel infoLabel = new JLabel("영업시간: 9:00-18:00 | 정각마에 재고 관리 | 1:00에 본사 배송 | 9시 대기 주문 처리");
     infoLabel.setHorizontalAlignment(SwingConstants.RIGHT);
     panel.add(infoLabel, BorderLayout.EAST);
@@ -367,16 +556,45 @@ public class MainFrame extends JFrame {
 
     // 시뮬레이션 서비스 시작
     simulationService.startSimulation();
+    if (storeChain != null) {
+      storeChain.startBranches();
+    }
 
     // 시뮬레이션 패널 애니메이션 시작
     simulationPanel.startAnimation();
 
-    // 시간 진행 타이머 시작
-    simulationTimer = new Timer(600 / timeScale, e -> {
-      // 1분씩 시간 진행
-      timeService.advanceTime(1);
+    // 시간 진행 시작 (전용 스레드에서 틱 비용을 재며 속도 조절)
+    simulationDriver.start();
+
+    speedDisplayTimer = new Timer(500, e -> {
+      updateSpeedLabel();
+      updateProfilerLabel();
+      updateKpiTable();
+      if (storeChainPanel != null) {
+        storeChainPanel.refresh();
+      }
     });
-    simulationTimer.start();
+    speedDisplayTimer.start();
+  }
+
+  /**
+   * 틱 지연 분석 요약 표시
+   */
+  private void updateProfilerLabel() {
+    TickProfiler profiler = TickProfiler.getInstance();
+    profilerLabel.setText(profiler.formatSummary());
+    profilerLabel.setToolTipText("<html><pre>" + profiler.formatReport() + "</pre></html>");
+  }
+
+  /**
+   * 요청 속도와 실제 달성 속도 표시
+   */
+  private void updateSpeedLabel() {
+    String requested = simulationDriver.isMaxSpeed()
+        ? "최대" : String.format("%.0fx", simulationDriver.getRequestedSpeed());
+    speedLabel.setText(String.format("실제: %.1fx / 요청: %s (틱당 %d분, %.1fms)",
+        simulationDriver.getAchievedSpeed(), requested,
+        simulationDriver.getMinutesPerTick(), simulationDriver.getLastTickNanos() / 1_000_000.0));
   }
 
   /**
@@ -389,19 +607,88 @@ public class MainFrame extends JFrame {
 
     // 시뮬레이션 서비스 정지
     simulationService.stopSimulation();
+    if (storeChain != null) {
+      storeChain.stopBranches();
+    }
 
     // 애니메이션 정지
     simulationPanel.stopAnimation();
 
-    // 시간 진행 타이머 정지
-    if (simulationTimer != null) {
-      simulationTimer.stop();
-      simulationTimer = null;
+    // 시간 진행 정지
+    simulationDriver.stop();
+    if (speedDisplayTimer != null) {
+      speedDisplayTimer.stop();
+      speedDisplayTimer = null;
+    }
+    speedLabel.setText("실제: -");
+    updateKpiTable();
+    if (storeChainPanel != null) {
+      storeChainPanel.refresh();
     }
 
     addLog("⏹️ 시뮬레이션이 정지되었습니다.");
   }
 
+  /**
+   * 체크포인트 저장 (완료/실패는 시뮬레이션 로그로 표시)
+   */
+  private void saveCheckpoint() {
+    JFileChooser chooser = new JFileChooser();
+    chooser.setDialogTitle("체크포인트 저장");
+    chooser.setSelectedFile(new java.io.File("simulation.ckpt"));
+    if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+    Path file = chooser.getSelectedFile().toPath();
+    new SwingWorker<Path, Void>() {
+      @Override
+      protected Path doInBackground() throws Exception {
+        return simulationService.requestCheckpoint(file).get();
+      }
+
+      @Override
+      protected void done() {
+        try {
+          get();
+          statusLabel.setText("체크포인트 저장 완료");
+        } catch (Exception e) {
+          statusLabel.setText("체크포인트 저장 실패");
+        }
+      }
+    }.execute();
+  }
+
+  /**
+   * 체크포인트 복원 (정지 상태에서만)
+   */
+  private void restoreCheckpoint() {
+    if (simulationService.isRunning()) {
+      JOptionPane.showMessageDialog(this, "시뮬레이션을 정지한 뒤 복원하세요.", "체크포인트 복원",
+          JOptionPane.WARNING_MESSAGE);
+      return;
+    }
+    JFileChooser chooser = new JFileChooser();
+    chooser.setDialogTitle("체크포인트 복원");
+    if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+    Path file = chooser.getSelectedFile().toPath();
+    try {
+      simulationService.restoreCheckpoint(file);
+      updateClockLabels();
+      refreshProductTable(inventoryService.getAllProducts());
+      refreshWaitingOrdersTable();
+      updateKpiTable();
+      statusLabel.setText("체크포인트 복원 완료");
+    } catch (IOException | RuntimeException e) {
+      addLog("❌ 체크포인트 복원 실패: " + e.getMessage());
+      e.printStackTrace();
+    }
+  }
+
+  private void updateClockLabels() {
+    clockLabel.setText(timeService.getFormattedTime());
+    dateLabel.setText("📅 " + timeService.getFormattedDate());
+  }
+
   /**
    * 재고 관리 실행 (22시)
    */
@@ -418,36 +705,58 @@ public class MainFrame extends JFrame {
   }
 
   /**
-   * 본사 배송 받기 (1시)
+   * CSV 카탈로그 가져오기 (백그라운드 실행, 구간 커밋마다 진행률 표시)
    */
-  private void receiveDeliveryFromHeadquarters() {
-    addLog("🚚 본사에서 배송이 도착했습니다...");
-
-    // 본사 배송 서비스 호출
-    inventoryService.receiveDeliveryFromHeadquarters();
+  private void importCatalog() {
+    JFileChooser chooser = new JFileChooser();
+    chooser.setDialogTitle("카탈로그 파일 선택 (CSV)");
+    if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+    CatalogImportService.Mode[] modes = CatalogImportService.Mode.values();
+    String[] labels = new String[modes.length];
+    for (int i = 0; i < modes.length; i++) {
+      labels[i] = modes[i].getLabel();
+    }
+    int choice = JOptionPane.showOptionDialog(this, "가져오기 방식을 선택하세요.", "카탈로그 가져오기",
+        JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, labels, labels[0]);
+    if (choice < 0) return;
 
-    addLog("✅ 창고 재고가 보충되었습니다.");
+    CatalogImportService.Mode mode = modes[choice];
+    Path file = chooser.getSelectedFile().toPath();
+    importButton.setEnabled(false);
+    addLog("📥 카탈로그 가져오기 시작: " + file.getFileName() + " (" + mode.getLabel() + ")");
 
-    // 대기 주문 처리
-    processWaitingOrders();
+    new SwingWorker<CatalogImportService.Result, String>() {
+      @Override
+      protected CatalogImportService.Result doInBackground() throws Exception {
+        return catalogImportService.importFile(file, mode, CatalogImportService.DEFAULT_CHUNK_SIZE,
+            (rows, bytesRead, totalBytes) -> publish(String.format("📥 카탈로그 %,d행 처리 (%.0f%%)",
+                rows, totalBytes == 0 ? 100.0 : bytesRead * 100.0 / totalBytes)));
+      }
 
-    // 테이블 즉시 업데이트
-    refreshProductTable(inventoryService.getAllProducts());
-    refreshWaitingOrdersTable();
-  }
+      @Override
+      protected void process(List<String> chunks) {
+        statusLabel.setText(chunks.get(chunks.size() - 1));
+      }
 
-  /**
-   * 대기 주문 처리
-   */
-  private void processWaitingOrders() {
-    addLog("📋 대기 주문 처리 중...");
-    try {
-      // 서비스에서 대기 주문 처리 메소드 호출
-      int processed = salesService.processWaitingOrders();
-      addLog("✅ " + processed + "건의 대기 주문이 처리되었습니다.");
-    } catch (Exception e) {
-      addLog("❌ 대기 주문 처리 중 오류 발생: " + e.getMessage());
-    }
+      @Override
+      protected void done() {
+        importButton.setEnabled(true);
+        try {
+          CatalogImportService.Result result = get();
+          addLog((result.isSuccess() ? "✅ " : "❌ ") + result.formatSummary());
+          for (String error : result.getErrors()) {
+            addLog("  ⚠️ " + error);
+          }
+          statusLabel.setText("카탈로그 가져오기 완료");
+        } catch (Exception e) {
+          addLog("❌ 카탈로그 가져오기 실패: " + e.getMessage());
+          e.printStackTrace();
+        }
+        inventoryService.fireInventoryChangedEvent();
+        refreshProductTable(inventoryService.getAllProducts());
+      }
+    }.execute();
   }
 
   /**
@@ -455,6 +764,7 @@ public class MainFrame extends JFrame {
    */
   private void refreshWaitingOrdersTable() {
     SwingUtilities.invokeLater(() -> {
+      long profileStart = TickProfiler.begin();
       waitingOrdersTableModel.setRowCount(0);
       try {
         List<SaleItem> waitingOrders = salesService.getWaitingOrders();
@@ -474,6 +784,8 @@ public class MainFrame extends JFrame {
       } catch (Exception e) {
         // 대기 주문 조회 실패 시 조용히 무시
         System.err.println("대기 주문 로드 실패: " + e.getMessage());
+      } finally {
+        TickProfiler.end(TickProfiler.Category.UI, profileStart);
       }
     });
   }
@@ -483,32 +795,44 @@ public class MainFrame extends JFrame {
    */
   private void refreshProductTable(List<Product> products) {
     SwingUtilities.invokeLater(() -> {
-      productTableModel.setRowCount(0);
-      for (Product product : products) {
-        String status;
-        if (product.getStoreQuantity() > 5) {
-          status = "판매 가능";
-        } else if (product.getStoreQuantity() > 0) {
-          status = "재고 부족";
-        } else if (product.getWarehouseQuantity() > 0) {
-          status = "창고에서 가져오기";
-        } else {
-          status = "재고 없음";
-        }
-
-        productTableModel.addRow(new Object[]{
-            product.getProductId(),
-            product.getName(),
-            product.getManufacturer(),
-            String.format("%,d", product.getPrice()),
-            product.getStoreQuantity(),
-            product.getWarehouseQuantity(),
-            status
-        });
+      long profileStart = TickProfiler.begin();
+      try {
+        fillProductTable(products);
+      } finally {
+        TickProfiler.end(TickProfiler.Category.UI, profileStart);
       }
     });
   }
 
+  /**
+   * 제품 테이블 행 채우기 (EDT)
+   */
+  private void fillProductTable(List<Product> products) {
+    productTableModel.setRowCount(0);
+    for (Product product : products) {
+      String status;
+      if (product.getStoreQuantity() > 5) {
+        status = "판매 가능";
+      } else if (product.getStoreQuantity() > 0) {
+        status = "재고 부족";
+      } else if (product.getWarehouseQuantity() > 0) {
+        status = "창고에서 가져오기";
+      } else {
+        status = "재고 없음";
+      }
+
+      productTableModel.addRow(new Object[]{
+          product.getProductId(),
+          product.getName(),
+          product.getManufacturer(),
+          String.format("%,d", product.getPrice()),
+          product.getStoreQuantity(),
+          product.getWarehouseQuantity(),
+          status
+      });
+    }
+  }
+
   /**
    * CircleAnimationPanel에 접근하기 위한 메소드
    */
@@ -0,0 +1,146 @@
+package ui;
+
+import service.SalesColumnStore;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 판매 분석 탭
+ *
+ * 기준(제품/제조사/시간/날짜/시간대)과 조건을 골라 SalesColumnStore 에서 수량/매출 합계를 바로 집계한다.
+ * 집계는 백그라운드 스레드(SwingWorker)에서 청크별 병렬로 실행되며 MySQL 을 읽지 않는다.
+ */
+public class SalesAnalyticsPanel extends JPanel {
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+  private final SalesColumnStore store;
+  private final DefaultTableModel tableModel;
+  private final JComboBox<SalesColumnStore.Dimension> dimensionBox = new JComboBox<>(SalesColumnStore.Dimension.values());
+  private final JTextField productField = new JTextField(6);
+  private final JTextField manufacturerField = new JTextField(8);
+  private final JTextField fromField = new JTextField(12);
+  private final JTextField toField = new JTextField(12);
+  private final JLabel statusLabel = new JLabel(" ");
+  private boolean running;
+
+  public SalesAnalyticsPanel(SalesColumnStore store) {
+    super(new BorderLayout(5, 5));
+    this.store = store;
+    setBackground(Color.WHITE);
+
+    JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+    filterPanel.setBorder(BorderFactory.createTitledBorder("집계 조건"));
+    filterPanel.add(new JLabel("기준:"));
+    dimensionBox.setRenderer(new DefaultListCellRenderer() {
+      @Override
+      public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected,
+          boolean cellHasFocus) {
+        Object label = value instanceof SalesColumnStore.Dimension ? ((SalesColumnStore.Dimension) value).getLabel() : value;
+        return super.getListCellRendererComponent(list, label, index, isSelected, cellHasFocus);
+      }
+    });
+    filterPanel.add(dimensionBox);
+    filterPanel.add(new JLabel("제품 ID:"));
+    productField.setToolTipText("비우면 전체 제품");
+    filterPanel.add(productField);
+    filterPanel.add(new JLabel("제조사:"));
+    manufacturerField.setToolTipText("비우면 전체 제조사");
+    filterPanel.add(manufacturerField);
+    filterPanel.add(new JLabel("시작:"));
+    fromField.setToolTipText("yyyy-MM-dd 또는 yyyy-MM-dd HH:mm (비우면 제한 없음)");
+    filterPanel.add(fromField);
+    filterPanel.add(new JLabel("종료:"));
+    toField.setToolTipText("yyyy-MM-dd 또는 yyyy-MM-dd HH:mm (해당 시각 미만, 날짜만 쓰면 그날 포함)");
+    filterPanel.add(toField);
+    JButton runButton = new JButton("집계");
+    runButton.addActionListener(e -> runQuery());
+    filterPanel.add(runButton);
+    add(filterPanel, BorderLayout.NORTH);
+
+    String[] columns = {"구분", "수량", "매출(원)", "판매 줄 수"};
+    tableModel = new DefaultTableModel(columns, 0) {
+      @Override
+      public boolean isCellEditable(int row, int column) {
+        return false;
+      }
+    };
+    JTable table = new JTable(tableModel);
+    table.setRowHeight(22);
+    table.getColumnModel().getColumn(0).setPreferredWidth(300);
+
+    JScrollPane scrollPane = new JScrollPane(table);
+    scrollPane.setBorder(BorderFactory.createTitledBorder("집계 결과"));
+    add(scrollPane, BorderLayout.CENTER);
+    add(statusLabel, BorderLayout.SOUTH);
+  }
+
+  /**
+   * 현재 조건으로 집계 실행
+   */
+  public void runQuery() {
+    if (running) return;
+
+    SalesColumnStore.Dimension dimension = (SalesColumnStore.Dimension) dimensionBox.getSelectedItem();
+    int productId;
+    LocalDateTime from;
+    LocalDateTime to;
+    String manufacturer = manufacturerField.getText().trim();
+    try {
+      String product = productField.getText().trim();
+      productId = product.isEmpty() ? 0 : Integer.parseInt(product);
+      from = parseTime(fromField.getText(), false);
+      to = parseTime(toField.getText(), true);
+    } catch (NumberFormatException | DateTimeParseException e) {
+      statusLabel.setText("❌ 집계 조건이 올바르지 않습니다: " + e.getMessage());
+      return;
+    }
+
+    running = true;
+    statusLabel.setText("집계 중...");
+    new SwingWorker<SalesColumnStore.Result, Void>() {
+      @Override
+      protected SalesColumnStore.Result doInBackground() {
+        return store.aggregate(dimension, from, to, productId, manufacturer.isEmpty() ? null : manufacturer);
+      }
+
+      @Override
+      protected void done() {
+        running = false;
+        try {
+          SalesColumnStore.Result result = get();
+          tableModel.setRowCount(0);
+          for (SalesColumnStore.Group group : result.getGroups()) {
+            tableModel.addRow(new Object[]{
+                group.getLabel(),
+                String.format("%,d", group.getUnits()),
+                String.format("%,d", group.getRevenue()),
+                String.format("%,d", group.getLines())
+            });
+          }
+          statusLabel.setText(String.format("%,d개 그룹 (청크 %,d개, %,d행 검사, %.1fms)", result.getGroups().size(),
+              result.getScannedChunks(), result.getScannedRows(), result.getElapsedNanos() / 1e6));
+        } catch (Exception e) {
+          statusLabel.setText("❌ 집계 실패: " + e.getMessage());
+          e.printStackTrace();
+        }
+      }
+    }.execute();
+  }
+
+  // 날짜만 입력한 종료 조건은 다음 날 0시 미만으로 본다
+  private static LocalDateTime parseTime(String text, boolean end) {
+    String value = text.trim();
+    if (value.isEmpty()) return null;
+    if (value.length() <= 10) {
+      LocalDate date = LocalDate.parse(value);
+      return end ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+    }
+    return LocalDateTime.parse(value, DATE_TIME);
+  }
+}
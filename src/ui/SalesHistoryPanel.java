@@ -0,0 +1,224 @@
+package ui;
+
+import dao.RollupDAO;
+import dao.SaleDAO;
+import dto.Sale;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 판매 내역 탭
+ *
+ * 조건(제품 ID, 기간)을 정해 조회하면 최신 판매부터 한 페이지씩 가져오고,
+ * 표를 끝까지 스크롤하면 다음 페이지를 백그라운드 스레드(SwingWorker)에서 이어 읽는다.
+ * 다음 페이지는 마지막 행의 (판매 일시, 판매 ID) 다음부터 읽는 키셋 방식이라 행이 많아도 느려지지 않는다.
+ * 조건 전체의 합계는 행을 세지 않고 시간 집계(sales_hourly)에서 읽으며, 집계가 없는 판매 원장 모드에서는 표시하지 않는다.
+ */
+public class SalesHistoryPanel extends JPanel {
+  private static final int PAGE_SIZE = 200;
+  private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+  private final SaleDAO saleDAO;
+  private final RollupDAO rollupDAO = new RollupDAO();
+  private final DefaultTableModel tableModel;
+  private final JTable table;
+  private final JTextField productField = new JTextField(6);
+  private final JTextField fromField = new JTextField(12);
+  private final JTextField toField = new JTextField(12);
+  private final JLabel statusLabel = new JLabel(" ");
+  private final JLabel totalsLabel = new JLabel(" ");
+
+  // 현재 조회 조건과 페이지 상태 (EDT 에서만 접근)
+  private int productId;
+  private LocalDateTime from;
+  private LocalDateTime to;
+  private Sale lastRow;
+  private boolean hasMore;
+  private boolean loading;
+  private int generation;   // 새로 조회하면 늘려서 이전 조회의 늦은 결과를 버린다
+  private int loadedRows;
+
+  public SalesHistoryPanel(SaleDAO saleDAO) {
+    super(new BorderLayout(5, 5));
+    this.saleDAO = saleDAO;
+    setBackground(Color.WHITE);
+
+    JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+    filterPanel.setBorder(BorderFactory.createTitledBorder("조회 조건"));
+    filterPanel.add(new JLabel("제품 ID:"));
+    productField.setToolTipText("비우면 전체 제품");
+    filterPanel.add(productField);
+    filterPanel.add(new JLabel("시작:"));
+    fromField.setToolTipText("yyyy-MM-dd 또는 yyyy-MM-dd HH:mm (비우면 제한 없음)");
+    filterPanel.add(fromField);
+    filterPanel.add(new JLabel("종료:"));
+    toField.setToolTipText("yyyy-MM-dd 또는 yyyy-MM-dd HH:mm (해당 시각 미만, 날짜만 쓰면 그날 포함)");
+    filterPanel.add(toField);
+    JButton searchButton = new JButton("조회");
+    searchButton.addActionListener(e -> search());
+    filterPanel.add(searchButton);
+    add(filterPanel, BorderLayout.NORTH);
+
+    String[] columns = {"판매 ID", "판매 일시", "제품", "수량", "금액(원)"};
+    tableModel = new DefaultTableModel(columns, 0) {
+      @Override
+      public boolean isCellEditable(int row, int column) {
+        return false;
+      }
+    };
+    table = new JTable(tableModel);
+    table.setRowHeight(22);
+    table.getColumnModel().getColumn(0).setPreferredWidth(70);
+    table.getColumnModel().getColumn(1).setPreferredWidth(130);
+    table.getColumnModel().getColumn(2).setPreferredWidth(320);
+    table.getColumnModel().getColumn(3).setPreferredWidth(50);
+    table.getColumnModel().getColumn(4).setPreferredWidth(100);
+
+    JScrollPane scrollPane = new JScrollPane(table);
+    scrollPane.setBorder(BorderFactory.createTitledBorder("판매 내역 (최신순)"));
+    // 끝에서 한 화면 이내로 스크롤하면 다음 페이지 요청
+    scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+      JScrollBar bar = (JScrollBar) e.getAdjustable();
+      if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - bar.getVisibleAmount()) {
+        loadNextPage();
+      }
+    });
+    add(scrollPane, BorderLayout.CENTER);
+    JPanel southPanel = new JPanel(new GridLayout(2, 1));
+    southPanel.setOpaque(false);
+    southPanel.add(totalsLabel);
+    southPanel.add(statusLabel);
+    add(southPanel, BorderLayout.SOUTH);
+  }
+
+  /**
+   * 조건을 읽어 처음부터 다시 조회
+   */
+  public void search() {
+    try {
+      String product = productField.getText().trim();
+      productId = product.isEmpty() ? 0 : Integer.parseInt(product);
+      from = parseTime(fromField.getText(), false);
+      to = parseTime(toField.getText(), true);
+    } catch (NumberFormatException | DateTimeParseException e) {
+      statusLabel.setText("❌ 조회 조건이 올바르지 않습니다: " + e.getMessage());
+      return;
+    }
+
+    generation++;
+    tableModel.setRowCount(0);
+    lastRow = null;
+    hasMore = true;
+    loading = false;
+    loadedRows = 0;
+    loadNextPage();
+    loadTotals();
+  }
+
+  /**
+   * 조건 전체의 판매 건수/수량/매출 (시간 집계, 정각이 아닌 경계는 그 시간 전체 포함)
+   */
+  private void loadTotals() {
+    if (!saleDAO.hasRollups()) {
+      totalsLabel.setText(" ");
+      return;
+    }
+    totalsLabel.setText("합계 계산 중...");
+
+    int requestGeneration = generation;
+    int product = productId;
+    LocalDateTime rangeFrom = from;
+    LocalDateTime rangeTo = to;
+
+    new SwingWorker<long[], Void>() {
+      @Override
+      protected long[] doInBackground() {
+        return rollupDAO.getTotals(product, rangeFrom, rangeTo);
+      }
+
+      @Override
+      protected void done() {
+        if (requestGeneration != generation) return;
+        try {
+          long[] totals = get();
+          totalsLabel.setText(String.format("📊 조건 합계 (시간 집계): 판매 %,d건 / 수량 %,d개 / 매출 %,d원",
+              totals[2], totals[0], totals[1]));
+        } catch (Exception e) {
+          totalsLabel.setText("❌ 합계 조회 실패: " + e.getMessage());
+          e.printStackTrace();
+        }
+      }
+    }.execute();
+  }
+
+  // 날짜만 입력한 종료 조건은 다음 날 0시 미만으로 본다
+  private static LocalDateTime parseTime(String text, boolean end) {
+    String value = text.trim();
+    if (value.isEmpty()) return null;
+    if (value.length() <= 10) {
+      LocalDate date = LocalDate.parse(value);
+      return end ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+    }
+    return LocalDateTime.parse(value, DATE_TIME);
+  }
+
+  private void loadNextPage() {
+    if (loading || !hasMore) return;
+    loading = true;
+    statusLabel.setText("불러오는 중...");
+
+    int requestGeneration = generation;
+    int product = productId;
+    LocalDateTime rangeFrom = from;
+    LocalDateTime rangeTo = to;
+    Sale after = lastRow;
+
+    new SwingWorker<List<Sale>, Void>() {
+      private long elapsedNanos;
+
+      @Override
+      protected List<Sale> doInBackground() {
+        long start = System.nanoTime();
+        List<Sale> page = saleDAO.getSalesPage(rangeFrom, rangeTo, product, after, PAGE_SIZE);
+        elapsedNanos = System.nanoTime() - start;
+        return page;
+      }
+
+      @Override
+      protected void done() {
+        if (requestGeneration != generation) return;   // 그 사이 새로 조회함
+        loading = false;
+        try {
+          List<Sale> page = get();
+          for (Sale sale : page) {
+            tableModel.addRow(new Object[]{
+                sale.getSaleId(),
+                DATE_TIME.format(sale.getSaleDate()),
+                sale.getProductSummary(),
+                sale.getTotalQuantity(),
+                String.format("%,d", sale.getTotalAmount())
+            });
+          }
+          loadedRows += page.size();
+          if (!page.isEmpty()) {
+            lastRow = page.get(page.size() - 1);
+          }
+          hasMore = page.size() == PAGE_SIZE;
+          statusLabel.setText(String.format("%,d건 표시%s (마지막 페이지 %.1fms)", loadedRows,
+              hasMore ? ", 스크롤하면 더 불러옵니다" : ", 끝", elapsedNanos / 1e6));
+        } catch (Exception e) {
+          hasMore = false;
+          statusLabel.setText("❌ 판매 내역 조회 실패: " + e.getMessage());
+          e.printStackTrace();
+        }
+      }
+    }.execute();
+  }
+}
@@ -0,0 +1,88 @@
+package ui;
+
+import dto.Store;
+import service.SalesService;
+import service.SimulationService;
+import service.StoreChain;
+import service.StoreRebalancer;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * 지점 현황 탭
+ *
+ * 지점별 판매/대기 주문/매출/재고 이동 누적값과 전체 합계, 지점 간 재배치 누적을 보여준다.
+ * 서비스의 누적 지표만 읽으므로 SQL 조회가 없다.
+ */
+public class StoreChainPanel extends JPanel {
+  private final StoreChain storeChain;
+  private final DefaultTableModel model;
+  private final JLabel rebalanceLabel = new JLabel(" ");
+
+  public StoreChainPanel(StoreChain storeChain) {
+    super(new BorderLayout(5, 5));
+    this.storeChain = storeChain;
+    setBackground(Color.WHITE);
+
+    model = new DefaultTableModel(
+        new String[]{"지점 ID", "지점", "판매", "판매 실패", "대기 주문 등록", "대기 주문 처리", "매출(원)", "재고 이동"}, 0) {
+      @Override
+      public boolean isCellEditable(int row, int column) {
+        return false;
+      }
+    };
+    List<Store> stores = storeChain.getStores();
+    for (Store store : stores) {
+      model.addRow(new Object[]{store.getStoreId(), store.getName(), 0, 0, 0, 0, "0", 0});
+    }
+    model.addRow(new Object[]{"", "합계", 0, 0, 0, 0, "0", 0});
+
+    JTable table = new JTable(model);
+    table.setRowHeight(22);
+    JScrollPane scrollPane = new JScrollPane(table);
+    scrollPane.setBorder(BorderFactory.createTitledBorder("지점별 누적 (" + stores.size() + "곳, 같은 시계로 병렬 실행)"));
+    add(scrollPane, BorderLayout.CENTER);
+    add(rebalanceLabel, BorderLayout.SOUTH);
+  }
+
+  /**
+   * 지점별 누적값 다시 읽기 (EDT 에서 호출)
+   */
+  public void refresh() {
+    List<SimulationService> services = storeChain.getServices();
+    long[] totals = new long[6];
+    for (int row = 0; row < services.size(); row++) {
+      SimulationService service = services.get(row);
+      SalesService sales = service.getSalesService();
+      long[] values = {
+          sales.getCompletedSaleCount(),
+          sales.getFailedSaleCount(),
+          sales.getWaitingOrderRegistrationCount(),
+          sales.getFulfilledWaitingOrderCount(),
+          sales.getRevenue(),
+          service.getInventoryService().getTransferCount()
+      };
+      setRow(row, values);
+      for (int i = 0; i < values.length; i++) {
+        totals[i] += values[i];
+      }
+    }
+    setRow(services.size(), totals);
+
+    StoreRebalancer rebalancer = storeChain.getRebalancer();
+    if (rebalancer != null) {
+      rebalanceLabel.setText(String.format("🔀 지점 간 재배치: %,d회, 이동 %,d건 / %,d개 (마지막 실행 %.1fms)",
+          rebalancer.getRunCount(), rebalancer.getTransferCount(), rebalancer.getTransferredUnits(),
+          rebalancer.getLastRunNanos() / 1e6));
+    }
+  }
+
+  private void setRow(int row, long[] values) {
+    for (int i = 0; i < values.length; i++) {
+      model.setValueAt(i == 4 ? String.format("%,d", values[i]) : values[i], row, i + 2);
+    }
+  }
+}